@@ -1,19 +1,33 @@
 package com.bfr.helloworld;
 
+import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
 import com.bfr.buddy.ui.shared.FacialExpression;
 import com.bfr.buddy.utils.events.EventItem;
 import com.bfr.buddysdk.BuddyActivity;
 import com.bfr.buddysdk.BuddySDK;
 import com.bfr.helloworld.buddy.BuddyController;
+import com.bfr.helloworld.buddy.BuddyExpressionManager;
+import com.bfr.helloworld.buddy.BuddyMovementManager;
 import com.bfr.helloworld.buddy.BuddySpeechManager;
+import com.bfr.helloworld.buddy.BuddyTimeline;
+import com.bfr.helloworld.buddy.BuddyTimeline.Track;
 import com.bfr.helloworld.quiz.AnswerProcessor;
 import com.bfr.helloworld.quiz.QuizManager;
 import com.bfr.helloworld.quiz.ScoreManager;
 import com.bfr.helloworld.ui.UIController;
 import com.bfr.helloworld.utils.Logger;
+import com.bfr.helloworld.utils.SpeechHypothesis;
 import com.bfr.helloworld.buddy.BuddyHeadTracker;
+import com.bfr.helloworld.buddy.HeadMotorBus;
+import com.bfr.helloworld.buddy.TrackingTrace;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.BuddySdkPlatform;
+import com.bfr.helloworld.buddy.sdk.InstrumentedBuddyPlatform;
+import com.bfr.helloworld.metrics.LatencyMetrics;
+import com.bfr.helloworld.scheduling.Scheduler;
+import java.io.File;
+import java.util.List;
 
 /**
  * Activité principale - Interface 100% Vocale
@@ -23,15 +37,36 @@ public class MainActivity extends BuddyActivity
         implements QuizManager.QuizCallback, BuddyController.BuddyInitCallback {
 
     private static final String TAG = "MainActivity";
+    // Borne d'une étape de parole, attente dans la file comprise : la file signale toujours la fin,
+    // mais un callback TTS perdu (service redémarré) bloquerait la séquence. Au-dessus de la plus
+    // longue phrase de retour (score final, ~10 s)
+    private static final long SPEECH_STEP_MAX_MS = 12000;
+    // Borne d'une étape de geste : une fin de geste perdue laisserait le suivi en pause jusqu'au
+    // filet du quiz. Au-dessus du plus long geste intégré (danse, ~6 s) ; ChoreographyPlayer
+    // abandonne normalement avant un pas dont la fin n'arrive pas
+    private static final long GESTURE_STEP_MAX_MS = 8000;
+    // Le filet de sécurité du quiz ne doit pas devancer la fin normale de la séquence de retour
+    private static final long FEEDBACK_TIMEOUT_MARGIN_MS = 3000;
+
+    private static final String LATENCY_FILE = "latences.txt";
+    private static final String TRACKING_TRACE_FILE = "suivi.trace";
+    // Gestes ajoutés ou remplacés sans nouvelle version (format : voir Choreography)
+    private static final String CHOREOGRAPHY_FILE = "gestes.txt";
 
     //Tracker
     private BuddyHeadTracker headTracker;
+    private HeadMotorBus headBus;
+    private BuddyPlatform platform;
 
     // Contrôleurs principaux
     private UIController uiController;
     private BuddyController buddyController;
     private QuizManager quizManager;
-    private Handler handler;
+    private Scheduler scheduler;
+    // Groupe des étapes différées du dialogue en cours
+    private final Object dialogSequence = new Object();
+    // Séquence de réaction en cours (retour sur réponse, fin de quiz)
+    private BuddyTimeline feedbackTimeline;
 
     // État de l'application
     private boolean isSDKReady = false;
@@ -41,8 +76,18 @@ public class MainActivity extends BuddyActivity
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-
-        headTracker = new BuddyHeadTracker();
+        // Build release : debug et verbose coupés à la source
+        Logger.setReleaseMode(!BuildConfig.DEBUG);
+
+        // Latences de chaque appel au robot, relevées dans LatencyMetrics
+        platform = new InstrumentedBuddyPlatform(BuddySdkPlatform.getInstance());
+        // Un seul point de passage des commandes de tête : les gestes ont priorité sur le suivi
+        headBus = new HeadMotorBus(platform.motors(), platform.scheduler());
+        headTracker = new BuddyHeadTracker(platform, headBus);
+        if (BuildConfig.DEBUG) {
+            // Session rejouable hors robot (benchmarks : TrackingReplayBenchmark)
+            headTracker.startRecording(new TrackingTrace(TrackingTrace.DEFAULT_CAPACITY));
+        }
         setContentView(R.layout.activity_main);
 
         Logger.i(TAG, "=== DÉMARRAGE QUIZ VOCAL BUDDY ===");
@@ -73,10 +118,11 @@ public class MainActivity extends BuddyActivity
         uiController.initializeDefaultState();
 
         // Contrôleur Buddy
-        buddyController = new BuddyController(this);
+        buddyController = new BuddyController(this, platform, headBus);
+        buddyController.getMovementManager().loadChoreographies(new File(getFilesDir(), CHOREOGRAPHY_FILE));
 
-        // Handler pour les délais
-        handler = new Handler();
+        // Planificateur pour les délais
+        scheduler = buddyController.getPlatform().scheduler();
 
         Logger.i(TAG, "Contrôleurs initialisés");
     }
@@ -101,7 +147,8 @@ public class MainActivity extends BuddyActivity
         buddyController.getMovementManager().enableHeadMotors();
 
         // Initialiser le gestionnaire de quiz
-        quizManager = new QuizManager(uiController, this);
+        quizManager = new QuizManager(uiController, this, scheduler);
+        quizManager.setFeedbackTimeoutMs(SPEECH_STEP_MAX_MS + FEEDBACK_TIMEOUT_MARGIN_MS);
 
         uiController.updateStatus("✅ Prêt pour quiz vocal !");
 
@@ -115,7 +162,7 @@ public class MainActivity extends BuddyActivity
         uiController.showError("Erreur Buddy: " + error);
 
         // Réessayer dans 5 secondes
-        handler.postDelayed(this::startVocalQuizSequence, 5000);
+        scheduler.schedule(dialogSequence, 5000, this::startVocalQuizSequence);
     }
 
     // ========== SÉQUENCE VOCALE PRINCIPALE ==========
@@ -141,15 +188,9 @@ public class MainActivity extends BuddyActivity
                         Logger.d(TAG, "Proposition de quiz terminée - activation écoute");
 
                         // Petit délai puis activation écoute
-                        handler.postDelayed(() -> {
-                            buddyController.getSpeechManager().speak("Je t'écoute...",
-                                    new BuddySpeechManager.SpeechCallback() {
-                                        @Override
-                                        public void onSpeechFinished() {
-                                            activateQuizConfirmationListening();
-                                        }
-                                    });
-                        }, 1000);
+                        scheduler.schedule(dialogSequence, 1000, () -> {
+                            buddyController.getSpeechManager().speakListeningPrompt(MainActivity.this::activateQuizConfirmationListening);
+                        });
                     }
                 }
         );
@@ -186,7 +227,7 @@ public class MainActivity extends BuddyActivity
                                 @Override
                                 public void onSpeechFinished() {
                                     // Réessayer l'écoute
-                                    handler.postDelayed(() -> activateQuizConfirmationListening(), 1000);
+                                    scheduler.schedule(dialogSequence, 1000, () -> activateQuizConfirmationListening());
                                 }
                             });
                 });
@@ -217,7 +258,7 @@ public class MainActivity extends BuddyActivity
                             @Override
                             public void onSpeechFinished() {
                                 // Démarrer le quiz après 1 seconde
-                                handler.postDelayed(() -> quizManager.startQuiz(), 1000);
+                                scheduler.schedule(dialogSequence, 1000, () -> quizManager.startQuiz());
                             }
                         });
             });
@@ -235,7 +276,7 @@ public class MainActivity extends BuddyActivity
                             @Override
                             public void onSpeechFinished() {
                                 // Attendre une nouvelle demande
-                                handler.postDelayed(() -> activateQuizRequestListening(), 2000);
+                                scheduler.schedule(dialogSequence, 2000, () -> activateQuizRequestListening());
                             }
                         });
             });
@@ -250,7 +291,7 @@ public class MainActivity extends BuddyActivity
                         @Override
                         public void onSpeechFinished() {
                             // Réessayer la confirmation
-                            handler.postDelayed(() -> activateQuizConfirmationListening(), 1000);
+                            scheduler.schedule(dialogSequence, 1000, () -> activateQuizConfirmationListening());
                         }
                     });
         }
@@ -284,14 +325,14 @@ public class MainActivity extends BuddyActivity
                     });
                 } else {
                     // Continuer l'écoute en silence
-                    handler.postDelayed(() -> activateQuizRequestListening(), 1000);
+                    scheduler.schedule(dialogSequence, 1000, () -> activateQuizRequestListening());
                 }
             }
 
             @Override
             public void onListeningError(String error) {
                 // Relancer l'écoute en continu
-                handler.postDelayed(() -> activateQuizRequestListening(), 2000);
+                scheduler.schedule(dialogSequence, 2000, () -> activateQuizRequestListening());
             }
         });
     }
@@ -309,13 +350,8 @@ public class MainActivity extends BuddyActivity
                     @Override
                     public void onSpeechFinished() {
                         Logger.d(TAG, "Introduction quiz terminée - déclenchement première question");
-                        // CORRECTION : Délai plus long pour éviter conflit de parole
-                        handler.postDelayed(() -> {
-                            if (quizManager != null) {
-                                Logger.d(TAG, "Tentative de lancement première question");
-                                quizManager.askCurrentQuestion();
-                            }
-                        }, 2000); // 2 secondes au lieu de 1
+                        // La première question suit directement la fin de l'introduction
+                        notifyFeedbackFinished();
                     }
                 }
         );
@@ -328,8 +364,11 @@ public class MainActivity extends BuddyActivity
         // CORRECTION : Arrêter toute parole en cours avant de commencer
         buddyController.getSpeechManager().stopSpeaking();
 
+        // Les retours au neutre différés du feedback précédent ne doivent pas écraser l'écoute
+        buddyController.getExpressionManager().cancelPendingSequence();
+
         // Délai pour s'assurer que la parole précédente est arrêtée
-        handler.postDelayed(() -> {
+        scheduler.schedule(dialogSequence, 500, () -> {
             // Expression neutre pour poser la question
             buddyController.getExpressionManager().showNeutral(() -> {
 
@@ -340,28 +379,27 @@ public class MainActivity extends BuddyActivity
                             public void onSpeechFinished() {
                                 Logger.d(TAG, "Question prononcée - activation écoute automatique");
 
-                                // Délai puis "je t'écoute" et activation automatique
-                                handler.postDelayed(() -> {
-                                    buddyController.getSpeechManager().speak("Je t'écoute...",
-                                            new BuddySpeechManager.SpeechCallback() {
-                                                @Override
-                                                public void onSpeechFinished() {
-                                                    activateAnswerListening();
-                                                }
-                                            });
-                                }, 1000);
+                                if (speech().isPreArmListening()) {
+                                    // Tâche STT préparée pendant la question : micro ouvert aussitôt
+                                    activateAnswerListening();
+                                } else {
+                                    // Délai puis "je t'écoute" et activation automatique
+                                    scheduler.schedule(dialogSequence, 1000, () -> {
+                                        speech().speakListeningPrompt(MainActivity.this::activateAnswerListening);
+                                    });
+                                }
                             }
 
                             @Override
                             public void onSpeechError(String error) {
                                 Logger.e(TAG, "Erreur prononciation question: " + error);
                                 // Réessayer après délai
-                                handler.postDelayed(() -> activateAnswerListening(), 2000);
+                                scheduler.schedule(dialogSequence, 2000, () -> activateAnswerListening());
                             }
                         }
                 );
             });
-        }, 500); // 500ms pour s'assurer que la parole précédente est arrêtée
+        }); // 500ms pour s'assurer que la parole précédente est arrêtée
     }
 
     /**
@@ -373,14 +411,20 @@ public class MainActivity extends BuddyActivity
         // Expression d'écoute
         buddyController.getExpressionManager().showListening(null);
 
-        // Démarrer l'écoute
+        // Démarrer l'écoute ; elle s'arrête dès qu'un nombre sûr est entendu
         buddyController.getSpeechManager().startListening(new BuddySpeechManager.ListeningCallback() {
             @Override
-            public void onSpeechRecognized(String utterance, float confidence) {
-                Logger.i(TAG, "Réponse reçue: '" + utterance + "' (confiance: " + confidence + ")");
+            public void onPartialHypotheses(List<SpeechHypothesis> hypotheses) {
+                String heard = hypotheses.get(0).getUtterance();
+                runOnUiThread(() -> uiController.updateStatus("🎤 " + heard + "..."));
+            }
+
+            @Override
+            public void onHypothesesRecognized(List<SpeechHypothesis> hypotheses) {
+                Logger.i(TAG, "Réponse reçue: " + hypotheses);
 
                 runOnUiThread(() -> {
-                    quizManager.processVocalAnswer(utterance);
+                    quizManager.processVocalAnswer(hypotheses);
                 });
             }
 
@@ -398,21 +442,15 @@ public class MainActivity extends BuddyActivity
                                     public void onSpeechFinished() {
                                         Logger.d(TAG, "Message d'aide prononcé - relance écoute");
                                         // Redire "Je t'écoute" et relancer l'écoute
-                                        handler.postDelayed(() -> {
-                                            buddyController.getSpeechManager().speak("Je t'écoute...",
-                                                    new BuddySpeechManager.SpeechCallback() {
-                                                        @Override
-                                                        public void onSpeechFinished() {
-                                                            activateAnswerListening();
-                                                        }
-                                                    });
-                                        }, 1000);
+                                        scheduler.schedule(dialogSequence, 1000, () -> {
+                                            buddyController.getSpeechManager().speakListeningPrompt(MainActivity.this::activateAnswerListening);
+                                        });
                                     }
                                 });
                     });
                 });
             }
-        });
+        }, quizManager::parsePartialAnswer);
     }
 
 // EXTRAIT DE MODIFICATION POUR MainActivity.java
@@ -423,66 +461,35 @@ public class MainActivity extends BuddyActivity
         Logger.i(TAG, "Réponse traitée: " + processedAnswer.getResult());
 
         if (processedAnswer.isCorrect()) {
-            headTracker.stopTracking();
-            // BONNE RÉPONSE - TIMING OPTIMISÉ
+            // BONNE RÉPONSE - joie, hochement pendant la parole, puis question suivante
             Logger.d(TAG, "Bonne réponse - séquence optimisée");
 
-            // 1. DÉMARRER L'EXPRESSION DE JOIE
-            buddyController.getExpressionManager().performCorrectAnswerSequence();
-
-            // 2. DÉMARRER LE HOCHEMENT EN MÊME TEMPS QUE LA PAROLE
-            // CORRECTION: Hochement immédiat, pas après la parole
-            handler.postDelayed(() -> {
-                Logger.d(TAG, "🎯 Déclenchement hochement PENDANT la parole");
-                buddyController.getMovementManager().performSynchronizedYesNod();
-            }, 300); // Délai court pour que le hochement accompagne la parole
-
-            // 3. PAROLE DE FÉLICITATION
-            buddyController.getSpeechManager().speakCorrectAnswer(correctAnswer,
-                    new BuddySpeechManager.SpeechCallback() {
-                        @Override
-                        public void onSpeechFinished() {
-                            Logger.d(TAG, "Feedback positif terminé");
-
-                            // CORRECTION: Retour expression neutre plus naturel
-                            handler.postDelayed(() -> {
-                                Logger.d(TAG, "Fin célébration - retour neutre");
-                                buddyController.getExpressionManager().showNeutral(null);
-                            }, 1500); // Délai réduit
-                        }
-
-                        @Override
-                        public void onSpeechError(String error) {
-                            Logger.e(TAG, "Erreur parole positive: " + error);
-                            // Hochement de secours même si la parole échoue
-                            buddyController.getMovementManager().performYesNod();
-                        }
-                    }
-            );
+            startFeedbackTimeline(new BuddyTimeline(scheduler, "bonne réponse")
+                    .step(Track.FACE, 0, "joie", expressions()::performCorrectAnswerSequence)
+                    // Suivi en pause le temps du hochement seulement (moteurs et vision restent prêts)
+                    .instant(Track.HEAD, 0, "pause du suivi", headTracker::pauseTracking)
+                    // Hochement juste après le début de la parole, pour l'accompagner
+                    .step(Track.HEAD, 300, "hochement", movements()::performSynchronizedYesNod)
+                    .within(GESTURE_STEP_MAX_MS)
+                    .instant(Track.HEAD, 0, "reprise du suivi", headTracker::resumeTracking)
+                    .step(Track.SPEECH, 0, "félicitations", done -> speech().speakCorrectAnswer(
+                            correctAnswer, BuddySpeechManager.SpeechCallback.whenDone(done)))
+                    .within(SPEECH_STEP_MAX_MS),
+                    this::notifyFeedbackFinished);
 
         } else if (processedAnswer.isValid()) {
-            headTracker.stopTracking();
             // MAUVAISE RÉPONSE - Pas de mouvement, juste expression et parole
             Logger.d(TAG, "Mauvaise réponse - expression triste seulement");
 
-            buddyController.getExpressionManager().performIncorrectAnswerSequence();
-
-            buddyController.getSpeechManager().speakIncorrectAnswer(
-                    processedAnswer.getExtractedNumber(), correctAnswer,
-                    new BuddySpeechManager.SpeechCallback() {
-                        @Override
-                        public void onSpeechFinished() {
-                            Logger.d(TAG, "Feedback négatif terminé");
-                            // Retour neutre plus rapide
-                            handler.postDelayed(() -> {
-                                buddyController.getExpressionManager().showNeutral(null);
-                            }, 1000);
-                        }
-                    }
-            );
+            startFeedbackTimeline(new BuddyTimeline(scheduler, "mauvaise réponse")
+                    .step(Track.FACE, 0, "réflexion", expressions()::performIncorrectAnswerSequence)
+                    .step(Track.SPEECH, 0, "correction", done -> speech().speakIncorrectAnswer(
+                            processedAnswer.getExtractedNumber(), correctAnswer,
+                            BuddySpeechManager.SpeechCallback.whenDone(done)))
+                    .within(SPEECH_STEP_MAX_MS),
+                    this::notifyFeedbackFinished);
 
         } else {
-            headTracker.stopTracking();
             // RÉPONSE INVALIDE - Expression de réflexion
             Logger.w(TAG, "Réponse invalide, guidage utilisateur");
 
@@ -494,21 +501,50 @@ public class MainActivity extends BuddyActivity
                             public void onSpeechFinished() {
                                 Logger.d(TAG, "Message d'aide prononcé - relance écoute");
                                 // Relance immédiate de l'écoute
-                                handler.postDelayed(() -> {
-                                    buddyController.getSpeechManager().speak("Je t'écoute...",
-                                            new BuddySpeechManager.SpeechCallback() {
-                                                @Override
-                                                public void onSpeechFinished() {
-                                                    activateAnswerListening();
-                                                }
-                                            });
-                                }, 500); // Délai réduit
+                                scheduler.schedule(dialogSequence, 500, () -> {
+                                    buddyController.getSpeechManager().speakListeningPrompt(MainActivity.this::activateAnswerListening);
+                                }); // Délai réduit
                             }
                         }
                 );
             });
         }
-        headTracker.startTracking();
+    }
+
+    /**
+     * Lance une séquence de réaction en annulant la précédente si elle tourne encore
+     */
+    private void startFeedbackTimeline(BuddyTimeline timeline, Runnable onComplete) {
+        if (feedbackTimeline != null) {
+            feedbackTimeline.cancel();
+        }
+        feedbackTimeline = timeline;
+        timeline.start(onComplete);
+    }
+
+    private BuddySpeechManager speech() {
+        return buddyController.getSpeechManager();
+    }
+
+    private BuddyMovementManager movements() {
+        return buddyController.getMovementManager();
+    }
+
+    private BuddyExpressionManager expressions() {
+        return buddyController.getExpressionManager();
+    }
+
+    /**
+     * Fin de la séquence de retour : le quiz enchaîne sur la question suivante
+     */
+    private void notifyFeedbackFinished() {
+        // Séquence interrompue avant la reprise du suivi
+        headTracker.resumeTracking();
+        runOnUiThread(() -> {
+            if (quizManager != null) {
+                quizManager.onFeedbackFinished();
+            }
+        });
     }
 
     // MODIFICATION POUR onQuizFinished - Score exceptionnel = triple hochement
@@ -519,64 +555,47 @@ public class MainActivity extends BuddyActivity
 
         boolean hasPassingGrade = scoreManager.hasPassingGrade();
         boolean isPerfectScore = (scoreManager.getCorrectAnswers() == scoreManager.getTotalQuestions());
-
-        // Expression de fin
-        buddyController.getExpressionManager().performEndQuizSequence(hasPassingGrade);
-
-        // TIMING OPTIMISÉ: Mouvement pendant la parole de fin
+        Logger.i(TAG, "File de parole: " + speech().getQueueStats());
+        Logger.i(TAG, "Écoute: " + speech().getListeningStats());
+        Logger.i(TAG, "Suivi: " + headTracker.getPollStats());
+        LatencyMetrics.logPercentiles(latencyLabel());
+
+        BuddyTimeline timeline = new BuddyTimeline(scheduler, "fin du quiz")
+                .instant(Track.FACE, 0, "expression de fin", () -> expressions().performEndQuizSequence(hasPassingGrade))
+                .step(Track.SPEECH, 0, "score final", done -> speech().speakFinalScore(
+                        scoreManager.getCorrectAnswers(), scoreManager.getTotalQuestions(), hasPassingGrade,
+                        BuddySpeechManager.SpeechCallback.whenDone(done)))
+                .within(SPEECH_STEP_MAX_MS);
+
+        // Mouvements pendant la parole de fin
         if (hasPassingGrade) {
+            timeline.instant(Track.HEAD, 0, "pause du suivi", headTracker::pauseTracking);
             if (isPerfectScore) {
-                headTracker.stopTracking();
                 // SCORE PARFAIT = Triple hochement + danse
                 Logger.i(TAG, "🏆 SCORE PARFAIT - Célébration maximale");
-
-                handler.postDelayed(() -> {
-                    buddyController.getMovementManager().performTripleYesNod();
-                }, 500);
-
-                handler.postDelayed(() -> {
-                    buddyController.getMovementManager().performVictoryDance();
-                }, 3000);
-
+                timeline.step(Track.HEAD, 500, "triple hochement", movements()::performTripleYesNod)
+                        .within(GESTURE_STEP_MAX_MS)
+                        .step(Track.WHEELS, 3000, "danse", movements()::performVictoryDance)
+                        .within(GESTURE_STEP_MAX_MS);
             } else {
-                headTracker.stopTracking();
                 // BON SCORE = Hochement simple + danse
-                handler.postDelayed(() -> {
-                    buddyController.getMovementManager().performYesNod();
-                }, 500);
-
-                handler.postDelayed(() -> {
-                    buddyController.getMovementManager().performVictoryDance();
-                }, 2500);
-
+                timeline.step(Track.HEAD, 500, "hochement", movements()::performYesNod)
+                        .within(GESTURE_STEP_MAX_MS)
+                        .step(Track.WHEELS, 2500, "danse", movements()::performVictoryDance)
+                        .within(GESTURE_STEP_MAX_MS);
             }
-            headTracker.startTracking();
+            // Les pas de la piste tête s'enchaînent : reprise à la fin des hochements
+            timeline.instant(Track.HEAD, 0, "reprise du suivi", headTracker::resumeTracking);
         }
 
-        // Parole de fin
-        buddyController.getSpeechManager().speakFinalScore(
-                scoreManager.getCorrectAnswers(),
-                scoreManager.getTotalQuestions(),
-                hasPassingGrade,
-                new BuddySpeechManager.SpeechCallback() {
-                    @Override
-                    public void onSpeechFinished() {
-                        Logger.d(TAG, "Score final annoncé");
-
-                        // Proposer nouveau quiz après délai
-                        handler.postDelayed(() -> {
-                            buddyController.getSpeechManager().speak(
-                                    "Veux-tu faire un autre quiz ? Dis 'oui' ou 'non'.",
-                                    new BuddySpeechManager.SpeechCallback() {
-                                        @Override
-                                        public void onSpeechFinished() {
-                                            activateQuizConfirmationListening();
-                                        }
-                                    });
-                        }, 2000); // Délai raisonnable
-                    }
-                }
-        );
+        // Proposer un nouveau quiz une fois la célébration terminée (pas d'écoute pendant la danse)
+        timeline.barrier()
+                .step(Track.SPEECH, 2000, "nouveau quiz ?", done -> speech().speak(
+                        "Veux-tu faire un autre quiz ? Dis 'oui' ou 'non'.",
+                        BuddySpeechManager.SpeechCallback.whenDone(done)))
+                .within(SPEECH_STEP_MAX_MS);
+
+        startFeedbackTimeline(timeline, this::activateQuizConfirmationListening);
     }
 
     @Override
@@ -585,6 +604,7 @@ public class MainActivity extends BuddyActivity
 
         buddyController.getSpeechManager().speak(
                 "Il y a eu un problème. Veux-tu réessayer ?",
+                BuddySpeechManager.Priority.ERROR,
                 new BuddySpeechManager.SpeechCallback() {
                     @Override
                     public void onSpeechFinished() {
@@ -626,7 +646,7 @@ public class MainActivity extends BuddyActivity
 
             // Relancer l'écoute si nécessaire
             if (!isQuizStarted && !isWaitingForQuizConfirmation) {
-                handler.postDelayed(() -> activateQuizRequestListening(), 1000);
+                scheduler.schedule(dialogSequence, 1000, () -> activateQuizRequestListening());
             }
         }
     }
@@ -636,10 +656,43 @@ public class MainActivity extends BuddyActivity
         Logger.i(TAG, "=== FERMETURE QUIZ VOCAL BUDDY ===");
 
         // Nettoyer les ressources
+        if (scheduler != null) {
+            scheduler.cancelAll(dialogSequence);
+        }
+        if (feedbackTimeline != null) {
+            feedbackTimeline.cancel();
+        }
         if (buddyController != null) {
             buddyController.cleanup();
         }
+        TrackingTrace trace = headTracker.stopRecording();
+        saveOnExit(trace);
 
         super.onDestroy();
     }
+
+    /**
+     * Latences, trace de suivi et derniers messages écrits sur un thread à part : le thread
+     * principal ne bloque pas sur les fichiers ni sur le vidage du journal pendant la fermeture
+     */
+    private void saveOnExit(TrackingTrace trace) {
+        File latencyFile = new File(getFilesDir(), LATENCY_FILE);
+        File traceFile = new File(getFilesDir(), TRACKING_TRACE_FILE);
+        String label = latencyLabel();
+        Thread saver = new Thread(() -> {
+            LatencyMetrics.dumpToFile(latencyFile, label);
+            if (trace != null) {
+                trace.save(traceFile);
+            }
+            Logger.flush(500);
+        }, "sauvegarde-fermeture");
+        saver.start();
+    }
+
+    /**
+     * Identifie le robot et son firmware dans les relevés de latences
+     */
+    private static String latencyLabel() {
+        return Build.MODEL + " " + Build.DISPLAY + " (Android " + Build.VERSION.RELEASE + ")";
+    }
 }
\ No newline at end of file
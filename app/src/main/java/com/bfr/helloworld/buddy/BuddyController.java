@@ -1,10 +1,11 @@
 package com.bfr.helloworld.buddy;
 
 import android.app.Activity;
-import android.os.RemoteException;
 import com.bfr.buddy.ui.shared.FacialExpression;
-import com.bfr.buddy.usb.shared.IUsbCommadRsp;
 import com.bfr.buddysdk.BuddySDK;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.BuddySdkPlatform;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
 import com.bfr.helloworld.utils.Logger;
 
 /**
@@ -19,6 +20,7 @@ public class BuddyController {
     }
 
     private final Activity activity;
+    private final BuddyPlatform platform;
     private final BuddyMovementManager movementManager;
     private final BuddyExpressionManager expressionManager;
     private final BuddySpeechManager speechManager;
@@ -26,10 +28,22 @@ public class BuddyController {
     private boolean isInitialized = false;
 
     public BuddyController(Activity activity) {
+        this(activity, BuddySdkPlatform.getInstance());
+    }
+
+    public BuddyController(Activity activity, BuddyPlatform platform) {
+        this(activity, platform, new HeadMotorBus(platform.motors(), platform.scheduler()));
+    }
+
+    /**
+     * @param headBus commandes de tête, à partager avec BuddyHeadTracker
+     */
+    public BuddyController(Activity activity, BuddyPlatform platform, HeadMotorBus headBus) {
         this.activity = activity;
-        this.movementManager = new BuddyMovementManager();
-        this.expressionManager = new BuddyExpressionManager();
-        this.speechManager = new BuddySpeechManager();
+        this.platform = platform;
+        this.movementManager = new BuddyMovementManager(platform, headBus);
+        this.expressionManager = new BuddyExpressionManager(platform);
+        this.speechManager = new BuddySpeechManager(platform);
 
         Logger.i(TAG, "BuddyController créé");
     }
@@ -67,6 +81,7 @@ public class BuddyController {
      */
     private void setupTransparentInterface() {
         try {
+            // Liaison à la vue Android : hors façade, uniquement sur le robot
             BuddySDK.UI.setViewAsFace(activity.findViewById(com.bfr.helloworld.R.id.view_face));
             Logger.d(TAG, "Interface transparente configurée");
         } catch (Exception e) {
@@ -80,7 +95,7 @@ public class BuddyController {
      */
     private void setupDefaultExpression() {
         try {
-            BuddySDK.UI.setFacialExpression(FacialExpression.NEUTRAL);
+            platform.face().setFacialExpression(FacialExpression.NEUTRAL.name());
             Logger.d(TAG, "Expression par défaut configurée");
         } catch (Exception e) {
             Logger.w(TAG, "Impossible de configurer l'expression par défaut");
@@ -93,15 +108,15 @@ public class BuddyController {
      */
     private void enableWheels(BuddyInitCallback callback) {
         try {
-            BuddySDK.USB.enableWheels(1, 1, new IUsbCommadRsp.Stub() {
+            platform.motors().enableWheels(true, true, new MotorPort.CommandListener() {
                 @Override
-                public void onSuccess(String s) throws RemoteException {
+                public void onSuccess(String s) {
                     Logger.i(TAG, "Roues activées avec succès");
                     finishInitialization(callback);
                 }
 
                 @Override
-                public void onFailed(String s) throws RemoteException {
+                public void onFailed(String s) {
                     Logger.e(TAG, "Échec activation roues: " + s);
                     // Non critique pour le quiz, continuer
                     finishInitialization(callback);
@@ -155,6 +170,10 @@ public class BuddyController {
     }
 
     // Getters pour les managers
+    public BuddyPlatform getPlatform() {
+        return platform;
+    }
+
     public BuddyMovementManager getMovementManager() {
         return movementManager;
     }
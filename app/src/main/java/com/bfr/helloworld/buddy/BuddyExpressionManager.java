@@ -1,10 +1,9 @@
 package com.bfr.helloworld.buddy;
 
-import android.os.Handler;
-import android.os.Looper;
 import com.bfr.buddy.ui.shared.FacialExpression;
-import com.bfr.buddy.ui.shared.IUIFaceAnimationCallback;
-import com.bfr.buddysdk.BuddySDK;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.FacePort;
+import com.bfr.helloworld.scheduling.Scheduler;
 import com.bfr.helloworld.utils.Logger;
 
 /**
@@ -14,9 +13,14 @@ public class BuddyExpressionManager {
     private static final String TAG = "BuddyExpressionManager";
 
     private FacialExpression currentExpression = FacialExpression.NEUTRAL;
-    private final Handler handler = new Handler(Looper.getMainLooper());
-
-    public BuddyExpressionManager() {
+    private final Scheduler scheduler;
+    private final FacePort face;
+    // Groupe des étapes différées de la séquence d'expressions en cours
+    private final Object expressionSequence = new Object();
+
+    public BuddyExpressionManager(BuddyPlatform platform) {
+        this.face = platform.face();
+        this.scheduler = platform.scheduler();
         Logger.i(TAG, "BuddyExpressionManager initialisé");
     }
 
@@ -48,7 +52,7 @@ public class BuddyExpressionManager {
 
         try {
             // Utilisation de l'API avec callback correct
-            BuddySDK.UI.setFacialExpression(expression, 1.0, new IUIFaceAnimationCallback.Stub() {
+            face.setFacialExpression(expression.name(), 1.0, new FacePort.AnimationListener() {
                 @Override
                 public void onAnimationEnd(String iType, String iValue) {
                     Logger.d(TAG, "Animation terminée - Type: " + iType + ", Value: " + iValue);
@@ -117,13 +121,23 @@ public class BuddyExpressionManager {
      * Séquence d'expressions pour une bonne réponse - VERSION LONGUE
      */
     public void performCorrectAnswerSequence() {
+        performCorrectAnswerSequence(null);
+    }
+
+    /**
+     * Séquence bonne réponse ; onShown est appelé quand l'expression de joie est affichée
+     */
+    public void performCorrectAnswerSequence(Runnable onShown) {
         Logger.i(TAG, "Séquence expression bonne réponse - VERSION LONGUE");
+        cancelPendingSequence();
 
         // D'abord joie
         showHappiness(() -> {
-            Logger.d(TAG, "Expression de joie affichée, maintien pendant 5 secondes");
-            // CORRECTION : Maintenir la joie plus longtemps (5 secondes au lieu de 2)
-            // Le retour au neutre sera géré dans MainActivity après le hochement de tête
+            Logger.d(TAG, "Expression de joie affichée");
+            // Le retour au neutre est fait par la question suivante
+            if (onShown != null) {
+                onShown.run();
+            }
         });
     }
 
@@ -131,12 +145,23 @@ public class BuddyExpressionManager {
      * Séquence d'expressions pour une mauvaise réponse
      */
     public void performIncorrectAnswerSequence() {
+        performIncorrectAnswerSequence(null);
+    }
+
+    /**
+     * Séquence mauvaise réponse ; onShown est appelé quand l'expression de réflexion est affichée
+     */
+    public void performIncorrectAnswerSequence(Runnable onShown) {
         Logger.i(TAG, "Séquence expression mauvaise réponse");
+        cancelPendingSequence();
 
         // D'abord réflexion
         showThinking(() -> {
-            // Puis retour au neutre après 3 secondes
-            handler.postDelayed(() -> showNeutral(null), 3000);
+            // Puis retour au neutre après 3 secondes (annulé si la question suivante arrive avant)
+            scheduler.schedule(expressionSequence, 3000, () -> showNeutral(null));
+            if (onShown != null) {
+                onShown.run();
+            }
         });
     }
 
@@ -145,21 +170,22 @@ public class BuddyExpressionManager {
      */
     public void performEndQuizSequence(boolean hasPassingGrade) {
         Logger.i(TAG, "Séquence expression fin de quiz (succès: " + hasPassingGrade + ")");
+        cancelPendingSequence();
 
         if (hasPassingGrade) {
             // Surprise puis joie LONGUE
             showSurprise(() -> {
-                handler.postDelayed(() -> {
+                scheduler.schedule(expressionSequence, 1500, () -> {
                     showHappiness(() -> {
                         // Maintenir la joie 8 secondes pour la fin du quiz
-                        handler.postDelayed(() -> showNeutral(null), 8000);
+                        scheduler.schedule(expressionSequence, 8000, () -> showNeutral(null));
                     });
-                }, 1500);
+                });
             });
         } else {
             // Réflexion puis encouragement (neutre)
             showThinking(() -> {
-                handler.postDelayed(() -> showNeutral(null), 3000);
+                scheduler.schedule(expressionSequence, 3000, () -> showNeutral(null));
             });
         }
     }
@@ -169,13 +195,24 @@ public class BuddyExpressionManager {
      */
     public void performExtendedHappinessSequence(int durationSeconds) {
         Logger.i(TAG, "Séquence de joie prolongée (" + durationSeconds + " secondes)");
+        cancelPendingSequence();
 
         showHappiness(() -> {
             // Maintenir la joie pendant la durée spécifiée
-            handler.postDelayed(() -> showNeutral(null), durationSeconds * 1000);
+            scheduler.schedule(expressionSequence, durationSeconds * 1000, () -> showNeutral(null));
         });
     }
 
+    /**
+     * Annule les étapes différées de la séquence précédente (retour au neutre, etc.)
+     */
+    public void cancelPendingSequence() {
+        int cancelled = scheduler.cancelAll(expressionSequence);
+        if (cancelled > 0) {
+            Logger.d(TAG, cancelled + " étape(s) de séquence annulée(s)");
+        }
+    }
+
     /**
      * Récupère l'expression actuelle
      */
@@ -1,12 +1,20 @@
 package com.bfr.helloworld.buddy;
 
-import android.os.Handler;
-import android.os.Looper;
-import android.os.RemoteException;
-import com.bfr.buddy.usb.shared.IUsbCommadRsp;
-import com.bfr.buddy.vision.shared.Tracking;
-import com.bfr.buddysdk.BuddySDK;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.buddy.sdk.TrackingFrame;
+import com.bfr.helloworld.buddy.sdk.VisionPort;
+import com.bfr.helloworld.scheduling.RearmableTask;
+import com.bfr.helloworld.scheduling.Scheduler;
 import com.bfr.helloworld.utils.Logger;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Gestionnaire du suivi de tête automatique de Buddy
@@ -16,18 +24,137 @@ public class BuddyHeadTracker {
     private static final String TAG = "BuddyHeadTracker";
 
     // Configuration du suivi
-    private static final long TRACKING_REFRESH_INTERVAL = 100; // 100ms = 10 FPS
-    private static final float HEAD_MOVEMENT_THRESHOLD = 0.10f; // Seuil de déclenchement (15% de l'écran)
-    private static final float HEAD_SPEED = 40.0f; // Vitesse des mouvements
-    private static final float HEAD_ANGLE_STEP = 10.0f; // Angle par étape
-    private static final long MOVEMENT_COOLDOWN = 300; // Délai entre mouvements (ms)
+    private static final long TRACKING_REFRESH_INTERVAL = 100; // Attente après une erreur (ms)
+    // Période de l'exécuteur : cadence la plus rapide, les autres en sont des multiples
+    private static final long TRACKING_TICK_MS = TrackingPollRate.BURST_INTERVAL_MS;
+    // Détection et mouvements transmis au thread principal au plus une fois par intervalle
+    private static final long CALLBACK_MIN_INTERVAL_MS = 100;
+    // Initialisation du tracking de vision avant la première lecture
+    private static final long VISION_WARMUP_MS = 500;
+    private static final float FACE_MOVING_SPEED = 8.0f; // Au-delà, le visage bouge (degrés/s)
+    private static final float CENTER_SPEED = 40.0f; // Vitesse du retour au centre
 
     // État du tracker
-    private boolean isTrackingActive = false;
-    private boolean areMotorsEnabled = false;
-    private Thread trackingThread;
-    private final Handler handler;
-    private long lastMovementTime = 0;
+    private volatile boolean isTrackingActive = false;
+    private volatile boolean areMotorsEnabled = false;
+    // Suivi en pause : moteurs activés et vision lue, mais aucune commande de tête
+    private volatile boolean isOutputPaused = false;
+    // Reprise demandée : lecture dès la prochaine période, filtre et loi de commande repartis de zéro
+    private volatile boolean resumeRequested = false;
+    // Boucle de suivi : exécuteur dédié à cadence fixe, sans dérive ni allocation par image
+    private final ScheduledExecutorService trackingExecutor;
+    private final Runnable trackingTick = this::onTrackingTick;
+    private ScheduledFuture<?> trackingTask;
+    private HeadController activeController;
+    private int ticksUntilPoll;
+    private final Scheduler scheduler;
+    // Groupe des callbacks transmis au thread principal
+    private final Object trackerEvents = new Object();
+    private final MotorPort motors;
+    // Commandes de tête : un geste en cours a priorité sur le suivi
+    private final HeadMotorBus headBus;
+    // Session de suivi enregistrée (null : aucune)
+    private volatile TrackingTrace trace;
+    // Gestes vus par le thread de suivi : un nouveau geste a déplacé la tête
+    private int lastGestureCount;
+    private final VisionPort vision;
+    private final TrackingFrame trackingData = new TrackingFrame();
+    // Loi de commande, appelée par le seul thread de suivi
+    private volatile HeadController controller = new HeadPidController();
+    // Position du visage filtrée et anticipée, à partir des images et des commandes envoyées
+    private final FaceEstimator faceEstimator = new FaceEstimator();
+    // Cadence de lecture de la vision, selon le mouvement et la présence du visage
+    private final TrackingPollRate pollRate = new TrackingPollRate();
+    // Une commande moteur est partie pendant l'image en cours (thread de suivi)
+    private boolean headCommanded;
+    private final HeadController.Axes headAxes = new HeadController.Axes() {
+        @Override
+        public void moveNo(float speed, float angle) {
+            // Commande écartée (geste en cours) : l'estimation de la tête n'en tient pas compte
+            if (moveHeadNo(speed, angle)) {
+                headCommanded = true;
+                faceEstimator.onNoMove(speed, angle, scheduler.now());
+                notifyMovement(angle > 0 ? MOVE_RIGHT : MOVE_LEFT, angle);
+            }
+        }
+
+        @Override
+        public void moveYes(float speed, float angle) {
+            if (moveHeadYes(speed, angle)) {
+                headCommanded = true;
+                faceEstimator.onYesMove(speed, angle, scheduler.now());
+                notifyMovement(angle > 0 ? MOVE_UP : MOVE_DOWN, angle);
+            }
+        }
+    };
+    private final MotorPort.CommandListener noMoveListener = new MotorPort.CommandListener() {
+        @Override
+        public void onSuccess(String success) {
+            if (MotorPort.NO_MOVE_FINISHED.equals(success)) {
+                Logger.d(TAG, "Mouvement horizontal terminé");
+            }
+        }
+
+        @Override
+        public void onFailed(String error) {
+            if (HeadMotorBus.MERGED.equals(error) || HeadMotorBus.PREEMPTED.equals(error)
+                    || MotorPort.SUPERSEDED.equals(error)) {
+                // Remplacée par une commande plus récente, ou par un geste
+                return;
+            }
+            Logger.e(TAG, "Échec mouvement horizontal: " + error);
+        }
+    };
+    private final MotorPort.CommandListener yesMoveListener = new MotorPort.CommandListener() {
+        @Override
+        public void onSuccess(String success) {
+            if (MotorPort.YES_MOVE_FINISHED.equals(success)) {
+                Logger.d(TAG, "Mouvement vertical terminé");
+            }
+        }
+
+        @Override
+        public void onFailed(String error) {
+            if (HeadMotorBus.MERGED.equals(error) || HeadMotorBus.PREEMPTED.equals(error)
+                    || MotorPort.SUPERSEDED.equals(error)) {
+                // Remplacée par une commande plus récente, ou par un geste
+                return;
+            }
+            Logger.e(TAG, "Échec mouvement vertical: " + error);
+        }
+    };
+
+    // Directions transmises à onHeadMovement
+    private static final String[] MOVE_DIRECTIONS = {"DROITE", "GAUCHE", "HAUT", "BAS"};
+    private static final int MOVE_RIGHT = 0;
+    private static final int MOVE_LEFT = 1;
+    private static final int MOVE_UP = 2;
+    private static final int MOVE_DOWN = 3;
+
+    // Dernières valeurs à transmettre au thread principal (écrites par le thread de suivi)
+    private volatile boolean personVisible;
+    private volatile long latestCenter;
+    private volatile long latestMovement;
+    private final AtomicLong mainThreadPosts = new AtomicLong();
+    private final CoalescedCallback presenceCallback = new CoalescedCallback() {
+        @Override
+        void deliver(HeadTrackerCallback target) {
+            if (personVisible) {
+                long center = latestCenter;
+                target.onPersonDetected(Float.intBitsToFloat((int) (center >>> 32)),
+                        Float.intBitsToFloat((int) center));
+            } else {
+                target.onPersonLost();
+            }
+        }
+    };
+    private final CoalescedCallback movementCallback = new CoalescedCallback() {
+        @Override
+        void deliver(HeadTrackerCallback target) {
+            long movement = latestMovement;
+            target.onHeadMovement(MOVE_DIRECTIONS[(int) (movement >>> 32)], Float.intBitsToFloat((int) movement));
+        }
+    };
 
     // Callback pour les événements
     public interface HeadTrackerCallback {
@@ -39,10 +166,34 @@ public class BuddyHeadTracker {
         void onError(String error);
     }
 
-    private HeadTrackerCallback callback;
+    private volatile HeadTrackerCallback callback;
+
+    public BuddyHeadTracker(BuddyPlatform platform) {
+        this(platform, new HeadMotorBus(platform.motors(), platform.scheduler()));
+    }
+
+    /**
+     * @param headBus commandes de tête partagées avec les gestes (BuddyMovementManager)
+     */
+    public BuddyHeadTracker(BuddyPlatform platform, HeadMotorBus headBus) {
+        this(platform, headBus, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
 
-    public BuddyHeadTracker() {
-        this.handler = new Handler(Looper.getMainLooper());
+    /**
+     * @param trackingExecutor exécuteur à un seul thread réservé à la boucle de suivi
+     */
+    public BuddyHeadTracker(BuddyPlatform platform, HeadMotorBus headBus, ScheduledExecutorService trackingExecutor) {
+        this.motors = platform.motors();
+        this.vision = platform.vision();
+        this.scheduler = platform.scheduler();
+        this.headBus = headBus;
+        this.trackingExecutor = trackingExecutor;
+        presenceCallback.bind();
+        movementCallback.bind();
         Logger.i(TAG, "BuddyHeadTracker initialisé");
     }
 
@@ -53,12 +204,26 @@ public class BuddyHeadTracker {
         this.callback = callback;
     }
 
+    /**
+     * Choisit la loi de commande (HeadPidController par défaut, HeadStepController
+     * pour l'ancien suivi pas à pas) ; prise en compte au prochain démarrage du suivi
+     */
+    public void setController(HeadController controller) {
+        if (controller != null) {
+            this.controller = controller;
+        }
+    }
+
     /**
      * Démarre le suivi de tête
      */
     public void startTracking() {
         if (isTrackingActive) {
-            Logger.w(TAG, "Suivi déjà actif");
+            if (isOutputPaused) {
+                resumeTracking();
+            } else {
+                Logger.w(TAG, "Suivi déjà actif");
+            }
             return;
         }
 
@@ -71,6 +236,54 @@ public class BuddyHeadTracker {
         });
     }
 
+    /**
+     * Suspend les commandes de tête (geste, réaction) sans arrêter le suivi : les moteurs
+     * restent activés et la vision continue d'être lue, la reprise est immédiate
+     */
+    public void pauseTracking() {
+        if (!isTrackingActive || isOutputPaused) {
+            return;
+        }
+        Logger.d(TAG, "⏸️ Suivi en pause");
+        isOutputPaused = true;
+    }
+
+    /**
+     * Reprend les commandes de tête dès la prochaine image ; démarre le suivi s'il est arrêté
+     */
+    public void resumeTracking() {
+        if (!isTrackingActive) {
+            startTracking();
+            return;
+        }
+        if (!isOutputPaused) {
+            return;
+        }
+        Logger.d(TAG, "▶️ Reprise du suivi");
+        // La tête a pu bouger pendant la pause sans passer par le suivi
+        resumeRequested = true;
+        isOutputPaused = false;
+    }
+
+    /**
+     * Enregistre les images lues et les commandes de tête (gestes compris) dans trace,
+     * pour les rejouer hors robot
+     */
+    public void startRecording(TrackingTrace trace) {
+        this.trace = trace;
+        headBus.setTrace(trace);
+    }
+
+    /**
+     * @return la trace en cours d'enregistrement, null s'il n'y en a pas
+     */
+    public TrackingTrace stopRecording() {
+        TrackingTrace recorded = trace;
+        trace = null;
+        headBus.setTrace(null);
+        return recorded;
+    }
+
     /**
      * Arrête le suivi de tête
      */
@@ -82,22 +295,31 @@ public class BuddyHeadTracker {
 
         Logger.i(TAG, "🛑 Arrêt du suivi de tête");
         isTrackingActive = false;
+        isOutputPaused = false;
 
-        // Arrêter le thread
-        if (trackingThread != null && trackingThread.isAlive()) {
-            trackingThread.interrupt();
+        // Arrêter la boucle, puis attendre la fin d'une itération en cours
+        if (trackingTask != null) {
+            trackingTask.cancel(false);
+            trackingTask = null;
             try {
-                trackingThread.join(2000); // Attendre maximum 2 secondes
-                Logger.d(TAG, "Thread de suivi arrêté");
+                trackingExecutor.submit(() -> { }).get(2000, TimeUnit.MILLISECONDS); // Attendre maximum 2 secondes
+                Logger.d(TAG, "Boucle de suivi arrêtée");
             } catch (InterruptedException e) {
-                Logger.w(TAG, "Interruption lors de l'arrêt du thread");
+                Logger.w(TAG, "Interruption lors de l'arrêt de la boucle");
                 Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                Logger.w(TAG, "Arrêt de la boucle de suivi non confirmé: " + e);
             }
         }
 
+        // Les détections encore en attente sont obsolètes
+        scheduler.cancelAll(trackerEvents);
+        presenceCallback.clear();
+        movementCallback.clear();
+
         // Callback
         if (callback != null) {
-            handler.post(() -> callback.onTrackingStopped());
+            scheduler.post(trackerEvents, () -> callback.onTrackingStopped());
         }
     }
 
@@ -109,16 +331,16 @@ public class BuddyHeadTracker {
 
         try {
             // Activer le moteur "Yes" (haut/bas)
-            BuddySDK.USB.enableYesMove(true, new IUsbCommadRsp.Stub() {
+            motors.enableYesMove(true, new MotorPort.CommandListener() {
                 @Override
-                public void onSuccess(String success) throws RemoteException {
+                public void onSuccess(String success) {
                     Logger.d(TAG, "✅ Moteur YES activé");
 
                     // Activer le moteur "No" (gauche/droite)
                     try {
-                        BuddySDK.USB.enableNoMove(true, new IUsbCommadRsp.Stub() {
+                        motors.enableNoMove(true, new MotorPort.CommandListener() {
                             @Override
-                            public void onSuccess(String success) throws RemoteException {
+                            public void onSuccess(String success) {
                                 Logger.d(TAG, "✅ Moteur NO activé");
                                 areMotorsEnabled = true;
 
@@ -129,7 +351,7 @@ public class BuddyHeadTracker {
                             }
 
                             @Override
-                            public void onFailed(String error) throws RemoteException {
+                            public void onFailed(String error) {
                                 Logger.e(TAG, "❌ Échec activation moteur NO: " + error);
                                 notifyError("Échec activation moteur NO: " + error);
                             }
@@ -141,7 +363,7 @@ public class BuddyHeadTracker {
                 }
 
                 @Override
-                public void onFailed(String error) throws RemoteException {
+                public void onFailed(String error) {
                     Logger.e(TAG, "❌ Échec activation moteur YES: " + error);
                     notifyError("Échec activation moteur YES: " + error);
                 }
@@ -166,145 +388,160 @@ public class BuddyHeadTracker {
 
         try {
             // ÉTAPE CRITIQUE : Démarrer le tracking de vision d'abord
-            BuddySDK.Vision.startTracking();
+            vision.startTracking();
             Logger.d(TAG, "✅ Vision tracking démarré");
 
-            // Délai pour laisser le temps au tracking de s'initialiser
-            Thread.sleep(500);
-
         } catch (Exception e) {
             Logger.e(TAG, "❌ Échec démarrage vision tracking", e);
             notifyError("Impossible de démarrer le tracking de vision: " + e.getMessage());
             return;
         }
 
+        activeController = controller;
+        activeController.reset();
+        faceEstimator.reset();
+        pollRate.reset();
+        personVisible = false;
+        ticksUntilPoll = 0;
+        resumeRequested = false;
+        lastGestureCount = headBus.getGestureCount();
         isTrackingActive = true;
-        lastMovementTime = 0;
 
         // Callback
-        if (callback != null) {
-            handler.post(() -> callback.onTrackingStarted());
+        HeadTrackerCallback target = callback;
+        if (target != null) {
+            scheduler.post(trackerEvents, () -> target.onTrackingStarted());
         }
 
-        trackingThread = new Thread(() -> {
-            Logger.i(TAG, "🔄 Thread de suivi démarré");
-
-            while (isTrackingActive && !Thread.currentThread().isInterrupted()) {
-                try {
-                    // Obtenir les données de tracking
-                    Tracking trackingData = BuddySDK.Vision.getTracking();
-
-                    if (!trackingData.isTrackingSuccessfull()) {
-                        // Personne perdue
-                        handlePersonLost();
-                        Thread.sleep(TRACKING_REFRESH_INTERVAL);
-                        continue;
-                    }
+        // Cadence fixe : les lectures tombent sur une grille régulière, le temps de traitement
+        // ne s'accumule pas d'une image à l'autre. La première attend l'initialisation de la
+        // vision sur l'exécuteur de suivi : le thread appelant (Binder) n'est pas bloqué
+        trackingTask = trackingExecutor.scheduleAtFixedRate(trackingTick, VISION_WARMUP_MS, TRACKING_TICK_MS,
+                TimeUnit.MILLISECONDS);
+        Logger.i(TAG, "🔄 Boucle de suivi démarrée");
+    }
 
-                    // Calculer la position du centre du visage
-                    float centerX = (trackingData.getLeftPos() + trackingData.getRightPos()) / 2.0f;
-                    float centerY = (trackingData.getTopPos() + trackingData.getBottomPos()) / 2.0f;
+    /**
+     * Période de l'exécuteur : une lecture seulement quand l'attente choisie par
+     * TrackingPollRate est écoulée
+     */
+    private void onTrackingTick() {
+        if (!isTrackingActive) {
+            return;
+        }
+        if (resumeRequested) {
+            resumeRequested = false;
+            activeController.reset();
+            faceEstimator.reset();
+            ticksUntilPoll = 0;
+        }
+        if (--ticksUntilPoll > 0) {
+            return;
+        }
+        long interval;
+        try {
+            interval = trackFrame();
+        } catch (Exception e) {
+            // Une exception non rattrapée arrêterait l'exécution périodique
+            Logger.e(TAG, "Erreur dans la boucle de suivi", e);
+            notifyError("Erreur de suivi: " + e.getMessage());
+            interval = TRACKING_REFRESH_INTERVAL;
+        }
+        ticksUntilPoll = (int) Math.max(1, interval / TRACKING_TICK_MS);
+    }
 
-                    // Calculer les écarts par rapport au centre de l'écran
-                    float deltaX = centerX - 0.5f; // -0.5 à 0.5
-                    float deltaY = centerY - 0.5f; // -0.5 à 0.5
+    /**
+     * Une image de suivi : lecture, estimation, commande ; aucune allocation en régime établi
+     *
+     * @return l'attente avant la lecture suivante (ms)
+     */
+    private long trackFrame() {
+        // Obtenir les données de tracking
+        long now = scheduler.now();
+        boolean detected = vision.readTracking(trackingData);
+        TrackingTrace activeTrace = trace;
+        if (activeTrace != null) {
+            activeTrace.recordFrame(now, trackingData);
+        }
+        if (!detected) {
+            // Personne perdue : lectures de plus en plus espacées
+            activeController.reset();
+            faceEstimator.reset();
+            handlePersonLost();
+            return pollRate.onPoll(now, false, false);
+        }
 
-                    Logger.d(TAG, String.format("Position: X=%.2f, Y=%.2f, ΔX=%.2f, ΔY=%.2f",
-                            centerX, centerY, deltaX, deltaY));
+        // Calculer la position du centre du visage
+        float centerX = trackingData.centerX();
+        float centerY = trackingData.centerY();
 
-                    // Notifier la détection
-                    if (callback != null) {
-                        handler.post(() -> callback.onPersonDetected(centerX, centerY));
-                    }
+        // Notifier la détection (dernière position seulement)
+        notifyPersonDetected(centerX, centerY);
 
-                    // Vérifier et effectuer les mouvements
-                    checkAndMoveHead(deltaX, deltaY);
+        // En pause ou pendant un geste : la vision reste lue, mais ni le filtre
+        // (la tête bouge sans lui) ni les moteurs ne sont sollicités
+        if (isOutputPaused || headBus.isClaimed(HeadMotorBus.HeadAxis.YES)
+                || headBus.isClaimed(HeadMotorBus.HeadAxis.NO)) {
+            return pollRate.onPoll(now, true, false);
+        }
+        int gestureCount = headBus.getGestureCount();
+        if (gestureCount != lastGestureCount) {
+            // Geste terminé : le suivi reprend d'une nouvelle mesure
+            lastGestureCount = gestureCount;
+            activeController.reset();
+            faceEstimator.reset();
+        }
 
-                    // Attendre avant la prochaine itération
-                    Thread.sleep(TRACKING_REFRESH_INTERVAL);
+        // Image incohérente avec les précédentes : aucun mouvement, mais
+        // lecture rapide pour confirmer un éventuel déplacement
+        if (!faceEstimator.update(trackingData, now)) {
+            Logger.d(TAG, "Image de suivi écartée");
+            return pollRate.onPoll(now, true, true);
+        }
 
-                } catch (InterruptedException e) {
-                    Logger.i(TAG, "Thread de suivi interrompu");
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (Exception e) {
-                    Logger.e(TAG, "Erreur dans la boucle de suivi", e);
-                    notifyError("Erreur de suivi: " + e.getMessage());
+        // Écarts prévus par rapport au centre de l'écran (-0.5 à 0.5)
+        float deltaX = faceEstimator.predictedDeltaX(now);
+        float deltaY = faceEstimator.predictedDeltaY(now);
 
-                    try {
-                        Thread.sleep(TRACKING_REFRESH_INTERVAL);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
+        // Jusqu'à 20 Hz : rien n'est construit (ni boxing, ni tableau) si le debug est coupé
+        if (Logger.isDebugEnabled(TAG)) {
+            Logger.d(TAG, "Position: X=%.2f, Y=%.2f, ΔX prévu=%.2f, ΔY prévu=%.2f",
+                    centerX, centerY, deltaX, deltaY);
+        }
 
-            Logger.i(TAG, "🏁 Thread de suivi terminé");
-        });
+        // Vérifier et effectuer les mouvements
+        headCommanded = false;
+        checkAndMoveHead(activeController, now, deltaX, deltaY);
 
-        trackingThread.start();
+        // Attente avant la prochaine lecture : rapide tant que le visage ou la tête bouge
+        boolean moving = headCommanded || faceEstimator.getAngularSpeed() > FACE_MOVING_SPEED;
+        return pollRate.onPoll(now, true, moving);
     }
 
     /**
      * Gère la perte de la personne
      */
     private void handlePersonLost() {
-        if (callback != null) {
-            handler.post(() -> callback.onPersonLost());
+        // Une seule notification par disparition
+        if (personVisible) {
+            personVisible = false;
+            presenceCallback.request();
         }
     }
 
+    private void notifyPersonDetected(float centerX, float centerY) {
+        latestCenter = ((long) Float.floatToRawIntBits(centerX) << 32)
+                | (Float.floatToRawIntBits(centerY) & 0xFFFFFFFFL);
+        personVisible = true;
+        presenceCallback.request();
+    }
+
     /**
-     * Vérifie les seuils et effectue les mouvements appropriés
+     * Transmet l'écart à la loi de commande, qui décide des mouvements
      */
-    private void checkAndMoveHead(float deltaX, float deltaY) {
-        long currentTime = System.currentTimeMillis();
-
-        // Vérifier le cooldown pour éviter les mouvements trop fréquents
-        if (currentTime - lastMovementTime < MOVEMENT_COOLDOWN) {
-            return;
-        }
-
+    private void checkAndMoveHead(HeadController activeController, long now, float deltaX, float deltaY) {
         try {
-            boolean hasMoved = false;
-
-            // Mouvement horizontal (gauche/droite) - PRIORITÉ
-            if (Math.abs(deltaX) > HEAD_MOVEMENT_THRESHOLD) {
-                if (deltaX > 0) {
-                    // Personne à droite
-                    Logger.d(TAG, "➡️ Mouvement tête DROITE");
-                    moveHeadNo(HEAD_SPEED, HEAD_ANGLE_STEP);
-                    notifyMovement("DROITE", HEAD_ANGLE_STEP);
-                } else {
-                    // Personne à gauche
-                    Logger.d(TAG, "⬅️ Mouvement tête GAUCHE");
-                    moveHeadNo(HEAD_SPEED, -HEAD_ANGLE_STEP);
-                    notifyMovement("GAUCHE", -HEAD_ANGLE_STEP);
-                }
-                hasMoved = true;
-            }
-            // Mouvement vertical seulement si pas de mouvement horizontal
-            else if (Math.abs(deltaY) > HEAD_MOVEMENT_THRESHOLD) {
-                if (deltaY > 0) {
-                    // Personne en bas
-                    Logger.d(TAG, "⬇️ Mouvement tête BAS");
-                    moveHeadYes(HEAD_SPEED, -HEAD_ANGLE_STEP);
-                    notifyMovement("BAS", -HEAD_ANGLE_STEP);
-                } else {
-                    // Personne en haut
-                    Logger.d(TAG, "⬆️ Mouvement tête HAUT");
-                    moveHeadYes(HEAD_SPEED, HEAD_ANGLE_STEP);
-                    notifyMovement("HAUT", HEAD_ANGLE_STEP);
-                }
-                hasMoved = true;
-            }
-
-            // Mettre à jour le timestamp si mouvement effectué
-            if (hasMoved) {
-                lastMovementTime = currentTime;
-            }
-
+            activeController.onFrame(deltaX, deltaY, now, headAxes);
         } catch (Exception e) {
             Logger.e(TAG, "Erreur lors du mouvement de tête", e);
             notifyError("Erreur mouvement: " + e.getMessage());
@@ -313,48 +550,20 @@ public class BuddyHeadTracker {
 
     /**
      * Effectue un mouvement horizontal (No movement)
+     *
+     * @return false si un geste a réservé l'axe
      */
-    private void moveHeadNo(float speed, float angle) {
-        try {
-            BuddySDK.USB.buddySayNo(speed, angle, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String success) throws RemoteException {
-                    if ("NO_MOVE_FINISHED".equals(success)) {
-                        Logger.d(TAG, "Mouvement horizontal terminé");
-                    }
-                }
-
-                @Override
-                public void onFailed(String error) throws RemoteException {
-                    Logger.e(TAG, "Échec mouvement horizontal: " + error);
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception mouvement horizontal", e);
-        }
+    private boolean moveHeadNo(float speed, float angle) {
+        return headBus.moveNo(HeadMotorBus.Priority.TRACKING, speed, angle, noMoveListener);
     }
 
     /**
      * Effectue un mouvement vertical (Yes movement)
+     *
+     * @return false si un geste a réservé l'axe
      */
-    private void moveHeadYes(float speed, float angle) {
-        try {
-            BuddySDK.USB.buddySayYes(speed, angle, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String success) throws RemoteException {
-                    if ("YES_MOVE_FINISHED".equals(success)) {
-                        Logger.d(TAG, "Mouvement vertical terminé");
-                    }
-                }
-
-                @Override
-                public void onFailed(String error) throws RemoteException {
-                    Logger.e(TAG, "Échec mouvement vertical: " + error);
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception mouvement vertical", e);
-        }
+    private boolean moveHeadYes(float speed, float angle) {
+        return headBus.moveYes(HeadMotorBus.Priority.TRACKING, speed, angle, yesMoveListener);
     }
 
     /**
@@ -370,19 +579,19 @@ public class BuddyHeadTracker {
 
         try {
             // Retour position neutre horizontale
-            BuddySDK.USB.buddySayNo(HEAD_SPEED, 0, new IUsbCommadRsp.Stub() {
+            motors.buddySayNo(CENTER_SPEED, 0, new MotorPort.CommandListener() {
                 @Override
-                public void onSuccess(String success) throws RemoteException {
+                public void onSuccess(String success) {
                     // Retour position neutre verticale
                     try {
-                        BuddySDK.USB.buddySayYes(HEAD_SPEED, 0, new IUsbCommadRsp.Stub() {
+                        motors.buddySayYes(CENTER_SPEED, 0, new MotorPort.CommandListener() {
                             @Override
-                            public void onSuccess(String success) throws RemoteException {
+                            public void onSuccess(String success) {
                                 Logger.i(TAG, "✅ Tête centrée");
                             }
 
                             @Override
-                            public void onFailed(String error) throws RemoteException {
+                            public void onFailed(String error) {
                                 Logger.e(TAG, "Échec centrage vertical: " + error);
                             }
                         });
@@ -392,7 +601,7 @@ public class BuddyHeadTracker {
                 }
 
                 @Override
-                public void onFailed(String error) throws RemoteException {
+                public void onFailed(String error) {
                     Logger.e(TAG, "Échec centrage horizontal: " + error);
                 }
             });
@@ -408,10 +617,38 @@ public class BuddyHeadTracker {
         return isTrackingActive;
     }
 
+    public boolean isTrackingPaused() {
+        return isTrackingActive && isOutputPaused;
+    }
+
     public boolean areMotorsEnabled() {
         return areMotorsEnabled;
     }
 
+    /**
+     * Cadence effective de lecture de la vision, appels économisés, messages au thread principal
+     * et commandes de tête
+     */
+    public String getPollStats() {
+        return pollRate.getStats() + ", " + mainThreadPosts.get() + " messages au thread principal, "
+                + headBus.getStats();
+    }
+
+    /**
+     * Messages postés au thread principal depuis la création (détections et mouvements)
+     */
+    public long getMainThreadPostCount() {
+        return mainThreadPosts.get();
+    }
+
+    public float getAveragePollRateHz() {
+        return pollRate.getAverageRateHz();
+    }
+
+    public long getSavedVisionCallsPerHour() {
+        return pollRate.getSavedCallsPerHour();
+    }
+
     /**
      * Configure les paramètres de suivi
      */
@@ -425,15 +662,64 @@ public class BuddyHeadTracker {
      * CALLBACKS HELPERS
      */
     private void notifyError(String error) {
-        if (callback != null) {
-            handler.post(() -> callback.onError(error));
+        HeadTrackerCallback target = callback;
+        if (target != null) {
+            scheduler.post(trackerEvents, () -> target.onError(error));
         }
     }
 
-    private void notifyMovement(String direction, float angle) {
-        if (callback != null) {
-            handler.post(() -> callback.onHeadMovement(direction, angle));
+    private void notifyMovement(int direction, float angle) {
+        latestMovement = ((long) direction << 32) | (Float.floatToRawIntBits(angle) & 0xFFFFFFFFL);
+        movementCallback.request();
+    }
+
+    /**
+     * Transmission au thread principal en « dernière valeur gagnante » : au plus un message
+     * en attente, et au plus un par CALLBACK_MIN_INTERVAL_MS. L'entrée du planificateur est
+     * créée une fois et réarmée (aucune allocation par message) ; les valeurs sont lues au
+     * moment de la livraison.
+     */
+    private abstract class CoalescedCallback implements Runnable {
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private volatile long lastDelivery = Long.MIN_VALUE / 2;
+        // Réarmée seulement quand aucun message n'est en attente (pending)
+        private RearmableTask delivery;
+
+        /**
+         * Crée l'entrée du planificateur (constructeur du suivi)
+         */
+        void bind() {
+            delivery = scheduler.newRearmableTask(trackerEvents, this);
         }
+
+        void request() {
+            if (callback == null || !pending.compareAndSet(false, true)) {
+                return;
+            }
+            long delay = Math.max(0, lastDelivery + CALLBACK_MIN_INTERVAL_MS - scheduler.now());
+            delivery.schedule(delay);
+            mainThreadPosts.incrementAndGet();
+        }
+
+        @Override
+        public final void run() {
+            lastDelivery = scheduler.now();
+            // Libéré avant la lecture : une valeur plus récente provoquera un nouveau message
+            pending.set(false);
+            HeadTrackerCallback target = callback;
+            if (target != null) {
+                deliver(target);
+            }
+        }
+
+        /**
+         * Message en attente annulé (arrêt du suivi)
+         */
+        void clear() {
+            pending.set(false);
+        }
+
+        abstract void deliver(HeadTrackerCallback target);
     }
 
     /**
@@ -442,6 +728,7 @@ public class BuddyHeadTracker {
     public void cleanup() {
         Logger.i(TAG, "🧹 Nettoyage BuddyHeadTracker");
         stopTracking();
+        trackingExecutor.shutdown();
 
         // Centrer la tête avant arrêt
         if (areMotorsEnabled) {
@@ -1,24 +1,92 @@
 package com.bfr.helloworld.buddy;
 
-import android.os.Handler;
-import android.os.Looper;
-import android.os.RemoteException;
-import com.bfr.buddy.usb.shared.IUsbCommadRsp;
-import com.bfr.buddysdk.BuddySDK;
+import com.bfr.helloworld.buddy.sdk.BuddyFutures;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.scheduling.Scheduler;
 import com.bfr.helloworld.utils.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 /**
  * Gestionnaire des mouvements de Buddy (tête, roues) - VERSION OPTIMISÉE
+ *
+ * Les gestes sont des données (Choreography) joués par ChoreographyPlayer : une nouvelle
+ * célébration se charge avec loadChoreographies et se joue avec perform, sans code.
  */
 public class BuddyMovementManager {
     private static final String TAG = "BuddyMovementManager";
 
-    private final Handler handler;
-    private boolean isMoving = false;
+    // Gestes intégrés
+    public static final String YES_NOD = "hochement";
+    public static final String SYNCHRONIZED_YES_NOD = "hochement_synchronise";
+    public static final String TRIPLE_YES_NOD = "triple_hochement";
+    public static final String NO_SHAKE = "secouement_non";
+    public static final String VICTORY_DANCE = "danse_victoire";
+
+    // Format : voir Choreography ; loadChoreographies peut les remplacer
+    static final String DEFAULT_CHOREOGRAPHIES = ""
+            + "[" + YES_NOD + "]\n"
+            + "# Descente rapide et naturelle, délai court, remontée plus rapide\n"
+            + "yes 50 20 200\n"
+            + "yes 60 -20\n"
+            + "[" + SYNCHRONIZED_YES_NOD + "]\n"
+            + "# Plus doux, pour accompagner la parole\n"
+            + "yes 40 15 150\n"
+            + "yes 45 -15\n"
+            + "[" + TRIPLE_YES_NOD + "]\n"
+            + "yes 55 18 100\n"
+            + "yes 55 -18 100\n"
+            + "yes 55 18 100\n"
+            + "yes 55 -18 100\n"
+            + "yes 55 18 100\n"
+            + "yes 55 -18 100\n"
+            + "[" + NO_SHAKE + "]\n"
+            + "no 45 35\n"
+            + "[" + VICTORY_DANCE + "]\n"
+            + "# Rotation rapide puis rotation inverse après délai court\n"
+            + "wheels 100 360 800\n"
+            + "wheels -80 120\n";
+
+    // Délai maximal de réponse d'une activation de moteur
+    private static final long ENABLE_TIMEOUT_MS = 3000;
+
+    private final Scheduler scheduler;
+    private final MotorPort motors;
+    private final BuddyFutures futures;
+    // Gestes disponibles, par nom
+    private final Map<String, Choreography> choreographies = new LinkedHashMap<>();
+    private final ChoreographyPlayer player;
+    // Réessai différé d'un hochement en attendant l'activation des moteurs
+    private final Object motionSequence = new Object();
+    // Tête et roues sont indépendantes : un hochement peut accompagner une rotation
+    private boolean headMoving = false;
+    private boolean wheelsMoving = false;
     private boolean headMotorsEnabled = false;
+    // Callbacks des mouvements en cours, appelés une fois à leur fin (succès ou échec)
+    private Runnable onHeadMoveFinished;
+    private Runnable onWheelsMoveFinished;
+    // Gestes en cours (le même si un geste utilise tête et roues)
+    private ChoreographyPlayer.Playback headPlayback;
+    private ChoreographyPlayer.Playback wheelsPlayback;
+
+    public BuddyMovementManager(BuddyPlatform platform) {
+        this(platform, new HeadMotorBus(platform.motors(), platform.scheduler()));
+    }
 
-    public BuddyMovementManager() {
-        this.handler = new Handler(Looper.getMainLooper());
+    public BuddyMovementManager(BuddyPlatform platform, HeadMotorBus headBus) {
+        this.motors = platform.motors();
+        this.scheduler = platform.scheduler();
+        this.futures = new BuddyFutures(platform);
+        this.player = new ChoreographyPlayer(motors, headBus, scheduler);
+        choreographies.putAll(Choreography.parse(DEFAULT_CHOREOGRAPHIES));
         Logger.i(TAG, "BuddyMovementManager initialisé");
     }
 
@@ -33,40 +101,22 @@ public class BuddyMovementManager {
 
         Logger.i(TAG, "Activation des moteurs de tête...");
 
-        try {
-            // Activer le moteur YES (hochement)
-            BuddySDK.USB.enableYesMove(true, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
+        // Moteur YES (hochement) puis moteur NO ; sans réponse, l'activation échoue au lieu d'attendre
+        futures.enableYesMove(true, ENABLE_TIMEOUT_MS)
+                .thenCompose(ignored -> {
                     Logger.i(TAG, "✅ Moteur YES activé avec succès");
-
-                    // Activer aussi le moteur NO
-                    try {
-                        BuddySDK.USB.enableNoMove(1, new IUsbCommadRsp.Stub() {
-                            @Override
-                            public void onSuccess(String s) throws RemoteException {
-                                Logger.i(TAG, "✅ Moteur NO activé avec succès");
-                                headMotorsEnabled = true;
-                            }
-
-                            @Override
-                            public void onFailed(String s) throws RemoteException {
-                                Logger.e(TAG, "❌ Échec activation moteur NO: " + s);
-                            }
-                        });
-                    } catch (Exception e) {
-                        Logger.e(TAG, "Exception activation moteur NO", e);
+                    return futures.enableNoMove(true, ENABLE_TIMEOUT_MS);
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        Logger.i(TAG, "✅ Moteur NO activé avec succès");
+                        headMotorsEnabled = true;
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        Logger.e(TAG, "❌ Échec activation moteurs de tête: " + cause.getMessage());
                     }
-                }
-
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "❌ Échec activation moteur YES: " + s);
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Erreur activation moteurs de tête", e);
-        }
+                });
     }
 
     /**
@@ -74,10 +124,18 @@ public class BuddyMovementManager {
      * À déclencher PENDANT que Buddy parle, pas après
      */
     public void performYesNod() {
+        performYesNod(null);
+    }
+
+    /**
+     * Hochement ; onComplete est appelé à la fin du mouvement, ou immédiatement s'il est abandonné
+     */
+    public void performYesNod(Runnable onComplete) {
         Logger.i(TAG, "🎯 HOCHEMENT OUI - Démarrage immédiat");
 
-        if (isMoving) {
+        if (headMoving) {
             Logger.w(TAG, "⚠️ Mouvement déjà en cours, abandon");
+            runIfNotNull(onComplete);
             return;
         }
 
@@ -86,279 +144,176 @@ public class BuddyMovementManager {
             Logger.w(TAG, "⚠️ Moteurs non activés, activation et réessai");
             enableHeadMotors();
             // Réessayer après délai court
-            handler.postDelayed(this::performYesNod, 800);
+            scheduler.schedule(motionSequence, 800, () -> performYesNod(onComplete));
             return;
         }
 
-        isMoving = true;
-
-        try {
-            Logger.d(TAG, "→ Mouvement 1: Descente rapide (50°/s, 20°)");
-
-            // MOUVEMENT 1: Descente rapide et naturelle
-            BuddySDK.USB.buddySayYes(50.0f, 20.0f, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    Logger.d(TAG, "✓ Descente terminée: " + s);
-
-                    if (s.equals("YES_MOVE_FINISHED")) {
-                        // DÉLAI COURT pour mouvement naturel
-                        handler.postDelayed(() -> {
-                            try {
-                                Logger.d(TAG, "→ Mouvement 2: Remontée rapide (60°/s, -20°)");
-
-                                // MOUVEMENT 2: Remontée plus rapide
-                                BuddySDK.USB.buddySayYes(60.0f, -20.0f, new IUsbCommadRsp.Stub() {
-                                    @Override
-                                    public void onSuccess(String s2) throws RemoteException {
-                                        Logger.d(TAG, "✓ Remontée terminée: " + s2);
-
-                                        if (s2.equals("YES_MOVE_FINISHED")) {
-                                            Logger.i(TAG, "🎉 HOCHEMENT OUI TERMINÉ - Durée ~1.5s");
-                                            isMoving = false;
-                                        }
-                                    }
-
-                                    @Override
-                                    public void onFailed(String s2) throws RemoteException {
-                                        Logger.e(TAG, "❌ Échec remontée: " + s2);
-                                        isMoving = false;
-                                    }
-                                });
-                            } catch (Exception e) {
-                                Logger.e(TAG, "Exception remontée", e);
-                                isMoving = false;
-                            }
-                        }, 200); // DÉLAI RÉDUIT: 200ms au lieu de 500ms
-                    }
-                }
-
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "❌ Échec descente: " + s);
-                    isMoving = false;
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "❌ Exception hochement", e);
-            isMoving = false;
-        }
+        perform(YES_NOD, onComplete);
     }
 
     /**
      * Hochement de tête SYNCHRONISÉ - démarrage en même temps que la parole
      */
     public void performSynchronizedYesNod() {
-        Logger.i(TAG, "🎯 HOCHEMENT SYNCHRONISÉ - Pour accompagner la parole");
-
-        if (isMoving) {
-            Logger.w(TAG, "Mouvement en cours, ignoré");
-            return;
-        }
-
-        if (!headMotorsEnabled) {
-            Logger.w(TAG, "Moteurs non activés");
-            return;
-        }
-
-        isMoving = true;
-
-        try {
-            // Mouvement plus doux pour accompagner la parole
-            Logger.d(TAG, "→ Hochement doux synchronisé");
-
-            BuddySDK.USB.buddySayYes(40.0f, 15.0f, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    if (s.equals("YES_MOVE_FINISHED")) {
-                        // Retour immédiat
-                        handler.postDelayed(() -> {
-                            try {
-                                BuddySDK.USB.buddySayYes(45.0f, -15.0f, new IUsbCommadRsp.Stub() {
-                                    @Override
-                                    public void onSuccess(String s2) throws RemoteException {
-                                        if (s2.equals("YES_MOVE_FINISHED")) {
-                                            Logger.i(TAG, "✅ Hochement synchronisé terminé");
-                                            isMoving = false;
-                                        }
-                                    }
-
-                                    @Override
-                                    public void onFailed(String s2) throws RemoteException {
-                                        Logger.e(TAG, "Échec retour synchronisé: " + s2);
-                                        isMoving = false;
-                                    }
-                                });
-                            } catch (Exception e) {
-                                Logger.e(TAG, "Exception retour synchronisé", e);
-                                isMoving = false;
-                            }
-                        }, 150); // Délai très court
-                    }
-                }
+        performSynchronizedYesNod(null);
+    }
 
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "Échec hochement synchronisé: " + s);
-                    isMoving = false;
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception hochement synchronisé", e);
-            isMoving = false;
-        }
+    /**
+     * Hochement synchronisé ; onComplete est appelé à la fin du mouvement,
+     * ou immédiatement si le hochement ne peut pas être fait
+     */
+    public void performSynchronizedYesNod(Runnable onComplete) {
+        Logger.i(TAG, "🎯 HOCHEMENT SYNCHRONISÉ - Pour accompagner la parole");
+        perform(SYNCHRONIZED_YES_NOD, onComplete);
     }
 
     /**
      * Hochement triple pour emphase (ex: très bonne réponse)
      */
     public void performTripleYesNod() {
-        Logger.i(TAG, "🎉 TRIPLE HOCHEMENT - Célébration");
+        performTripleYesNod(null);
+    }
 
-        if (isMoving) return;
-        if (!headMotorsEnabled) return;
+    public void performTripleYesNod(Runnable onComplete) {
+        Logger.i(TAG, "🎉 TRIPLE HOCHEMENT - Célébration");
+        perform(TRIPLE_YES_NOD, onComplete);
+    }
 
-        isMoving = true;
-        performTripleNodStep(1);
+    /**
+     * Secouement NON optimisé
+     */
+    public void performNoShake() {
+        Logger.i(TAG, "🚫 SECOUEMENT NON");
+        perform(NO_SHAKE, null);
     }
 
-    private void performTripleNodStep(int step) {
-        if (step > 3) {
-            Logger.i(TAG, "Triple hochement terminé");
-            isMoving = false;
-            return;
-        }
+    /**
+     * Danse de victoire optimisée
+     */
+    public void performVictoryDance() {
+        performVictoryDance(null);
+    }
 
-        try {
-            Logger.d(TAG, "→ Hochement " + step + "/3");
+    public void performVictoryDance(Runnable onComplete) {
+        Logger.i(TAG, "🎉 DANSE DE VICTOIRE");
+        perform(VICTORY_DANCE, onComplete);
+    }
 
-            BuddySDK.USB.buddySayYes(55.0f, 18.0f, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    if (s.equals("YES_MOVE_FINISHED")) {
-                        handler.postDelayed(() -> {
-                            try {
-                                BuddySDK.USB.buddySayYes(55.0f, -18.0f, new IUsbCommadRsp.Stub() {
-                                    @Override
-                                    public void onSuccess(String s2) throws RemoteException {
-                                        if (s2.equals("YES_MOVE_FINISHED")) {
-                                            // Passer au hochement suivant
-                                            handler.postDelayed(() -> performTripleNodStep(step + 1), 100);
-                                        }
-                                    }
-
-                                    @Override
-                                    public void onFailed(String s2) throws RemoteException {
-                                        Logger.e(TAG, "Échec triple hochement: " + s2);
-                                        isMoving = false;
-                                    }
-                                });
-                            } catch (Exception e) {
-                                Logger.e(TAG, "Exception triple hochement", e);
-                                isMoving = false;
-                            }
-                        }, 100);
-                    }
-                }
+    /**
+     * Joue un geste chargé (intégré ou loadChoreographies) ; onComplete est appelé à sa fin,
+     * ou immédiatement s'il ne peut pas être joué (inconnu, axes occupés, moteurs de tête inactifs)
+     *
+     * @return false si le geste n'a pas été lancé
+     */
+    public boolean perform(String name, Runnable onComplete) {
+        Choreography choreography = choreographies.get(name);
+        if (choreography == null) {
+            Logger.w(TAG, "Geste inconnu: " + name);
+            runIfNotNull(onComplete);
+            return false;
+        }
+        boolean head = choreography.uses(Choreography.Axis.YES) || choreography.uses(Choreography.Axis.NO);
+        boolean wheels = choreography.uses(Choreography.Axis.WHEELS);
+        if (head && (headMoving || !headMotorsEnabled) || wheels && wheelsMoving) {
+            Logger.w(TAG, "⚠️ Geste '" + name + "' impossible - mouvement en cours ou moteurs inactifs");
+            runIfNotNull(onComplete);
+            return false;
+        }
 
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "Échec triple hochement: " + s);
-                    isMoving = false;
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception triple hochement", e);
-            isMoving = false;
+        headMoving |= head;
+        wheelsMoving |= wheels;
+        if (head) {
+            onHeadMoveFinished = onComplete;
+        } else {
+            onWheelsMoveFinished = onComplete;
         }
+        ChoreographyPlayer.Playback playback = player.play(choreography, () -> {
+            if (wheels) {
+                finishWheelsMove();
+            }
+            if (head) {
+                finishHeadMove();
+            }
+        });
+        if (!playback.isFinished()) {
+            if (head) {
+                headPlayback = playback;
+            }
+            if (wheels) {
+                wheelsPlayback = playback;
+            }
+        }
+        return true;
     }
 
     /**
-     * Secouement NON optimisé
+     * Ajoute ou remplace des gestes (format de Choreography), par exemple une nouvelle célébration
+     *
+     * @throws IllegalArgumentException texte illisible ou geste hors limites ; rien n'est chargé
      */
-    public void performNoShake() {
-        if (isMoving || !headMotorsEnabled) {
-            Logger.w(TAG, "Secouement NON impossible");
-            return;
-        }
-
-        Logger.i(TAG, "🚫 SECOUEMENT NON");
-        isMoving = true;
+    public void loadChoreographies(String text) {
+        Map<String, Choreography> loaded = Choreography.parse(text);
+        choreographies.putAll(loaded);
+        Logger.i(TAG, loaded.size() + " geste(s) chargé(s): " + loaded.keySet());
+    }
 
+    /**
+     * Charge les gestes d'un fichier texte s'il existe (UTF-8)
+     *
+     * @return false si le fichier est absent ou refusé (détail dans logcat)
+     */
+    public boolean loadChoreographies(File file) {
+        if (!file.isFile()) {
+            return false;
+        }
         try {
-            // Mouvement plus rapide et naturel pour le "non"
-            BuddySDK.USB.buddySayNo(45.0f, 35.0f, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    if (s.equals("NO_MOVE_FINISHED")) {
-                        Logger.i(TAG, "✅ Secouement NON terminé");
-                        isMoving = false;
-                    }
-                }
-
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "❌ Échec secouement NON: " + s);
-                    isMoving = false;
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception secouement NON", e);
-            isMoving = false;
+            loadChoreographies(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            Logger.e(TAG, "Gestes de " + file + " ignorés", e);
+            return false;
         }
     }
 
+    public Set<String> getChoreographyNames() {
+        return Collections.unmodifiableSet(choreographies.keySet());
+    }
+
     /**
-     * Danse de victoire optimisée
+     * Écarts mesurés entre les pas des gestes
      */
-    public void performVictoryDance() {
-        if (isMoving) {
-            Logger.w(TAG, "Danse impossible - mouvement en cours");
-            return;
-        }
+    public String getGestureStats() {
+        return player.getStats();
+    }
 
-        Logger.i(TAG, "🎉 DANSE DE VICTOIRE");
-        isMoving = true;
+    /**
+     * Fin du mouvement de tête en cours : prévient l'appelant
+     */
+    private void finishHeadMove() {
+        headMoving = false;
+        headPlayback = null;
+        Runnable callback = onHeadMoveFinished;
+        onHeadMoveFinished = null;
+        runIfNotNull(callback);
+    }
 
-        try {
-            // Rotation rapide
-            BuddySDK.USB.rotateBuddy(100.0f, 360.0f, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    // Rotation inverse après délai court
-                    handler.postDelayed(() -> performSecondDanceMove(), 800);
-                }
+    private void finishWheelsMove() {
+        wheelsMoving = false;
+        wheelsPlayback = null;
+        Runnable callback = onWheelsMoveFinished;
+        onWheelsMoveFinished = null;
+        runIfNotNull(callback);
+    }
 
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "Échec danse 1: " + s);
-                    isMoving = false;
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception danse de victoire", e);
-            isMoving = false;
+    private static void runIfNotNull(Runnable callback) {
+        if (callback != null) {
+            callback.run();
         }
     }
 
-    private void performSecondDanceMove() {
-        try {
-            BuddySDK.USB.rotateBuddy(-80.0f, 120.0f, new IUsbCommadRsp.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    Logger.i(TAG, "🎉 Danse de victoire terminée !");
-                    isMoving = false;
-                }
-
-                @Override
-                public void onFailed(String s) throws RemoteException {
-                    Logger.e(TAG, "Échec danse 2: " + s);
-                    isMoving = false;
-                }
-            });
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception danse 2", e);
-            isMoving = false;
+    private static void cancelIfNotNull(ChoreographyPlayer.Playback playback) {
+        if (playback != null) {
+            playback.cancel();
         }
     }
 
@@ -366,7 +321,15 @@ public class BuddyMovementManager {
      * GETTERS ET UTILITAIRES
      */
     public boolean isMoving() {
-        return isMoving;
+        return headMoving || wheelsMoving;
+    }
+
+    public boolean isHeadMoving() {
+        return headMoving;
+    }
+
+    public boolean isWheelsMoving() {
+        return wheelsMoving;
     }
 
     public boolean areHeadMotorsEnabled() {
@@ -378,30 +341,34 @@ public class BuddyMovementManager {
      */
     public void emergencyStop() {
         Logger.w(TAG, "🛑 ARRÊT D'URGENCE");
-        isMoving = false;
+        scheduler.cancelAll(motionSequence);
+        cancelIfNotNull(headPlayback);
+        cancelIfNotNull(wheelsPlayback);
+        finishHeadMove();
+        finishWheelsMove();
 
         try {
             // Utiliser les méthodes d'arrêt du SDK
-            BuddySDK.USB.buddyStopYesMove(new IUsbCommadRsp.Stub() {
+            motors.buddyStopYesMove(new MotorPort.CommandListener() {
                 @Override
-                public void onSuccess(String s) throws RemoteException {
+                public void onSuccess(String s) {
                     Logger.i(TAG, "Arrêt moteur YES réussi");
                 }
 
                 @Override
-                public void onFailed(String s) throws RemoteException {
+                public void onFailed(String s) {
                     Logger.e(TAG, "Échec arrêt moteur YES: " + s);
                 }
             });
 
-            BuddySDK.USB.buddyStopNoMove(new IUsbCommadRsp.Stub() {
+            motors.buddyStopNoMove(new MotorPort.CommandListener() {
                 @Override
-                public void onSuccess(String s) throws RemoteException {
+                public void onSuccess(String s) {
                     Logger.i(TAG, "Arrêt moteur NO réussi");
                 }
 
                 @Override
-                public void onFailed(String s) throws RemoteException {
+                public void onFailed(String s) {
                     Logger.e(TAG, "Échec arrêt moteur NO: " + s);
                 }
             });
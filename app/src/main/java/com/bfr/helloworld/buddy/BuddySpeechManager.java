@@ -1,13 +1,14 @@
 package com.bfr.helloworld.buddy;
 
-import android.os.RemoteException;
-import com.bfr.buddy.speech.shared.ISTTCallback;
-import com.bfr.buddy.speech.shared.ITTSCallback;
-import com.bfr.buddy.speech.shared.STTResult;
-import com.bfr.buddy.speech.shared.STTResultsData;
-import com.bfr.buddysdk.BuddySDK;
-import com.bfr.buddysdk.services.speech.STTTask;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.SpeechPort;
+import com.bfr.helloworld.scheduling.Cancellable;
+import com.bfr.helloworld.scheduling.Scheduler;
 import com.bfr.helloworld.utils.Logger;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -15,23 +16,148 @@ import java.util.Locale;
  */
 public class BuddySpeechManager {
     private static final String TAG = "BuddySpeechManager";
+    private static final String LISTENING_PROMPT = "Je t'écoute...";
+    // Au-delà, une tâche STT préparée est jugée périmée et recréée
+    private static final long PREPARED_TASK_MAX_AGE_MS = 30000;
+    // Silence après un nombre sûr pour clore l'écoute sans attendre la fin de parole du moteur
+    private static final long EARLY_ENDPOINT_STABLE_MS = 300;
+
+    /**
+     * Priorité d'un message : un message plus prioritaire interrompt celui en cours,
+     * les autres attendent leur tour (par priorité puis par ordre d'arrivée)
+     */
+    public enum Priority {
+        // Relance sans contenu ("Je t'écoute...") : fusionnée ou abandonnée si un message utile arrive
+        FILLER,
+        ERROR,
+        FEEDBACK,
+        QUESTION,
+        EMERGENCY
+    }
 
     // Interface avec méthodes par défaut pour éviter l'erreur
     public interface SpeechCallback {
         default void onSpeechFinished() {}
         default void onSpeechError(String error) {}
+
+        /**
+         * Message interrompu ou abandonné avant d'être dit ; par défaut traité comme une erreur
+         */
+        default void onSpeechCancelled(String reason) {
+            onSpeechError(reason);
+        }
+
+        /**
+         * Callback qui appelle done à la fin de la parole, réussie ou non
+         */
+        static SpeechCallback whenDone(Runnable done) {
+            return new SpeechCallback() {
+                @Override
+                public void onSpeechFinished() {
+                    done.run();
+                }
+
+                @Override
+                public void onSpeechError(String error) {
+                    Logger.w(TAG, "Parole interrompue: " + error);
+                    done.run();
+                }
+            };
+        }
     }
 
     public interface ListeningCallback {
-        void onSpeechRecognized(String utterance, float confidence);
+        default void onSpeechRecognized(String utterance, float confidence) {}
+
+        /**
+         * Liste N-best complète, dans l'ordre du moteur (meilleure en premier).
+         * Par défaut, seule la première hypothèse est transmise.
+         */
+        default void onHypothesesRecognized(List<SpeechHypothesis> hypotheses) {
+            SpeechHypothesis best = hypotheses.get(0);
+            onSpeechRecognized(best.getUtterance(), best.getConfidence());
+        }
+
         void onListeningError(String error);
+
+        /**
+         * Transcription partielle pendant que l'enfant parle (si le moteur en fournit)
+         */
+        default void onPartialHypotheses(List<SpeechHypothesis> hypotheses) {}
+    }
+
+    /**
+     * Nombre lu avec assurance dans une transcription partielle, ou -1 si elle ne suffit pas
+     */
+    public interface PartialAnswerParser {
+        int parse(List<SpeechHypothesis> hypotheses);
+    }
+
+    /**
+     * Message en attente ou en cours ; plusieurs callbacks si des relances ont été fusionnées
+     */
+    private static final class Utterance {
+        String text;
+        final Priority priority;
+        final List<SpeechCallback> callbacks = new ArrayList<>(1);
+        final long enqueuedAt;
+
+        Utterance(String text, Priority priority, SpeechCallback callback, long enqueuedAt) {
+            this.text = text;
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+            addCallback(callback);
+        }
+
+        void addCallback(SpeechCallback callback) {
+            if (callback != null) {
+                callbacks.add(callback);
+            }
+        }
     }
 
-    private STTTask currentSTTTask;
+    private final SpeechPort speech;
+    private final Scheduler scheduler;
+    // État de l'écoute (accès sous verrou)
+    private SpeechPort.ListenTask currentSTTTask;
+    private ListenSession currentSession;
     private boolean isListening = false;
-    private boolean isSpeaking = false;
 
-    public BuddySpeechManager() {
+    // Tâche STT créée pendant la question, prête pour l'écoute suivante
+    private boolean preArmListening = true;
+    private SpeechPort.ListenTask preparedSTTTask;
+    private long preparedAt;
+    private long lastSpeechEndAt = -1;
+
+    // Métriques d'écoute : fin de la dernière parole utile -> démarrage du STT
+    private int listenCount;
+    private int preArmedCount;
+    private int measuredGaps;
+    private long totalTtsToListenMs;
+    private long maxTtsToListenMs;
+
+    // Dernier mot transcrit -> résultat : fin anticipée ou fin de parole du moteur
+    private int earlyEndpointCount;
+    private long totalEarlyEndpointMs;
+    private int engineEndpointCount;
+    private long totalEngineEndpointMs;
+
+    // File de parole (accès sous verrou)
+    private Utterance currentUtterance;
+    private final List<Utterance> queue = new ArrayList<>();
+
+    // Métriques de la file
+    private int spokenCount;
+    private int preemptedCount;
+    private int coalescedCount;
+    private int droppedCount;
+    private int maxQueueDepth;
+    private long totalWaitMs;
+    private long maxWaitMs;
+
+    public BuddySpeechManager(BuddyPlatform platform) {
+        this.speech = platform.speech();
+        this.scheduler = platform.scheduler();
         Logger.i(TAG, "BuddySpeechManager initialisé");
     }
 
@@ -43,14 +169,17 @@ public class BuddySpeechManager {
     }
 
     /**
-     * Fait parler Buddy avec callback
+     * Fait parler Buddy avec callback (priorité FEEDBACK)
      */
     public void speak(String message, SpeechCallback callback) {
-        if (isSpeaking) {
-            Logger.w(TAG, "Parole déjà en cours");
-            return;
-        }
+        speak(message, Priority.FEEDBACK, callback);
+    }
 
+    /**
+     * Met un message dans la file de parole. Le callback reçoit toujours exactement un signal :
+     * fin, erreur ou annulation (interruption par un message plus prioritaire, abandon, arrêt).
+     */
+    public void speak(String message, Priority priority, SpeechCallback callback) {
         if (message == null || message.trim().isEmpty()) {
             Logger.w(TAG, "Message vide, ignoré");
             if (callback != null) {
@@ -59,45 +188,163 @@ public class BuddySpeechManager {
             return;
         }
 
-        Logger.d(TAG, "Début parole: '" + message + "'");
-        isSpeaking = true;
-
-        try {
-            BuddySDK.Speech.startSpeaking(message, new ITTSCallback.Stub() {
-                @Override
-                public void onSuccess(String s) throws RemoteException {
-                    Logger.d(TAG, "Parole terminée avec succès");
-                    isSpeaking = false;
-                    if (callback != null) {
-                        callback.onSpeechFinished();
-                    }
+        List<Runnable> signals = new ArrayList<>();
+        synchronized (this) {
+            if (priority == Priority.FILLER) {
+                if (coalesceFiller(message, callback)) {
+                    return;
                 }
+            } else {
+                // Un message utile rend caduques les relances en attente
+                dropQueuedFillers(signals);
+            }
 
-                @Override
-                public void onError(String error) throws RemoteException {
-                    Logger.e(TAG, "Erreur TTS: " + error);
-                    isSpeaking = false;
-                    if (callback != null) {
-                        callback.onSpeechError(error);
-                    }
+            Utterance utterance = new Utterance(message, priority, callback, scheduler.now());
+            if (currentUtterance == null) {
+                startUtterance(utterance, signals);
+            } else if (priority.compareTo(currentUtterance.priority) > 0) {
+                Utterance interrupted = currentUtterance;
+                Logger.i(TAG, "Parole " + interrupted.priority + " interrompue par " + priority);
+                preemptedCount++;
+                currentUtterance = null;
+                addCancellation(signals, interrupted, "Interrompu par un message " + priority);
+                try {
+                    speech.stopSpeaking();
+                } catch (Exception e) {
+                    Logger.e(TAG, "Erreur arrêt parole", e);
                 }
+                startUtterance(utterance, signals);
+            } else {
+                enqueue(utterance);
+                Logger.d(TAG, "Parole en attente (" + priority + ", file: " + queue.size() + "): '" + message + "'");
+            }
+        }
+        runAll(signals);
+    }
+
+    // Appelé avec le verrou
+    private boolean coalesceFiller(String message, SpeechCallback callback) {
+        if (currentUtterance != null && currentUtterance.priority == Priority.FILLER
+                && currentUtterance.text.equals(message) && queue.isEmpty()) {
+            currentUtterance.addCallback(callback);
+            coalescedCount++;
+            return true;
+        }
+        for (Utterance queued : queue) {
+            if (queued.priority == Priority.FILLER) {
+                // La relance la plus récente remplace la précédente, les deux callbacks sont conservés
+                queued.text = message;
+                queued.addCallback(callback);
+                coalescedCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Appelé avec le verrou
+    private void dropQueuedFillers(List<Runnable> signals) {
+        Iterator<Utterance> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Utterance queued = iterator.next();
+            if (queued.priority == Priority.FILLER) {
+                iterator.remove();
+                droppedCount++;
+                addCancellation(signals, queued, "Relance abandonnée");
+            }
+        }
+    }
+
+    // Appelé avec le verrou : insertion après les messages de priorité supérieure ou égale
+    private void enqueue(Utterance utterance) {
+        int index = 0;
+        while (index < queue.size() && queue.get(index).priority.compareTo(utterance.priority) >= 0) {
+            index++;
+        }
+        queue.add(index, utterance);
+        maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+    }
 
+    // Appelé avec le verrou ; les callbacks à appeler sont ajoutés à signals
+    private void startUtterance(Utterance utterance, List<Runnable> signals) {
+        currentUtterance = utterance;
+        long waitMs = scheduler.now() - utterance.enqueuedAt;
+        totalWaitMs += waitMs;
+        maxWaitMs = Math.max(maxWaitMs, waitMs);
+        spokenCount++;
+
+        Logger.d(TAG, "Début parole (" + utterance.priority + ", attente " + waitMs + " ms): '" + utterance.text + "'");
+
+        try {
+            speech.startSpeaking(utterance.text, new SpeechPort.SpeakListener() {
                 @Override
-                public void onPause() throws RemoteException {
-                    Logger.d(TAG, "Parole en pause");
+                public void onSpeakDone() {
+                    Logger.d(TAG, "Parole terminée avec succès");
+                    onUtteranceEnded(utterance, null);
                 }
 
                 @Override
-                public void onResume() throws RemoteException {
-                    Logger.d(TAG, "Parole reprise");
+                public void onSpeakError(String error) {
+                    Logger.e(TAG, "Erreur TTS: " + error);
+                    onUtteranceEnded(utterance, error);
                 }
             });
         } catch (Exception e) {
             Logger.e(TAG, "Exception lors de la parole", e);
-            isSpeaking = false;
-            if (callback != null) {
-                callback.onSpeechError("Exception TTS: " + e.getMessage());
+            currentUtterance = null;
+            String error = "Exception TTS: " + e.getMessage();
+            signals.add(() -> {
+                for (SpeechCallback callback : utterance.callbacks) {
+                    callback.onSpeechError(error);
+                }
+            });
+            startNext(signals);
+        }
+    }
+
+    private void onUtteranceEnded(Utterance utterance, String error) {
+        List<Runnable> signals = new ArrayList<>();
+        synchronized (this) {
+            if (currentUtterance != utterance) {
+                // Fin tardive d'un message interrompu : déjà signalé
+                return;
+            }
+            currentUtterance = null;
+            if (utterance.priority != Priority.FILLER) {
+                // Une relance ne compte pas : le délai mesuré part de la fin de la question
+                lastSpeechEndAt = scheduler.now();
+            }
+            startNext(signals);
+        }
+
+        for (SpeechCallback callback : utterance.callbacks) {
+            if (error == null) {
+                callback.onSpeechFinished();
+            } else {
+                callback.onSpeechError(error);
+            }
+        }
+        runAll(signals);
+    }
+
+    // Appelé avec le verrou
+    private void startNext(List<Runnable> signals) {
+        if (currentUtterance == null && !queue.isEmpty()) {
+            startUtterance(queue.remove(0), signals);
+        }
+    }
+
+    private static void addCancellation(List<Runnable> signals, Utterance utterance, String reason) {
+        signals.add(() -> {
+            for (SpeechCallback callback : utterance.callbacks) {
+                callback.onSpeechCancelled(reason);
             }
+        });
+    }
+
+    private static void runAll(List<Runnable> signals) {
+        for (Runnable signal : signals) {
+            signal.run();
         }
     }
 
@@ -127,54 +374,52 @@ public class BuddySpeechManager {
      * Démarre l'écoute avec Cerence FreeSpeech
      */
     public void startListening(ListeningCallback callback) {
-        if (isListening) {
-            Logger.w(TAG, "Écoute déjà en cours");
-            return;
+        startListening(callback, null);
+    }
+
+    /**
+     * Démarre l'écoute ; avec un parser, l'écoute s'arrête dès qu'une transcription partielle
+     * donne un nombre sûr et que l'enfant n'ajoute rien pendant EARLY_ENDPOINT_STABLE_MS,
+     * sans attendre le silence de fin de parole du moteur
+     */
+    public void startListening(ListeningCallback callback, PartialAnswerParser parser) {
+        synchronized (this) {
+            if (isListening) {
+                Logger.w(TAG, "Écoute déjà en cours");
+                return;
+            }
+            isListening = true;
         }
 
         Logger.i(TAG, "Début écoute Cerence FreeSpeech");
-        isListening = true;
 
         try {
-            currentSTTTask = BuddySDK.Speech.createCerenceFreeSpeechTask(Locale.FRENCH);
-
-            currentSTTTask.start(false, new ISTTCallback.Stub() {
-                @Override
-                public void onSuccess(STTResultsData sttResultsData) throws RemoteException {
-                    Logger.i(TAG, "STT Success - traitement des résultats");
-                    isListening = false;
-
-                    if (!sttResultsData.getResults().isEmpty()) {
-                        STTResult bestResult = sttResultsData.getResults().get(0);
-                        String utterance = bestResult.getUtterance();
-                        float confidence = bestResult.getConfidence();
-
-                        Logger.i(TAG, "Reconnu: '" + utterance + "' (confiance: " + confidence + ")");
-
-                        if (callback != null) {
-                            callback.onSpeechRecognized(utterance, confidence);
-                        }
-                    } else {
-                        Logger.w(TAG, "STT Success mais aucun résultat");
-                        if (callback != null) {
-                            callback.onListeningError("Aucune parole reconnue");
-                        }
-                    }
-                }
+            SpeechPort.ListenTask task = takePreparedTask();
+            boolean preArmed = task != null;
+            if (!preArmed) {
+                task = speech.createFreeSpeechTask(Locale.FRENCH);
+            }
 
-                @Override
-                public void onError(String error) throws RemoteException {
-                    Logger.e(TAG, "Erreur STT: " + error);
-                    isListening = false;
-                    if (callback != null) {
-                        callback.onListeningError(error);
-                    }
+            ListenSession session = new ListenSession(task, callback, parser);
+            synchronized (this) {
+                if (!isListening) {
+                    // stopListening pendant la création de la tâche
+                    stopQuietly(task);
+                    return;
                 }
-            });
+                currentSTTTask = task;
+                currentSession = session;
+            }
+            recordListenStart(preArmed);
+            task.start(session);
 
         } catch (Exception e) {
             Logger.e(TAG, "Exception lors de la création STT", e);
-            isListening = false;
+            synchronized (this) {
+                isListening = false;
+                currentSession = null;
+                currentSTTTask = null;
+            }
             if (callback != null) {
                 callback.onListeningError("Impossible de créer STT: " + e.getMessage());
             }
@@ -182,58 +427,353 @@ public class BuddySpeechManager {
     }
 
     /**
-     * Arrête l'écoute en cours
+     * Une écoute : transcriptions partielles, fin anticipée, puis exactement un résultat ou une erreur
      */
-    public void stopListening() {
-        if (!isListening) {
-            Logger.d(TAG, "Aucune écoute en cours");
-            return;
+    private final class ListenSession implements SpeechPort.ListenListener {
+        private final SpeechPort.ListenTask task;
+        private final ListeningCallback callback;
+        private final PartialAnswerParser parser;
+
+        private boolean finished;
+        private String lastPartialText;
+        private long lastPartialAt = -1;
+        private Cancellable earlyEndpoint;
+
+        ListenSession(SpeechPort.ListenTask task, ListeningCallback callback, PartialAnswerParser parser) {
+            this.task = task;
+            this.callback = callback;
+            this.parser = parser;
         }
 
-        Logger.d(TAG, "Arrêt de l'écoute");
+        @Override
+        public void onPartialResults(List<SpeechHypothesis> hypotheses) {
+            if (hypotheses.isEmpty()) {
+                return;
+            }
+            synchronized (this) {
+                String text = hypotheses.get(0).getUtterance();
+                if (finished || text.equals(lastPartialText)) {
+                    return;
+                }
+                // Nouveau mot : la décision anticipée précédente est caduque
+                lastPartialText = text;
+                lastPartialAt = scheduler.now();
+                if (earlyEndpoint != null) {
+                    earlyEndpoint.cancel();
+                    earlyEndpoint = null;
+                }
+                int value = parser != null ? parser.parse(hypotheses) : -1;
+                if (value >= 0) {
+                    earlyEndpoint = scheduler.schedule(this, EARLY_ENDPOINT_STABLE_MS,
+                            () -> endEarly(hypotheses, value));
+                }
+            }
+            Logger.d(TAG, "Partiel: " + hypotheses.get(0));
+            if (callback != null) {
+                callback.onPartialHypotheses(hypotheses);
+            }
+        }
 
-        if (currentSTTTask != null) {
-            try {
-                currentSTTTask.stop();
-            } catch (Exception e) {
-                Logger.e(TAG, "Erreur arrêt STT", e);
+        private void endEarly(List<SpeechHypothesis> hypotheses, int value) {
+            if (!finish(true)) {
+                return;
             }
-            currentSTTTask = null;
+            Logger.i(TAG, "Fin d'écoute anticipée sur " + value + ": " + hypotheses);
+            stopQuietly(task);
+            if (callback != null) {
+                callback.onHypothesesRecognized(hypotheses);
+            }
+        }
+
+        @Override
+        public void onResults(List<SpeechHypothesis> hypotheses) {
+            if (!finish(false)) {
+                return;
+            }
+            Logger.i(TAG, "Reconnu: " + hypotheses);
+
+            if (callback != null) {
+                callback.onHypothesesRecognized(hypotheses);
+            }
+        }
+
+        @Override
+        public void onListenError(String error) {
+            if (!finish(false)) {
+                return;
+            }
+            Logger.e(TAG, "Erreur STT: " + error);
+            if (callback != null) {
+                callback.onListeningError(error);
+            }
+        }
+
+        // Vrai pour le premier signal de fin seulement ; les suivants (résultat après arrêt) sont ignorés
+        boolean finish(boolean early) {
+            long endpointMs;
+            synchronized (this) {
+                if (finished) {
+                    return false;
+                }
+                finished = true;
+                if (earlyEndpoint != null) {
+                    earlyEndpoint.cancel();
+                    earlyEndpoint = null;
+                }
+                endpointMs = lastPartialAt >= 0 ? scheduler.now() - lastPartialAt : -1;
+            }
+            onListenFinished(this, early, endpointMs);
+            return true;
         }
+    }
 
+    // endpointMs : dernier mot transcrit -> résultat, ou -1 sans transcription partielle
+    private synchronized void onListenFinished(ListenSession session, boolean early, long endpointMs) {
+        if (currentSession != session) {
+            return;
+        }
+        currentSession = null;
+        currentSTTTask = null;
         isListening = false;
+        if (endpointMs < 0) {
+            return;
+        }
+        if (early) {
+            earlyEndpointCount++;
+            totalEarlyEndpointMs += endpointMs;
+        } else {
+            engineEndpointCount++;
+            totalEngineEndpointMs += endpointMs;
+        }
     }
 
     /**
-     * Arrête la parole en cours
+     * Crée dès maintenant la tâche STT de la prochaine écoute (pendant que la question est dite),
+     * pour que startListening n'ait plus qu'à la démarrer
      */
-    public void stopSpeaking() {
-        if (!isSpeaking) {
-            Logger.d(TAG, "Aucune parole en cours");
+    public void prepareListening() {
+        synchronized (this) {
+            if (!preArmListening || isListening || preparedSTTTask != null) {
+                return;
+            }
+        }
+
+        SpeechPort.ListenTask task;
+        try {
+            task = speech.createFreeSpeechTask(Locale.FRENCH);
+        } catch (Exception e) {
+            Logger.w(TAG, "Préparation STT impossible, création à l'écoute: " + e.getMessage());
             return;
         }
 
-        Logger.d(TAG, "Arrêt de la parole");
+        synchronized (this) {
+            if (preparedSTTTask == null) {
+                preparedSTTTask = task;
+                preparedAt = scheduler.now();
+                Logger.d(TAG, "Tâche STT préparée");
+                return;
+            }
+        }
+        stopQuietly(task);
+    }
+
+    /**
+     * Active ou non la préparation de la tâche STT pendant les questions (activée par défaut)
+     */
+    public void setPreArmListening(boolean enabled) {
+        preArmListening = enabled;
+        if (!enabled) {
+            discardPreparedTask();
+        }
+    }
+
+    public boolean isPreArmListening() {
+        return preArmListening;
+    }
+
+    // Tâche préparée encore valable, ou null
+    private SpeechPort.ListenTask takePreparedTask() {
+        SpeechPort.ListenTask task;
+        long age;
+        synchronized (this) {
+            task = preparedSTTTask;
+            age = scheduler.now() - preparedAt;
+            preparedSTTTask = null;
+        }
+        if (task != null && age > PREPARED_TASK_MAX_AGE_MS) {
+            Logger.d(TAG, "Tâche STT préparée périmée (" + age + " ms), recréation");
+            stopQuietly(task);
+            return null;
+        }
+        return task;
+    }
 
+    private void discardPreparedTask() {
+        SpeechPort.ListenTask task;
+        synchronized (this) {
+            task = preparedSTTTask;
+            preparedSTTTask = null;
+        }
+        if (task != null) {
+            stopQuietly(task);
+        }
+    }
+
+    private static void stopQuietly(SpeechPort.ListenTask task) {
         try {
-            BuddySDK.Speech.stopSpeaking();
-            isSpeaking = false;
+            task.stop();
         } catch (Exception e) {
-            Logger.e(TAG, "Erreur arrêt parole", e);
+            Logger.e(TAG, "Erreur arrêt STT", e);
+        }
+    }
+
+    private synchronized void recordListenStart(boolean preArmed) {
+        listenCount++;
+        if (preArmed) {
+            preArmedCount++;
+        }
+        if (lastSpeechEndAt >= 0 && currentUtterance == null) {
+            long gap = scheduler.now() - lastSpeechEndAt;
+            measuredGaps++;
+            totalTtsToListenMs += gap;
+            maxTtsToListenMs = Math.max(maxTtsToListenMs, gap);
+            Logger.d(TAG, "Fin parole -> début STT: " + gap + " ms" + (preArmed ? " (tâche préparée)" : ""));
+        }
+    }
+
+    /**
+     * Délai moyen entre la fin de la dernière parole et le démarrage du STT (ms)
+     */
+    public synchronized long getAverageTtsToListenMs() {
+        return measuredGaps > 0 ? totalTtsToListenMs / measuredGaps : 0;
+    }
+
+    public synchronized long getMaxTtsToListenMs() {
+        return maxTtsToListenMs;
+    }
+
+    public synchronized int getEarlyEndpointCount() {
+        return earlyEndpointCount;
+    }
+
+    /**
+     * Délai moyen entre le dernier mot transcrit et le résultat, fin anticipée (ms)
+     */
+    public synchronized long getAverageEarlyEndpointMs() {
+        return earlyEndpointCount > 0 ? totalEarlyEndpointMs / earlyEndpointCount : 0;
+    }
+
+    /**
+     * Délai moyen entre le dernier mot transcrit et le résultat final du moteur (ms)
+     */
+    public synchronized long getAverageEngineEndpointMs() {
+        return engineEndpointCount > 0 ? totalEngineEndpointMs / engineEndpointCount : 0;
+    }
+
+    public synchronized String getListeningStats() {
+        String stats = listenCount + " écoute(s), fin parole -> début STT moyen " + getAverageTtsToListenMs()
+                + " ms (max " + maxTtsToListenMs + " ms), " + preArmedCount + " tâche(s) préparée(s) à l'avance";
+        if (earlyEndpointCount + engineEndpointCount > 0) {
+            stats += ", dernier mot -> résultat : " + getAverageEarlyEndpointMs() + " ms sur " + earlyEndpointCount
+                    + " fin(s) anticipée(s), " + getAverageEngineEndpointMs() + " ms sur " + engineEndpointCount
+                    + " fin(s) moteur";
+        }
+        return stats;
+    }
+
+    /**
+     * Arrête l'écoute en cours
+     */
+    public void stopListening() {
+        ListenSession session;
+        SpeechPort.ListenTask task;
+        synchronized (this) {
+            if (!isListening) {
+                Logger.d(TAG, "Aucune écoute en cours");
+                return;
+            }
+            session = currentSession;
+            task = currentSTTTask;
+            currentSession = null;
+            currentSTTTask = null;
+            isListening = false;
+        }
+
+        Logger.d(TAG, "Arrêt de l'écoute");
+        if (session != null) {
+            // Le résultat éventuel de la tâche arrêtée sera ignoré (et pas compté)
+            session.finish(false);
+        }
+        if (task != null) {
+            stopQuietly(task);
+        }
+    }
+
+    /**
+     * Arrête la parole en cours et vide la file (chaque message reçoit son annulation)
+     */
+    public void stopSpeaking() {
+        List<Runnable> signals = new ArrayList<>();
+        synchronized (this) {
+            if (currentUtterance == null && queue.isEmpty()) {
+                Logger.d(TAG, "Aucune parole en cours");
+                return;
+            }
+
+            Logger.d(TAG, "Arrêt de la parole (" + queue.size() + " message(s) en attente annulé(s))");
+            if (currentUtterance != null) {
+                addCancellation(signals, currentUtterance, "Parole arrêtée");
+                currentUtterance = null;
+                try {
+                    speech.stopSpeaking();
+                } catch (Exception e) {
+                    Logger.e(TAG, "Erreur arrêt parole", e);
+                }
+            }
+            for (Utterance queued : queue) {
+                addCancellation(signals, queued, "Parole arrêtée");
+            }
+            queue.clear();
         }
+        runAll(signals);
     }
 
     /**
      * Vérifie si Buddy est en train de parler
      */
-    public boolean isSpeaking() {
-        return isSpeaking;
+    public synchronized boolean isSpeaking() {
+        return currentUtterance != null;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Attente moyenne entre la mise en file et le début de la parole (ms)
+     */
+    public synchronized long getAverageWaitMs() {
+        return spokenCount > 0 ? totalWaitMs / spokenCount : 0;
+    }
+
+    public synchronized long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public synchronized String getQueueStats() {
+        return spokenCount + " message(s) dits, attente moyenne " + getAverageWaitMs() + " ms (max " + maxWaitMs
+                + " ms), profondeur max " + maxQueueDepth + ", " + preemptedCount + " interrompu(s), "
+                + coalescedCount + " relance(s) fusionnée(s), " + droppedCount + " abandonnée(s)";
     }
 
     /**
      * Vérifie si Buddy est en train d'écouter
      */
-    public boolean isListening() {
+    public synchronized boolean isListening() {
         return isListening;
     }
 
@@ -249,8 +789,19 @@ public class BuddySpeechManager {
         speak("Super ! Commençons le quiz ! Tu vas avoir " + totalQuestions + " questions.", callback);
     }
 
+    /**
+     * Pose la question et prépare en parallèle la tâche STT de la réponse
+     */
     public void speakQuestion(String question, int questionNumber, SpeechCallback callback) {
-        speak("Question numéro " + questionNumber + ". " + question, callback);
+        prepareListening();
+        speak("Question numéro " + questionNumber + ". " + question, Priority.QUESTION, callback);
+    }
+
+    /**
+     * Relance "Je t'écoute..." ; onDone est appelé même si la relance est fusionnée, abandonnée ou en échec
+     */
+    public void speakListeningPrompt(Runnable onDone) {
+        speak(LISTENING_PROMPT, Priority.FILLER, SpeechCallback.whenDone(onDone));
     }
 
     public void speakCorrectAnswer(int answer, SpeechCallback callback) {
@@ -279,11 +830,11 @@ public class BuddySpeechManager {
     }
 
     public void speakParsingError(SpeechCallback callback) {
-        speak("Je n'ai pas compris le nombre. Dis clairement le chiffre : un, deux, trois...", callback);
+        speak("Je n'ai pas compris le nombre. Dis clairement le chiffre : un, deux, trois...", Priority.ERROR, callback);
     }
 
     public void speakTechnicalError(SpeechCallback callback) {
-        speak("Problème technique avec la reconnaissance vocale. Réessaie de parler plus clairement.", callback);
+        speak("Problème technique avec la reconnaissance vocale. Réessaie de parler plus clairement.", Priority.ERROR, callback);
     }
 
     /**
@@ -291,7 +842,10 @@ public class BuddySpeechManager {
      */
     public void cleanup() {
         stopListening();
+        discardPreparedTask();
         stopSpeaking();
+        Logger.i(TAG, "File de parole: " + getQueueStats());
+        Logger.i(TAG, "Écoute: " + getListeningStats());
         Logger.i(TAG, "BuddySpeechManager nettoyé");
     }
 }
\ No newline at end of file
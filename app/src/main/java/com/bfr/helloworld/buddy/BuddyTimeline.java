@@ -0,0 +1,318 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.scheduling.Cancellable;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.Logger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Séquence déclarative de réactions de Buddy : pistes parallèles (parole, tête, roues, visage)
+ * découpées en segments par des barrières.
+ *
+ * Dans un segment, chaque étape démarre à son décalage depuis le début du segment,
+ * mais jamais avant la fin de l'étape précédente de la même piste. Le segment suivant
+ * commence quand toutes les pistes ont terminé. Tout s'exécute sur un seul planificateur
+ * et la séquence s'annule d'un bloc.
+ *
+ * Exemple :
+ * <pre>
+ * new BuddyTimeline(scheduler, "bonne réponse")
+ *         .step(Track.FACE, 0, "joie", done -> expressions.performCorrectAnswerSequence(done))
+ *         .step(Track.HEAD, 300, "hochement", done -> movements.performSynchronizedYesNod(done))
+ *         .step(Track.SPEECH, 0, "félicitations", done -> speech.speakCorrectAnswer(n, SpeechCallback.whenDone(done)))
+ *         .barrier()
+ *         .instant(Track.FACE, 1500, "neutre", () -> expressions.showNeutral(null))
+ *         .start(onComplete);
+ * </pre>
+ */
+public class BuddyTimeline {
+    private static final String TAG = "BuddyTimeline";
+
+    public enum Track {
+        SPEECH,
+        HEAD,
+        WHEELS,
+        FACE
+    }
+
+    /**
+     * Action d'une étape ; done doit être appelé (une fois, depuis n'importe quel thread) à sa fin
+     */
+    public interface Action {
+        void run(Runnable done);
+    }
+
+    /**
+     * Début prévu et réel d'une étape exécutée (ms depuis le début de la séquence)
+     */
+    public static final class StepReport {
+        private final String name;
+        private final Track track;
+        private final long plannedStart;
+        private final long actualStart;
+        private final long duration;
+        private final boolean timedOut;
+
+        StepReport(String name, Track track, long plannedStart, long actualStart, long duration, boolean timedOut) {
+            this.name = name;
+            this.track = track;
+            this.plannedStart = plannedStart;
+            this.actualStart = actualStart;
+            this.duration = duration;
+            this.timedOut = timedOut;
+        }
+
+        public String getName() { return name; }
+        public Track getTrack() { return track; }
+        public long getPlannedStart() { return plannedStart; }
+        public long getActualStart() { return actualStart; }
+        public long getSkew() { return actualStart - plannedStart; }
+        public long getDuration() { return duration; }
+        public boolean isTimedOut() { return timedOut; }
+
+        @Override
+        public String toString() {
+            return track + " '" + name + "' prévu +" + plannedStart + " ms, réel +" + actualStart
+                    + " ms (décalage " + getSkew() + " ms), durée " + duration + " ms"
+                    + (timedOut ? " [délai dépassé]" : "");
+        }
+    }
+
+    private static final class Step {
+        final Track track;
+        final long offsetMs;
+        final String name;
+        final Action action;
+        long maxDurationMs;
+
+        Cancellable timeout;
+        long plannedStart;
+        long actualStart;
+        boolean finished;
+
+        Step(Track track, long offsetMs, String name, Action action) {
+            this.track = track;
+            this.offsetMs = offsetMs;
+            this.name = name;
+            this.action = action;
+        }
+    }
+
+    private final Scheduler scheduler;
+    private final String name;
+    private final List<List<Step>> segments = new ArrayList<>();
+    private final List<StepReport> reports = new ArrayList<>();
+
+    private Runnable onComplete;
+    private boolean started;
+    private boolean running;
+    private long startTime;
+
+    // Segment en cours
+    private int segmentIndex;
+    private long segmentStart;
+    private final Map<Track, List<Step>> trackSteps = new EnumMap<>(Track.class);
+    private final Map<Track, Integer> trackPositions = new EnumMap<>(Track.class);
+    private int unfinishedTracks;
+
+    public BuddyTimeline(Scheduler scheduler, String name) {
+        this.scheduler = scheduler;
+        this.name = name;
+        segments.add(new ArrayList<>());
+    }
+
+    /**
+     * Ajoute une étape au segment courant
+     *
+     * @param offsetMs décalage depuis le début du segment
+     */
+    public BuddyTimeline step(Track track, long offsetMs, String stepName, Action action) {
+        if (started) {
+            throw new IllegalStateException("Séquence déjà démarrée: " + name);
+        }
+        segments.get(segments.size() - 1).add(new Step(track, Math.max(0, offsetMs), stepName, action));
+        return this;
+    }
+
+    /**
+     * Étape sans durée (terminée dès son lancement)
+     */
+    public BuddyTimeline instant(Track track, long offsetMs, String stepName, Runnable action) {
+        return step(track, offsetMs, stepName, done -> {
+            action.run();
+            done.run();
+        });
+    }
+
+    /**
+     * Durée maximale de la dernière étape ajoutée : au-delà, la piste continue sans attendre sa fin
+     */
+    public BuddyTimeline within(long maxDurationMs) {
+        List<Step> segment = segments.get(segments.size() - 1);
+        if (segment.isEmpty()) {
+            throw new IllegalStateException("Aucune étape à borner");
+        }
+        segment.get(segment.size() - 1).maxDurationMs = maxDurationMs;
+        return this;
+    }
+
+    /**
+     * Les étapes suivantes attendent la fin de toutes les pistes
+     */
+    public BuddyTimeline barrier() {
+        if (!segments.get(segments.size() - 1).isEmpty()) {
+            segments.add(new ArrayList<>());
+        }
+        return this;
+    }
+
+    /**
+     * Lance la séquence ; onComplete est appelé sur le planificateur quand toutes les étapes sont terminées
+     */
+    public synchronized BuddyTimeline start(Runnable onComplete) {
+        if (started) {
+            throw new IllegalStateException("Séquence déjà démarrée: " + name);
+        }
+        started = true;
+        running = true;
+        this.onComplete = onComplete;
+        startTime = scheduler.now();
+        segmentIndex = -1;
+
+        Logger.d(TAG, "Début séquence '" + name + "'");
+        startNextSegment();
+        return this;
+    }
+
+    /**
+     * Annule toutes les étapes non démarrées ; les fins des étapes en cours sont ignorées
+     */
+    public synchronized void cancel() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        int cancelled = scheduler.cancelAll(this);
+        Logger.d(TAG, "Séquence '" + name + "' annulée (" + cancelled + " tâche(s) en attente)");
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Rapports des étapes terminées, dans l'ordre de fin
+     */
+    public synchronized List<StepReport> getReports() {
+        return Collections.unmodifiableList(new ArrayList<>(reports));
+    }
+
+    /**
+     * Plus grand écart entre début réel et début prévu
+     */
+    public synchronized long getMaxSkew() {
+        long max = 0;
+        for (StepReport report : reports) {
+            max = Math.max(max, report.getSkew());
+        }
+        return max;
+    }
+
+    // Appelé avec le verrou
+    private void startNextSegment() {
+        while (++segmentIndex < segments.size()) {
+            List<Step> segment = segments.get(segmentIndex);
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            segmentStart = scheduler.now();
+            trackSteps.clear();
+            trackPositions.clear();
+            for (Step step : segment) {
+                List<Step> steps = trackSteps.get(step.track);
+                if (steps == null) {
+                    steps = new ArrayList<>();
+                    trackSteps.put(step.track, steps);
+                }
+                steps.add(step);
+            }
+            unfinishedTracks = trackSteps.size();
+            for (Track track : trackSteps.keySet()) {
+                trackPositions.put(track, 0);
+                scheduleStep(trackSteps.get(track).get(0), segmentStart);
+            }
+            return;
+        }
+
+        running = false;
+        Logger.d(TAG, "Fin séquence '" + name + "' en " + (scheduler.now() - startTime)
+                + " ms (décalage max " + getMaxSkew() + " ms)");
+        if (onComplete != null) {
+            // Hors verrou, comme les étapes
+            scheduler.post(this, onComplete);
+        }
+    }
+
+    // Appelé avec le verrou ; previousEnd = fin de l'étape précédente de la piste
+    private void scheduleStep(Step step, long previousEnd) {
+        step.plannedStart = Math.max(segmentStart + step.offsetMs, previousEnd);
+        scheduler.schedule(this, step.plannedStart - scheduler.now(), () -> runStep(step));
+    }
+
+    private void runStep(Step step) {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            step.actualStart = scheduler.now();
+            if (step.maxDurationMs > 0) {
+                step.timeout = scheduler.schedule(this, step.maxDurationMs, () -> finishStep(step, true));
+            }
+        }
+
+        try {
+            step.action.run(() -> finishStep(step, false));
+        } catch (RuntimeException e) {
+            Logger.e(TAG, "Échec de l'étape '" + step.name + "' de la séquence '" + name + "'", e);
+            finishStep(step, false);
+        }
+    }
+
+    private synchronized void finishStep(Step step, boolean timedOut) {
+        if (!running || step.finished) {
+            return;
+        }
+        step.finished = true;
+        if (step.timeout != null && !timedOut) {
+            step.timeout.cancel();
+        }
+
+        long now = scheduler.now();
+        StepReport report = new StepReport(step.name, step.track, step.plannedStart - startTime,
+                step.actualStart - startTime, now - step.actualStart, timedOut);
+        reports.add(report);
+        if (timedOut) {
+            Logger.w(TAG, "Séquence '" + name + "' : " + report);
+        } else {
+            Logger.d(TAG, "Séquence '" + name + "' : " + report);
+        }
+
+        List<Step> steps = trackSteps.get(step.track);
+        int next = trackPositions.get(step.track) + 1;
+        trackPositions.put(step.track, next);
+        if (next < steps.size()) {
+            scheduleStep(steps.get(next), now);
+        } else if (--unfinishedTracks == 0) {
+            startNextSegment();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.bfr.helloworld.buddy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Geste décrit par des pas (axe, vitesse, angle, pause), joué par ChoreographyPlayer.
+ *
+ * Les pas d'un même axe s'enchaînent : chacun part à la fin du mouvement précédent plus sa
+ * pause. Les axes différents (oui, non, roues) se déroulent en parallèle, tous partent au
+ * début du geste. Le geste est vérifié contre les limites des moteurs au chargement.
+ *
+ * Format texte (une section par geste, un pas par ligne, # pour les commentaires) :
+ * <pre>
+ * [hochement]
+ * # axe   vitesse (°/s)   angle relatif (°)   pause après le mouvement (ms, facultative)
+ * yes     50              20                  200
+ * yes     60              -20
+ * </pre>
+ * Un pas de vitesse et d'angle nuls n'est qu'une pause (décalage du départ d'un axe).
+ */
+public final class Choreography {
+
+    public enum Axis {
+        YES,
+        NO,
+        WHEELS
+    }
+
+    // Limites des moteurs : débattement depuis la position de départ, vitesse
+    public static final float YES_LIMIT_DEG = 30.0f;
+    public static final float NO_LIMIT_DEG = 90.0f;
+    public static final float YES_MAX_SPEED = 60.0f;
+    public static final float NO_MAX_SPEED = 90.0f;
+    public static final float WHEELS_MAX_SPEED = 120.0f;
+    public static final float WHEELS_MAX_ANGLE_DEG = 720.0f;
+    public static final long MAX_HOLD_MS = 10_000;
+
+    /**
+     * Pas d'un axe ; speed et angle nuls : simple pause
+     */
+    public static final class Keyframe {
+        public final Axis axis;
+        public final float speed;
+        public final float angle;
+        public final long holdMs;
+
+        public Keyframe(Axis axis, float speed, float angle, long holdMs) {
+            this.axis = axis;
+            this.speed = speed;
+            this.angle = angle;
+            this.holdMs = holdMs;
+        }
+
+        public boolean isPause() {
+            return speed == 0 && angle == 0;
+        }
+    }
+
+    private final String name;
+    private final List<Keyframe> keyframes;
+
+    public Choreography(String name, List<Keyframe> keyframes) {
+        this.name = name;
+        this.keyframes = Collections.unmodifiableList(new ArrayList<>(keyframes));
+        validate();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Keyframe> getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Le geste commande cet axe
+     */
+    public boolean uses(Axis axis) {
+        for (Keyframe keyframe : keyframes) {
+            if (keyframe.axis == axis && !keyframe.isPause()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @throws IllegalArgumentException si un pas dépasse les limites des moteurs
+     */
+    private void validate() {
+        if (keyframes.isEmpty()) {
+            throw new IllegalArgumentException("Geste '" + name + "' vide");
+        }
+        float yes = 0;
+        float no = 0;
+        for (int i = 0; i < keyframes.size(); i++) {
+            Keyframe keyframe = keyframes.get(i);
+            if (keyframe.holdMs < 0 || keyframe.holdMs > MAX_HOLD_MS) {
+                throw invalid(i, "pause " + keyframe.holdMs + " ms hors limites (0 à " + MAX_HOLD_MS + ")");
+            }
+            // NaN échoue à toutes les comparaisons : il passerait les contrôles suivants
+            if (!Float.isFinite(keyframe.speed) || !Float.isFinite(keyframe.angle)) {
+                throw invalid(i, "vitesse " + keyframe.speed + " ou angle " + keyframe.angle + " non fini");
+            }
+            if (keyframe.isPause()) {
+                continue;
+            }
+            switch (keyframe.axis) {
+                case YES:
+                    checkSpeed(i, keyframe, YES_MAX_SPEED);
+                    yes += keyframe.angle;
+                    checkRange(i, yes, YES_LIMIT_DEG);
+                    break;
+                case NO:
+                    checkSpeed(i, keyframe, NO_MAX_SPEED);
+                    no += keyframe.angle;
+                    checkRange(i, no, NO_LIMIT_DEG);
+                    break;
+                default:
+                    // Roues : le signe de la vitesse donne le sens de rotation
+                    if (keyframe.speed == 0 || Math.abs(keyframe.speed) > WHEELS_MAX_SPEED) {
+                        throw invalid(i, "vitesse " + keyframe.speed + " hors limites (max ±" + WHEELS_MAX_SPEED + " °/s)");
+                    }
+                    checkRange(i, keyframe.angle, WHEELS_MAX_ANGLE_DEG);
+                    break;
+            }
+        }
+    }
+
+    private void checkSpeed(int index, Keyframe keyframe, float maxSpeed) {
+        if (keyframe.speed <= 0 || keyframe.speed > maxSpeed) {
+            throw invalid(index, "vitesse " + keyframe.speed + " hors limites (max " + maxSpeed + " °/s)");
+        }
+    }
+
+    private void checkRange(int index, float angle, float limit) {
+        if (Math.abs(angle) > limit) {
+            throw invalid(index, "angle " + angle + "° hors débattement (±" + limit + "°)");
+        }
+    }
+
+    private IllegalArgumentException invalid(int index, String reason) {
+        return new IllegalArgumentException("Geste '" + name + "', pas " + (index + 1) + ": " + reason);
+    }
+
+    /**
+     * Lit les gestes d'un texte au format ci-dessus, dans l'ordre du texte
+     *
+     * @throws IllegalArgumentException ligne illisible ou geste hors limites (avec son numéro de ligne)
+     */
+    public static Map<String, Choreography> parse(String text) {
+        Map<String, Choreography> choreographies = new LinkedHashMap<>();
+        String current = null;
+        List<Keyframe> keyframes = new ArrayList<>();
+        String[] lines = text.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                addParsed(choreographies, current, keyframes, i);
+                current = line.substring(1, line.length() - 1).trim();
+                keyframes = new ArrayList<>();
+                continue;
+            }
+            if (current == null) {
+                throw new IllegalArgumentException("Ligne " + (i + 1) + ": pas hors d'un geste [nom]");
+            }
+            keyframes.add(parseKeyframe(line, i));
+        }
+        addParsed(choreographies, current, keyframes, lines.length);
+        return choreographies;
+    }
+
+    private static void addParsed(Map<String, Choreography> choreographies, String name,
+                                  List<Keyframe> keyframes, int lineIndex) {
+        if (name == null) {
+            return;
+        }
+        try {
+            choreographies.put(name, new Choreography(name, keyframes));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Avant la ligne " + (lineIndex + 1) + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Keyframe parseKeyframe(String line, int lineIndex) {
+        String[] fields = line.split("\\s+");
+        if (fields.length < 3 || fields.length > 4) {
+            throw new IllegalArgumentException("Ligne " + (lineIndex + 1) + ": attendu 'axe vitesse angle [pause]'");
+        }
+        Axis axis;
+        try {
+            axis = Axis.valueOf(fields[0].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ligne " + (lineIndex + 1) + ": axe inconnu '" + fields[0] + "'");
+        }
+        try {
+            float speed = Float.parseFloat(fields[1]);
+            float angle = Float.parseFloat(fields[2]);
+            long hold = fields.length == 4 ? Long.parseLong(fields[3]) : 0;
+            return new Keyframe(axis, speed, angle, hold);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ligne " + (lineIndex + 1) + ": nombre invalide dans '" + line + "'");
+        }
+    }
+}
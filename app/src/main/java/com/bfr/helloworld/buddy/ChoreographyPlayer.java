@@ -0,0 +1,302 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.Choreography.Axis;
+import com.bfr.helloworld.buddy.Choreography.Keyframe;
+import com.bfr.helloworld.buddy.HeadMotorBus.Priority;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.metrics.LatencyMetrics;
+import com.bfr.helloworld.scheduling.Cancellable;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Joue les gestes décrits par Choreography.
+ *
+ * Chaque axe utilisé est une file de pas jouée indépendamment des autres. Un pas part
+ * dès la fin du mouvement précédent (statut *_MOVE_FINISHED), depuis le callback moteur
+ * lui-même si la pause est nulle, sinon après la pause via le planificateur : aucun saut de
+ * thread ni délai fixe entre deux pas. L'écart réel (fin du mouvement -> commande suivante,
+ * pause déduite) est enregistré dans LatencyMetrics (GESTURE_GAP).
+ *
+ * Les axes de tête passent par HeadMotorBus en priorité GESTURE et sont réservés pendant
+ * tout le geste. Un échec sur un axe arrête tout le geste, de même qu'un mouvement dont la
+ * fin n'arrive pas (durée prévue + STEP_TIMEOUT_MARGIN_MS) : le geste ne reste jamais en cours.
+ */
+public class ChoreographyPlayer {
+    private static final String TAG = "ChoreographyPlayer";
+
+    // Marge sur la durée prévue d'un mouvement avant de le considérer perdu
+    static final long STEP_TIMEOUT_MARGIN_MS = 2000;
+
+    private final MotorPort motors;
+    private final HeadMotorBus headBus;
+    private final Scheduler scheduler;
+
+    private long gapCount;
+    private long gapTotalMs;
+    private long gapMaxMs;
+
+    public ChoreographyPlayer(MotorPort motors, HeadMotorBus headBus, Scheduler scheduler) {
+        this.motors = motors;
+        this.headBus = headBus;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Démarre le geste ; onComplete est appelé une fois à sa fin, réussie ou non,
+     * mais pas après cancel()
+     */
+    public Playback play(Choreography choreography, Runnable onComplete) {
+        Playback playback = new Playback(choreography, onComplete);
+        playback.start();
+        return playback;
+    }
+
+    /**
+     * Écarts mesurés entre deux pas depuis la création
+     */
+    public synchronized String getStats() {
+        return String.format(Locale.ROOT, "%d enchaînements, écart moyen %.1f ms, max %d ms",
+                gapCount, gapCount == 0 ? 0.0 : (double) gapTotalMs / gapCount, gapMaxMs);
+    }
+
+    public synchronized long getMaxGapMs() {
+        return gapMaxMs;
+    }
+
+    private void recordGap(long gapMs) {
+        LatencyMetrics.recordMillis(LatencyMetrics.Stage.GESTURE_GAP, gapMs);
+        synchronized (this) {
+            gapCount++;
+            gapTotalMs += gapMs;
+            gapMaxMs = Math.max(gapMaxMs, gapMs);
+        }
+    }
+
+    private static HeadMotorBus.HeadAxis headAxis(Axis axis) {
+        return axis == Axis.YES ? HeadMotorBus.HeadAxis.YES : HeadMotorBus.HeadAxis.NO;
+    }
+
+    /**
+     * Geste en cours ; sert aussi de propriétaire des pauses planifiées
+     */
+    public final class Playback {
+        private final Choreography choreography;
+        private final Runnable onComplete;
+        private final List<Lane> lanes = new ArrayList<>();
+        private int lanesRunning;
+        private boolean finished;
+
+        Playback(Choreography choreography, Runnable onComplete) {
+            this.choreography = choreography;
+            this.onComplete = onComplete;
+            for (Axis axis : Axis.values()) {
+                List<Keyframe> steps = new ArrayList<>();
+                for (Keyframe keyframe : choreography.getKeyframes()) {
+                    if (keyframe.axis == axis) {
+                        steps.add(keyframe);
+                    }
+                }
+                if (!steps.isEmpty()) {
+                    lanes.add(new Lane(axis, steps));
+                }
+            }
+            lanesRunning = lanes.size();
+        }
+
+        public Choreography getChoreography() {
+            return choreography;
+        }
+
+        public synchronized boolean isFinished() {
+            return finished;
+        }
+
+        /**
+         * Arrête l'enchaînement (le mouvement déjà commandé va à son terme) et libère la tête,
+         * sans appeler onComplete
+         */
+        public void cancel() {
+            if (finish()) {
+                Logger.i(TAG, "Geste '" + choreography.getName() + "' annulé");
+            }
+        }
+
+        private void start() {
+            Logger.d(TAG, "Geste '" + choreography.getName() + "' : " + lanes.size() + " axe(s)");
+            for (Lane lane : lanes) {
+                if (lane.axis != Axis.WHEELS && choreography.uses(lane.axis)) {
+                    headBus.claim(headAxis(lane.axis));
+                }
+            }
+            for (Lane lane : lanes) {
+                lane.next();
+            }
+        }
+
+        private void laneDone() {
+            boolean last;
+            synchronized (this) {
+                last = !finished && --lanesRunning == 0;
+            }
+            if (last && finish()) {
+                Logger.i(TAG, "Geste '" + choreography.getName() + "' terminé");
+                if (onComplete != null) {
+                    onComplete.run();
+                }
+            }
+        }
+
+        private void fail(Axis axis, String reason) {
+            if (finish()) {
+                Logger.e(TAG, "Geste '" + choreography.getName() + "' interrompu, axe " + axis + ": " + reason);
+                if (onComplete != null) {
+                    onComplete.run();
+                }
+            }
+        }
+
+        /**
+         * @return false si le geste était déjà terminé
+         */
+        private boolean finish() {
+            synchronized (this) {
+                if (finished) {
+                    return false;
+                }
+                finished = true;
+            }
+            scheduler.cancelAll(this);
+            for (Lane lane : lanes) {
+                if (lane.axis != Axis.WHEELS && choreography.uses(lane.axis)) {
+                    headBus.release(headAxis(lane.axis));
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Pas d'un axe ; run() joue le pas suivant (fin de pause)
+         */
+        private final class Lane implements Runnable, MotorPort.CommandListener {
+            private final Axis axis;
+            private final List<Keyframe> steps;
+            private final String finishedStatus;
+            private int index = -1;
+            // Fin du mouvement précédent et pause prévue ensuite (-1 : premier pas)
+            private long previousEnd = -1;
+            private long previousHold;
+            // Statut de fin déjà reçu pour le pas courant
+            private boolean stepDone;
+            // Abandon du pas courant si sa fin n'arrive pas
+            private Cancellable watchdog;
+            private final Runnable stepTimeout = this::onStepTimeout;
+
+            Lane(Axis axis, List<Keyframe> steps) {
+                this.axis = axis;
+                this.steps = steps;
+                this.finishedStatus = axis == Axis.YES ? MotorPort.YES_MOVE_FINISHED
+                        : axis == Axis.NO ? MotorPort.NO_MOVE_FINISHED : null;
+            }
+
+            @Override
+            public void run() {
+                next();
+            }
+
+            private void next() {
+                Keyframe step;
+                synchronized (Playback.this) {
+                    if (finished) {
+                        return;
+                    }
+                    index++;
+                    if (index >= steps.size()) {
+                        step = null;
+                    } else {
+                        step = steps.get(index);
+                        stepDone = false;
+                    }
+                }
+                if (step == null) {
+                    laneDone();
+                    return;
+                }
+                if (step.isPause()) {
+                    previousEnd = -1;
+                    scheduler.schedule(Playback.this, step.holdMs, this);
+                    return;
+                }
+                long now = scheduler.now();
+                if (previousEnd >= 0) {
+                    recordGap(Math.max(0, now - previousEnd - previousHold));
+                }
+                previousHold = step.holdMs;
+                long expectedMs = (long) (Math.abs(step.angle) / Math.max(1.0f, Math.abs(step.speed)) * 1000);
+                Cancellable stepWatchdog = scheduler.schedule(Playback.this, expectedMs + STEP_TIMEOUT_MARGIN_MS, stepTimeout);
+                synchronized (Playback.this) {
+                    watchdog = stepWatchdog;
+                }
+                try {
+                    boolean accepted;
+                    if (axis == Axis.YES) {
+                        accepted = headBus.moveYes(Priority.GESTURE, step.speed, step.angle, this);
+                    } else if (axis == Axis.NO) {
+                        accepted = headBus.moveNo(Priority.GESTURE, step.speed, step.angle, this);
+                    } else {
+                        motors.rotateBuddy(step.speed, step.angle, this);
+                        accepted = true;
+                    }
+                    if (!accepted) {
+                        fail(axis, "commande refusée");
+                    }
+                } catch (Exception e) {
+                    Logger.e(TAG, "Exception pas " + (index + 1) + " axe " + axis, e);
+                    fail(axis, e.toString());
+                }
+            }
+
+            /**
+             * Roues : la première réponse positive vaut fin de mouvement
+             */
+            @Override
+            public void onSuccess(String status) {
+                long hold;
+                synchronized (Playback.this) {
+                    if (finished || stepDone || finishedStatus != null && !finishedStatus.equals(status)) {
+                        return;
+                    }
+                    stepDone = true;
+                    hold = steps.get(index).holdMs;
+                    if (watchdog != null) {
+                        watchdog.cancel();
+                        watchdog = null;
+                    }
+                }
+                previousEnd = scheduler.now();
+                if (hold == 0) {
+                    next();
+                } else {
+                    scheduler.schedule(Playback.this, hold, this);
+                }
+            }
+
+            @Override
+            public void onFailed(String error) {
+                fail(axis, error);
+            }
+
+            private void onStepTimeout() {
+                synchronized (Playback.this) {
+                    if (finished || stepDone) {
+                        return;
+                    }
+                }
+                fail(axis, "fin du pas " + (index + 1) + " jamais reçue");
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.sdk.TrackingFrame;
+
+/**
+ * Estimation filtrée et prédictive de la position du visage suivi.
+ *
+ * La vision donne un écart dans l'image, donc relatif à la tête. Cet écart est converti en
+ * direction absolue (degrés, repère du robot) en y ajoutant la position de la tête à
+ * l'instant de capture. Cette position est estimée à partir des commandes envoyées, car
+ * les moteurs ne la renvoient pas. Un filtre alpha-bêta par axe lisse cette direction et
+ * estime sa vitesse. Pour la commande, la direction est extrapolée de PREDICTION_MS :
+ * la tête vise l'endroit où sera le visage, pas celui où il a été vu.
+ *
+ * Une image s'écartant trop de la prédiction est écartée (fausse détection, saut de la
+ * boîte). Si plusieurs images consécutives sont écartées, la personne a réellement bougé :
+ * le filtre repart de la nouvelle mesure.
+ *
+ * Toutes les méthodes sont appelées par le thread de suivi.
+ */
+public class FaceEstimator {
+
+    // Âge de l'image quand elle est lue (capture, détection, transmission)
+    private static final long VISION_LATENCY_MS = 100;
+    // Horizon de prédiction : prise en compte de la commande et course de la tête
+    private static final long PREDICTION_MS = 150;
+
+    private static final float ALPHA = 0.5f;
+    private static final float BETA = 0.2f;
+    private static final float MAX_VELOCITY_DEG_S = 120.0f;
+
+    // Porte de validation : écart maximal à la prédiction (degrés), élargi par l'incertitude
+    // sur la vitesse au-delà de la dernière image acceptée
+    private static final float GATE_DEG = 6.0f;
+    private static final float GATE_GROWTH_DEG_S = 40.0f;
+    private static final int MAX_REJECTED_FRAMES = 2;
+    // Boîte englobante plausible (fraction de la largeur de l'image)
+    private static final float MIN_FACE_SIZE = 0.02f;
+    private static final float MAX_FACE_SIZE = 0.8f;
+
+    // Butées des axes de tête (degrés de part et d'autre du centre)
+    private static final float NO_AXIS_LIMIT_DEG = 90.0f;
+    private static final float YES_AXIS_LIMIT_DEG = 30.0f;
+
+    private final AxisFilter no = new AxisFilter();
+    private final AxisFilter yes = new AxisFilter();
+    private final HeadAxisModel headNo = new HeadAxisModel(NO_AXIS_LIMIT_DEG);
+    private final HeadAxisModel headYes = new HeadAxisModel(YES_AXIS_LIMIT_DEG);
+
+    // Boîte de la dernière image lue : la vision renvoie la même tant qu'aucune nouvelle image n'est traitée
+    private final TrackingFrame lastFrame = new TrackingFrame();
+    private boolean initialized;
+    private long lastUpdateTime;
+    private int rejectedInRow;
+    private long rejectedFrames;
+    private long acceptedFrames;
+
+    /**
+     * Commande envoyée à l'axe non (angle relatif, degrés ; vitesse, degrés/s)
+     */
+    public void onNoMove(float speed, float angle, long now) {
+        headNo.move(speed, angle, now);
+    }
+
+    /**
+     * Commande envoyée à l'axe oui (angle relatif, degrés ; vitesse, degrés/s)
+     */
+    public void onYesMove(float speed, float angle, long now) {
+        headYes.move(speed, angle, now);
+    }
+
+    /**
+     * Intègre une image de suivi lue à now
+     *
+     * @return false si l'image est écartée ou déjà lue : aucune commande ne doit en découler
+     */
+    public boolean update(TrackingFrame frame, long now) {
+        if (frame.left == lastFrame.left && frame.right == lastFrame.right
+                && frame.top == lastFrame.top && frame.bottom == lastFrame.bottom) {
+            return false;
+        }
+        lastFrame.copyFrom(frame);
+
+        float width = frame.right - frame.left;
+        float height = frame.bottom - frame.top;
+        if (width < MIN_FACE_SIZE || width > MAX_FACE_SIZE || height < MIN_FACE_SIZE || height > MAX_FACE_SIZE) {
+            return reject();
+        }
+
+        long captureTime = now - VISION_LATENCY_MS;
+        float bearingNo = headNo.position(captureTime)
+                + (frame.centerX() - 0.5f) * HeadController.CAMERA_FOV_H_DEG;
+        float bearingYes = headYes.position(captureTime)
+                - (frame.centerY() - 0.5f) * HeadController.CAMERA_FOV_V_DEG;
+
+        if (!initialized || rejectedInRow >= MAX_REJECTED_FRAMES) {
+            // Premier visage, ou la personne a vraiment bougé
+            no.init(bearingNo);
+            yes.init(bearingYes);
+            return accept(captureTime);
+        }
+
+        float dt = Math.max(0, captureTime - lastUpdateTime) / 1000.0f;
+        float gate = GATE_DEG + GATE_GROWTH_DEG_S * dt;
+        float innovationNo = bearingNo - no.predict(dt);
+        float innovationYes = bearingYes - yes.predict(dt);
+        if (innovationNo * innovationNo + innovationYes * innovationYes > gate * gate) {
+            return reject();
+        }
+
+        no.correct(innovationNo, dt);
+        yes.correct(innovationYes, dt);
+        return accept(captureTime);
+    }
+
+    private boolean accept(long captureTime) {
+        initialized = true;
+        lastUpdateTime = captureTime;
+        rejectedInRow = 0;
+        acceptedFrames++;
+        return true;
+    }
+
+    private boolean reject() {
+        rejectedInRow++;
+        rejectedFrames++;
+        return false;
+    }
+
+    /**
+     * Écart horizontal prévu entre le visage et l'axe de la tête, en fraction de l'image
+     * (même convention que TrackingFrame : > 0 à droite)
+     */
+    public float predictedDeltaX(long now) {
+        float dt = (now + PREDICTION_MS - lastUpdateTime) / 1000.0f;
+        return (no.extrapolate(dt) - headNo.position(now)) / HeadController.CAMERA_FOV_H_DEG;
+    }
+
+    /**
+     * Écart vertical prévu, en fraction de l'image (> 0 en bas)
+     */
+    public float predictedDeltaY(long now) {
+        float dt = (now + PREDICTION_MS - lastUpdateTime) / 1000.0f;
+        return -(yes.extrapolate(dt) - headYes.position(now)) / HeadController.CAMERA_FOV_V_DEG;
+    }
+
+    /**
+     * Personne perdue : le visage suivant repartira d'une nouvelle mesure
+     * (la position estimée de la tête est conservée)
+     */
+    public void reset() {
+        initialized = false;
+        rejectedInRow = 0;
+        lastFrame.set(0, false, 0, 0, 0, 0);
+    }
+
+    /**
+     * Vitesse angulaire estimée du visage (degrés/s), 0 si aucun visage n'est suivi
+     */
+    public float getAngularSpeed() {
+        if (!initialized) {
+            return 0;
+        }
+        return (float) Math.hypot(no.velocity, yes.velocity);
+    }
+
+    public long getRejectedFrames() {
+        return rejectedFrames;
+    }
+
+    public long getAcceptedFrames() {
+        return acceptedFrames;
+    }
+
+    /**
+     * Filtre alpha-bêta d'une direction (degrés) et de sa vitesse (degrés/s)
+     */
+    private static final class AxisFilter {
+        private float position;
+        private float velocity;
+
+        void init(float measured) {
+            position = measured;
+            velocity = 0;
+        }
+
+        float predict(float dt) {
+            return position + velocity * dt;
+        }
+
+        void correct(float innovation, float dt) {
+            position = predict(dt) + ALPHA * innovation;
+            if (dt > 0) {
+                velocity += BETA * innovation / dt;
+                velocity = Math.max(-MAX_VELOCITY_DEG_S, Math.min(MAX_VELOCITY_DEG_S, velocity));
+            }
+        }
+
+        float extrapolate(float dt) {
+            return predict(Math.max(0, dt));
+        }
+    }
+
+    /**
+     * Position estimée d'un axe de tête d'après les commandes relatives envoyées :
+     * chaque commande part de la position du moment et remplace le mouvement en cours
+     */
+    private static final class HeadAxisModel {
+        private final float limit;
+
+        // Mouvement précédent, pour relire une position antérieure à la dernière commande
+        private float previousFrom;
+        private float previousTo;
+        private long previousStart;
+        private long previousEnd;
+
+        private float from;
+        private float to;
+        private long start;
+        private long end;
+        private long commandTime = Long.MIN_VALUE;
+
+        HeadAxisModel(float limit) {
+            this.limit = limit;
+        }
+
+        void move(float speed, float angle, long now) {
+            float current = position(now);
+            previousFrom = from;
+            previousTo = to;
+            previousStart = start;
+            previousEnd = end;
+
+            from = current;
+            to = Math.max(-limit, Math.min(limit, current + angle));
+            commandTime = now;
+            start = now + HeadController.MOTOR_LATENCY_MS;
+            end = start + (long) (Math.abs(to - from) / Math.max(1.0f, Math.abs(speed)) * 1000)
+                    + HeadController.MOTOR_SETTLE_MS;
+        }
+
+        float position(long time) {
+            if (time < commandTime) {
+                return interpolate(previousFrom, previousTo, previousStart, previousEnd, time);
+            }
+            return interpolate(from, to, start, end, time);
+        }
+
+        private static float interpolate(float from, float to, long start, long end, long time) {
+            if (time >= end) {
+                return to;
+            }
+            if (time <= start) {
+                return from;
+            }
+            return from + (to - from) * (time - start) / (end - start);
+        }
+    }
+}
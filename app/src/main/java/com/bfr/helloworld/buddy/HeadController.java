@@ -0,0 +1,34 @@
+package com.bfr.helloworld.buddy;
+
+/**
+ * Loi de commande du suivi de tête : à chaque image, l'écart du visage au centre de l'image
+ * (normalisé, de -0.5 à 0.5) devient des commandes des axes non (horizontal) et oui (vertical)
+ */
+public interface HeadController {
+
+    // Champ de la caméra frontale (degrés pour toute la largeur / hauteur de l'image)
+    float CAMERA_FOV_H_DEG = 60.0f;
+    float CAMERA_FOV_V_DEG = 45.0f;
+
+    // Délai moteur estimé : prise en compte de la commande, puis stabilisation en fin de course
+    long MOTOR_LATENCY_MS = 40;
+    long MOTOR_SETTLE_MS = 60;
+
+    /**
+     * Sortie des commandes : angle relatif (degrés) et vitesse (degrés/s)
+     */
+    interface Axes {
+        void moveNo(float speed, float angle);
+        void moveYes(float speed, float angle);
+    }
+
+    /**
+     * Nouvelle image avec un visage ; deltaX > 0 : visage à droite, deltaY > 0 : visage en bas
+     */
+    void onFrame(float deltaX, float deltaY, long now, Axes axes);
+
+    /**
+     * Personne perdue ou suivi interrompu : l'historique de la loi est oublié
+     */
+    void reset();
+}
@@ -0,0 +1,274 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.Logger;
+import java.util.Locale;
+
+/**
+ * Point de passage unique des commandes des deux axes de tête (oui : vertical, non : horizontal),
+ * partagé par le suivi et les gestes.
+ *
+ * Chaque axe a un propriétaire. Un geste réserve ses axes pour toute sa durée (pauses entre
+ * deux mouvements comprises) : les commandes du suivi sont alors écartées, et reprennent à la
+ * libération. Un geste passe toujours immédiatement, même sur un mouvement de suivi en cours.
+ *
+ * Sur un axe, deux commandes sont espacées d'au moins MIN_COMMAND_INTERVAL_MS : une commande
+ * trop rapprochée attend la fin de l'intervalle, et une plus récente la remplace
+ * (la dernière gagne). Une commande remplacée ou écartée reçoit onFailed(MERGED / PREEMPTED).
+ *
+ * Appelé depuis le thread de suivi et depuis le planificateur.
+ */
+public class HeadMotorBus {
+    private static final String TAG = "HeadMotorBus";
+
+    // Réponse d'une commande jamais envoyée
+    public static final String MERGED = "MERGED";
+    public static final String PREEMPTED = "PREEMPTED";
+
+    // Espacement minimal de deux commandes sur un même axe
+    static final long MIN_COMMAND_INTERVAL_MS = 50;
+
+    /**
+     * Priorités croissantes
+     */
+    public enum Priority {
+        TRACKING,
+        GESTURE
+    }
+
+    public enum HeadAxis {
+        YES,
+        NO
+    }
+
+    private final MotorPort motors;
+    private final Scheduler scheduler;
+    // Groupe des envois différés
+    private final Object pendingSends = new Object();
+    private final AxisState yes = new AxisState(HeadAxis.YES);
+    private final AxisState no = new AxisState(HeadAxis.NO);
+
+    // Incrémenté à chaque réservation : le suivi sait que la tête a bougé sans lui
+    private int gestureCount;
+    private long issued;
+    private long merged;
+    private long preempted;
+    // Enregistrement des commandes envoyées (null : aucun)
+    private volatile TrackingTrace trace;
+
+    public HeadMotorBus(MotorPort motors, Scheduler scheduler) {
+        this.motors = motors;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Mouvement vertical (angle relatif, degrés)
+     *
+     * @return false si la commande est écartée (axe réservé par un geste)
+     */
+    public boolean moveYes(Priority priority, float speed, float angle, MotorPort.CommandListener listener) {
+        return yes.submit(priority, speed, angle, listener);
+    }
+
+    /**
+     * Mouvement horizontal (angle relatif, degrés)
+     *
+     * @return false si la commande est écartée (axe réservé par un geste)
+     */
+    public boolean moveNo(Priority priority, float speed, float angle, MotorPort.CommandListener listener) {
+        return no.submit(priority, speed, angle, listener);
+    }
+
+    /**
+     * Réserve un axe pour un geste jusqu'à release() ; la commande de suivi en attente est écartée
+     */
+    public void claim(HeadAxis axis) {
+        AxisState state = state(axis);
+        MotorPort.CommandListener dropped;
+        synchronized (this) {
+            gestureCount++;
+            state.claimed = true;
+            dropped = state.dropPending();
+            if (dropped != null) {
+                preempted++;
+            }
+        }
+        Logger.d(TAG, "Axe " + axis + " réservé par un geste");
+        failIfNotNull(dropped, PREEMPTED);
+    }
+
+    /**
+     * Fin du geste : le suivi peut de nouveau commander l'axe
+     */
+    public void release(HeadAxis axis) {
+        synchronized (this) {
+            state(axis).claimed = false;
+        }
+        Logger.d(TAG, "Axe " + axis + " libéré");
+    }
+
+    /**
+     * Enregistre désormais chaque commande envoyée dans trace (null : arrêt)
+     */
+    void setTrace(TrackingTrace trace) {
+        this.trace = trace;
+    }
+
+    public synchronized boolean isClaimed(HeadAxis axis) {
+        return state(axis).claimed;
+    }
+
+    /**
+     * Nombre de gestes ayant réservé un axe depuis la création
+     */
+    public synchronized int getGestureCount() {
+        return gestureCount;
+    }
+
+    public synchronized long getIssuedCount() {
+        return issued;
+    }
+
+    public synchronized long getMergedCount() {
+        return merged;
+    }
+
+    public synchronized long getPreemptedCount() {
+        return preempted;
+    }
+
+    public synchronized String getStats() {
+        return String.format(Locale.ROOT, "%d commandes tête envoyées, %d fusionnées, %d préemptées",
+                issued, merged, preempted);
+    }
+
+    private AxisState state(HeadAxis axis) {
+        return axis == HeadAxis.YES ? yes : no;
+    }
+
+    private void send(HeadAxis axis, float speed, float angle, MotorPort.CommandListener listener) {
+        TrackingTrace activeTrace = trace;
+        if (activeTrace != null) {
+            activeTrace.recordMove(axis == HeadAxis.YES ? TrackingTrace.MOVE_YES : TrackingTrace.MOVE_NO,
+                    scheduler.now(), speed, angle);
+        }
+        try {
+            if (axis == HeadAxis.YES) {
+                motors.buddySayYes(speed, angle, listener);
+            } else {
+                motors.buddySayNo(speed, angle, listener);
+            }
+        } catch (Exception e) {
+            Logger.e(TAG, "Exception commande tête " + axis, e);
+            listener.onFailed(e.toString());
+        }
+    }
+
+    private static void failIfNotNull(MotorPort.CommandListener listener, String reason) {
+        if (listener != null) {
+            listener.onFailed(reason);
+        }
+    }
+
+    /**
+     * Dernière commande envoyée et commande en attente d'un axe
+     */
+    private final class AxisState implements Runnable {
+        private final HeadAxis axis;
+        private boolean claimed;
+        private long lastSendTime = Long.MIN_VALUE / 2;
+        private Priority lastPriority = Priority.TRACKING;
+        // Fin estimée du dernier mouvement envoyé
+        private long busyUntil;
+
+        // Commande en attente de la fin de l'intervalle (listener null : aucune)
+        private Priority pendingPriority;
+        private float pendingSpeed;
+        private float pendingAngle;
+        private MotorPort.CommandListener pendingListener;
+        private boolean flushScheduled;
+
+        AxisState(HeadAxis axis) {
+            this.axis = axis;
+        }
+
+        boolean submit(Priority priority, float speed, float angle, MotorPort.CommandListener listener) {
+            MotorPort.CommandListener dropped = null;
+            long delay = -1;
+            synchronized (HeadMotorBus.this) {
+                if (claimed && priority == Priority.TRACKING
+                        || pendingListener != null && priority.compareTo(pendingPriority) < 0) {
+                    preempted++;
+                    return false;
+                }
+                if (pendingListener != null) {
+                    dropped = dropPending();
+                    merged++;
+                }
+                long now = scheduler.now();
+                boolean overrides = priority.compareTo(lastPriority) > 0;
+                if (overrides || now - lastSendTime >= MIN_COMMAND_INTERVAL_MS) {
+                    if (overrides && now < busyUntil) {
+                        // Mouvement de suivi encore en cours, remplacé par le geste
+                        preempted++;
+                    }
+                    record(priority, speed, angle, now);
+                } else {
+                    pendingPriority = priority;
+                    pendingSpeed = speed;
+                    pendingAngle = angle;
+                    pendingListener = listener;
+                    if (!flushScheduled) {
+                        flushScheduled = true;
+                        delay = lastSendTime + MIN_COMMAND_INTERVAL_MS - now;
+                    }
+                    listener = null;
+                }
+            }
+            failIfNotNull(dropped, MERGED);
+            if (listener != null) {
+                send(axis, speed, angle, listener);
+            } else if (delay >= 0) {
+                scheduler.schedule(pendingSends, delay, this);
+            }
+            return true;
+        }
+
+        /**
+         * Fin de l'intervalle : envoie la commande en attente (la plus récente)
+         */
+        @Override
+        public void run() {
+            float speed;
+            float angle;
+            MotorPort.CommandListener listener;
+            synchronized (HeadMotorBus.this) {
+                flushScheduled = false;
+                if (pendingListener == null) {
+                    return;
+                }
+                speed = pendingSpeed;
+                angle = pendingAngle;
+                listener = pendingListener;
+                record(pendingPriority, speed, angle, scheduler.now());
+                pendingListener = null;
+            }
+            send(axis, speed, angle, listener);
+        }
+
+        private void record(Priority priority, float speed, float angle, long now) {
+            lastSendTime = now;
+            lastPriority = priority;
+            busyUntil = now + HeadController.MOTOR_LATENCY_MS + HeadController.MOTOR_SETTLE_MS
+                    + (long) (Math.abs(angle) / Math.max(1.0f, Math.abs(speed)) * 1000);
+            issued++;
+        }
+
+        MotorPort.CommandListener dropPending() {
+            MotorPort.CommandListener listener = pendingListener;
+            pendingListener = null;
+            return listener;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bfr.helloworld.buddy;
+
+/**
+ * Loi continue : l'écart du visage, converti en degrés par le champ de la caméra,
+ * passe par un PID par axe. L'angle commandé et la vitesse sont proportionnels à l'erreur.
+ *
+ * Les deux axes sont commandés à la même image. Chaque axe a une zone morte à hystérésis :
+ * il ne s'engage qu'au-delà de ENGAGE_DEG et se relâche sous RELEASE_DEG. Le bruit de la
+ * vision ne fait donc pas vibrer une tête déjà centrée. Chaque commande est relative et
+ * remplace le mouvement en cours, d'où un gain proportionnel inférieur à 1 : la tête
+ * n'atteint la cible qu'en quelques images mais ne la dépasse pas. Tant que la correction
+ * voulue reste proche de ce qu'il reste à parcourir du mouvement en cours, aucune nouvelle
+ * commande n'est envoyée.
+ */
+public class HeadPidController implements HeadController {
+
+    private static final float KP = 0.8f;
+    private static final float KI = 0.3f;   // par seconde
+    private static final float KD = 0.03f;  // secondes
+    // Anti-emballement : intégrale bornée, et alimentée seulement près de la cible
+    private static final float INTEGRAL_LIMIT_DEG = 5.0f;
+    private static final float INTEGRAL_BAND_DEG = 6.0f;
+
+    // Zone morte à hystérésis (degrés)
+    private static final float ENGAGE_DEG = 3.0f;
+    private static final float RELEASE_DEG = 1.0f;
+    // En dessous, une correction n'est pas envoyée aux moteurs
+    private static final float MIN_COMMAND_DEG = 0.5f;
+
+    // La vitesse vise un mouvement terminé en RESPONSE_TIME_S, dans les limites de chaque axe
+    private static final float RESPONSE_TIME_S = 0.1f;
+    private static final float MIN_SPEED = 20.0f;
+    private static final float MAX_SPEED_NO = 80.0f;
+    private static final float MAX_SPEED_YES = 50.0f;
+
+    // Un mouvement en cours n'est remplacé que si la nouvelle correction s'en écarte d'autant
+    private static final float RETARGET_DEG = 1.5f;
+
+    // Au-delà, l'image précédente est trop ancienne pour les termes I et D
+    private static final long MAX_FRAME_GAP_MS = 500;
+
+    private final Axis no = new Axis(MAX_SPEED_NO);
+    private final Axis yes = new Axis(MAX_SPEED_YES);
+    private long lastFrameTime = -1;
+
+    @Override
+    public void onFrame(float deltaX, float deltaY, long now, Axes axes) {
+        float dt = lastFrameTime < 0 || now - lastFrameTime > MAX_FRAME_GAP_MS
+                ? 0 : (now - lastFrameTime) / 1000.0f;
+        lastFrameTime = now;
+
+        // Visage à droite : tourner la tête à droite (angle positif) ;
+        // visage en bas : baisser la tête (angle oui négatif)
+        float noAngle = no.update(deltaX * CAMERA_FOV_H_DEG, dt, now);
+        float yesAngle = yes.update(-deltaY * CAMERA_FOV_V_DEG, dt, now);
+
+        if (noAngle != 0) {
+            axes.moveNo(no.commandSpeed, noAngle);
+        }
+        if (yesAngle != 0) {
+            axes.moveYes(yes.commandSpeed, yesAngle);
+        }
+    }
+
+    @Override
+    public void reset() {
+        no.reset();
+        yes.reset();
+        lastFrameTime = -1;
+    }
+
+    /**
+     * PID d'un axe, avec zone morte à hystérésis et intégrale bornée
+     */
+    private static final class Axis {
+        private final float maxSpeed;
+        private boolean engaged;
+        private boolean hasLastError;
+        private float lastError;
+        private float integral;
+        // Dernière commande : angle, vitesse, début et fin prévus du mouvement
+        private float commandAngle;
+        private float commandSpeed;
+        private long commandStart;
+        private long commandEnd;
+
+        Axis(float maxSpeed) {
+            this.maxSpeed = maxSpeed;
+        }
+
+        /**
+         * @return l'angle relatif à commander, 0 si rien à faire
+         */
+        float update(float error, float dt, long now) {
+            float magnitude = Math.abs(error);
+            if (engaged ? magnitude < RELEASE_DEG : magnitude < ENGAGE_DEG) {
+                engaged = false;
+                integral = 0;
+                remember(error);
+                return 0;
+            }
+            engaged = true;
+
+            float derivative = hasLastError && dt > 0 ? (error - lastError) / dt : 0;
+            if (magnitude < INTEGRAL_BAND_DEG) {
+                integral = Math.max(-INTEGRAL_LIMIT_DEG, Math.min(INTEGRAL_LIMIT_DEG, integral + error * dt));
+            }
+            remember(error);
+
+            float output = KP * error + KI * integral + KD * derivative;
+            if (Math.abs(output) < MIN_COMMAND_DEG
+                    || Math.abs(output - remaining(now)) < RETARGET_DEG) {
+                return 0;
+            }
+
+            commandAngle = output;
+            commandSpeed = Math.max(MIN_SPEED, Math.min(maxSpeed, Math.abs(output) / RESPONSE_TIME_S));
+            commandStart = now + MOTOR_LATENCY_MS;
+            commandEnd = commandStart + (long) (Math.abs(output) / commandSpeed * 1000) + MOTOR_SETTLE_MS;
+            return output;
+        }
+
+        /**
+         * Part estimée de la dernière commande pas encore parcourue
+         */
+        private float remaining(long now) {
+            if (now >= commandEnd) {
+                return 0;
+            }
+            if (now <= commandStart) {
+                return commandAngle;
+            }
+            return commandAngle * (commandEnd - now) / (commandEnd - commandStart);
+        }
+
+        private void remember(float error) {
+            lastError = error;
+            hasLastError = true;
+        }
+
+        void reset() {
+            engaged = false;
+            hasLastError = false;
+            lastError = 0;
+            integral = 0;
+            commandEnd = 0;
+        }
+    }
+}
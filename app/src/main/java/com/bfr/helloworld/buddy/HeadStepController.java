@@ -0,0 +1,47 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.utils.Logger;
+
+/**
+ * Loi d'origine, en tout ou rien : un pas fixe dès que l'écart dépasse le seuil,
+ * au plus un mouvement par période de repos, l'horizontal prioritaire sur le vertical.
+ * Conservée comme référence de comparaison.
+ */
+public class HeadStepController implements HeadController {
+    private static final String TAG = "HeadStepController";
+
+    private static final float HEAD_MOVEMENT_THRESHOLD = 0.10f; // Seuil de déclenchement (10% de l'écran)
+    private static final float HEAD_SPEED = 40.0f; // Vitesse des mouvements
+    private static final float HEAD_ANGLE_STEP = 10.0f; // Angle par étape
+    private static final long MOVEMENT_COOLDOWN = 300; // Délai entre mouvements (ms)
+
+    private long lastMovementTime = Long.MIN_VALUE / 2;
+
+    @Override
+    public void onFrame(float deltaX, float deltaY, long now, Axes axes) {
+        // Vérifier le cooldown pour éviter les mouvements trop fréquents
+        if (now - lastMovementTime < MOVEMENT_COOLDOWN) {
+            return;
+        }
+
+        // Mouvement horizontal (gauche/droite) - PRIORITÉ
+        if (Math.abs(deltaX) > HEAD_MOVEMENT_THRESHOLD) {
+            float angle = deltaX > 0 ? HEAD_ANGLE_STEP : -HEAD_ANGLE_STEP;
+            Logger.d(TAG, deltaX > 0 ? "➡️ Mouvement tête DROITE" : "⬅️ Mouvement tête GAUCHE");
+            axes.moveNo(HEAD_SPEED, angle);
+            lastMovementTime = now;
+        }
+        // Mouvement vertical seulement si pas de mouvement horizontal
+        else if (Math.abs(deltaY) > HEAD_MOVEMENT_THRESHOLD) {
+            float angle = deltaY > 0 ? -HEAD_ANGLE_STEP : HEAD_ANGLE_STEP;
+            Logger.d(TAG, deltaY > 0 ? "⬇️ Mouvement tête BAS" : "⬆️ Mouvement tête HAUT");
+            axes.moveYes(HEAD_SPEED, angle);
+            lastMovementTime = now;
+        }
+    }
+
+    @Override
+    public void reset() {
+        lastMovementTime = Long.MIN_VALUE / 2;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bfr.helloworld.buddy;
+
+import java.util.Locale;
+
+/**
+ * Cadence adaptative de lecture du suivi (chaque lecture est un appel au service de vision)
+ *
+ * - visage en mouvement, ou tête en train de le rattraper : cadence rapide ;
+ * - visage immobile depuis STABLE_AFTER_MS : cadence lente ;
+ * - personne absente : l'intervalle double à chaque échec, jusqu'à LOST_MAX_INTERVAL_MS ;
+ * - visage retrouvé : retour immédiat à la cadence rapide.
+ *
+ * Les lectures économisées sont comptées par rapport à l'ancienne cadence fixe de 10 Hz.
+ */
+public class TrackingPollRate {
+
+    // Ancienne cadence fixe, référence des appels économisés
+    public static final long NOMINAL_INTERVAL_MS = 100;
+    public static final long BURST_INTERVAL_MS = 50;          // 20 Hz
+    public static final long STABLE_INTERVAL_MS = 250;        // 4 Hz
+    public static final long STABLE_AFTER_MS = 1000;
+    public static final long LOST_INITIAL_INTERVAL_MS = 100;
+    public static final long LOST_MAX_INTERVAL_MS = 800;
+
+    private long lostInterval;
+    private long lastMotionTime;
+    // Visage (re)trouvé : cadence rapide à la prochaine détection
+    private boolean reacquiring = true;
+    private long currentInterval = BURST_INTERVAL_MS;
+
+    // Temps de suivi actif (les arrêts du suivi ne comptent pas), -1 : suivi redémarré
+    private long lastPollTime = -1;
+    private long activeMs;
+    private long polls;
+
+    /**
+     * Enregistre une lecture et retourne l'attente avant la suivante
+     *
+     * @param detected un visage a été lu
+     * @param moving   le visage bouge, ou la tête est en train d'être commandée
+     */
+    public synchronized long onPoll(long now, boolean detected, boolean moving) {
+        if (lastPollTime >= 0) {
+            activeMs += now - lastPollTime;
+        }
+        lastPollTime = now;
+        polls++;
+
+        if (!detected) {
+            lostInterval = lostInterval == 0
+                    ? LOST_INITIAL_INTERVAL_MS : Math.min(LOST_MAX_INTERVAL_MS, lostInterval * 2);
+            reacquiring = true;
+            currentInterval = lostInterval;
+            return currentInterval;
+        }
+
+        if (moving || reacquiring) {
+            lastMotionTime = now;
+        }
+        reacquiring = false;
+        lostInterval = 0;
+        currentInterval = now - lastMotionTime < STABLE_AFTER_MS ? BURST_INTERVAL_MS : STABLE_INTERVAL_MS;
+        return currentInterval;
+    }
+
+    /**
+     * Suivi arrêté : la prochaine lecture repart à la cadence rapide
+     * (les compteurs sont conservés)
+     */
+    public synchronized void reset() {
+        lostInterval = 0;
+        reacquiring = true;
+        lastPollTime = -1;
+        currentInterval = BURST_INTERVAL_MS;
+    }
+
+    /**
+     * Cadence actuelle (Hz)
+     */
+    public synchronized float getCurrentRateHz() {
+        return 1000.0f / currentInterval;
+    }
+
+    /**
+     * Cadence moyenne pendant le suivi actif (Hz)
+     */
+    public synchronized float getAverageRateHz() {
+        return activeMs <= 0 ? 0 : polls * 1000.0f / activeMs;
+    }
+
+    /**
+     * Lectures économisées par heure par rapport à la cadence fixe de 10 Hz
+     */
+    public synchronized long getSavedCallsPerHour() {
+        if (activeMs <= 0) {
+            return 0;
+        }
+        long saved = activeMs / NOMINAL_INTERVAL_MS - polls;
+        return saved * 3_600_000L / activeMs;
+    }
+
+    public synchronized long getPollCount() {
+        return polls;
+    }
+
+    public synchronized String getStats() {
+        return String.format(Locale.ROOT, "%d lectures, %.1f Hz en moyenne (actuellement %.1f Hz), "
+                        + "%d appels économisés par heure",
+                polls, getAverageRateHz(), getCurrentRateHz(), getSavedCallsPerHour());
+    }
+}
@@ -0,0 +1,219 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.sdk.TrackingFrame;
+import com.bfr.helloworld.utils.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Enregistrement compact d'une session de suivi, pour rejouer hors robot
+ * (benchmarks : TrackingReplayBenchmark).
+ *
+ * Chaque lecture de la vision (boîte englobante, ou visage perdu) et chaque commande de tête
+ * est un enregistrement de RECORD_BYTES octets : type, instant (ms depuis le début), puis
+ * la boîte quantifiée sur 16 bits par bord, ou la vitesse et l'angle de la commande.
+ * Les commandes permettent de retrouver la position de la tête à chaque image, donc la
+ * direction absolue du visage. Capacité fixée à la création : rien n'est alloué pendant
+ * l'enregistrement, les enregistrements au-delà sont comptés et perdus.
+ *
+ * Fichier : en-tête (MAGIC, VERSION, instant de départ, nombre d'enregistrements) puis
+ * les enregistrements, en big-endian.
+ */
+public final class TrackingTrace {
+    private static final String TAG = "TrackingTrace";
+
+    public static final int MAGIC = 0x42545243; // "BTRC"
+    public static final int VERSION = 1;
+    public static final int RECORD_BYTES = 13;
+    // Une heure à 20 Hz, commandes comprises (1,3 Mo)
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    public static final byte FRAME = 0;
+    public static final byte LOST = 1;
+    public static final byte MOVE_YES = 2;
+    public static final byte MOVE_NO = 3;
+
+    private static final float BOX_SCALE = 65535.0f;
+
+    private final ByteBuffer records;
+    private final int capacity;
+    private long startTime = -1;
+    private int size;
+    private long dropped;
+
+    public TrackingTrace(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacité invalide: " + capacity);
+        }
+        this.capacity = capacity;
+        this.records = ByteBuffer.allocate(capacity * RECORD_BYTES);
+    }
+
+    /**
+     * Lecture de la vision (frame.success = false : visage perdu)
+     */
+    public synchronized void recordFrame(long now, TrackingFrame frame) {
+        if (!startRecord(frame.success ? FRAME : LOST, now)) {
+            return;
+        }
+        if (frame.success) {
+            records.putShort(quantize(frame.left));
+            records.putShort(quantize(frame.right));
+            records.putShort(quantize(frame.top));
+            records.putShort(quantize(frame.bottom));
+        } else {
+            records.putLong(0);
+        }
+    }
+
+    /**
+     * Commande envoyée à un axe de tête (MOVE_YES ou MOVE_NO)
+     */
+    public synchronized void recordMove(byte type, long now, float speed, float angle) {
+        if (!startRecord(type, now)) {
+            return;
+        }
+        records.putFloat(speed);
+        records.putFloat(angle);
+    }
+
+    private boolean startRecord(byte type, long now) {
+        if (size >= capacity) {
+            dropped++;
+            return false;
+        }
+        if (startTime < 0) {
+            startTime = now;
+        }
+        records.position(size * RECORD_BYTES);
+        records.put(type);
+        records.putInt((int) (now - startTime));
+        size++;
+        return true;
+    }
+
+    private static short quantize(float value) {
+        return (short) Math.round(Math.max(0.0f, Math.min(1.0f, value)) * BOX_SCALE);
+    }
+
+    private static float dequantize(short value) {
+        return (value & 0xFFFF) / BOX_SCALE;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Enregistrements perdus, capacité atteinte
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    public synchronized byte type(int index) {
+        return records.get(offset(index));
+    }
+
+    /**
+     * Instant de l'enregistrement (horloge du planificateur au moment de l'enregistrement)
+     */
+    public synchronized long time(int index) {
+        return startTime + records.getInt(offset(index) + 1);
+    }
+
+    /**
+     * Relit une image (FRAME ou LOST) dans frame
+     */
+    public synchronized void frame(int index, TrackingFrame frame) {
+        int offset = offset(index);
+        long time = startTime + records.getInt(offset + 1);
+        if (records.get(offset) != FRAME) {
+            frame.set(time, false, 0, 0, 0, 0);
+            return;
+        }
+        frame.set(time, true, dequantize(records.getShort(offset + 5)), dequantize(records.getShort(offset + 7)),
+                dequantize(records.getShort(offset + 9)), dequantize(records.getShort(offset + 11)));
+    }
+
+    public synchronized float speed(int index) {
+        return records.getFloat(offset(index) + 5);
+    }
+
+    public synchronized float angle(int index) {
+        return records.getFloat(offset(index) + 9);
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Enregistrement " + index + " / " + size);
+        }
+        return index * RECORD_BYTES;
+    }
+
+    public synchronized void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(Math.max(0, startTime));
+        data.writeInt(size);
+        data.write(records.array(), 0, size * RECORD_BYTES);
+        data.flush();
+    }
+
+    /**
+     * Relit une trace écrite par writeTo
+     */
+    public static TrackingTrace readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Pas une trace de suivi");
+        }
+        int version = data.readShort();
+        if (version != VERSION) {
+            throw new IOException("Version de trace non prise en charge: " + version);
+        }
+        long startTime = data.readLong();
+        int size = data.readInt();
+        if (size < 0) {
+            throw new IOException("Nombre d'enregistrements invalide: " + size);
+        }
+        TrackingTrace trace = new TrackingTrace(Math.max(1, size));
+        data.readFully(trace.records.array(), 0, size * RECORD_BYTES);
+        trace.startTime = startTime;
+        trace.size = size;
+        return trace;
+    }
+
+    public static TrackingTrace load(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return readFrom(in);
+        }
+    }
+
+    /**
+     * Écrit la trace (remplace le fichier)
+     *
+     * @return false si l'écriture a échoué (détail dans logcat)
+     */
+    public boolean save(File file) {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeTo(out);
+            Logger.i(TAG, "Trace de suivi écrite dans " + file.getAbsolutePath() + " (" + size()
+                    + " enregistrements, " + getDroppedCount() + " perdus)");
+            return true;
+        } catch (IOException e) {
+            Logger.e(TAG, "Impossible d'écrire la trace de suivi dans " + file, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.helloworld.scheduling.Cancellable;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.Logger;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Actions du robot sous forme de CompletableFuture, pour composer les séquences
+ * (thenCompose, allOf...) au lieu d'imbriquer les callbacks.
+ *
+ * Chaque appel a son délai maximal (timeoutMs, 0 : aucun) : passé ce délai, l'action est
+ * arrêtée si possible et le future échoue avec TimeoutException. future.cancel() arrête
+ * aussi l'action (parole, écoute). Un échec remonté par le robot donne une
+ * CommandFailedException.
+ *
+ * Pas de mouvement de tête ici : ils passent par HeadMotorBus (suivi, ChoreographyPlayer),
+ * seul à arbitrer entre le suivi et les gestes.
+ *
+ * Les futures sont complétés sur l'exécuteur choisi (par défaut le planificateur, donc le
+ * thread principal sur le robot) : les étapes suivantes non Async s'y exécutent aussi.
+ * Java 8 : pas de orTimeout, les délais passent par le planificateur.
+ */
+public final class BuddyFutures {
+    private static final String TAG = "BuddyFutures";
+
+    /**
+     * Échec signalé par le robot (onFailed, onSpeakError, onListenError)
+     */
+    public static final class CommandFailedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final String error;
+
+        public CommandFailedException(String action, String error) {
+            super(action + " : " + error);
+            this.error = error;
+        }
+
+        /**
+         * Message d'erreur brut du SDK
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final BuddyPlatform platform;
+    private final Scheduler scheduler;
+    private final Executor executor;
+    // Propriétaire des délais maximaux en attente
+    private final Object timeouts = new Object();
+
+    public BuddyFutures(BuddyPlatform platform) {
+        this(platform, null);
+    }
+
+    /**
+     * @param executor exécuteur des complétions (null : le planificateur de la plateforme)
+     */
+    public BuddyFutures(BuddyPlatform platform, Executor executor) {
+        this.platform = platform;
+        this.scheduler = platform.scheduler();
+        this.executor = executor != null ? executor : task -> scheduler.post(timeouts, task);
+    }
+
+    /**
+     * Parole terminée ; annulation : stopSpeaking
+     */
+    public CompletableFuture<Void> speak(String text, long timeoutMs) {
+        SpeechPort speech = platform.speech();
+        Call<Void> call = new Call<>("startSpeaking", timeoutMs, speech::stopSpeaking);
+        try {
+            speech.startSpeaking(text, new SpeechPort.SpeakListener() {
+                @Override
+                public void onSpeakDone() {
+                    call.succeed(null);
+                }
+
+                @Override
+                public void onSpeakError(String error) {
+                    call.fail(error);
+                }
+            });
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    /**
+     * Résultat final de la reconnaissance (jamais vide ; rien compris : CommandFailedException
+     * avec SpeechPort.NO_SPEECH) ; annulation : arrêt de la tâche
+     */
+    public CompletableFuture<List<SpeechHypothesis>> listen(Locale locale, long timeoutMs) {
+        SpeechPort.ListenTask task;
+        try {
+            task = platform.speech().createFreeSpeechTask(locale);
+        } catch (Exception e) {
+            Call<List<SpeechHypothesis>> failed = new Call<>("startListening", 0, null);
+            failed.fail(e);
+            return failed.future;
+        }
+        Call<List<SpeechHypothesis>> call = new Call<>("startListening", timeoutMs, task::stop);
+        try {
+            task.start(new SpeechPort.ListenListener() {
+                @Override
+                public void onResults(List<SpeechHypothesis> hypotheses) {
+                    call.succeed(hypotheses);
+                }
+
+                @Override
+                public void onListenError(String error) {
+                    call.fail(error);
+                }
+            });
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    /**
+     * Rotation terminée (WHEEL_MOVE_FINISHED) ; pas de commande d'arrêt des roues
+     */
+    public CompletableFuture<Void> rotate(float speed, float angle, long timeoutMs) {
+        Call<Void> call = new Call<>("rotateBuddy", timeoutMs, null);
+        try {
+            platform.motors().rotateBuddy(speed, angle, call.until(MotorPort.WHEEL_MOVE_FINISHED));
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    /**
+     * Première réponse positive de l'activation
+     */
+    public CompletableFuture<Void> enableYesMove(boolean enabled, long timeoutMs) {
+        Call<Void> call = new Call<>("enableYesMove", timeoutMs, null);
+        try {
+            platform.motors().enableYesMove(enabled, call.until(null));
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    public CompletableFuture<Void> enableNoMove(boolean enabled, long timeoutMs) {
+        Call<Void> call = new Call<>("enableNoMove", timeoutMs, null);
+        try {
+            platform.motors().enableNoMove(enabled, call.until(null));
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    public CompletableFuture<Void> enableWheels(boolean left, boolean right, long timeoutMs) {
+        Call<Void> call = new Call<>("enableWheels", timeoutMs, null);
+        try {
+            platform.motors().enableWheels(left, right, call.until(null));
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    /**
+     * Fin de l'animation du visage
+     */
+    public CompletableFuture<Void> setFacialExpression(String expression, double speed, long timeoutMs) {
+        Call<Void> call = new Call<>("setFacialExpression", timeoutMs, null);
+        try {
+            platform.face().setFacialExpression(expression, speed, (type, value) -> call.succeed(null));
+        } catch (Exception e) {
+            call.fail(e);
+        }
+        return call.future;
+    }
+
+    /**
+     * Un appel en cours : son future, son délai maximal et son arrêt
+     */
+    private final class Call<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        private final String action;
+        private final Runnable abort;
+        private final Cancellable timeout;
+
+        Call(String action, long timeoutMs, Runnable abort) {
+            this.action = action;
+            this.abort = abort;
+            this.timeout = timeoutMs > 0 ? scheduler.schedule(timeouts, timeoutMs, this::onTimeout) : null;
+            future.whenComplete((value, error) -> {
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+                if (error instanceof CancellationException) {
+                    Logger.d(TAG, action + " annulé");
+                    abortAction();
+                }
+            });
+        }
+
+        void succeed(T value) {
+            executor.execute(() -> future.complete(value));
+        }
+
+        void fail(String error) {
+            fail(new CommandFailedException(action, error));
+        }
+
+        void fail(Throwable error) {
+            executor.execute(() -> future.completeExceptionally(error));
+        }
+
+        /**
+         * Réponse moteur : succès sur finishedStatus (null : première réponse positive)
+         */
+        MotorPort.CommandListener until(String finishedStatus) {
+            return new MotorPort.CommandListener() {
+                @Override
+                public void onSuccess(String status) {
+                    if (finishedStatus == null || finishedStatus.equals(status)) {
+                        succeed(null);
+                    }
+                }
+
+                @Override
+                public void onFailed(String error) {
+                    fail(error);
+                }
+            };
+        }
+
+        private void onTimeout() {
+            if (future.isDone()) {
+                return;
+            }
+            Logger.w(TAG, action + " sans réponse, abandon");
+            abortAction();
+            fail(new TimeoutException(action + " sans réponse"));
+        }
+
+        private void abortAction() {
+            if (abort == null) {
+                return;
+            }
+            try {
+                abort.run();
+            } catch (Exception e) {
+                Logger.e(TAG, "Exception arrêt " + action, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.helloworld.scheduling.Scheduler;
+
+/**
+ * Façade sur les quatre domaines du SDK Buddy utilisés par l'application.
+ * Permet de remplacer le robot par une simulation sur une JVM classique.
+ */
+public interface BuddyPlatform {
+
+    SpeechPort speech();
+
+    MotorPort motors();
+
+    FacePort face();
+
+    VisionPort vision();
+
+    /**
+     * Planificateur du thread sur lequel arrivent les callbacks de la plateforme
+     */
+    Scheduler scheduler();
+}
@@ -0,0 +1,208 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import android.os.RemoteException;
+import com.bfr.buddy.speech.shared.ISTTCallback;
+import com.bfr.buddy.speech.shared.ITTSCallback;
+import com.bfr.buddy.speech.shared.STTResult;
+import com.bfr.buddy.speech.shared.STTResultsData;
+import com.bfr.buddy.ui.shared.FacialExpression;
+import com.bfr.buddy.ui.shared.IUIFaceAnimationCallback;
+import com.bfr.buddy.usb.shared.IUsbCommadRsp;
+import com.bfr.buddy.vision.shared.Tracking;
+import com.bfr.buddysdk.BuddySDK;
+import com.bfr.buddysdk.services.speech.STTTask;
+import com.bfr.helloworld.scheduling.HandlerScheduler;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implémentation réelle : délègue aux statiques BuddySDK.Speech/USB/UI/Vision
+ */
+public final class BuddySdkPlatform implements BuddyPlatform {
+
+    private static final BuddySdkPlatform INSTANCE = new BuddySdkPlatform();
+
+    private final SpeechPort speech = new SdkSpeech();
+    private final MotorPort motors = new SdkMotors();
+    private final FacePort face = new SdkFace();
+    private final VisionPort vision = new SdkVision();
+
+    private BuddySdkPlatform() {
+    }
+
+    public static BuddySdkPlatform getInstance() {
+        return INSTANCE;
+    }
+
+    @Override public SpeechPort speech() { return speech; }
+    @Override public MotorPort motors() { return motors; }
+    @Override public FacePort face() { return face; }
+    @Override public VisionPort vision() { return vision; }
+    @Override public Scheduler scheduler() { return HandlerScheduler.main(); }
+
+    private static final class SdkSpeech implements SpeechPort {
+
+        @Override
+        public void startSpeaking(String text, SpeakListener listener) {
+            BuddySDK.Speech.startSpeaking(text, new ITTSCallback.Stub() {
+                @Override
+                public void onSuccess(String s) throws RemoteException {
+                    listener.onSpeakDone();
+                }
+
+                @Override
+                public void onError(String error) throws RemoteException {
+                    listener.onSpeakError(error);
+                }
+
+                @Override
+                public void onPause() throws RemoteException {
+                }
+
+                @Override
+                public void onResume() throws RemoteException {
+                }
+            });
+        }
+
+        @Override
+        public void stopSpeaking() {
+            BuddySDK.Speech.stopSpeaking();
+        }
+
+        @Override
+        public ListenTask createFreeSpeechTask(Locale locale) {
+            STTTask task = BuddySDK.Speech.createCerenceFreeSpeechTask(locale);
+            return new ListenTask() {
+                @Override
+                public void start(ListenListener listener) {
+                    // ISTTCallback ne remonte que le résultat final : pas de onPartialResults sur le robot
+                    task.start(false, new ISTTCallback.Stub() {
+                        @Override
+                        public void onSuccess(STTResultsData sttResultsData) throws RemoteException {
+                            List<STTResult> results = sttResultsData.getResults();
+                            // onResults ne reçoit jamais de liste vide (contrat de ListenListener)
+                            if (results.isEmpty()) {
+                                listener.onListenError(SpeechPort.NO_SPEECH);
+                                return;
+                            }
+                            List<SpeechHypothesis> hypotheses = new ArrayList<>(results.size());
+                            for (STTResult result : results) {
+                                hypotheses.add(new SpeechHypothesis(result.getUtterance(), result.getConfidence()));
+                            }
+                            listener.onResults(hypotheses);
+                        }
+
+                        @Override
+                        public void onError(String error) throws RemoteException {
+                            listener.onListenError(error);
+                        }
+                    });
+                }
+
+                @Override
+                public void stop() {
+                    task.stop();
+                }
+            };
+        }
+    }
+
+    /**
+     * Récepteurs de réponses créés une fois par type de commande (voir UsbResponseDispatcher).
+     * Les paramètres passent par send() pour que les lambdas n'aient aucune capture.
+     */
+    private static final class SdkMotors implements MotorPort {
+
+        private final UsbResponseDispatcher wheelsEnables = new UsbResponseDispatcher("enableWheels", null);
+        private final UsbResponseDispatcher yesEnables = new UsbResponseDispatcher("enableYesMove", null);
+        private final UsbResponseDispatcher noEnables = new UsbResponseDispatcher("enableNoMove", null);
+        private final UsbResponseDispatcher yesMoves = new UsbResponseDispatcher("buddySayYes", YES_MOVE_FINISHED);
+        private final UsbResponseDispatcher noMoves = new UsbResponseDispatcher("buddySayNo", NO_MOVE_FINISHED);
+        private final UsbResponseDispatcher rotations = new UsbResponseDispatcher("rotateBuddy", WHEEL_MOVE_FINISHED);
+        private final UsbResponseDispatcher yesStops = new UsbResponseDispatcher("buddyStopYesMove", null);
+        private final UsbResponseDispatcher noStops = new UsbResponseDispatcher("buddyStopNoMove", null);
+
+        @Override
+        public void enableWheels(boolean left, boolean right, CommandListener listener) {
+            wheelsEnables.send(listener, left ? 1 : 0, right ? 1 : 0,
+                    (first, second, rsp) -> BuddySDK.USB.enableWheels((int) first, (int) second, rsp));
+        }
+
+        @Override
+        public void enableYesMove(boolean enabled, CommandListener listener) {
+            yesEnables.send(listener, enabled ? 1 : 0, 0,
+                    (first, second, rsp) -> BuddySDK.USB.enableYesMove(first != 0, rsp));
+        }
+
+        @Override
+        public void enableNoMove(boolean enabled, CommandListener listener) {
+            noEnables.send(listener, enabled ? 1 : 0, 0,
+                    (first, second, rsp) -> BuddySDK.USB.enableNoMove((int) first, rsp));
+        }
+
+        @Override
+        public void buddySayYes(float speed, float angle, CommandListener listener) {
+            yesMoves.send(listener, speed, angle, BuddySDK.USB::buddySayYes);
+        }
+
+        @Override
+        public void buddySayNo(float speed, float angle, CommandListener listener) {
+            noMoves.send(listener, speed, angle, BuddySDK.USB::buddySayNo);
+        }
+
+        @Override
+        public void rotateBuddy(float speed, float angle, CommandListener listener) {
+            rotations.send(listener, speed, angle, BuddySDK.USB::rotateBuddy);
+        }
+
+        @Override
+        public void buddyStopYesMove(CommandListener listener) {
+            yesStops.send(listener, 0, 0, (first, second, rsp) -> BuddySDK.USB.buddyStopYesMove(rsp));
+        }
+
+        @Override
+        public void buddyStopNoMove(CommandListener listener) {
+            noStops.send(listener, 0, 0, (first, second, rsp) -> BuddySDK.USB.buddyStopNoMove(rsp));
+        }
+    }
+
+    private static final class SdkFace implements FacePort {
+
+        @Override
+        public void setFacialExpression(String expression) {
+            BuddySDK.UI.setFacialExpression(FacialExpression.valueOf(expression));
+        }
+
+        @Override
+        public void setFacialExpression(String expression, double speed, AnimationListener listener) {
+            BuddySDK.UI.setFacialExpression(FacialExpression.valueOf(expression), speed,
+                    new IUIFaceAnimationCallback.Stub() {
+                        @Override
+                        public void onAnimationEnd(String iType, String iValue) {
+                            listener.onAnimationEnd(iType, iValue);
+                        }
+                    });
+        }
+    }
+
+    private static final class SdkVision implements VisionPort {
+
+        @Override
+        public void startTracking() {
+            BuddySDK.Vision.startTracking();
+        }
+
+        @Override
+        public boolean readTracking(TrackingFrame frame) {
+            Tracking tracking = BuddySDK.Vision.getTracking();
+            frame.set(System.currentTimeMillis(), tracking.isTrackingSuccessfull(),
+                    tracking.getLeftPos(), tracking.getRightPos(),
+                    tracking.getTopPos(), tracking.getBottomPos());
+            return frame.success;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bfr.helloworld.buddy.sdk;
+
+/**
+ * Visage animé - équivalent de BuddySDK.UI.
+ * Les expressions sont désignées par le nom de l'énumération FacialExpression du SDK.
+ */
+public interface FacePort {
+
+    interface AnimationListener {
+        void onAnimationEnd(String type, String value);
+    }
+
+    void setFacialExpression(String expression);
+
+    void setFacialExpression(String expression, double speed, AnimationListener listener);
+}
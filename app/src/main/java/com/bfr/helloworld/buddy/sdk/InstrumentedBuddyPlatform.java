@@ -0,0 +1,252 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.helloworld.metrics.LatencyMetrics;
+import com.bfr.helloworld.metrics.LatencyMetrics.Stage;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Plateforme décorée : mesure dans LatencyMetrics la durée de chaque appel au robot
+ * (parole, écoute, mouvements de tête, animations du visage, lecture du suivi),
+ * sans toucher aux gestionnaires qui l'utilisent.
+ *
+ * Les durées asynchrones sont prises sur l'horloge du planificateur de la plateforme
+ * (virtuelle en simulation), la lecture du suivi en temps réel.
+ */
+public final class InstrumentedBuddyPlatform implements BuddyPlatform {
+
+    private final BuddyPlatform delegate;
+    private final Scheduler scheduler;
+    private final SpeechPort speech;
+    private final MotorPort motors;
+    private final FacePort face;
+    private final VisionPort vision;
+
+    public InstrumentedBuddyPlatform(BuddyPlatform delegate) {
+        this.delegate = delegate;
+        this.scheduler = delegate.scheduler();
+        this.speech = new TimedSpeech(delegate.speech());
+        this.motors = new TimedMotors(delegate.motors());
+        this.face = new TimedFace(delegate.face());
+        this.vision = new TimedVision(delegate.vision());
+    }
+
+    public BuddyPlatform getDelegate() {
+        return delegate;
+    }
+
+    @Override public SpeechPort speech() { return speech; }
+    @Override public MotorPort motors() { return motors; }
+    @Override public FacePort face() { return face; }
+    @Override public VisionPort vision() { return vision; }
+    @Override public Scheduler scheduler() { return scheduler; }
+
+    private void recordSince(Stage stage, long start) {
+        LatencyMetrics.recordMillis(stage, scheduler.now() - start);
+    }
+
+    private final class TimedSpeech implements SpeechPort {
+        private final SpeechPort speech;
+
+        TimedSpeech(SpeechPort speech) {
+            this.speech = speech;
+        }
+
+        @Override
+        public void startSpeaking(String text, SpeakListener listener) {
+            long start = scheduler.now();
+            speech.startSpeaking(text, new SpeakListener() {
+                @Override
+                public void onSpeakDone() {
+                    recordSince(Stage.TTS, start);
+                    listener.onSpeakDone();
+                }
+
+                @Override
+                public void onSpeakError(String error) {
+                    listener.onSpeakError(error);
+                }
+            });
+        }
+
+        @Override
+        public void stopSpeaking() {
+            speech.stopSpeaking();
+        }
+
+        @Override
+        public ListenTask createFreeSpeechTask(Locale locale) {
+            ListenTask task = speech.createFreeSpeechTask(locale);
+            return new ListenTask() {
+                private long start;
+                private boolean heardPartial;
+                private boolean measured = true;
+
+                @Override
+                public void start(ListenListener listener) {
+                    synchronized (this) {
+                        start = scheduler.now();
+                        heardPartial = false;
+                        measured = false;
+                    }
+                    task.start(new ListenListener() {
+                        @Override
+                        public void onResults(List<SpeechHypothesis> hypotheses) {
+                            measure(true);
+                            listener.onResults(hypotheses);
+                        }
+
+                        @Override
+                        public void onListenError(String error) {
+                            measure(true);
+                            listener.onListenError(error);
+                        }
+
+                        @Override
+                        public void onPartialResults(List<SpeechHypothesis> hypotheses) {
+                            markPartial();
+                            listener.onPartialResults(hypotheses);
+                        }
+                    });
+                }
+
+                @Override
+                public void stop() {
+                    // Arrêt sur une transcription partielle = résultat anticipé ; sinon écoute abandonnée
+                    measure(false);
+                    task.stop();
+                }
+
+                private synchronized void markPartial() {
+                    heardPartial = true;
+                }
+
+                private synchronized void measure(boolean finalResult) {
+                    if (!measured && (finalResult || heardPartial)) {
+                        recordSince(Stage.STT, start);
+                    }
+                    measured = true;
+                }
+            };
+        }
+    }
+
+    private final class TimedMotors implements MotorPort {
+        private final MotorPort motors;
+
+        TimedMotors(MotorPort motors) {
+            this.motors = motors;
+        }
+
+        // Chronomètre la commande jusqu'à l'événement de fin de mouvement (après l'accusé de réception)
+        private CommandListener timed(Stage stage, String finishedStatus, CommandListener listener) {
+            long start = scheduler.now();
+            return new CommandListener() {
+                @Override
+                public void onSuccess(String status) {
+                    if (finishedStatus.equals(status)) {
+                        recordSince(stage, start);
+                    }
+                    listener.onSuccess(status);
+                }
+
+                @Override
+                public void onFailed(String error) {
+                    listener.onFailed(error);
+                }
+            };
+        }
+
+        @Override
+        public void buddySayYes(float speed, float angle, CommandListener listener) {
+            motors.buddySayYes(speed, angle, timed(Stage.HEAD_YES, YES_MOVE_FINISHED, listener));
+        }
+
+        @Override
+        public void buddySayNo(float speed, float angle, CommandListener listener) {
+            motors.buddySayNo(speed, angle, timed(Stage.HEAD_NO, NO_MOVE_FINISHED, listener));
+        }
+
+        @Override
+        public void enableWheels(boolean left, boolean right, CommandListener listener) {
+            motors.enableWheels(left, right, listener);
+        }
+
+        @Override
+        public void enableYesMove(boolean enabled, CommandListener listener) {
+            motors.enableYesMove(enabled, listener);
+        }
+
+        @Override
+        public void enableNoMove(boolean enabled, CommandListener listener) {
+            motors.enableNoMove(enabled, listener);
+        }
+
+        @Override
+        public void rotateBuddy(float speed, float angle, CommandListener listener) {
+            motors.rotateBuddy(speed, angle, listener);
+        }
+
+        @Override
+        public void buddyStopYesMove(CommandListener listener) {
+            motors.buddyStopYesMove(listener);
+        }
+
+        @Override
+        public void buddyStopNoMove(CommandListener listener) {
+            motors.buddyStopNoMove(listener);
+        }
+    }
+
+    private final class TimedFace implements FacePort {
+        private final FacePort face;
+
+        TimedFace(FacePort face) {
+            this.face = face;
+        }
+
+        @Override
+        public void setFacialExpression(String expression) {
+            face.setFacialExpression(expression);
+        }
+
+        @Override
+        public void setFacialExpression(String expression, double speed, AnimationListener listener) {
+            long start = scheduler.now();
+            face.setFacialExpression(expression, speed, new AnimationListener() {
+                @Override
+                public void onAnimationEnd(String type, String value) {
+                    recordSince(Stage.FACE, start);
+                    if (listener != null) {
+                        listener.onAnimationEnd(type, value);
+                    }
+                }
+            });
+        }
+    }
+
+    private static final class TimedVision implements VisionPort {
+        private final VisionPort vision;
+
+        TimedVision(VisionPort vision) {
+            this.vision = vision;
+        }
+
+        @Override
+        public void startTracking() {
+            vision.startTracking();
+        }
+
+        @Override
+        public boolean readTracking(TrackingFrame frame) {
+            long start = System.nanoTime();
+            try {
+                return vision.readTracking(frame);
+            } finally {
+                LatencyMetrics.recordNanos(Stage.VISION_READ, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bfr.helloworld.buddy.sdk;
+
+/**
+ * Moteurs de tête et roues - équivalent de BuddySDK.USB
+ */
+public interface MotorPort {
+
+    String YES_MOVE_FINISHED = "YES_MOVE_FINISHED";
+    String NO_MOVE_FINISHED = "NO_MOVE_FINISHED";
+    String WHEEL_MOVE_FINISHED = "WHEEL_MOVE_FINISHED";
+    // Échec : la réponse de la commande n'est jamais arrivée, d'autres l'ont remplacée
+    String SUPERSEDED = "SUPERSEDED";
+
+    /**
+     * Réponse d'une commande moteur (peut être appelée plusieurs fois :
+     * accusé de réception puis fin de mouvement)
+     */
+    interface CommandListener {
+        void onSuccess(String status);
+        void onFailed(String error);
+    }
+
+    void enableWheels(boolean left, boolean right, CommandListener listener);
+
+    void enableYesMove(boolean enabled, CommandListener listener);
+
+    void enableNoMove(boolean enabled, CommandListener listener);
+
+    /** Mouvement vertical de la tête (angle relatif, en degrés) */
+    void buddySayYes(float speed, float angle, CommandListener listener);
+
+    /** Mouvement horizontal de la tête (angle relatif, en degrés) */
+    void buddySayNo(float speed, float angle, CommandListener listener);
+
+    void rotateBuddy(float speed, float angle, CommandListener listener);
+
+    void buddyStopYesMove(CommandListener listener);
+
+    void buddyStopNoMove(CommandListener listener);
+}
@@ -0,0 +1,518 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.helloworld.scheduling.Cancellable;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.utils.Logger;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Robot simulé, sans Android ni SDK : chaque appel répond après une latence modélisée.
+ *
+ * Les callbacks sont programmés sur le planificateur fourni, qui joue le rôle du thread
+ * principal. Avec un VirtualScheduler, des heures de fonctionnement du robot
+ * s'exécutent en quelques millisecondes.
+ */
+public final class SimulatedBuddyPlatform implements BuddyPlatform {
+    private static final String TAG = "SimulatedBuddy";
+
+    // Synthèse vocale
+    public static final long TTS_START_LATENCY_MS = 250;
+    public static final long TTS_MS_PER_CHAR = 60;
+
+    // Reconnaissance vocale : réaction de l'enfant, élocution, silence de fin, traitement
+    public static final long CHILD_REACTION_MEAN_MS = 1200;
+    public static final long CHILD_REACTION_JITTER_MS = 500;
+    public static final long CHILD_MS_PER_CHAR = 80;
+    public static final long STT_END_SILENCE_MS = 800;
+    public static final long STT_PROCESSING_MS = 400;
+    public static final double STT_TIMEOUT_RATE = 0.03;
+    public static final double STT_TOP_ERROR_RATE = 0.15;
+    public static final int STT_MAX_HYPOTHESES = 3;
+    // Création de la tâche Cerence et ouverture du micro
+    public static final long STT_TASK_PREPARE_MS = 350;
+    // Transcription partielle publiée après chaque mot
+    public static final long STT_PARTIAL_LATENCY_MS = 120;
+
+    // Moteurs
+    public static final long MOTOR_COMMAND_LATENCY_MS = 40;
+    public static final long MOTOR_SETTLE_MS = 60;
+    public static final float NO_AXIS_LIMIT = 90.0f;
+    public static final float YES_AXIS_LIMIT = 30.0f;
+
+    // Visage et vision
+    public static final long FACE_ANIMATION_MS = 350;
+    public static final long VISION_FRAME_MS = 66;          // ~15 images/s
+    public static final float CAMERA_FOV_H = 60.0f;
+    public static final float CAMERA_FOV_V = 45.0f;
+    public static final float FACE_BOX_SIZE = 0.15f;
+    public static final float VISION_NOISE = 0.01f;
+    public static final long VISION_LATENCY_MS = 80;        // capture -> résultat disponible
+    public static final double VISION_OUTLIER_RATE = 0.02;  // fausse détection ponctuelle
+
+    /**
+     * Ce que dit l'enfant quand Buddy l'écoute
+     */
+    public interface UtteranceSource {
+        /**
+         * @param lastSpokenText dernière phrase prononcée par Buddy (peut être null)
+         * @return l'énoncé, ou null si l'enfant ne dit rien
+         */
+        String nextUtterance(String lastSpokenText);
+
+        /**
+         * Phrase prononcée par Buddy (la question peut précéder d'autres phrases avant l'écoute)
+         */
+        default void onBuddySpoke(String text) {}
+    }
+
+    private final Scheduler scheduler;
+    private final Random random;
+
+    private final SimSpeech speech = new SimSpeech();
+    private final SimMotors motors = new SimMotors();
+    private final SimFace face = new SimFace();
+    private final SimVision vision = new SimVision();
+
+    private volatile UtteranceSource utteranceSource;
+
+    public SimulatedBuddyPlatform(Scheduler scheduler, long seed) {
+        this.scheduler = scheduler;
+        this.random = new Random(seed);
+        this.utteranceSource = new SimulatedChild(new Random(seed + 1));
+        Logger.i(TAG, "Robot simulé créé (graine " + seed + ")");
+    }
+
+    @Override public SpeechPort speech() { return speech; }
+    @Override public MotorPort motors() { return motors; }
+    @Override public FacePort face() { return face; }
+    @Override public VisionPort vision() { return vision; }
+    @Override public Scheduler scheduler() { return scheduler; }
+
+    public void setUtteranceSource(UtteranceSource source) {
+        this.utteranceSource = source;
+    }
+
+    /**
+     * Horloge simulée (ms)
+     */
+    public long now() {
+        return scheduler.now();
+    }
+
+    public float getHeadNoAngle() { return motors.no.position(now()); }
+    public float getHeadYesAngle() { return motors.yes.position(now()); }
+    /** Position de la tête à un instant récent (l'historique de chaque axe est court) */
+    public float getHeadNoAngle(long time) { return motors.no.position(time); }
+    public float getHeadYesAngle(long time) { return motors.yes.position(time); }
+    public String getCurrentExpression() { return face.current; }
+    public long getSpokenCharacters() { return speech.spokenCharacters.get(); }
+
+    /**
+     * Place la personne suivie (degrés, repère du robot)
+     */
+    public void setPersonPosition(float azimuth, float elevation) {
+        vision.movePerson(now(), azimuth, elevation);
+    }
+
+    public void setPersonPresent(boolean present) {
+        vision.personPresent = present;
+    }
+
+    private Cancellable schedule(long delayMs, Runnable task) {
+        return scheduler.schedule(this, delayMs, task);
+    }
+
+    private long jitter(long mean, long amplitude) {
+        return Math.max(0, mean + (long) ((random.nextDouble() * 2 - 1) * amplitude));
+    }
+
+    private final class SimSpeech implements SpeechPort {
+        private Cancellable pendingSpeech;
+        private volatile String lastSpokenText;
+        private volatile long lastSpeechEndAt;
+        private final AtomicLong spokenCharacters = new AtomicLong();
+
+        @Override
+        public synchronized void startSpeaking(String text, SpeakListener listener) {
+            long duration = TTS_START_LATENCY_MS + TTS_MS_PER_CHAR * text.length();
+            lastSpokenText = text;
+            utteranceSource.onBuddySpoke(text);
+            pendingSpeech = schedule(duration, () -> {
+                spokenCharacters.addAndGet(text.length());
+                lastSpeechEndAt = now();
+                listener.onSpeakDone();
+            });
+        }
+
+        @Override
+        public synchronized void stopSpeaking() {
+            if (pendingSpeech != null) {
+                pendingSpeech.cancel();
+                pendingSpeech = null;
+            }
+        }
+
+        @Override
+        public ListenTask createFreeSpeechTask(Locale locale) {
+            // Une tâche créée à l'avance est prête quand on la démarre
+            long readyAt = now() + STT_TASK_PREPARE_MS;
+            return new ListenTask() {
+                @Override
+                public synchronized void start(ListenListener listener) {
+                    String utterance = utteranceSource.nextUtterance(lastSpokenText);
+
+                    if (utterance == null || random.nextDouble() < STT_TIMEOUT_RATE) {
+                        long timeout = CHILD_REACTION_MEAN_MS + 4000;
+                        scheduler.schedule(this, timeout, () -> listener.onListenError("Timeout"));
+                        return;
+                    }
+
+                    // L'enfant répond après la dernière phrase de Buddy ; s'il parle avant
+                    // l'ouverture du micro, il attend (ou répète) jusqu'à ce qu'elle ait lieu
+                    long now = now();
+                    long micOpenAt = Math.max(now, readyAt);
+                    long childStartAt = Math.max(micOpenAt,
+                            lastSpeechEndAt + jitter(CHILD_REACTION_MEAN_MS, CHILD_REACTION_JITTER_MS));
+                    schedulePartials(this, utterance, childStartAt - now, listener);
+                    long resultAt = childStartAt + CHILD_MS_PER_CHAR * utterance.length()
+                            + STT_END_SILENCE_MS + STT_PROCESSING_MS;
+                    List<SpeechHypothesis> hypotheses = buildNBest(utterance);
+                    scheduler.schedule(this, resultAt - now, () -> listener.onResults(hypotheses));
+                }
+
+                @Override
+                public synchronized void stop() {
+                    scheduler.cancelAll(this);
+                }
+            };
+        }
+    }
+
+    /**
+     * Transcriptions partielles : le début de l'énoncé, publié à la fin de chaque mot prononcé
+     */
+    private void schedulePartials(Object task, String utterance, long childStartDelay,
+                                  SpeechPort.ListenListener listener) {
+        float confidence = 0.5f + random.nextFloat() * 0.4f;
+        int end = 0;
+        while (end < utterance.length()) {
+            int space = utterance.indexOf(' ', end);
+            end = space < 0 ? utterance.length() : space;
+            if (end > 0 && utterance.charAt(end - 1) != ' ') {
+                List<SpeechHypothesis> partial = Collections.singletonList(
+                        new SpeechHypothesis(utterance.substring(0, end), confidence));
+                scheduler.schedule(task, childStartDelay + CHILD_MS_PER_CHAR * end + STT_PARTIAL_LATENCY_MS,
+                        () -> listener.onPartialResults(partial));
+            }
+            end++;
+        }
+    }
+
+    /**
+     * Liste N-best bruitée : l'énoncé exact est parfois relégué en deuxième position
+     */
+    private List<SpeechHypothesis> buildNBest(String utterance) {
+        int count = 1 + random.nextInt(STT_MAX_HYPOTHESES);
+        List<String> texts = new ArrayList<>(count);
+        texts.add(utterance);
+        for (int i = 1; i < count; i++) {
+            texts.add(corrupt(utterance));
+        }
+        if (count > 1 && random.nextDouble() < STT_TOP_ERROR_RATE) {
+            Collections.swap(texts, 0, 1);
+        }
+
+        List<SpeechHypothesis> hypotheses = new ArrayList<>(count);
+        float confidence = 0.6f + random.nextFloat() * 0.35f;
+        for (String text : texts) {
+            hypotheses.add(new SpeechHypothesis(text, confidence));
+            confidence *= 0.6f + random.nextFloat() * 0.3f;
+        }
+        return hypotheses;
+    }
+
+    /**
+     * Altère un énoncé : confusion phonétique connue, lettre supprimée ou remplacée
+     */
+    private String corrupt(String utterance) {
+        String confusion = SimulatedChild.phoneticConfusion(utterance, random);
+        if (confusion != null && random.nextBoolean()) {
+            return confusion;
+        }
+        if (utterance.length() < 2) {
+            return utterance + "e";
+        }
+        int position = random.nextInt(utterance.length());
+        StringBuilder builder = new StringBuilder(utterance);
+        if (random.nextBoolean()) {
+            builder.deleteCharAt(position);
+        } else {
+            builder.setCharAt(position, (char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Axe de tête : trajectoire linéaire par morceaux, dont les derniers points sont
+     * conservés pour que la vision puisse relire la position à l'instant de capture
+     */
+    private static final class Axis {
+        private static final int HISTORY = 16;
+
+        private final float limit;
+        private final long[] times = new long[HISTORY];
+        private final float[] angles = new float[HISTORY];
+        private int count;
+        volatile boolean enabled;
+
+        Axis(float limit) {
+            this.limit = limit;
+        }
+
+        synchronized float position(long time) {
+            if (count == 0 || time <= times[0]) {
+                return count == 0 ? 0 : angles[0];
+            }
+            int i = count - 1;
+            while (times[i] > time) {
+                i--;
+            }
+            if (i == count - 1) {
+                return angles[i];
+            }
+            float progress = (float) (time - times[i]) / (times[i + 1] - times[i]);
+            return angles[i] + (angles[i + 1] - angles[i]) * progress;
+        }
+
+        /**
+         * Démarre un mouvement relatif (remplace le mouvement en cours) et retourne sa durée (ms)
+         */
+        synchronized long moveBy(long now, float speed, float angle) {
+            float startAngle = truncate(now);
+            float targetAngle = Math.max(-limit, Math.min(limit, startAngle + angle));
+            long startTime = now + MOTOR_COMMAND_LATENCY_MS;
+            long duration = (long) (Math.abs(targetAngle - startAngle) / Math.max(1.0f, Math.abs(speed)) * 1000)
+                    + MOTOR_SETTLE_MS;
+            append(startTime, startAngle);
+            append(startTime + duration, targetAngle);
+            return MOTOR_COMMAND_LATENCY_MS + duration;
+        }
+
+        synchronized void stop(long now) {
+            truncate(now);
+        }
+
+        /**
+         * Oublie la trajectoire prévue après now et fige la position courante
+         */
+        private float truncate(long now) {
+            float current = position(now);
+            while (count > 0 && times[count - 1] >= now) {
+                count--;
+            }
+            append(now, current);
+            return current;
+        }
+
+        private void append(long time, float angle) {
+            if (count == HISTORY) {
+                System.arraycopy(times, 1, times, 0, HISTORY - 1);
+                System.arraycopy(angles, 1, angles, 0, HISTORY - 1);
+                count--;
+            }
+            times[count] = time;
+            angles[count] = angle;
+            count++;
+        }
+    }
+
+    private final class SimMotors implements MotorPort {
+        final Axis yes = new Axis(YES_AXIS_LIMIT);
+        final Axis no = new Axis(NO_AXIS_LIMIT);
+        private volatile boolean wheelsEnabled;
+
+        @Override
+        public void enableWheels(boolean left, boolean right, CommandListener listener) {
+            wheelsEnabled = left && right;
+            schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onSuccess("OK"));
+        }
+
+        @Override
+        public void enableYesMove(boolean enabled, CommandListener listener) {
+            yes.enabled = enabled;
+            schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onSuccess("OK"));
+        }
+
+        @Override
+        public void enableNoMove(boolean enabled, CommandListener listener) {
+            no.enabled = enabled;
+            schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onSuccess("OK"));
+        }
+
+        @Override
+        public void buddySayYes(float speed, float angle, CommandListener listener) {
+            move(yes, speed, angle, YES_MOVE_FINISHED, listener);
+        }
+
+        @Override
+        public void buddySayNo(float speed, float angle, CommandListener listener) {
+            move(no, speed, angle, NO_MOVE_FINISHED, listener);
+        }
+
+        @Override
+        public void rotateBuddy(float speed, float angle, CommandListener listener) {
+            if (!wheelsEnabled) {
+                schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onFailed("WHEELS_DISABLED"));
+                return;
+            }
+            long duration = MOTOR_COMMAND_LATENCY_MS
+                    + (long) (Math.abs(angle) / Math.max(1.0f, Math.abs(speed)) * 1000) + MOTOR_SETTLE_MS;
+            schedule(duration, () -> listener.onSuccess(WHEEL_MOVE_FINISHED));
+        }
+
+        @Override
+        public void buddyStopYesMove(CommandListener listener) {
+            yes.stop(now());
+            schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onSuccess("OK"));
+        }
+
+        @Override
+        public void buddyStopNoMove(CommandListener listener) {
+            no.stop(now());
+            schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onSuccess("OK"));
+        }
+
+        private void move(Axis axis, float speed, float angle, String finishedStatus, CommandListener listener) {
+            if (!axis.enabled) {
+                schedule(MOTOR_COMMAND_LATENCY_MS, () -> listener.onFailed("MOTOR_DISABLED"));
+                return;
+            }
+            long duration = axis.moveBy(now(), speed, angle);
+            schedule(duration, () -> listener.onSuccess(finishedStatus));
+        }
+    }
+
+    private final class SimFace implements FacePort {
+        volatile String current = "NEUTRAL";
+
+        @Override
+        public void setFacialExpression(String expression) {
+            current = expression;
+        }
+
+        @Override
+        public void setFacialExpression(String expression, double speed, AnimationListener listener) {
+            long duration = (long) (FACE_ANIMATION_MS / Math.max(0.1, speed));
+            schedule(duration, () -> {
+                current = expression;
+                listener.onAnimationEnd("FACE", expression);
+            });
+        }
+    }
+
+    /**
+     * Personne qui se déplace lentement devant le robot ; le visage est projeté
+     * dans l'image selon l'orientation de la tête à l'instant de capture, disponible
+     * VISION_LATENCY_MS plus tard
+     */
+    private final class SimVision implements VisionPort {
+        private static final int HISTORY = 16;
+
+        volatile boolean started;
+        volatile boolean personPresent = true;
+        // Positions imposées successives (vide : balancement par défaut)
+        private final long[] personTimes = new long[HISTORY];
+        private final float[] personAzimuths = new float[HISTORY];
+        private final float[] personElevations = new float[HISTORY];
+        private int personCount;
+        // Résultat de la dernière image traitée, relu tel quel jusqu'à la suivante
+        private final TrackingFrame processed = new TrackingFrame();
+        private long processedTime = Long.MIN_VALUE;
+
+        synchronized void movePerson(long now, float azimuth, float elevation) {
+            while (personCount > 0 && personTimes[personCount - 1] >= now) {
+                personCount--;
+            }
+            if (personCount == HISTORY) {
+                System.arraycopy(personTimes, 1, personTimes, 0, HISTORY - 1);
+                System.arraycopy(personAzimuths, 1, personAzimuths, 0, HISTORY - 1);
+                System.arraycopy(personElevations, 1, personElevations, 0, HISTORY - 1);
+                personCount--;
+            }
+            personTimes[personCount] = now;
+            personAzimuths[personCount] = azimuth;
+            personElevations[personCount] = elevation;
+            personCount++;
+        }
+
+        /**
+         * Dernière position imposée au plus tard à time (la première si aucune), -1 si aucune
+         */
+        private int personIndexAt(long time) {
+            int i = personCount - 1;
+            while (i > 0 && personTimes[i] > time) {
+                i--;
+            }
+            return i;
+        }
+
+        @Override
+        public void startTracking() {
+            started = true;
+        }
+
+        @Override
+        public synchronized boolean readTracking(TrackingFrame frame) {
+            long captureTime = now() - VISION_LATENCY_MS;
+            long frameTime = captureTime - Math.floorMod(captureTime, VISION_FRAME_MS);
+
+            if (!started || !personPresent) {
+                frame.set(frameTime, false, 0, 0, 0, 0);
+                return false;
+            }
+            if (frameTime != processedTime) {
+                processFrame(frameTime);
+            }
+            frame.copyFrom(processed);
+            return frame.success;
+        }
+
+        private void processFrame(long frameTime) {
+            processedTime = frameTime;
+
+            // Trajectoire par défaut : balancement lent si aucune position imposée
+            int index = personIndexAt(frameTime);
+            float azimuth = index < 0
+                    ? (float) (25.0 * Math.sin(2 * Math.PI * frameTime / 20000.0)) : personAzimuths[index];
+            float elevation = index < 0
+                    ? (float) (5.0 * Math.sin(2 * Math.PI * frameTime / 13000.0)) : personElevations[index];
+
+            float x;
+            float y;
+            if (random.nextDouble() < VISION_OUTLIER_RATE) {
+                // Fausse détection : un autre objet pris pour un visage
+                x = 0.1f + 0.8f * random.nextFloat();
+                y = 0.1f + 0.8f * random.nextFloat();
+            } else {
+                x = 0.5f + (azimuth - motors.no.position(frameTime)) / CAMERA_FOV_H
+                        + (float) random.nextGaussian() * VISION_NOISE;
+                y = 0.5f - (elevation - motors.yes.position(frameTime)) / CAMERA_FOV_V
+                        + (float) random.nextGaussian() * VISION_NOISE;
+            }
+
+            if (x < 0 || x > 1 || y < 0 || y > 1) {
+                processed.set(frameTime, false, 0, 0, 0, 0);
+                return;
+            }
+
+            float half = FACE_BOX_SIZE / 2;
+            processed.set(frameTime, true, x - half, x + half, y - half, y + half);
+        }
+    }
+}
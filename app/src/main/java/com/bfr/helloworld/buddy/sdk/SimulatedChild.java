@@ -0,0 +1,110 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import java.util.Random;
+
+/**
+ * Enfant simulé : répond aux questions "Combien font a plus/moins b ?" entendues,
+ * juste la plupart du temps, en toutes lettres ou en chiffres
+ */
+public final class SimulatedChild implements SimulatedBuddyPlatform.UtteranceSource {
+
+    public static final double DEFAULT_ACCURACY = 0.8;
+    public static final double SILENCE_RATE = 0.02;
+
+    private static final String[] WORDS = {"zéro", "un", "deux", "trois", "quatre", "cinq", "six", "sept",
+            "huit", "neuf", "dix", "onze", "douze", "treize", "quatorze", "quinze", "seize", "dix-sept",
+            "dix-huit", "dix-neuf", "vingt"};
+
+    // Confusions fréquentes de la reconnaissance vocale, par valeur
+    private static final String[][] CONFUSIONS = {
+            {"zéro", "héros"}, {"un", "hein"}, {"deux", "de"}, {"trois", "toi"}, {"quatre", "carte"},
+            {"cinq", "saint"}, {"six", "si"}, {"sept", "cette"}, {"huit", "oui"}, {"neuf", "oeuf"},
+            {"dix", "dis"}, {"douze", "douce"}, {"treize", "très"}, {"seize", "chaise"}, {"vingt", "vin"}
+    };
+
+    private static final String[] PREFIXES = {"", "", "c'est ", "euh ", "ça fait "};
+
+    private final Random random;
+    private final double accuracy;
+    // Dernière question entendue : Buddy peut dire autre chose avant d'écouter ("Je t'écoute...")
+    private int pendingAnswer = -1;
+
+    public SimulatedChild(Random random) {
+        this(random, DEFAULT_ACCURACY);
+    }
+
+    public SimulatedChild(Random random, double accuracy) {
+        this.random = random;
+        this.accuracy = accuracy;
+    }
+
+    @Override
+    public synchronized String nextUtterance(String lastSpokenText) {
+        if (random.nextDouble() < SILENCE_RATE) {
+            return null;
+        }
+
+        onBuddySpoke(lastSpokenText);
+        int answer = pendingAnswer;
+        if (answer < 0) {
+            answer = random.nextInt(WORDS.length);
+        } else if (random.nextDouble() >= accuracy) {
+            int offset = 1 + random.nextInt(2);
+            answer = Math.max(0, Math.min(WORDS.length - 1, random.nextBoolean() ? answer + offset : answer - offset));
+        }
+
+        String prefix = PREFIXES[random.nextInt(PREFIXES.length)];
+        String number = random.nextInt(10) == 0 ? Integer.toString(answer) : WORDS[answer];
+        return prefix + number;
+    }
+
+    @Override
+    public synchronized void onBuddySpoke(String text) {
+        int heard = expectedAnswer(text);
+        if (heard >= 0) {
+            pendingAnswer = heard;
+        }
+    }
+
+    /**
+     * Réponse attendue à la question "Combien font a plus/moins b ?", ou -1
+     */
+    static int expectedAnswer(String question) {
+        if (question == null) {
+            return -1;
+        }
+        int start = question.indexOf("Combien font ");
+        if (start < 0) {
+            return -1;
+        }
+
+        String[] parts = question.substring(start + "Combien font ".length()).split(" ");
+        if (parts.length < 3) {
+            return -1;
+        }
+        try {
+            int a = Integer.parseInt(parts[0]);
+            int b = Integer.parseInt(parts[2]);
+            if ("plus".equals(parts[1])) return a + b;
+            if ("moins".equals(parts[1])) return a - b;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Remplace un mot-nombre de l'énoncé par une confusion phonétique, ou null si aucune
+     */
+    static String phoneticConfusion(String utterance, Random random) {
+        int offset = random.nextInt(CONFUSIONS.length);
+        for (int i = 0; i < CONFUSIONS.length; i++) {
+            String[] confusion = CONFUSIONS[(offset + i) % CONFUSIONS.length];
+            int index = utterance.indexOf(confusion[0]);
+            if (index >= 0) {
+                return utterance.substring(0, index) + confusion[1] + utterance.substring(index + confusion[0].length());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Synthèse (TTS) et reconnaissance vocale (STT) - équivalent de BuddySDK.Speech
+ */
+public interface SpeechPort {
+
+    // Échec d'écoute : la reconnaissance s'est terminée sans aucune hypothèse
+    String NO_SPEECH = "Aucune parole reconnue";
+
+    interface SpeakListener {
+        void onSpeakDone();
+        void onSpeakError(String error);
+    }
+
+    interface ListenListener {
+        /**
+         * Hypothèses N-best, meilleure en premier (jamais vide : rien reconnu donne
+         * onListenError(NO_SPEECH))
+         */
+        void onResults(List<SpeechHypothesis> hypotheses);
+        void onListenError(String error);
+
+        /**
+         * Transcription partielle pendant que l'enfant parle, si le moteur en fournit
+         * (toujours suivie de onResults ou onListenError, sauf arrêt de la tâche)
+         */
+        default void onPartialResults(List<SpeechHypothesis> hypotheses) {}
+    }
+
+    /**
+     * Tâche de reconnaissance créée à l'avance puis démarrée
+     */
+    interface ListenTask {
+        void start(ListenListener listener);
+        void stop();
+    }
+
+    void startSpeaking(String text, SpeakListener listener);
+
+    void stopSpeaking();
+
+    ListenTask createFreeSpeechTask(Locale locale);
+}
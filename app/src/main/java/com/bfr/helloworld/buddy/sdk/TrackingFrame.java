@@ -0,0 +1,34 @@
+package com.bfr.helloworld.buddy.sdk;
+
+/**
+ * Image de suivi réutilisable : boîte englobante normalisée (0 à 1) du visage suivi
+ */
+public final class TrackingFrame {
+    public long timestampMs;
+    public boolean success;
+    public float left;
+    public float right;
+    public float top;
+    public float bottom;
+
+    public float centerX() {
+        return (left + right) / 2.0f;
+    }
+
+    public float centerY() {
+        return (top + bottom) / 2.0f;
+    }
+
+    public void set(long timestampMs, boolean success, float left, float right, float top, float bottom) {
+        this.timestampMs = timestampMs;
+        this.success = success;
+        this.left = left;
+        this.right = right;
+        this.top = top;
+        this.bottom = bottom;
+    }
+
+    public void copyFrom(TrackingFrame other) {
+        set(other.timestampMs, other.success, other.left, other.right, other.top, other.bottom);
+    }
+}
@@ -0,0 +1,197 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import android.os.RemoteException;
+import com.bfr.buddy.usb.shared.IUsbCommadRsp;
+import com.bfr.helloworld.utils.Logger;
+
+/**
+ * Réponses d'un type de commande USB (mouvement oui, mouvement non, roues, activation...)
+ * reçues par un petit jeu de IUsbCommadRsp créés une fois, au lieu d'un Binder par commande.
+ *
+ * Les réponses ne portent pas d'identifiant de commande, et leur ordre n'est pas celui des
+ * envois : un mouvement remplacé par un mouvement plus court finit après lui. Chaque commande
+ * en cours a donc son propre récepteur, pris dans le jeu et rendu à sa réponse finale
+ * (finishedStatus, ou la première réponse si finishedStatus est null) ou à son échec ; une
+ * réponse intermédiaire (accusé de réception) va à la commande du récepteur sans la terminer.
+ * Les récepteurs libres sont repris à tour de rôle, le plus anciennement rendu d'abord.
+ *
+ * Plus de récepteur libre (réponses perdues) : la plus ancienne commande reçoit
+ * onFailed(MotorPort.SUPERSEDED) et son récepteur est remplacé par un neuf, pour qu'une
+ * réponse tardive ne soit pas rendue à la commande suivante.
+ *
+ * Les réponses arrivent sur un thread Binder, les commandes partent de n'importe quel thread :
+ * le jeu de récepteurs a son verrou, jamais tenu pendant l'appel BuddySDK ni les listeners.
+ */
+final class UsbResponseDispatcher {
+    private static final String TAG = "UsbResponseDispatcher";
+
+    // Au-delà, une réponse a été perdue : le suivi envoie au plus 20 commandes/s par axe
+    static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Appel BuddySDK.USB ; deux paramètres numériques suffisent à toutes les commandes, ce qui
+     * permet des lambdas sans capture (aucune allocation par envoi)
+     */
+    interface Command {
+        void send(float first, float second, IUsbCommadRsp rsp);
+    }
+
+    private final String name;
+    private final String finishedStatus;
+    // Récepteurs créés une fois, remplacés seulement après une réponse perdue (verrou : slots)
+    private final Slot[] slots;
+    // Prochain récepteur examiné : tour de rôle
+    private int next;
+    private int pendingCount;
+    private long sequence;
+    private long superseded;
+
+    /**
+     * @param finishedStatus réponse qui termine la commande (null : la première réponse)
+     */
+    UsbResponseDispatcher(String name, String finishedStatus) {
+        this(name, finishedStatus, DEFAULT_CAPACITY);
+    }
+
+    UsbResponseDispatcher(String name, String finishedStatus, int capacity) {
+        this.name = name;
+        this.finishedStatus = finishedStatus;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Attribue un récepteur à la commande puis l'envoie avec ; si l'envoi lève une exception,
+     * le récepteur est rendu et l'exception propagée
+     */
+    void send(MotorPort.CommandListener listener, float first, float second, Command command) {
+        Slot slot = acquire(listener);
+        long sent;
+        synchronized (slots) {
+            sent = slot.sequence;
+        }
+        try {
+            command.send(first, second, slot);
+        } catch (RuntimeException e) {
+            slot.release(sent);
+            throw e;
+        }
+    }
+
+    private Slot acquire(MotorPort.CommandListener listener) {
+        MotorPort.CommandListener dropped = null;
+        Slot slot;
+        synchronized (slots) {
+            int index = -1;
+            for (int i = 0; i < slots.length; i++) {
+                int candidate = (next + i) % slots.length;
+                if (slots[candidate].listener == null) {
+                    index = candidate;
+                    break;
+                }
+            }
+            if (index < 0) {
+                index = oldest();
+                dropped = slots[index].listener;
+                // L'ancien récepteur ne sert plus : ses réponses tardives sont ignorées
+                slots[index].listener = null;
+                slots[index] = new Slot();
+                pendingCount--;
+                superseded++;
+            }
+            next = (index + 1) % slots.length;
+            slot = slots[index];
+            slot.listener = listener;
+            slot.sequence = ++sequence;
+            pendingCount++;
+        }
+        if (dropped != null) {
+            Logger.w(TAG, name + " : réponse perdue, commande la plus ancienne abandonnée");
+            dropped.onFailed(MotorPort.SUPERSEDED);
+        }
+        return slot;
+    }
+
+    /**
+     * Index du récepteur de la plus ancienne commande (jeu plein)
+     */
+    private int oldest() {
+        int index = 0;
+        for (int i = 1; i < slots.length; i++) {
+            if (slots[i].sequence < slots[index].sequence) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    int getPendingCount() {
+        synchronized (slots) {
+            return pendingCount;
+        }
+    }
+
+    /**
+     * Commandes abandonnées faute de réponse
+     */
+    long getSupersededCount() {
+        synchronized (slots) {
+            return superseded;
+        }
+    }
+
+    /**
+     * Récepteur d'une commande à la fois
+     */
+    private final class Slot extends IUsbCommadRsp.Stub {
+        // Commande en cours (null : libre ou remplacé) et son ordre d'envoi (verrou : slots)
+        MotorPort.CommandListener listener;
+        long sequence;
+
+        @Override
+        public void onSuccess(String s) throws RemoteException {
+            MotorPort.CommandListener current;
+            synchronized (slots) {
+                current = listener;
+                if (current == null) {
+                    Logger.w(TAG, name + " : réponse sans commande en attente: " + s);
+                    return;
+                }
+                if (finishedStatus == null || finishedStatus.equals(s)) {
+                    listener = null;
+                    pendingCount--;
+                }
+            }
+            current.onSuccess(s);
+        }
+
+        @Override
+        public void onFailed(String s) throws RemoteException {
+            MotorPort.CommandListener current;
+            synchronized (slots) {
+                current = listener;
+                if (current == null) {
+                    Logger.w(TAG, name + " : échec sans commande en attente: " + s);
+                    return;
+                }
+                listener = null;
+                pendingCount--;
+            }
+            current.onFailed(s);
+        }
+
+        /**
+         * Rend le récepteur s'il sert encore à cette commande (envoi en échec)
+         */
+        void release(long sent) {
+            synchronized (slots) {
+                if (listener != null && sequence == sent) {
+                    listener = null;
+                    pendingCount--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bfr.helloworld.buddy.sdk;
+
+/**
+ * Suivi de personne - équivalent de BuddySDK.Vision
+ */
+public interface VisionPort {
+
+    void startTracking();
+
+    /**
+     * Lit la dernière image de suivi dans frame (aucune allocation côté appelant)
+     *
+     * @return true si une personne est suivie
+     */
+    boolean readTracking(TrackingFrame frame);
+}
@@ -0,0 +1,133 @@
+package com.bfr.helloworld.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de latences sans verrou, à seaux fixes log-linéaires (à la HdrHistogram) :
+ * chaque puissance de 2 est découpée en SUB_BUCKETS seaux égaux, soit une précision
+ * relative d'environ 1/SUB_BUCKETS de 1 µs à plusieurs heures.
+ *
+ * L'enregistrement ne fait que des incréments atomiques (aucune allocation) et peut
+ * être appelé depuis n'importe quel thread ; les lectures sont approximatives
+ * pendant les écritures concurrentes.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^40 µs ≈ 12 jours : au-delà, tout tombe dans le dernier seau
+    private static final int MAGNITUDES = 40 - SUB_BUCKET_BITS + 1;
+    private static final int BUCKET_COUNT = (MAGNITUDES + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(millis * 1000);
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        totalMicros.addAndGet(value);
+
+        long max = maxMicros.get();
+        while (value > max && !maxMicros.compareAndSet(max, value)) {
+            max = maxMicros.get();
+        }
+    }
+
+    // Seaux 0..SUB_BUCKETS-1 : valeurs exactes ; ensuite SUB_BUCKETS seaux par puissance de 2
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Décalage qui ramène la valeur dans [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (magnitude >= MAGNITUDES) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> magnitude) - SUB_BUCKETS;
+        return (magnitude + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Plus grande valeur du seau (borne haute incluse)
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public long getMeanMicros() {
+        long n = count.get();
+        return n > 0 ? totalMicros.get() / n : 0;
+    }
+
+    /**
+     * Valeur au centile demandé (0-100), par excès de la largeur d'un seau, en µs
+     */
+    public long getValueAtPercentileMicros(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(n * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    /**
+     * Ligne de centiles en ms : n, moyenne, p50, p90, p99, max
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-16s n=%-6d moy=%9.1f p50=%9.1f p90=%9.1f p99=%9.1f max=%9.1f ms",
+                name, getCount(), getMeanMicros() / 1000.0,
+                getValueAtPercentileMicros(50) / 1000.0, getValueAtPercentileMicros(90) / 1000.0,
+                getValueAtPercentileMicros(99) / 1000.0, getMaxMicros() / 1000.0);
+    }
+}
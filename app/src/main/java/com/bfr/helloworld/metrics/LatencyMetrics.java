@@ -0,0 +1,125 @@
+package com.bfr.helloworld.metrics;
+
+import com.bfr.helloworld.utils.Logger;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latences par étape d'un tour de quiz (parole, écoute, tête, visage, vision, tour complet).
+ *
+ * Les histogrammes sont globaux, comme les statistiques de AnswerProcessor : n'importe quel
+ * composant y enregistre sans référence partagée. Les centiles se lisent à la demande
+ * dans logcat ou dans un fichier, précédés d'un libellé (version du firmware, du robot...)
+ * pour comparer les robots entre eux.
+ */
+public final class LatencyMetrics {
+    private static final String TAG = "LatencyMetrics";
+
+    public enum Stage {
+        // startSpeaking -> fin de parole (ITTSCallback.onSuccess)
+        TTS("tts"),
+        // Démarrage de la tâche STT -> résultat, erreur ou arrêt anticipé sur transcription partielle
+        STT("stt"),
+        // buddySayYes / buddySayNo -> YES_MOVE_FINISHED / NO_MOVE_FINISHED
+        HEAD_YES("tete_oui"),
+        HEAD_NO("tete_non"),
+        // Geste : fin d'un mouvement (+ pause prévue) -> commande du pas suivant sur le même axe
+        GESTURE_GAP("geste_ecart"),
+        // setFacialExpression -> onAnimationEnd
+        FACE("visage"),
+        // Durée de l'appel de lecture du suivi (getTracking)
+        VISION_READ("vision_lecture"),
+        // Question posée -> fin du retour sur la réponse
+        TURN("tour");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Map<Stage, LatencyHistogram> HISTOGRAMS = new EnumMap<>(Stage.class);
+
+    static {
+        for (Stage stage : Stage.values()) {
+            HISTOGRAMS.put(stage, new LatencyHistogram(stage.getLabel()));
+        }
+    }
+
+    private LatencyMetrics() {
+    }
+
+    public static LatencyHistogram get(Stage stage) {
+        return HISTOGRAMS.get(stage);
+    }
+
+    public static void recordMillis(Stage stage, long millis) {
+        HISTOGRAMS.get(stage).recordMillis(millis);
+    }
+
+    public static void recordNanos(Stage stage, long nanos) {
+        HISTOGRAMS.get(stage).recordNanos(nanos);
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Une ligne de centiles par étape ayant au moins une mesure
+     */
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            if (histogram.getCount() > 0) {
+                lines.add(histogram.toString());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Écrit les centiles dans logcat
+     */
+    public static void logPercentiles(String label) {
+        Logger.i(TAG, "=== LATENCES (" + label + ") ===");
+        for (String line : report()) {
+            Logger.i(TAG, line);
+        }
+    }
+
+    /**
+     * Ajoute les centiles à la fin d'un fichier texte
+     *
+     * @return false si l'écriture a échoué (détail dans logcat)
+     */
+    public static boolean dumpToFile(File file, String label) {
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(file, true), StandardCharsets.UTF_8))) {
+            writer.println("# " + label + " @" + System.currentTimeMillis());
+            for (String line : report()) {
+                writer.println(line);
+            }
+            Logger.i(TAG, "Latences écrites dans " + file.getAbsolutePath());
+            return !writer.checkError();
+        } catch (IOException e) {
+            Logger.e(TAG, "Impossible d'écrire les latences dans " + file, e);
+            return false;
+        }
+    }
+}
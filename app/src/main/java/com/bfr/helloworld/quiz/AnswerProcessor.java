@@ -1,7 +1,10 @@
 package com.bfr.helloworld.quiz;
 
+import com.bfr.helloworld.utils.FrenchNumberParser;
 import com.bfr.helloworld.utils.Logger;
 import com.bfr.helloworld.utils.PhoneticCorrector;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.List;
 
 /**
  * Processeur pour analyser et valider les réponses vocales
@@ -9,6 +12,15 @@ import com.bfr.helloworld.utils.PhoneticCorrector;
 public class AnswerProcessor {
     private static final String TAG = "AnswerProcessor";
 
+    // Facteur appliqué aux hypothèses hors de la plage de réponses plausibles
+    private static final float OUT_OF_RANGE_PRIOR = 0.3f;
+
+    // Une transcription partielle ne suffit que si le nombre y est dit en toutes lettres ou en chiffres
+    private static final float PARTIAL_MIN_QUALITY = PhoneticCorrector.MatchKind.GRAMMAR.getQuality();
+
+    // Les enfants répètent souvent les mêmes énoncés : on mémorise leur analyse
+    private static final UtteranceCache CACHE = new UtteranceCache();
+
     public enum AnswerResult {
         CORRECT,
         INCORRECT,
@@ -21,12 +33,19 @@ public class AnswerProcessor {
         private final int extractedNumber;
         private final String originalText;
         private final String feedbackMessage;
+        private final int hypothesisRank;
 
         public ProcessedAnswer(AnswerResult result, int extractedNumber, String originalText, String feedbackMessage) {
+            this(result, extractedNumber, originalText, feedbackMessage, 0);
+        }
+
+        public ProcessedAnswer(AnswerResult result, int extractedNumber, String originalText, String feedbackMessage,
+                               int hypothesisRank) {
             this.result = result;
             this.extractedNumber = extractedNumber;
             this.originalText = originalText;
             this.feedbackMessage = feedbackMessage;
+            this.hypothesisRank = hypothesisRank;
         }
 
         // Getters
@@ -34,11 +53,175 @@ public class AnswerProcessor {
         public int getExtractedNumber() { return extractedNumber; }
         public String getOriginalText() { return originalText; }
         public String getFeedbackMessage() { return feedbackMessage; }
+        public int getHypothesisRank() { return hypothesisRank; }
 
         public boolean isCorrect() { return result == AnswerResult.CORRECT; }
         public boolean isValid() { return result != AnswerResult.INVALID_INPUT && result != AnswerResult.PARSING_ERROR; }
     }
 
+    /**
+     * Statistiques du reclassement N-best
+     */
+    public static final class RerankStats {
+        private int turns;
+        private int lowerRankChosen;
+        private int retriesSaved;
+
+        public synchronized int getTurns() { return turns; }
+        public synchronized int getLowerRankChosen() { return lowerRankChosen; }
+
+        /**
+         * Tours où la meilleure hypothèse était inexploitable mais une autre a évité la relance
+         */
+        public synchronized int getRetriesSaved() { return retriesSaved; }
+
+        synchronized void record(int chosenRank, boolean topWasUsable) {
+            turns++;
+            if (chosenRank > 0) {
+                lowerRankChosen++;
+                if (!topWasUsable) {
+                    retriesSaved++;
+                }
+            }
+        }
+
+        public synchronized void reset() {
+            turns = 0;
+            lowerRankChosen = 0;
+            retriesSaved = 0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "tours=" + turns + ", rang inférieur retenu=" + lowerRankChosen + ", relances évitées=" + retriesSaved;
+        }
+    }
+
+    private static final RerankStats RERANK_STATS = new RerankStats();
+
+    public static RerankStats getRerankStats() {
+        return RERANK_STATS;
+    }
+
+    /**
+     * Cache des analyses (statistiques hit/miss/éviction)
+     */
+    public static UtteranceCache getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Configure la capacité du cache des analyses
+     */
+    public static void setCacheCapacity(int capacity) {
+        CACHE.setCapacity(capacity);
+        Logger.i(TAG, "Capacité du cache: " + capacity);
+    }
+
+    /**
+     * Choisit la meilleure hypothèse de la liste N-best puis la traite.
+     * Score = qualité de l'analyse x plage plausible x confiance relative au premier.
+     */
+    public static ProcessedAnswer processHypotheses(List<SpeechHypothesis> hypotheses, int expectedAnswer, int maxPlausibleAnswer) {
+        if (hypotheses == null || hypotheses.isEmpty()) {
+            return processAnswer(null, expectedAnswer);
+        }
+
+        float topConfidence = 0f;
+        for (SpeechHypothesis hypothesis : hypotheses) {
+            topConfidence = Math.max(topConfidence, hypothesis.getConfidence());
+        }
+
+        int bestRank = -1;
+        float bestScore = 0f;
+        PhoneticCorrector.Extraction bestExtraction = null;
+        boolean topUsable = false;
+
+        for (int rank = 0; rank < hypotheses.size(); rank++) {
+            SpeechHypothesis hypothesis = hypotheses.get(rank);
+            PhoneticCorrector.Extraction extraction = CACHE.analyze(hypothesis.getUtterance());
+            if (!extraction.isFound()) {
+                Logger.d(TAG, "Hypothèse " + rank + " " + hypothesis + " : aucun nombre");
+                continue;
+            }
+            if (!isNumberInValidRange(extraction.getValue())) {
+                // "-5" : jamais une réponse, même peu probable
+                Logger.d(TAG, "Hypothèse " + rank + " " + hypothesis + " : " + extraction.getValue() + " hors limites");
+                continue;
+            }
+
+            if (rank == 0) {
+                topUsable = true;
+            }
+
+            float relativeConfidence = topConfidence > 0f
+                    ? hypothesis.getConfidence() / topConfidence
+                    : 1f / (rank + 1);
+            float prior = isNumberInValidRange(extraction.getValue(), maxPlausibleAnswer) ? 1f : OUT_OF_RANGE_PRIOR;
+            float score = extraction.getQuality() * prior * (0.5f + 0.5f * relativeConfidence);
+
+            Logger.d(TAG, "Hypothèse " + rank + " " + hypothesis + " -> " + extraction.getValue() +
+                    " (" + extraction.getKind() + ", score " + score + ")");
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestRank = rank;
+                bestExtraction = extraction;
+            }
+        }
+
+        if (bestExtraction == null) {
+            RERANK_STATS.record(0, false);
+            return processAnswer(hypotheses.get(0).getUtterance(), expectedAnswer);
+        }
+
+        RERANK_STATS.record(bestRank, topUsable);
+        if (bestRank > 0) {
+            Logger.i(TAG, "Hypothèse de rang " + bestRank + " retenue (" + RERANK_STATS + ")");
+        }
+
+        return buildAnswer(bestExtraction.getValue(), hypotheses.get(bestRank).getUtterance(), expectedAnswer, bestRank);
+    }
+
+    /**
+     * Nombre lu avec assurance dans une transcription partielle, ou -1 : confiance suffisante,
+     * analyse directe ou grammaticale, réponse plausible et qui ne peut plus s'allonger
+     * ("vingt" peut encore devenir "vingt et un"). Ne compte pas dans les statistiques du reclassement.
+     */
+    public static int parsePartial(List<SpeechHypothesis> hypotheses, int maxPlausibleAnswer) {
+        if (hypotheses == null || hypotheses.isEmpty()) {
+            return -1;
+        }
+
+        SpeechHypothesis best = hypotheses.get(0);
+        if (!isConfidenceAcceptable(best.getConfidence())) {
+            return -1;
+        }
+
+        PhoneticCorrector.Extraction extraction = CACHE.analyze(best.getUtterance());
+        int value = extraction.getValue();
+        if (!extraction.isFound() || extraction.getQuality() < PARTIAL_MIN_QUALITY
+                || !isNumberInValidRange(value, maxPlausibleAnswer)
+                || canBeContinued(value, maxPlausibleAnswer)) {
+            return -1;
+        }
+        return value;
+    }
+
+    /**
+     * Vrai si un mot de plus peut donner une autre réponse plausible :
+     * dizaines ("dix" -> "dix-sept"), "quatre" -> "quatre-vingts", unités -> centaines
+     */
+    private static boolean canBeContinued(int value, int maxAnswer) {
+        if (value > 0 && value % 10 == 0 && value + 1 <= maxAnswer) {
+            return true;
+        }
+        if (value == 4 && 80 <= maxAnswer) {
+            return true;
+        }
+        return value >= 1 && value <= 9 && value * 100 <= maxAnswer;
+    }
+
     /**
      * Traite une réponse vocale et vérifie sa correction
      */
@@ -56,9 +239,10 @@ public class AnswerProcessor {
         }
 
         // Extraction du nombre avec correction phonétique
-        int extractedNumber = PhoneticCorrector.extractNumberWithPhoneticCorrection(utterance);
+        PhoneticCorrector.Extraction extraction = CACHE.analyze(utterance);
+        int extractedNumber = extraction.getValue();
 
-        if (extractedNumber == -1) {
+        if (!extraction.isFound()) {
             Logger.w(TAG, "Impossible d'extraire un nombre de: '" + utterance + "'");
             return new ProcessedAnswer(
                     AnswerResult.PARSING_ERROR,
@@ -68,22 +252,40 @@ public class AnswerProcessor {
             );
         }
 
+        return buildAnswer(extractedNumber, utterance, expectedAnswer, 0);
+    }
+
+    private static ProcessedAnswer buildAnswer(int extractedNumber, String utterance, int expectedAnswer, int rank) {
         Logger.i(TAG, "Nombre extrait: " + extractedNumber + " vs attendu: " + expectedAnswer);
 
+        // Nombre signé ("-5") : pas une réponse du quiz
+        if (!isNumberInValidRange(extractedNumber)) {
+            Logger.w(TAG, "Nombre hors limites: " + extractedNumber);
+            return new ProcessedAnswer(
+                    AnswerResult.INVALID_INPUT,
+                    extractedNumber,
+                    utterance,
+                    "Les réponses sont des nombres positifs. Réessaie s'il te plaît.",
+                    rank
+            );
+        }
+
         // Vérification de la correction
         if (extractedNumber == expectedAnswer) {
             return new ProcessedAnswer(
                     AnswerResult.CORRECT,
                     extractedNumber,
                     utterance,
-                    generateCorrectFeedback(extractedNumber)
+                    generateCorrectFeedback(extractedNumber),
+                    rank
             );
         } else {
             return new ProcessedAnswer(
                     AnswerResult.INCORRECT,
                     extractedNumber,
                     utterance,
-                    generateIncorrectFeedback(extractedNumber, expectedAnswer)
+                    generateIncorrectFeedback(extractedNumber, expectedAnswer),
+                    rank
             );
         }
     }
@@ -123,8 +325,15 @@ public class AnswerProcessor {
      * Valide si un nombre est dans la plage attendue pour le quiz
      */
     public static boolean isNumberInValidRange(int number) {
-        // Pour notre quiz de maths simples, les réponses sont entre 0 et 20
-        return number >= 0 && number <= 20;
+        // Toute valeur que la grammaire des nombres sait exprimer (tables, grandes sommes)
+        return isNumberInValidRange(number, FrenchNumberParser.MAX_VALUE);
+    }
+
+    /**
+     * Valide si un nombre est dans la plage [0, maxAnswer]
+     */
+    public static boolean isNumberInValidRange(int number, int maxAnswer) {
+        return number >= 0 && number <= maxAnswer;
     }
 
     /**
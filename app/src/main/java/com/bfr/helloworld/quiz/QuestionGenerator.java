@@ -8,6 +8,7 @@ import java.util.Random;
  */
 public class QuestionGenerator {
     private static final String TAG = "QuestionGenerator";
+    private static final int MAX_OPERAND = 10;
 
     private final String[] questions;
     private final int[] answers;
@@ -36,8 +37,8 @@ public class QuestionGenerator {
      * Génère une seule question
      */
     private void generateSingleQuestion(int index) {
-        int a = random.nextInt(10) + 1; // 1-10
-        int b = random.nextInt(10) + 1; // 1-10
+        int a = random.nextInt(MAX_OPERAND) + 1; // 1-10
+        int b = random.nextInt(MAX_OPERAND) + 1; // 1-10
         int operation = random.nextInt(2); // 0 = addition, 1 = soustraction
 
         if (operation == 0) {
@@ -88,6 +89,13 @@ public class QuestionGenerator {
         return -1;
     }
 
+    /**
+     * Plus grande réponse possible (addition des deux plus grands opérandes)
+     */
+    public int getMaxAnswer() {
+        return MAX_OPERAND * 2;
+    }
+
     /**
      * Récupère le nombre total de questions
      */
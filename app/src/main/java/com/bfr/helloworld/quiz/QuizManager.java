@@ -1,9 +1,12 @@
 package com.bfr.helloworld.quiz;
 
-import android.os.Handler;
-import android.os.Looper;
+import com.bfr.helloworld.scheduling.Cancellable;
+import com.bfr.helloworld.scheduling.Scheduler;
 import com.bfr.helloworld.ui.UICallback;
 import com.bfr.helloworld.utils.Logger;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Gestionnaire principal du quiz de mathématiques
@@ -11,6 +14,11 @@ import com.bfr.helloworld.utils.Logger;
 public class QuizManager {
     private static final String TAG = "QuizManager";
     private static final int DEFAULT_TOTAL_QUESTIONS = 5;
+    // Pause minimale entre la fin du retour et la question suivante
+    private static final long DEFAULT_MINIMUM_GAP_MS = 400;
+    // Filet de sécurité si la fin du retour n'est jamais signalée : doit dépasser la durée
+    // maximale de la parole de retour, sinon la question suivante coupe le retour en cours
+    private static final long DEFAULT_FEEDBACK_TIMEOUT_MS = 15000;
 
     public enum QuizState {
         NOT_STARTED,
@@ -32,21 +40,28 @@ public class QuizManager {
     private final QuizCallback quizCallback;
     private final QuestionGenerator questionGenerator;
     private final ScoreManager scoreManager;
-    private final Handler handler;
+    private final Scheduler scheduler;
+    private final TurnTimer turnTimer = new TurnTimer();
 
     private QuizState currentState;
     private int currentQuestionIndex;
 
-    public QuizManager(UICallback uiCallback, QuizCallback quizCallback) {
-        this(uiCallback, quizCallback, DEFAULT_TOTAL_QUESTIONS);
+    private long minimumGapMs = DEFAULT_MINIMUM_GAP_MS;
+    private long feedbackTimeoutMs = DEFAULT_FEEDBACK_TIMEOUT_MS;
+    // Question suivante en attente de la fin du retour (introduction ou feedback)
+    private boolean awaitingFeedback;
+    private Cancellable feedbackTimeout;
+
+    public QuizManager(UICallback uiCallback, QuizCallback quizCallback, Scheduler scheduler) {
+        this(uiCallback, quizCallback, scheduler, DEFAULT_TOTAL_QUESTIONS);
     }
 
-    public QuizManager(UICallback uiCallback, QuizCallback quizCallback, int totalQuestions) {
+    public QuizManager(UICallback uiCallback, QuizCallback quizCallback, Scheduler scheduler, int totalQuestions) {
         this.uiCallback = uiCallback;
         this.quizCallback = quizCallback;
         this.questionGenerator = new QuestionGenerator(totalQuestions);
         this.scoreManager = new ScoreManager(totalQuestions);
-        this.handler = new Handler(Looper.getMainLooper());
+        this.scheduler = scheduler;
         this.currentState = QuizState.NOT_STARTED;
         this.currentQuestionIndex = 0;
 
@@ -63,19 +78,59 @@ public class QuizManager {
         }
 
         Logger.i(TAG, "Démarrage du quiz");
+        // Les tâches d'un quiz précédent ne doivent pas interférer
+        cancelPendingSteps();
         currentState = QuizState.RUNNING;
         currentQuestionIndex = 0;
         scoreManager.reset();
+        turnTimer.onSessionStarted(scheduler.now());
 
         uiCallback.setStartQuizEnabled(false);
         uiCallback.setListenAnswerEnabled(false);
         uiCallback.updateStatus("Démarrage du quiz...");
 
+        // La première question suit la fin de l'introduction (onFeedbackFinished)
+        awaitFeedback();
+
         // Notifier le callback du démarrage
         quizCallback.onQuizStarted();
+    }
+
+    /**
+     * Signale que la séquence de retour (parole, mouvement, expression) est terminée :
+     * la question suivante est posée après la pause minimale, sans attendre un délai fixe
+     */
+    public void onFeedbackFinished() {
+        if (!awaitingFeedback) {
+            Logger.d(TAG, "Fin de retour ignorée (aucune question en attente)");
+            return;
+        }
+        awaitingFeedback = false;
+        if (feedbackTimeout != null) {
+            feedbackTimeout.cancel();
+            feedbackTimeout = null;
+        }
+
+        turnTimer.onFeedbackFinished(scheduler.now());
+        scheduler.schedule(this, minimumGapMs, this::advanceToNextQuestion);
+    }
+
+    private void awaitFeedback() {
+        awaitingFeedback = true;
+        feedbackTimeout = scheduler.schedule(this, feedbackTimeoutMs, () -> {
+            Logger.w(TAG, "Fin du retour non signalée après " + feedbackTimeoutMs + " ms - question suivante");
+            feedbackTimeout = null;
+            onFeedbackFinished();
+        });
+    }
 
-        // Lancer la première question après un délai
-        handler.postDelayed(this::askCurrentQuestion, 2000);
+    private void advanceToNextQuestion() {
+        if (currentState == QuizState.PROCESSING_ANSWER) {
+            currentState = QuizState.RUNNING;
+        }
+        if (currentState == QuizState.RUNNING) {
+            askCurrentQuestion();
+        }
     }
 
     /**
@@ -99,6 +154,7 @@ public class QuizManager {
         Logger.d(TAG, "Pose de la question " + questionNumber + "/" + totalQuestions + ": " + question);
 
         currentState = QuizState.WAITING_FOR_ANSWER;
+        turnTimer.onQuestionAsked(scheduler.now());
 
         // Mettre à jour l'UI
         uiCallback.updateQuestion(question, questionNumber, totalQuestions);
@@ -121,10 +177,10 @@ public class QuizManager {
 
         Logger.d(TAG, "Activation de l'écoute des réponses");
 
-        handler.postDelayed(() -> {
+        scheduler.schedule(this, 1000, () -> {
             uiCallback.setListenAnswerEnabled(true);
             uiCallback.updateStatus("Maintenant, dis ta réponse !");
-        }, 1000);
+        });
     }
 
     /**
@@ -145,18 +201,38 @@ public class QuizManager {
      * Traite une réponse vocale reçue - VERSION CORRIGÉE
      */
     public void processVocalAnswer(String utterance) {
+        processVocalAnswer(Collections.singletonList(new SpeechHypothesis(utterance, 1.0f)));
+    }
+
+    /**
+     * Analyse une transcription partielle de la réponse en cours :
+     * nombre sûr pour clore l'écoute plus tôt, ou -1 pour attendre le résultat final
+     */
+    public int parsePartialAnswer(List<SpeechHypothesis> hypotheses) {
+        if (currentState != QuizState.WAITING_FOR_ANSWER) {
+            return -1;
+        }
+        return AnswerProcessor.parsePartial(hypotheses, questionGenerator.getMaxAnswer());
+    }
+
+    /**
+     * Traite toutes les hypothèses N-best et retient la plus plausible
+     */
+    public void processVocalAnswer(List<SpeechHypothesis> hypotheses) {
         if (currentState != QuizState.WAITING_FOR_ANSWER) {
             Logger.w(TAG, "Réponse reçue dans un état incorrect: " + currentState);
             return;
         }
 
         Logger.i(TAG, "=== TRAITEMENT RÉPONSE VOCALE ===");
-        Logger.i(TAG, "Utterance reçue: '" + utterance + "'");
+        Logger.i(TAG, "Hypothèses reçues: " + hypotheses);
 
         currentState = QuizState.PROCESSING_ANSWER;
 
         int expectedAnswer = questionGenerator.getAnswer(currentQuestionIndex);
-        AnswerProcessor.ProcessedAnswer processedAnswer = AnswerProcessor.processAnswer(utterance, expectedAnswer);
+        AnswerProcessor.ProcessedAnswer processedAnswer = AnswerProcessor.processHypotheses(
+                hypotheses, expectedAnswer, questionGenerator.getMaxAnswer());
+        String utterance = processedAnswer.getOriginalText();
 
         Logger.i(TAG, "Résultat traitement: " + processedAnswer.getResult());
         Logger.i(TAG, "Valeur extraite: " + processedAnswer.getExtractedNumber());
@@ -177,18 +253,14 @@ public class QuizManager {
             // Passer à la question suivante
             scoreManager.nextQuestion();
             currentQuestionIndex++;
+            turnTimer.onAnswerAccepted(scheduler.now());
+
+            // La question suivante attend la fin du retour (onFeedbackFinished)
+            awaitFeedback();
 
             // Notifier le callback pour la parole et les mouvements
             quizCallback.onAnswerProcessed(processedAnswer, expectedAnswer);
 
-            // Programmer la question suivante après feedback
-            handler.postDelayed(() -> {
-                if (currentState == QuizState.PROCESSING_ANSWER) {
-                    currentState = QuizState.RUNNING;
-                    askCurrentQuestion();
-                }
-            }, 5000); // 5 secondes pour laisser le temps à la séquence de joie
-
         } else {
             // Réponse invalide - RESTER SUR LA MÊME QUESTION
             Logger.w(TAG, "Réponse INVALIDE - on reste sur la même question");
@@ -220,12 +292,12 @@ public class QuizManager {
         }
 
         // Relancer la séquence d'écoute
-        handler.postDelayed(() -> {
+        scheduler.schedule(this, 2000, () -> {
             if (currentState == QuizState.WAITING_FOR_ANSWER) {
                 uiCallback.updateStatus("Nouvelle tentative - dis clairement le nombre");
                 uiCallback.setListenAnswerEnabled(true);
             }
-        }, 2000);
+        });
     }
 
     /**
@@ -234,8 +306,12 @@ public class QuizManager {
     public void finishQuiz() {
         Logger.i(TAG, "Fin du quiz");
         currentState = QuizState.FINISHED;
+        cancelPendingSteps();
 
         scoreManager.logFinalStats();
+        turnTimer.logStats();
+        Logger.i(TAG, "Reclassement N-best: " + AnswerProcessor.getRerankStats());
+        Logger.i(TAG, "Cache des analyses: " + AnswerProcessor.getCache());
 
         // Mettre à jour l'UI
         uiCallback.updateQuestion("Quiz terminé !", 0, 0);
@@ -252,6 +328,12 @@ public class QuizManager {
         quizCallback.onQuizFinished(scoreManager);
     }
 
+    private void cancelPendingSteps() {
+        scheduler.cancelAll(this);
+        awaitingFeedback = false;
+        feedbackTimeout = null;
+    }
+
     /**
      * Régénère les questions pour un nouveau quiz
      */
@@ -274,6 +356,7 @@ public class QuizManager {
     public void handleError(String error) {
         Logger.e(TAG, "Erreur dans le quiz: " + error);
         currentState = QuizState.NOT_STARTED;
+        cancelPendingSteps();
 
         uiCallback.showError(error);
         uiCallback.setStartQuizEnabled(true);
@@ -298,4 +381,22 @@ public class QuizManager {
     public int getCurrentQuestionIndex() {
         return currentQuestionIndex;
     }
+
+    public TurnTimer getTurnTimer() {
+        return turnTimer;
+    }
+
+    /**
+     * Pause minimale entre la fin du retour et la question suivante
+     */
+    public void setMinimumGapMs(long minimumGapMs) {
+        this.minimumGapMs = Math.max(0, minimumGapMs);
+    }
+
+    /**
+     * Délai au-delà duquel la question suivante est posée même sans signal de fin du retour
+     */
+    public void setFeedbackTimeoutMs(long feedbackTimeoutMs) {
+        this.feedbackTimeoutMs = Math.max(minimumGapMs, feedbackTimeoutMs);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.bfr.helloworld.quiz;
+
+import com.bfr.helloworld.metrics.LatencyMetrics;
+import com.bfr.helloworld.utils.Logger;
+import java.util.Locale;
+
+/**
+ * Chronométrage des tours de quiz (question posée -> réponse -> fin du retour -> question suivante)
+ * pour mesurer le rythme réel en questions par minute.
+ *
+ * Les instants viennent de l'horloge du planificateur (virtuelle dans les benchmarks).
+ */
+public class TurnTimer {
+    private static final String TAG = "TurnTimer";
+    private static final long UNSET = -1;
+
+    private long sessionStart = UNSET;
+    private long questionAskedAt = UNSET;
+    private long answeredAt = UNSET;
+    private long feedbackFinishedAt = UNSET;
+    private long lastTurnEnd = UNSET;
+
+    private int completedTurns;
+    private long totalAnswerMs;
+    private long totalFeedbackMs;
+    private long totalGapMs;
+    private int gaps;
+
+    public void reset() {
+        sessionStart = questionAskedAt = answeredAt = feedbackFinishedAt = lastTurnEnd = UNSET;
+        completedTurns = 0;
+        totalAnswerMs = totalFeedbackMs = totalGapMs = 0;
+        gaps = 0;
+    }
+
+    /**
+     * Début de session (démarrage du quiz)
+     */
+    public void onSessionStarted(long now) {
+        reset();
+        sessionStart = now;
+    }
+
+    public void onQuestionAsked(long now) {
+        // Temps mort entre la fin du retour précédent et la nouvelle question
+        if (feedbackFinishedAt != UNSET) {
+            totalGapMs += now - feedbackFinishedAt;
+            gaps++;
+            feedbackFinishedAt = UNSET;
+        }
+        questionAskedAt = now;
+        answeredAt = UNSET;
+    }
+
+    /**
+     * Réponse valide reçue (les tentatives incomprises restent dans le même tour)
+     */
+    public void onAnswerAccepted(long now) {
+        if (questionAskedAt == UNSET) {
+            return;
+        }
+        answeredAt = now;
+        totalAnswerMs += now - questionAskedAt;
+    }
+
+    /**
+     * Fin de la séquence de retour (parole, mouvement, expression) : le tour est complet
+     */
+    public void onFeedbackFinished(long now) {
+        if (answeredAt == UNSET) {
+            // Fin de l'introduction : pas de tour à clore, seulement l'écart avant la 1re question
+            feedbackFinishedAt = now;
+            return;
+        }
+        totalFeedbackMs += now - answeredAt;
+        LatencyMetrics.recordMillis(LatencyMetrics.Stage.TURN, now - questionAskedAt);
+        completedTurns++;
+        lastTurnEnd = now;
+        feedbackFinishedAt = now;
+        answeredAt = UNSET;
+        questionAskedAt = UNSET;
+    }
+
+    public int getCompletedTurns() {
+        return completedTurns;
+    }
+
+    /**
+     * Durée moyenne d'un tour complet (question, réponse, retour, temps mort), en ms
+     */
+    public long getAverageTurnMs() {
+        if (completedTurns == 0 || sessionStart == UNSET) {
+            return 0;
+        }
+        return (lastTurnEnd - sessionStart) / completedTurns;
+    }
+
+    public double getQuestionsPerMinute() {
+        long average = getAverageTurnMs();
+        return average > 0 ? 60000.0 / average : 0;
+    }
+
+    public long getAverageAnswerMs() {
+        return completedTurns > 0 ? totalAnswerMs / completedTurns : 0;
+    }
+
+    public long getAverageFeedbackMs() {
+        return completedTurns > 0 ? totalFeedbackMs / completedTurns : 0;
+    }
+
+    public long getAverageGapMs() {
+        return gaps > 0 ? totalGapMs / gaps : 0;
+    }
+
+    public void logStats() {
+        Logger.i(TAG, "=== RYTHME DU QUIZ ===");
+        Logger.i(TAG, toString());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%d tours, %.2f questions/min (tour %d ms : question+réponse %d ms, retour %d ms, temps mort %d ms)",
+                completedTurns, getQuestionsPerMinute(), getAverageTurnMs(),
+                getAverageAnswerMs(), getAverageFeedbackMs(), getAverageGapMs());
+    }
+}
@@ -0,0 +1,149 @@
+package com.bfr.helloworld.quiz;
+
+import com.bfr.helloworld.utils.PhoneticCorrector;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache LRU borné devant PhoneticCorrector.analyze, indexé par l'énoncé normalisé.
+ * Les tables de correction sont figées au chargement de la classe : une analyse mémorisée
+ * reste valable, seule la capacité limite le cache.
+ */
+public class UtteranceCache {
+    private static final String TAG = "UtteranceCache";
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final LinkedHashMap<String, PhoneticCorrector.Extraction> entries;
+    private int capacity;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public UtteranceCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UtteranceCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacité invalide: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, PhoneticCorrector.Extraction>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PhoneticCorrector.Extraction> eldest) {
+                if (size() > UtteranceCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retourne l'extraction mémorisée pour cet énoncé, ou l'analyse et la mémorise
+     */
+    public PhoneticCorrector.Extraction analyze(String utterance) {
+        String key = normalize(utterance);
+        if (key.isEmpty()) {
+            return PhoneticCorrector.analyze(key);
+        }
+
+        synchronized (this) {
+            PhoneticCorrector.Extraction cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Analyse hors verrou : au pire deux threads calculent la même valeur
+        PhoneticCorrector.Extraction extraction = PhoneticCorrector.analyze(key);
+
+        synchronized (this) {
+            entries.put(key, extraction);
+        }
+        return extraction;
+    }
+
+    /**
+     * Change la capacité ; les entrées les plus anciennes sont évincées si besoin
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacité invalide: " + capacity);
+        }
+        this.capacity = capacity;
+
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized int getCapacity() { return capacity; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "taille=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses +
+                ", évictions=" + evictions +
+                ", taux=" + Math.round(getHitRate() * 100) + "%";
+    }
+
+    /**
+     * Minuscules, espaces de début/fin supprimés et espaces internes réduits à un seul
+     */
+    static String normalize(String utterance) {
+        if (utterance == null) {
+            return "";
+        }
+
+        String lower = utterance.toLowerCase().trim();
+        StringBuilder builder = null;
+        boolean previousSpace = false;
+
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            boolean space = Character.isWhitespace(c);
+            if (space && (previousSpace || c != ' ')) {
+                if (builder == null) {
+                    builder = new StringBuilder(lower.length());
+                    builder.append(lower, 0, i);
+                }
+                if (!previousSpace) {
+                    builder.append(' ');
+                }
+            } else if (builder != null) {
+                builder.append(c);
+            }
+            previousSpace = space;
+        }
+
+        return builder == null ? lower : builder.toString();
+    }
+}
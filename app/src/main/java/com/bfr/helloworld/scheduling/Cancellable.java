@@ -0,0 +1,19 @@
+package com.bfr.helloworld.scheduling;
+
+/**
+ * Jeton d'annulation d'une tâche programmée
+ */
+public interface Cancellable {
+
+    /**
+     * @return true si la tâche était en attente et ne s'exécutera pas
+     */
+    boolean cancel();
+
+    boolean isCancelled();
+
+    /**
+     * Vrai une fois la tâche exécutée ou annulée
+     */
+    boolean isDone();
+}
@@ -0,0 +1,74 @@
+package com.bfr.helloworld.scheduling;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planificateur temps réel pour la JVM : un thread unique joue le rôle du thread principal
+ */
+public final class ExecutorScheduler extends WheelScheduler {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private final ScheduledExecutorService executor;
+    private final long originNanos;
+    private final Runnable tick = this::onTick;
+
+    private ScheduledFuture<?> armed;
+    private long armedExpiry = Long.MAX_VALUE;
+
+    public ExecutorScheduler() {
+        this(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public ExecutorScheduler(ScheduledExecutorService executor) {
+        super(TICK_MS, WHEEL_SIZE, 0);
+        this.executor = executor;
+        this.originNanos = System.nanoTime();
+    }
+
+    @Override
+    public long now() {
+        return (System.nanoTime() - originNanos) / 1_000_000L;
+    }
+
+    @Override
+    protected synchronized void onScheduled(long expiry) {
+        if (expiry < armedExpiry) {
+            arm(expiry);
+        }
+    }
+
+    private void onTick() {
+        synchronized (this) {
+            armed = null;
+            armedExpiry = Long.MAX_VALUE;
+        }
+        runExpired(now());
+        long next = wheel.nextExpiry();
+        synchronized (this) {
+            if (next != Long.MAX_VALUE && next < armedExpiry) {
+                arm(next);
+            }
+        }
+    }
+
+    private void arm(long expiry) {
+        if (armed != null) {
+            armed.cancel(false);
+        }
+        armedExpiry = expiry;
+        armed = executor.schedule(tick, Math.max(0, expiry - now()), TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bfr.helloworld.scheduling;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * Planificateur du thread principal Android : un seul Runnable réarmé sur la
+ * prochaine échéance de la roue, au lieu d'un postDelayed par tâche
+ */
+public final class HandlerScheduler extends WheelScheduler {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private static HandlerScheduler mainScheduler;
+
+    private final Handler handler;
+    private final Runnable tick = this::onTick;
+    private long armedExpiry = Long.MAX_VALUE;
+
+    public HandlerScheduler(Looper looper) {
+        super(TICK_MS, WHEEL_SIZE, SystemClock.uptimeMillis());
+        this.handler = new Handler(looper);
+    }
+
+    /**
+     * Planificateur partagé du thread principal
+     */
+    public static synchronized HandlerScheduler main() {
+        if (mainScheduler == null) {
+            mainScheduler = new HandlerScheduler(Looper.getMainLooper());
+        }
+        return mainScheduler;
+    }
+
+    @Override
+    public long now() {
+        return SystemClock.uptimeMillis();
+    }
+
+    @Override
+    protected synchronized void onScheduled(long expiry) {
+        if (expiry < armedExpiry) {
+            arm(expiry);
+        }
+    }
+
+    private void onTick() {
+        synchronized (this) {
+            armedExpiry = Long.MAX_VALUE;
+        }
+        runExpired(now());
+        long next = wheel.nextExpiry();
+        synchronized (this) {
+            if (next != Long.MAX_VALUE && next < armedExpiry) {
+                arm(next);
+            }
+        }
+    }
+
+    private void arm(long expiry) {
+        handler.removeCallbacks(tick);
+        armedExpiry = expiry;
+        handler.postDelayed(tick, Math.max(0, expiry - now()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.bfr.helloworld.scheduling;
+
+/**
+ * Tâche allouée une fois puis programmée autant de fois que voulu, sans allocation :
+ * pour les envois fréquents (callbacks du suivi...). La programmer alors qu'elle est
+ * déjà en attente la déplace à la nouvelle échéance.
+ *
+ * La reprogrammer entre son échéance et son exécution la fait exécuter deux fois :
+ * l'appelant ne la reprogramme qu'une fois exécutée (ou annulée).
+ */
+public interface RearmableTask extends Cancellable {
+
+    /**
+     * Programme la tâche après delayMs (0 = dès que possible)
+     */
+    void schedule(long delayMs);
+}
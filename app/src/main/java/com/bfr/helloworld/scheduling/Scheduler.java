@@ -0,0 +1,43 @@
+package com.bfr.helloworld.scheduling;
+
+/**
+ * Planificateur unique des tâches différées de l'application.
+ *
+ * Chaque tâche appartient à un propriétaire (le gestionnaire qui l'a programmée,
+ * ou une séquence) : {@link #cancelAll(Object)} annule d'un coup toute la séquence.
+ * Les tâches s'exécutent sur le thread du planificateur, dans l'ordre de leur échéance.
+ */
+public interface Scheduler {
+
+    /**
+     * Horloge du planificateur (ms, origine arbitraire)
+     */
+    long now();
+
+    /**
+     * Programme une tâche après delayMs (0 = dès que possible)
+     *
+     * @param owner propriétaire de la tâche (peut être null)
+     */
+    Cancellable schedule(Object owner, long delayMs, Runnable task);
+
+    default Cancellable post(Object owner, Runnable task) {
+        return schedule(owner, 0, task);
+    }
+
+    /**
+     * Crée une tâche réarmable, non programmée ; cancelAll(owner) l'annule aussi
+     */
+    RearmableTask newRearmableTask(Object owner, Runnable task);
+
+    /**
+     * Annule toutes les tâches en attente de ce propriétaire
+     *
+     * @return le nombre de tâches annulées
+     */
+    int cancelAll(Object owner);
+
+    int pendingCount();
+
+    int pendingCount(Object owner);
+}
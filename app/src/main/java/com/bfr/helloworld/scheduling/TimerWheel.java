@@ -0,0 +1,315 @@
+package com.bfr.helloworld.scheduling;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Roue temporelle hachée : ajout et annulation en O(1), avance en O(tics parcourus + tâches échues).
+ *
+ * Chaque tâche est rangée dans le seau (tic cible modulo taille) et conserve son tic absolu ;
+ * un seau n'est donc jamais parcouru plus d'une fois par avance, même lors d'un saut
+ * de plusieurs tours (horloge virtuelle). Les tâches d'un même propriétaire sont
+ * chaînées entre elles pour l'annulation groupée.
+ *
+ * Les méthodes sont synchronisées ; les tâches échues sont rendues à l'appelant
+ * qui les exécute hors verrou.
+ */
+public final class TimerWheel {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    // Tâche réarmable jamais programmée
+    private static final int IDLE = 3;
+
+    /**
+     * Tâche programmée ; sert aussi de jeton d'annulation.
+     * Échéance et ordre d'ajout changent seulement si la tâche est réarmée (rearm).
+     */
+    public final class Timeout implements Cancellable {
+        final Runnable task;
+        final Object owner;
+        long deadline;
+        long targetTick;
+        long sequence;
+        int state = IDLE;
+
+        Timeout bucketPrevious;
+        Timeout bucketNext;
+        Timeout ownerPrevious;
+        Timeout ownerNext;
+
+        Timeout(Runnable task, Object owner) {
+            this.task = task;
+            this.owner = owner;
+        }
+
+        public long getDeadline() {
+            synchronized (TimerWheel.this) {
+                return deadline;
+            }
+        }
+
+        public long getExpiry() {
+            synchronized (TimerWheel.this) {
+                return targetTick * tickMs;
+            }
+        }
+
+        public Object getOwner() { return owner; }
+
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (TimerWheel.this) {
+                if (state != PENDING) {
+                    return false;
+                }
+                state = CANCELLED;
+                unlink(this);
+                return true;
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            synchronized (TimerWheel.this) {
+                return state == CANCELLED;
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            synchronized (TimerWheel.this) {
+                return state != PENDING;
+            }
+        }
+    }
+
+    private final long tickMs;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final IdentityHashMap<Object, Timeout> owners = new IdentityHashMap<>();
+
+    private long currentTick;
+    private long sequence;
+    private int pending;
+
+    /**
+     * @param tickMs    résolution (ms)
+     * @param wheelSize nombre de seaux, arrondi à la puissance de deux supérieure
+     * @param startTime horloge au démarrage (ms)
+     */
+    public TimerWheel(long tickMs, int wheelSize, long startTime) {
+        if (tickMs < 1) {
+            throw new IllegalArgumentException("Résolution invalide: " + tickMs);
+        }
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickMs = tickMs;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.currentTick = startTime / tickMs;
+    }
+
+    /**
+     * Ajoute une tâche ; elle ne sera jamais rendue avant deadline,
+     * ni avant le tic qui suit le tic courant
+     */
+    public synchronized Timeout add(Object owner, long deadline, Runnable task) {
+        Timeout timeout = newTimeout(owner, task);
+        link(timeout, deadline);
+        return timeout;
+    }
+
+    /**
+     * Crée une tâche sans la programmer, pour la réarmer ensuite par rearm()
+     */
+    public Timeout newTimeout(Object owner, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Tâche nulle");
+        }
+        return new Timeout(task, owner);
+    }
+
+    /**
+     * Programme de nouveau une tâche de cette roue à deadline, sans allocation ;
+     * une tâche encore en attente est déplacée
+     *
+     * @return l'instant (aligné sur un tic) où elle sera rendue
+     */
+    public synchronized long rearm(Timeout timeout, long deadline) {
+        if (timeout.state == PENDING) {
+            unlink(timeout);
+        }
+        link(timeout, deadline);
+        return timeout.targetTick * tickMs;
+    }
+
+    private void link(Timeout timeout, long deadline) {
+        // Arrondi au tic supérieur : jamais en avance, au plus un tic de retard
+        long targetTick = Math.max(ceilDiv(deadline, tickMs), currentTick + 1);
+        timeout.deadline = deadline;
+        timeout.targetTick = targetTick;
+        timeout.sequence = sequence++;
+        timeout.state = PENDING;
+
+        int index = (int) (targetTick & mask);
+        timeout.bucketNext = buckets[index];
+        if (buckets[index] != null) {
+            buckets[index].bucketPrevious = timeout;
+        }
+        buckets[index] = timeout;
+
+        Object owner = timeout.owner;
+        if (owner != null) {
+            Timeout head = owners.get(owner);
+            timeout.ownerNext = head;
+            if (head != null) {
+                head.ownerPrevious = timeout;
+            }
+            owners.put(owner, timeout);
+        }
+
+        pending++;
+    }
+
+    /**
+     * Annule toutes les tâches en attente d'un propriétaire
+     */
+    public synchronized int cancelAll(Object owner) {
+        if (owner == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        Timeout timeout = owners.get(owner);
+        while (timeout != null) {
+            Timeout next = timeout.ownerNext;
+            timeout.state = CANCELLED;
+            unlink(timeout);
+            cancelled++;
+            timeout = next;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Avance l'horloge jusqu'à now et ajoute à expired les tâches échues,
+     * triées par échéance puis par ordre d'ajout
+     */
+    public synchronized void advance(long now, List<Timeout> expired) {
+        long targetTick = now / tickMs;
+        if (targetTick <= currentTick) {
+            return;
+        }
+
+        int firstExpired = expired.size();
+        // Au-delà d'un tour complet, chaque seau n'a besoin d'être visité qu'une fois
+        long lastTick = Math.min(targetTick, currentTick + buckets.length);
+
+        for (long tick = currentTick + 1; tick <= lastTick && pending > 0; tick++) {
+            Timeout timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.bucketNext;
+                if (timeout.targetTick <= targetTick) {
+                    timeout.state = EXPIRED;
+                    unlink(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick;
+
+        sortExpired(expired, firstExpired);
+    }
+
+    /**
+     * Instant (aligné sur un tic) où la prochaine tâche sera rendue, ou Long.MAX_VALUE
+     */
+    public synchronized long nextExpiry() {
+        if (pending == 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        for (Timeout head : buckets) {
+            for (Timeout timeout = head; timeout != null; timeout = timeout.bucketNext) {
+                if (timeout.targetTick < next) {
+                    next = timeout.targetTick;
+                }
+            }
+        }
+        return next * tickMs;
+    }
+
+    public synchronized int pendingCount() {
+        return pending;
+    }
+
+    public synchronized int pendingCount(Object owner) {
+        int count = 0;
+        for (Timeout timeout = owner == null ? null : owners.get(owner); timeout != null; timeout = timeout.ownerNext) {
+            count++;
+        }
+        return count;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private void unlink(Timeout timeout) {
+        int index = (int) (timeout.targetTick & mask);
+        if (timeout.bucketPrevious != null) {
+            timeout.bucketPrevious.bucketNext = timeout.bucketNext;
+        } else {
+            buckets[index] = timeout.bucketNext;
+        }
+        if (timeout.bucketNext != null) {
+            timeout.bucketNext.bucketPrevious = timeout.bucketPrevious;
+        }
+
+        if (timeout.owner != null) {
+            if (timeout.ownerPrevious != null) {
+                timeout.ownerPrevious.ownerNext = timeout.ownerNext;
+            } else if (timeout.ownerNext != null) {
+                owners.put(timeout.owner, timeout.ownerNext);
+            } else {
+                owners.remove(timeout.owner);
+            }
+            if (timeout.ownerNext != null) {
+                timeout.ownerNext.ownerPrevious = timeout.ownerPrevious;
+            }
+        }
+
+        timeout.bucketPrevious = timeout.bucketNext = null;
+        timeout.ownerPrevious = timeout.ownerNext = null;
+        pending--;
+    }
+
+    /**
+     * Tri par insertion (quelques tâches par tic au plus)
+     */
+    private static void sortExpired(List<Timeout> expired, int from) {
+        for (int i = from + 1; i < expired.size(); i++) {
+            Timeout timeout = expired.get(i);
+            int j = i - 1;
+            while (j >= from && isBefore(timeout, expired.get(j))) {
+                expired.set(j + 1, expired.get(j));
+                j--;
+            }
+            expired.set(j + 1, timeout);
+        }
+    }
+
+    private static boolean isBefore(Timeout a, Timeout b) {
+        return a.deadline != b.deadline ? a.deadline < b.deadline : a.sequence < b.sequence;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        long quotient = value / divisor;
+        return value % divisor > 0 ? quotient + 1 : quotient;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bfr.helloworld.scheduling;
+
+/**
+ * Planificateur à horloge virtuelle : le temps n'avance que sur demande.
+ * Des heures de quiz s'exécutent en quelques millisecondes, de façon déterministe.
+ *
+ * Les tâches s'exécutent sur le thread qui appelle advanceBy/runUntilIdle ;
+ * une tâche programmée sans délai s'exécute une milliseconde virtuelle plus tard.
+ */
+public final class VirtualScheduler extends WheelScheduler {
+
+    private static final int WHEEL_SIZE = 1024;
+
+    private volatile long now;
+
+    public VirtualScheduler() {
+        this(0);
+    }
+
+    public VirtualScheduler(long startTime) {
+        super(1, WHEEL_SIZE, startTime);
+        this.now = startTime;
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    protected void onScheduled(long expiry) {
+        // Rien à réveiller : l'horloge est pilotée par l'appelant
+    }
+
+    /**
+     * Avance l'horloge de durationMs en exécutant les tâches échues dans l'ordre
+     */
+    public void advanceBy(long durationMs) {
+        advanceTo(now + Math.max(0, durationMs));
+    }
+
+    public void advanceTo(long target) {
+        while (true) {
+            long next = wheel.nextExpiry();
+            if (next > target) {
+                break;
+            }
+            // L'horloge vaut l'échéance pendant l'exécution des tâches
+            now = Math.max(now, next);
+            runExpired(now);
+        }
+        now = Math.max(now, target);
+    }
+
+    /**
+     * Exécute les tâches jusqu'à ce qu'il n'en reste plus, sans dépasser maxDurationMs
+     *
+     * @return true si le planificateur est vide
+     */
+    public boolean runUntilIdle(long maxDurationMs) {
+        long limit = now + maxDurationMs;
+        while (true) {
+            long next = wheel.nextExpiry();
+            if (next == Long.MAX_VALUE) {
+                return true;
+            }
+            if (next > limit) {
+                now = limit;
+                return false;
+            }
+            now = Math.max(now, next);
+            runExpired(now);
+        }
+    }
+}
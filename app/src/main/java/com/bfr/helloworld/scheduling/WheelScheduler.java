@@ -0,0 +1,105 @@
+package com.bfr.helloworld.scheduling;
+
+import com.bfr.helloworld.utils.Logger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base commune des planificateurs adossés à une {@link TimerWheel}.
+ * Les sous-classes fournissent l'horloge et le réveil du thread d'exécution.
+ */
+public abstract class WheelScheduler implements Scheduler {
+    private static final String TAG = "Scheduler";
+
+    protected final TimerWheel wheel;
+    // Utilisée uniquement par le thread d'exécution
+    private final List<TimerWheel.Timeout> expired = new ArrayList<>();
+
+    protected WheelScheduler(long tickMs, int wheelSize, long startTime) {
+        this.wheel = new TimerWheel(tickMs, wheelSize, startTime);
+    }
+
+    @Override
+    public Cancellable schedule(Object owner, long delayMs, Runnable task) {
+        long deadline = now() + Math.max(0, delayMs);
+        TimerWheel.Timeout timeout = wheel.add(owner, deadline, task);
+        onScheduled(timeout.getExpiry());
+        return timeout;
+    }
+
+    @Override
+    public RearmableTask newRearmableTask(Object owner, Runnable task) {
+        return new WheelRearmableTask(wheel.newTimeout(owner, task));
+    }
+
+    @Override
+    public int cancelAll(Object owner) {
+        return wheel.cancelAll(owner);
+    }
+
+    @Override
+    public int pendingCount() {
+        return wheel.pendingCount();
+    }
+
+    @Override
+    public int pendingCount(Object owner) {
+        return wheel.pendingCount(owner);
+    }
+
+    /**
+     * Exécute les tâches échues à l'instant now ; à appeler sur le thread d'exécution
+     */
+    protected void runExpired(long now) {
+        wheel.advance(now, expired);
+        try {
+            for (int i = 0; i < expired.size(); i++) {
+                TimerWheel.Timeout timeout = expired.get(i);
+                try {
+                    timeout.run();
+                } catch (RuntimeException e) {
+                    Logger.e(TAG, "Erreur dans une tâche programmée", e);
+                }
+            }
+        } finally {
+            expired.clear();
+        }
+    }
+
+    /**
+     * Appelée après chaque ajout : réveiller le thread d'exécution avant expiry si besoin
+     */
+    protected abstract void onScheduled(long expiry);
+
+    /**
+     * Entrée de la roue réutilisée à chaque programmation
+     */
+    private final class WheelRearmableTask implements RearmableTask {
+        private final TimerWheel.Timeout timeout;
+
+        WheelRearmableTask(TimerWheel.Timeout timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void schedule(long delayMs) {
+            long deadline = now() + Math.max(0, delayMs);
+            onScheduled(wheel.rearm(timeout, deadline));
+        }
+
+        @Override
+        public boolean cancel() {
+            return timeout.cancel();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return timeout.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return timeout.isDone();
+        }
+    }
+}
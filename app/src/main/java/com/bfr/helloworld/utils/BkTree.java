@@ -0,0 +1,167 @@
+package com.bfr.helloworld.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BK-tree sur la distance de Levenshtein pour la recherche floue des mots-nombres.
+ *
+ * L'arbre est immuable une fois construit ; la recherche passe par un {@link Searcher}
+ * propre à chaque thread afin de ne rien allouer sur le chemin critique.
+ */
+public final class BkTree {
+
+    private static final int NONE = -1;
+
+    private final String[] words;
+    private final int[] values;
+    private final int[][] childDistances;
+    private final int[][] children;
+    private final int[] maxChildDistance;
+
+    private BkTree(String[] words, int[] values, int[][] childDistances, int[][] children, int[] maxChildDistance) {
+        this.words = words;
+        this.values = values;
+        this.childDistances = childDistances;
+        this.children = children;
+        this.maxChildDistance = maxChildDistance;
+    }
+
+    /**
+     * Construit l'arbre ; les mots sont insérés dans l'ordre donné
+     */
+    public static BkTree build(String[] words, int[] values) {
+        int size = words.length;
+        BoundedLevenshtein levenshtein = new BoundedLevenshtein();
+
+        List<List<int[]>> edges = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            edges.add(new ArrayList<>());
+        }
+
+        for (int i = 1; i < size; i++) {
+            int node = 0;
+            while (true) {
+                int d = levenshtein.distance(words[i], words[node],
+                        Math.max(words[i].length(), words[node].length()));
+                if (d == 0) break; // doublon, ignoré
+
+                int next = NONE;
+                for (int[] edge : edges.get(node)) {
+                    if (edge[0] == d) {
+                        next = edge[1];
+                        break;
+                    }
+                }
+
+                if (next == NONE) {
+                    edges.get(node).add(new int[]{d, i});
+                    break;
+                }
+                node = next;
+            }
+        }
+
+        int[][] childDistances = new int[size][];
+        int[][] children = new int[size][];
+        int[] maxChildDistance = new int[size];
+        for (int i = 0; i < size; i++) {
+            List<int[]> nodeEdges = edges.get(i);
+            childDistances[i] = new int[nodeEdges.size()];
+            children[i] = new int[nodeEdges.size()];
+            for (int e = 0; e < nodeEdges.size(); e++) {
+                childDistances[i][e] = nodeEdges.get(e)[0];
+                children[i][e] = nodeEdges.get(e)[1];
+                maxChildDistance[i] = Math.max(maxChildDistance[i], nodeEdges.get(e)[0]);
+            }
+        }
+
+        return new BkTree(Arrays.copyOf(words, size), Arrays.copyOf(values, size),
+                childDistances, children, maxChildDistance);
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public String wordAt(int index) {
+        return words[index];
+    }
+
+    public int valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Contexte de recherche réutilisable (non thread-safe)
+     */
+    public final class Searcher {
+        private final BoundedLevenshtein levenshtein = new BoundedLevenshtein();
+        private final int[] stack = new int[Math.max(1, words.length)];
+
+        private int bestIndex;
+        private int bestDistance;
+        private int visitedNodes;
+
+        /**
+         * Cherche le mot le plus proche à distance <= maxDistance.
+         * À distance égale, le mot inséré le plus tôt l'emporte.
+         *
+         * @return l'index du meilleur mot, ou -1
+         */
+        public int search(CharSequence query, int maxDistance) {
+            bestIndex = NONE;
+            bestDistance = BoundedLevenshtein.EXCEEDED;
+            visitedNodes = 0;
+
+            if (query == null || words.length == 0) {
+                return NONE;
+            }
+
+            int top = 0;
+            stack[top++] = 0;
+
+            while (top > 0) {
+                int node = stack[--top];
+                visitedNodes++;
+
+                // La distance exacte n'est utile que jusqu'à maxChild + k : au-delà,
+                // ni le nœud ni aucun de ses enfants ne peut correspondre
+                int limit = maxChildDistance[node] + maxDistance;
+                int d = levenshtein.distance(query, words[node], limit);
+                if (d == BoundedLevenshtein.EXCEEDED) {
+                    continue;
+                }
+
+                if (d <= maxDistance && (d < bestDistance || (d == bestDistance && node < bestIndex))) {
+                    bestDistance = d;
+                    bestIndex = node;
+                }
+
+                int[] nodeDistances = childDistances[node];
+                int[] nodeChildren = children[node];
+                for (int e = 0; e < nodeChildren.length; e++) {
+                    int edge = nodeDistances[e];
+                    if (edge >= d - maxDistance && edge <= d + maxDistance) {
+                        stack[top++] = nodeChildren[e];
+                    }
+                }
+            }
+
+            return bestIndex;
+        }
+
+        public int getBestDistance() {
+            return bestDistance;
+        }
+
+        public int getVisitedNodes() {
+            return visitedNodes;
+        }
+    }
+
+    public Searcher newSearcher() {
+        return new Searcher();
+    }
+}
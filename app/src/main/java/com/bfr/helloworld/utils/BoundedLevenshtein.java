@@ -0,0 +1,90 @@
+package com.bfr.helloworld.utils;
+
+/**
+ * Distance de Levenshtein bornée (bande d'Ukkonen) sur deux lignes réutilisables.
+ *
+ * Une instance n'est pas thread-safe : chaque thread doit utiliser la sienne.
+ * Aucune allocation tant que les chaînes ne dépassent pas la capacité courante.
+ */
+public final class BoundedLevenshtein {
+
+    /** Valeur retournée quand la distance dépasse la borne demandée */
+    public static final int EXCEEDED = Integer.MAX_VALUE;
+
+    private int[] previous;
+    private int[] current;
+
+    public BoundedLevenshtein() {
+        this(32);
+    }
+
+    public BoundedLevenshtein(int initialCapacity) {
+        previous = new int[initialCapacity + 1];
+        current = new int[initialCapacity + 1];
+    }
+
+    /**
+     * Calcule la distance entre a et b si elle est inférieure ou égale à limit,
+     * sinon retourne EXCEEDED dès que la bande ne peut plus rester sous la borne
+     */
+    public int distance(CharSequence a, CharSequence b, int limit) {
+        if (a == null || b == null || limit < 0) return EXCEEDED;
+
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) return EXCEEDED;
+        if (n == 0 || m == 0) return Math.max(n, m);
+
+        ensureCapacity(m);
+
+        int outside = limit + 1;
+        int[] prev = previous;
+        int[] curr = current;
+
+        for (int j = 0; j <= m; j++) {
+            prev[j] = j <= limit ? j : outside;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int jStart = Math.max(1, i - limit);
+            int jEnd = Math.min(m, i + limit);
+
+            curr[jStart - 1] = jStart == 1 ? i : outside;
+            int rowMin = curr[jStart - 1];
+            char ca = a.charAt(i - 1);
+
+            for (int j = jStart; j <= jEnd; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(
+                                prev[j] + 1,         // suppression
+                                curr[j - 1] + 1),    // insertion
+                        prev[j - 1] + cost           // substitution
+                );
+                if (value > outside) value = outside;
+                curr[j] = value;
+                if (value < rowMin) rowMin = value;
+            }
+
+            if (jEnd < m) {
+                curr[jEnd + 1] = outside;
+            }
+
+            // Sortie anticipée : aucune cellule de la bande n'est sous la borne
+            if (rowMin > limit) return EXCEEDED;
+
+            int[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+
+        int result = prev[m];
+        return result <= limit ? result : EXCEEDED;
+    }
+
+    private void ensureCapacity(int length) {
+        if (previous.length < length + 1) {
+            previous = new int[length + 1];
+            current = new int[length + 1];
+        }
+    }
+}
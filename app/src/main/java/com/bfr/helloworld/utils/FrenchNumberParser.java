@@ -0,0 +1,385 @@
+package com.bfr.helloworld.utils;
+
+import java.util.Arrays;
+
+/**
+ * Analyseur des nombres français composés (0 à 999 999) en une seule passe.
+ *
+ * Le texte est lu caractère par caractère : les mots sont reconnus en parcourant un trie,
+ * sans regex ni sous-chaîne. Gère "soixante-dix-sept", "quatre-vingt-douze", "deux cent trois",
+ * les formes belges/suisses (septante, huitante, octante, nonante), les réponses chiffre par
+ * chiffre séparées par des espaces ("un deux" -> 12) et les chiffres mélangés ("2 cents" -> 200).
+ * Un point, une virgule ou un tiret entre deux chiffres termine le nombre : "3.5", "12,5" et
+ * "7-2" ne sont pas des nombres entiers, le dernier terme est retenu.
+ *
+ * Si plusieurs nombres sont présents, le dernier est retenu (l'enfant se corrige souvent).
+ * Un signe moins collé à des chiffres ("-5") donne un nombre négatif, jamais une réponse
+ * valable : AnswerProcessor le rejette comme hors limites.
+ */
+public final class FrenchNumberParser {
+
+    public static final int MAX_VALUE = 999_999;
+    // Négatif, mais distinct de tout nombre signé lu ("-1")
+    public static final int NO_NUMBER = Integer.MIN_VALUE;
+
+    // Types de mots du lexique
+    private static final int KIND_NONE = 0;
+    private static final int KIND_UNIT = 1;      // 0 à 19
+    private static final int KIND_TENS = 2;      // 20 à 90
+    private static final int KIND_HUNDRED = 3;
+    private static final int KIND_THOUSAND = 4;
+    private static final int KIND_AND = 5;
+    private static final int KIND_NUMERAL = 6;   // suite de chiffres
+
+    private static final int ROOT = 0;
+    private static final int DEAD = -1;
+
+    // Trie du lexique, immuable une fois construit
+    private static final char[][] EDGE_KEYS;
+    private static final int[][] EDGE_TARGETS;
+    private static final int[] NODE_KIND;
+    private static final int[] NODE_VALUE;
+
+    // État de composition réutilisé d'un appel à l'autre (un par thread)
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    static {
+        Lexicon lexicon = new Lexicon();
+        String[] units = {"zéro", "un", "deux", "trois", "quatre", "cinq", "six", "sept", "huit", "neuf",
+                "dix", "onze", "douze", "treize", "quatorze", "quinze", "seize"};
+        for (int i = 0; i < units.length; i++) {
+            lexicon.add(units[i], KIND_UNIT, i);
+        }
+        lexicon.add("zero", KIND_UNIT, 0);
+        lexicon.add("une", KIND_UNIT, 1);
+
+        lexicon.add("vingt", KIND_TENS, 20);
+        lexicon.add("vingts", KIND_TENS, 20);
+        lexicon.add("trente", KIND_TENS, 30);
+        lexicon.add("quarante", KIND_TENS, 40);
+        lexicon.add("cinquante", KIND_TENS, 50);
+        lexicon.add("soixante", KIND_TENS, 60);
+        lexicon.add("septante", KIND_TENS, 70);
+        lexicon.add("huitante", KIND_TENS, 80);
+        lexicon.add("octante", KIND_TENS, 80);
+        lexicon.add("nonante", KIND_TENS, 90);
+
+        lexicon.add("cent", KIND_HUNDRED, 100);
+        lexicon.add("cents", KIND_HUNDRED, 100);
+        lexicon.add("mille", KIND_THOUSAND, 1000);
+        lexicon.add("mil", KIND_THOUSAND, 1000);
+
+        lexicon.add("et", KIND_AND, 0);
+
+        EDGE_KEYS = Arrays.copyOf(lexicon.edgeKeys, lexicon.nodeCount);
+        EDGE_TARGETS = Arrays.copyOf(lexicon.edgeTargets, lexicon.nodeCount);
+        NODE_KIND = Arrays.copyOf(lexicon.nodeKind, lexicon.nodeCount);
+        NODE_VALUE = Arrays.copyOf(lexicon.nodeValue, lexicon.nodeCount);
+    }
+
+    private FrenchNumberParser() {
+    }
+
+    /**
+     * Extrait le dernier nombre exprimé dans le texte (négatif pour "-5"), ou NO_NUMBER
+     */
+    public static int parse(CharSequence text) {
+        if (text == null) {
+            return NO_NUMBER;
+        }
+
+        State state = STATE.get();
+        state.reset();
+        int length = text.length();
+
+        int node = ROOT;
+        boolean inWord = false;
+        long numeral = 0;
+        boolean inNumeral = false;
+        boolean negative = false;
+        // Rien d'autre que des espaces depuis la fin du mot ou du nombre précédent
+        boolean spacesOnly = true;
+
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            boolean isDigit = isDigit(c);
+            boolean isLetter = !isDigit && Character.isLetter(c);
+
+            // Fin d'un mot
+            if (inWord && !isLetter) {
+                if (node != DEAD && NODE_KIND[node] != KIND_NONE) {
+                    state.accept(NODE_KIND[node], NODE_VALUE[node]);
+                } else {
+                    state.endPhrase();
+                }
+                inWord = false;
+                spacesOnly = true;
+            }
+
+            // Fin d'une suite de chiffres
+            if (inNumeral && !isDigit) {
+                if (negative) {
+                    state.acceptNegative(numeral);
+                } else if (numeral <= MAX_VALUE) {
+                    state.accept(KIND_NUMERAL, (int) numeral);
+                } else {
+                    state.endPhrase();
+                }
+                inNumeral = false;
+                spacesOnly = true;
+            }
+
+            if (isLetter) {
+                if (!inWord) {
+                    inWord = true;
+                    node = ROOT;
+                    state.afterSpace = spacesOnly;
+                }
+                if (node != DEAD) {
+                    node = findEdge(EDGE_KEYS, EDGE_TARGETS, node, Character.toLowerCase(c));
+                }
+            } else if (isDigit) {
+                if (!inNumeral) {
+                    inNumeral = true;
+                    numeral = 0;
+                    state.afterSpace = spacesOnly;
+                    // Signe moins, et non trait d'union entre deux mots ("vingt-2")
+                    negative = i > 0 && text.charAt(i - 1) == '-'
+                            && (i == 1 || !Character.isLetterOrDigit(text.charAt(i - 2)));
+                }
+                if (numeral <= MAX_VALUE) {
+                    numeral = numeral * 10 + (c - '0');
+                }
+            } else if (!Character.isWhitespace(c)) {
+                spacesOnly = false;
+                // Décimale ("3.5"), virgule ("12,5") ou tiret entre chiffres ("7-2")
+                if (c == '.' || c == ','
+                        || (c == '-' && i > 0 && isDigit(text.charAt(i - 1))
+                            && i + 1 < length && isDigit(text.charAt(i + 1)))) {
+                    state.endPhrase();
+                }
+            }
+        }
+
+        state.endPhrase();
+        return state.lastNumber;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * État de composition du nombre en cours
+     */
+    private static final class State {
+        int lastNumber;
+
+        boolean inPhrase;
+        int thousands;
+        int group;          // partie inférieure à 1000
+        int lastAddend;     // dernier terme additif (-1 si non combinable)
+        boolean digitsOnly; // uniquement des chiffres isolés jusqu'ici ("un deux")
+        boolean afterSpace; // terme courant séparé du précédent par des espaces seulement
+
+        void reset() {
+            lastNumber = NO_NUMBER;
+            inPhrase = false;
+            thousands = 0;
+            group = 0;
+            lastAddend = -1;
+            digitsOnly = false;
+            afterSpace = true;
+        }
+
+        /**
+         * Nombre signé : retenu tel quel, ne se compose avec rien
+         */
+        void acceptNegative(long value) {
+            endPhrase();
+            lastNumber = (int) -Math.min(value, MAX_VALUE + 1L);
+        }
+
+        void accept(int kind, int value) {
+            switch (kind) {
+                case KIND_UNIT:
+                case KIND_TENS:
+                case KIND_NUMERAL:
+                    acceptValue(kind, value);
+                    break;
+                case KIND_HUNDRED:
+                    acceptHundred();
+                    break;
+                case KIND_THOUSAND:
+                    acceptThousand();
+                    break;
+                case KIND_AND:
+                    // "et" n'est valide qu'après une dizaine : "vingt et un", "soixante et onze"
+                    if (inPhrase && !isTens(lastAddend)) {
+                        endPhrase();
+                    }
+                    break;
+                default:
+                    endPhrase();
+                    break;
+            }
+        }
+
+        private void acceptValue(int kind, int value) {
+            boolean singleDigit = value < 10 && kind != KIND_TENS;
+
+            if (!inPhrase) {
+                start(value, 0);
+                lastAddend = kind == KIND_NUMERAL ? -1 : value;
+                digitsOnly = singleDigit;
+                return;
+            }
+
+            int belowHundred = group % 100;
+
+            if (kind == KIND_TENS && value == 20 && lastAddend == 4 && belowHundred == 4) {
+                // quatre-vingt(s)
+                group += 76;
+                lastAddend = 80;
+                digitsOnly = false;
+            } else if (belowHundred == 0 && value < 100 && (group > 0 || thousands > 0)) {
+                // après "cent" ou "mille"
+                group += value;
+                lastAddend = kind == KIND_NUMERAL ? -1 : value;
+                digitsOnly = false;
+            } else if (kind != KIND_NUMERAL && isAdditive(lastAddend, value)) {
+                group += value;
+                lastAddend = value;
+                digitsOnly = false;
+            } else if (digitsOnly && singleDigit && afterSpace && group * 10L + value <= MAX_VALUE) {
+                group = group * 10 + value;
+                lastAddend = -1;
+            } else {
+                endPhrase();
+                acceptValue(kind, value);
+            }
+        }
+
+        private void acceptHundred() {
+            if (!inPhrase) {
+                start(100, 0);
+            } else if (group == 0) {
+                group = 100;
+            } else if (group < 100) {
+                group *= 100;
+            } else {
+                endPhrase();
+                start(100, 0);
+            }
+            lastAddend = -1;
+            digitsOnly = false;
+        }
+
+        private void acceptThousand() {
+            if (!inPhrase) {
+                start(0, 1000);
+            } else if (thousands == 0 && group < 1000) {
+                thousands = Math.max(group, 1) * 1000;
+                group = 0;
+            } else {
+                endPhrase();
+                start(0, 1000);
+            }
+            lastAddend = -1;
+            digitsOnly = false;
+        }
+
+        private void start(int group, int thousands) {
+            inPhrase = true;
+            this.group = group;
+            this.thousands = thousands;
+        }
+
+        void endPhrase() {
+            if (inPhrase) {
+                int value = thousands + group;
+                if (value <= MAX_VALUE) {
+                    lastNumber = value;
+                }
+            }
+            inPhrase = false;
+            thousands = 0;
+            group = 0;
+            lastAddend = -1;
+            digitsOnly = false;
+        }
+
+        private static boolean isTens(int value) {
+            return value >= 20 && value <= 90 && value % 10 == 0;
+        }
+
+        /**
+         * Combinaisons additives autorisées après le dernier terme
+         */
+        private static boolean isAdditive(int last, int value) {
+            if (value < 1) return false;
+            if (last == 60 || last == 80) return value <= 19;   // soixante-dix-sept, quatre-vingt-douze
+            if (isTens(last)) return value <= 9;                // vingt-deux, septante-trois
+            if (last == 10) return value >= 7 && value <= 9;    // dix-sept
+            return false;
+        }
+    }
+
+    private static int findEdge(char[][] edgeKeys, int[][] edgeTargets, int node, char c) {
+        int index = Arrays.binarySearch(edgeKeys[node], c);
+        return index >= 0 ? edgeTargets[node][index] : DEAD;
+    }
+
+    /**
+     * Construction du trie, le temps de l'initialisation statique
+     */
+    private static final class Lexicon {
+        char[][] edgeKeys = new char[1][0];
+        int[][] edgeTargets = new int[1][0];
+        int[] nodeKind = new int[1];
+        int[] nodeValue = new int[1];
+        int nodeCount = 1;
+
+        void add(String word, int kind, int value) {
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                int next = findEdge(edgeKeys, edgeTargets, node, c);
+                if (next == DEAD) {
+                    next = newNode();
+                    char[] keys = edgeKeys[node];
+                    int[] targets = edgeTargets[node];
+                    int insertAt = -(Arrays.binarySearch(keys, c) + 1);
+
+                    char[] newKeys = new char[keys.length + 1];
+                    int[] newTargets = new int[targets.length + 1];
+                    System.arraycopy(keys, 0, newKeys, 0, insertAt);
+                    System.arraycopy(targets, 0, newTargets, 0, insertAt);
+                    newKeys[insertAt] = c;
+                    newTargets[insertAt] = next;
+                    System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+                    System.arraycopy(targets, insertAt, newTargets, insertAt + 1, targets.length - insertAt);
+
+                    edgeKeys[node] = newKeys;
+                    edgeTargets[node] = newTargets;
+                }
+                node = next;
+            }
+            nodeKind[node] = kind;
+            nodeValue[node] = value;
+        }
+
+        private int newNode() {
+            if (nodeCount == nodeKind.length) {
+                int capacity = nodeCount * 2;
+                edgeKeys = Arrays.copyOf(edgeKeys, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+                nodeKind = Arrays.copyOf(nodeKind, capacity);
+                nodeValue = Arrays.copyOf(nodeValue, capacity);
+            }
+            edgeKeys[nodeCount] = new char[0];
+            edgeTargets[nodeCount] = new int[0];
+            return nodeCount++;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bfr.helloworld.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * File circulaire bornée sans verrou, plusieurs producteurs / un seul consommateur
+ * (schéma de D. Vyukov) : chaque case porte un numéro de séquence qui indique
+ * si elle est libre pour le producteur ou prête pour le consommateur.
+ *
+ * Les cases sont allouées une fois pour toutes ; quand la file est pleine,
+ * le message est abandonné et compté plutôt que de bloquer l'appelant.
+ */
+final class LogRingBuffer {
+
+    static final class Entry {
+        volatile long sequence;
+        int level;
+        String tag;
+        String message;
+        String format;
+        Object[] args;
+        Supplier<String> supplier;
+        Throwable throwable;
+
+        void clear() {
+            tag = null;
+            message = null;
+            format = null;
+            args = null;
+            supplier = null;
+            throwable = null;
+        }
+    }
+
+    interface Sink {
+        void write(Entry entry);
+    }
+
+    private final Entry[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Consommateur unique ; volatile pour isEmpty depuis les autres threads
+    private volatile long head;
+
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new Entry[size];
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Entry();
+            slots[i].sequence = i;
+        }
+    }
+
+    /**
+     * Dépose un message ; false si la file est pleine (message perdu)
+     */
+    boolean offer(int level, String tag, String message, String format, Object[] args,
+                  Supplier<String> supplier, Throwable throwable) {
+        long position = tail.get();
+        while (true) {
+            Entry entry = slots[(int) position & mask];
+            long difference = entry.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entry.level = level;
+                    entry.tag = tag;
+                    entry.message = message;
+                    entry.format = format;
+                    entry.args = args;
+                    entry.supplier = supplier;
+                    entry.throwable = throwable;
+                    // Publication : visible du consommateur avec tous les champs
+                    entry.sequence = position + 1;
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                // Un autre producteur a pris la case
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Vide la file dans sink (consommateur unique)
+     *
+     * @return le nombre de messages écrits
+     */
+    int drain(Sink sink) {
+        int drained = 0;
+        long position = head;
+        while (true) {
+            Entry entry = slots[(int) position & mask];
+            if (entry.sequence != position + 1) {
+                break;
+            }
+            try {
+                sink.write(entry);
+            } finally {
+                entry.clear();
+                entry.sequence = position + slots.length;
+                position++;
+                head = position;
+            }
+            drained++;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
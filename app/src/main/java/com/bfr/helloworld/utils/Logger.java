@@ -1,30 +1,278 @@
 package com.bfr.helloworld.utils;
 
 import android.util.Log;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
  * Utilitaire de logging centralisé pour l'application
+ *
+ * Les appels ne font que déposer le message dans une file circulaire sans verrou ;
+ * un thread d'écriture unique construit le texte final et l'envoie à android.util.Log.
+ * Les niveaux sont réglables globalement et par tag. En mode release, un appel de
+ * debug désactivé coûte une seule comparaison.
+ *
+ * Pour éviter de construire le message quand il ne sera pas écrit :
+ * <pre>
+ * Logger.d(TAG, "Position: X=%.2f", x);                 // formaté par le thread d'écriture
+ * Logger.d(TAG, () -> "État: " + describe());            // évalué par le thread d'écriture
+ * if (Logger.isDebugEnabled(TAG)) { ... }                // boucles chaudes : ni boxing ni tableau
+ * </pre>
+ * Les arguments sont lus plus tard, sur le thread d'écriture : ne passer que des valeurs immuables.
  */
 public class Logger {
     private static final String APP_TAG = "MathQuizBuddy";
+    private static final String TAG = "Logger";
+
+    private static final int RING_CAPACITY = 1024;
+    // Attente du thread d'écriture quand la file est vide
+    private static final long WRITER_IDLE_NANOS = 20_000_000L;
+
+    private static final LogRingBuffer RING = new LogRingBuffer(RING_CAPACITY);
+    private static final Map<String, Integer> TAG_LEVELS = new ConcurrentHashMap<>();
+
+    private static volatile int defaultLevel = Log.VERBOSE;
+    // Plus bas niveau actif, tous tags confondus : premier (et souvent seul) test de chaque appel
+    private static volatile int minimumLevel = Log.VERBOSE;
+    private static volatile Thread writer;
+    private static long reportedDrops;
+
+    private Logger() {
+    }
+
+    // ========== NIVEAUX ==========
+
+    /**
+     * Niveau minimal des tags sans réglage propre (Log.VERBOSE ... Log.ERROR)
+     */
+    public static synchronized void setLevel(int level) {
+        defaultLevel = level;
+        updateMinimumLevel();
+    }
+
+    /**
+     * Niveau minimal d'un tag, prioritaire sur le niveau global
+     */
+    public static synchronized void setLevel(String tag, int level) {
+        TAG_LEVELS.put(tag, level);
+        updateMinimumLevel();
+    }
+
+    public static synchronized void clearLevel(String tag) {
+        TAG_LEVELS.remove(tag);
+        updateMinimumLevel();
+    }
+
+    /**
+     * Release : INFO et au-delà, réglages par tag effacés ; debug : tout est écrit
+     */
+    public static synchronized void setReleaseMode(boolean release) {
+        TAG_LEVELS.clear();
+        defaultLevel = release ? Log.INFO : Log.VERBOSE;
+        updateMinimumLevel();
+    }
+
+    private static void updateMinimumLevel() {
+        int minimum = defaultLevel;
+        for (int level : TAG_LEVELS.values()) {
+            minimum = Math.min(minimum, level);
+        }
+        minimumLevel = minimum;
+    }
+
+    public static boolean isLoggable(String tag, int level) {
+        if (level < minimumLevel) {
+            return false;
+        }
+        if (TAG_LEVELS.isEmpty()) {
+            return level >= defaultLevel;
+        }
+        Integer tagLevel = TAG_LEVELS.get(tag);
+        return level >= (tagLevel != null ? tagLevel : defaultLevel);
+    }
+
+    public static boolean isDebugEnabled(String tag) {
+        return Log.DEBUG >= minimumLevel && isLoggable(tag, Log.DEBUG);
+    }
+
+    // ========== MESSAGES ==========
 
     public static void i(String tag, String message) {
-        Log.i(APP_TAG + "_" + tag, message);
+        if (Log.INFO >= minimumLevel) {
+            log(Log.INFO, tag, message, null, null, null, null);
+        }
     }
 
     public static void d(String tag, String message) {
-        Log.d(APP_TAG + "_" + tag, message);
+        if (Log.DEBUG >= minimumLevel) {
+            log(Log.DEBUG, tag, message, null, null, null, null);
+        }
     }
 
     public static void w(String tag, String message) {
-        Log.w(APP_TAG + "_" + tag, message);
+        if (Log.WARN >= minimumLevel) {
+            log(Log.WARN, tag, message, null, null, null, null);
+        }
     }
 
     public static void e(String tag, String message) {
-        Log.e(APP_TAG + "_" + tag, message);
+        if (Log.ERROR >= minimumLevel) {
+            log(Log.ERROR, tag, message, null, null, null, null);
+        }
     }
 
     public static void e(String tag, String message, Throwable throwable) {
-        Log.e(APP_TAG + "_" + tag, message, throwable);
+        if (Log.ERROR >= minimumLevel) {
+            log(Log.ERROR, tag, message, null, null, null, throwable);
+        }
+    }
+
+    /**
+     * Message construit par le thread d'écriture, seulement si le niveau est actif
+     */
+    public static void d(String tag, Supplier<String> message) {
+        if (Log.DEBUG >= minimumLevel) {
+            log(Log.DEBUG, tag, null, null, null, message, null);
+        }
+    }
+
+    public static void i(String tag, Supplier<String> message) {
+        if (Log.INFO >= minimumLevel) {
+            log(Log.INFO, tag, null, null, null, message, null);
+        }
+    }
+
+    /**
+     * Message formaté (String.format, Locale.ROOT) par le thread d'écriture
+     */
+    public static void d(String tag, String format, Object... args) {
+        if (Log.DEBUG >= minimumLevel) {
+            log(Log.DEBUG, tag, null, format, args, null, null);
+        }
+    }
+
+    public static void i(String tag, String format, Object... args) {
+        if (Log.INFO >= minimumLevel) {
+            log(Log.INFO, tag, null, format, args, null, null);
+        }
+    }
+
+    public static void w(String tag, String format, Object... args) {
+        if (Log.WARN >= minimumLevel) {
+            log(Log.WARN, tag, null, format, args, null, null);
+        }
+    }
+
+    private static void log(int level, String tag, String message, String format, Object[] args,
+                            Supplier<String> supplier, Throwable throwable) {
+        if (!isLoggable(tag, level)) {
+            return;
+        }
+        Thread current = writer;
+        if (current == null) {
+            current = startWriter();
+        }
+        if (RING.offer(level, tag, message, format, args, supplier, throwable) && level >= Log.WARN) {
+            // Avertissements et erreurs sans attendre le prochain réveil
+            LockSupport.unpark(current);
+        }
+    }
+
+    // ========== THREAD D'ÉCRITURE ==========
+
+    private static synchronized Thread startWriter() {
+        if (writer == null) {
+            Thread thread = new Thread(Logger::drainLoop, APP_TAG + "-log");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+            writer = thread;
+        }
+        return writer;
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            if (RING.drain(Logger::write) == 0) {
+                reportDrops();
+                LockSupport.parkNanos(WRITER_IDLE_NANOS);
+            }
+        }
+    }
+
+    private static void write(LogRingBuffer.Entry entry) {
+        String text;
+        try {
+            if (entry.message != null) {
+                text = entry.message;
+            } else if (entry.supplier != null) {
+                text = entry.supplier.get();
+            } else {
+                text = String.format(Locale.ROOT, entry.format, entry.args);
+            }
+        } catch (RuntimeException e) {
+            text = (entry.format != null ? entry.format : "?") + " [formatage impossible: " + e + "]";
+        }
+
+        String tag = APP_TAG + "_" + entry.tag;
+        switch (entry.level) {
+            case Log.ERROR:
+                if (entry.throwable != null) {
+                    Log.e(tag, text, entry.throwable);
+                } else {
+                    Log.e(tag, text);
+                }
+                break;
+            case Log.WARN:
+                Log.w(tag, text);
+                break;
+            case Log.INFO:
+                Log.i(tag, text);
+                break;
+            default:
+                Log.d(tag, text);
+                break;
+        }
+    }
+
+    // Appelé par le thread d'écriture seulement
+    private static void reportDrops() {
+        long dropped = RING.getDropped();
+        if (dropped > reportedDrops) {
+            Log.w(APP_TAG + "_" + TAG, (dropped - reportedDrops) + " message(s) perdu(s) : file de "
+                    + RING.capacity() + " pleine");
+            reportedDrops = dropped;
+        }
+    }
+
+    /**
+     * Messages perdus depuis le démarrage (file pleine)
+     */
+    public static long getDroppedCount() {
+        return RING.getDropped();
+    }
+
+    /**
+     * Attend que les messages en file soient écrits (fermeture de l'application)
+     *
+     * @return false si la file n'est pas vide au bout de timeoutMs
+     */
+    public static boolean flush(long timeoutMs) {
+        Thread current = writer;
+        if (current == null) {
+            return true;
+        }
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        while (!RING.isEmpty()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(current);
+            LockSupport.parkNanos(1_000_000L);
+        }
+        return true;
     }
 }
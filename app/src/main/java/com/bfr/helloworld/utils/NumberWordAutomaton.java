@@ -0,0 +1,246 @@
+package com.bfr.helloworld.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Automate Aho-Corasick pour trouver les mots-nombres dans une phrase en une seule passe.
+ *
+ * Chaque mot-clé appartient à un niveau (0 = nombre direct, 1 = correction phonétique).
+ * En cas de chevauchement, la correspondance retenue est déterministe :
+ * niveau le plus bas, puis la plus longue, puis la plus à droite.
+ */
+public final class NumberWordAutomaton {
+
+    public static final int TIER_DIRECT = 0;
+    public static final int TIER_PHONETIC = 1;
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    /**
+     * Correspondance retenue par l'automate
+     */
+    public static final class Match {
+        private final String keyword;
+        private final int value;
+        private final int start;
+        private final int tier;
+
+        Match(String keyword, int value, int start, int tier) {
+            this.keyword = keyword;
+            this.value = value;
+            this.start = start;
+            this.tier = tier;
+        }
+
+        public String getKeyword() { return keyword; }
+        public int getValue() { return value; }
+        public int getStart() { return start; }
+        public int getEnd() { return start + keyword.length(); }
+        public int getTier() { return tier; }
+    }
+
+    // Transitions par nœud : clés triées et cibles correspondantes
+    private final char[][] edgeKeys;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    // Lien vers le prochain nœud terminal dans la chaîne des suffixes
+    private final int[] outputLink;
+    private final String[] keywords;
+    private final int[] values;
+    private final int[] tiers;
+
+    private NumberWordAutomaton(List<char[]> keys, List<int[]> targets, int[] fail, int[] outputLink,
+                                String[] keywords, int[] values, int[] tiers) {
+        this.edgeKeys = keys.toArray(new char[0][]);
+        this.edgeTargets = targets.toArray(new int[0][]);
+        this.fail = fail;
+        this.outputLink = outputLink;
+        this.keywords = keywords;
+        this.values = values;
+        this.tiers = tiers;
+    }
+
+    /**
+     * Construit l'automate à partir des tables, dans l'ordre des niveaux.
+     * Un mot-clé déjà présent dans un niveau inférieur est ignoré.
+     */
+    @SafeVarargs
+    public static NumberWordAutomaton build(Map<String, Integer>... tables) {
+        List<char[]> keys = new ArrayList<>();
+        List<int[]> targets = new ArrayList<>();
+        List<String> keywordList = new ArrayList<>();
+        List<Integer> valueList = new ArrayList<>();
+        List<Integer> tierList = new ArrayList<>();
+
+        keys.add(new char[0]);
+        targets.add(new int[0]);
+        keywordList.add(null);
+        valueList.add(NONE);
+        tierList.add(NONE);
+
+        for (int tier = 0; tier < tables.length; tier++) {
+            for (Map.Entry<String, Integer> entry : tables[tier].entrySet()) {
+                String keyword = entry.getKey();
+                if (keyword == null || keyword.isEmpty()) {
+                    continue;
+                }
+
+                int node = ROOT;
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = keyword.charAt(i);
+                    int next = findEdge(keys.get(node), targets.get(node), c);
+                    if (next == NONE) {
+                        next = keys.size();
+                        keys.add(new char[0]);
+                        targets.add(new int[0]);
+                        keywordList.add(null);
+                        valueList.add(NONE);
+                        tierList.add(NONE);
+                        addEdge(keys, targets, node, c, next);
+                    }
+                    node = next;
+                }
+
+                if (keywordList.get(node) == null) {
+                    keywordList.set(node, keyword);
+                    valueList.set(node, entry.getValue());
+                    tierList.set(node, tier);
+                }
+            }
+        }
+
+        int size = keys.size();
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, NONE);
+
+        // Parcours en largeur pour calculer les liens d'échec
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets.get(ROOT)) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            char[] nodeKeys = keys.get(node);
+            int[] nodeTargets = targets.get(node);
+
+            for (int i = 0; i < nodeKeys.length; i++) {
+                char c = nodeKeys[i];
+                int child = nodeTargets[i];
+
+                int f = fail[node];
+                int next = findEdge(keys.get(f), targets.get(f), c);
+                while (next == NONE && f != ROOT) {
+                    f = fail[f];
+                    next = findEdge(keys.get(f), targets.get(f), c);
+                }
+                fail[child] = (next == NONE || next == child) ? ROOT : next;
+
+                int suffix = fail[child];
+                outputLink[child] = keywordList.get(suffix) != null ? suffix : outputLink[suffix];
+
+                queue.add(child);
+            }
+        }
+
+        String[] keywords = keywordList.toArray(new String[0]);
+        int[] values = new int[size];
+        int[] tiers = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = valueList.get(i);
+            tiers[i] = tierList.get(i);
+        }
+
+        return new NumberWordAutomaton(keys, targets, fail, outputLink, keywords, values, tiers);
+    }
+
+    /**
+     * Parcourt le texte une seule fois et retourne la meilleure correspondance, ou null
+     */
+    public Match findBest(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+
+        int node = ROOT;
+        int bestNode = NONE;
+        int bestEnd = NONE;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            int next = findEdge(edgeKeys[node], edgeTargets[node], c);
+            while (next == NONE && node != ROOT) {
+                node = fail[node];
+                next = findEdge(edgeKeys[node], edgeTargets[node], c);
+            }
+            node = next == NONE ? ROOT : next;
+
+            int candidate = keywords[node] != null ? node : outputLink[node];
+            while (candidate != NONE) {
+                if (isBetter(candidate, i + 1, bestNode, bestEnd)) {
+                    bestNode = candidate;
+                    bestEnd = i + 1;
+                }
+                candidate = outputLink[candidate];
+            }
+        }
+
+        if (bestNode == NONE) {
+            return null;
+        }
+
+        String keyword = keywords[bestNode];
+        return new Match(keyword, values[bestNode], bestEnd - keyword.length(), tiers[bestNode]);
+    }
+
+    /**
+     * Nombre de nœuds de l'automate (diagnostic)
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    private boolean isBetter(int node, int end, int bestNode, int bestEnd) {
+        if (bestNode == NONE) return true;
+        if (tiers[node] != tiers[bestNode]) return tiers[node] < tiers[bestNode];
+
+        int length = keywords[node].length();
+        int bestLength = keywords[bestNode].length();
+        if (length != bestLength) return length > bestLength;
+
+        // Même niveau et même longueur : la plus à droite l'emporte
+        return end >= bestEnd;
+    }
+
+    private static int findEdge(char[] nodeKeys, int[] nodeTargets, char c) {
+        int index = Arrays.binarySearch(nodeKeys, c);
+        return index >= 0 ? nodeTargets[index] : NONE;
+    }
+
+    private static void addEdge(List<char[]> keys, List<int[]> targets, int node, char c, int target) {
+        char[] oldKeys = keys.get(node);
+        int[] oldTargets = targets.get(node);
+
+        int insertAt = -(Arrays.binarySearch(oldKeys, c) + 1);
+        char[] newKeys = new char[oldKeys.length + 1];
+        int[] newTargets = new int[oldTargets.length + 1];
+
+        System.arraycopy(oldKeys, 0, newKeys, 0, insertAt);
+        System.arraycopy(oldTargets, 0, newTargets, 0, insertAt);
+        newKeys[insertAt] = c;
+        newTargets[insertAt] = target;
+        System.arraycopy(oldKeys, insertAt, newKeys, insertAt + 1, oldKeys.length - insertAt);
+        System.arraycopy(oldTargets, insertAt, newTargets, insertAt + 1, oldTargets.length - insertAt);
+
+        keys.set(node, newKeys);
+        targets.set(node, newTargets);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bfr.helloworld.utils;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,9 +12,27 @@ public class PhoneticCorrector {
     private static final Map<String, Integer> DIRECT_NUMBERS = new HashMap<>();
     private static final Map<String, Integer> PHONETIC_CORRECTIONS = new HashMap<>();
 
+    // Distance maximale acceptée pour la recherche floue
+    private static final int MAX_FUZZY_DISTANCE = 2;
+
+    // Automate compilé une seule fois à partir des deux tables (directes puis phonétiques)
+    private static final NumberWordAutomaton NUMBER_WORDS;
+
+    // Index BK-tree du vocabulaire pour la recherche floue
+    private static final BkTree FUZZY_INDEX;
+    private static final ThreadLocal<BkTree.Searcher> FUZZY_SEARCHER;
+
     static {
         initializeDirectNumbers();
         initializePhoneticCorrections();
+        NUMBER_WORDS = NumberWordAutomaton.build(DIRECT_NUMBERS, PHONETIC_CORRECTIONS);
+        FUZZY_INDEX = buildFuzzyIndex();
+        FUZZY_SEARCHER = new ThreadLocal<BkTree.Searcher>() {
+            @Override
+            protected BkTree.Searcher initialValue() {
+                return FUZZY_INDEX.newSearcher();
+            }
+        };
     }
 
     private static void initializeDirectNumbers() {
@@ -97,105 +116,140 @@ public class PhoneticCorrector {
         PHONETIC_CORRECTIONS.put("die", 10);
     }
 
+    private static BkTree buildFuzzyIndex() {
+        // Ordre alphabétique pour un départage déterministe à distance égale
+        String[] words = DIRECT_NUMBERS.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+
+        int[] values = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            values[i] = DIRECT_NUMBERS.get(words[i]);
+        }
+        return BkTree.build(words, values);
+    }
+
     /**
-     * Extrait un nombre d'un texte avec corrections phonétiques
+     * Méthode ayant permis d'extraire le nombre, de la plus sûre à la moins sûre
      */
-    public static int extractNumberWithPhoneticCorrection(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            return -1;
+    public enum MatchKind {
+        DIRECT(1.0f),
+        GRAMMAR(0.95f),
+        PHONETIC(0.8f),
+        SUBSTRING_DIRECT(0.7f),
+        SUBSTRING_PHONETIC(0.5f),
+        FUZZY(0.4f),
+        NONE(0.0f);
+
+        private final float quality;
+
+        MatchKind(float quality) {
+            this.quality = quality;
         }
 
-        String cleanText = text.toLowerCase().trim();
-        Logger.d("PhoneticCorrector", "Analyse du texte: '" + cleanText + "'");
-
-        // 1. Mapping direct
-        if (DIRECT_NUMBERS.containsKey(cleanText)) {
-            Logger.d("PhoneticCorrector", "Correspondance directe: " + cleanText + " -> " + DIRECT_NUMBERS.get(cleanText));
-            return DIRECT_NUMBERS.get(cleanText);
+        /**
+         * Qualité de l'analyse entre 0 et 1
+         */
+        public float getQuality() {
+            return quality;
         }
+    }
 
-        // 2. Corrections phonétiques
-        if (PHONETIC_CORRECTIONS.containsKey(cleanText)) {
-            Logger.d("PhoneticCorrector", "Correction phonétique: " + cleanText + " -> " + PHONETIC_CORRECTIONS.get(cleanText));
-            return PHONETIC_CORRECTIONS.get(cleanText);
-        }
+    /**
+     * Résultat détaillé d'une extraction
+     */
+    public static final class Extraction {
+        private static final Extraction NOT_FOUND = new Extraction(-1, MatchKind.NONE, 0);
 
-        // 3. Recherche dans les sous-chaînes
-        for (Map.Entry<String, Integer> entry : DIRECT_NUMBERS.entrySet()) {
-            if (cleanText.contains(entry.getKey())) {
-                Logger.d("PhoneticCorrector", "Trouvé dans sous-chaîne: " + entry.getKey() + " -> " + entry.getValue());
-                return entry.getValue();
-            }
-        }
+        private final int value;
+        private final MatchKind kind;
+        private final int distance;
 
-        // 4. Corrections phonétiques dans les sous-chaînes
-        for (Map.Entry<String, Integer> entry : PHONETIC_CORRECTIONS.entrySet()) {
-            if (cleanText.contains(entry.getKey())) {
-                Logger.d("PhoneticCorrector", "Correction phonétique dans sous-chaîne: " + entry.getKey() + " -> " + entry.getValue());
-                return entry.getValue();
-            }
+        Extraction(int value, MatchKind kind, int distance) {
+            this.value = value;
+            this.kind = kind;
+            this.distance = distance;
         }
 
-        // 5. Parsing numérique
-        try {
-            return Integer.parseInt(cleanText);
-        } catch (NumberFormatException e) {
-            // Continue
-        }
+        public int getValue() { return value; }
+        public MatchKind getKind() { return kind; }
+        public boolean isFound() { return kind != MatchKind.NONE; }
 
-        // 6. Recherche floue
-        return findClosestNumberMatch(cleanText);
+        /**
+         * Qualité de l'analyse, pénalisée par la distance d'édition en recherche floue
+         */
+        public float getQuality() {
+            return kind.getQuality() / (1 + distance);
+        }
     }
 
     /**
-     * Recherche floue avec distance de Levenshtein
+     * Extrait un nombre d'un texte avec corrections phonétiques
      */
-    private static int findClosestNumberMatch(String input) {
-        String bestMatch = null;
-        int minDistance = Integer.MAX_VALUE;
-
-        for (String numberWord : DIRECT_NUMBERS.keySet()) {
-            int distance = levenshteinDistance(input, numberWord);
-            if (distance < minDistance && distance <= 2) {
-                minDistance = distance;
-                bestMatch = numberWord;
-            }
-        }
-
-        if (bestMatch != null) {
-            Logger.d("PhoneticCorrector", "Correspondance floue: " + input + " -> " + bestMatch + " (distance: " + minDistance + ")");
-            return DIRECT_NUMBERS.get(bestMatch);
-        }
-
-        return -1;
+    public static int extractNumberWithPhoneticCorrection(String text) {
+        return analyze(text).getValue();
     }
 
     /**
-     * Calcule la distance de Levenshtein entre deux chaînes
+     * Extrait un nombre et indique par quelle méthode il a été trouvé
      */
-    private static int levenshteinDistance(String a, String b) {
-        if (a == null || b == null) return Integer.MAX_VALUE;
+    public static Extraction analyze(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return Extraction.NOT_FOUND;
+        }
 
-        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        String cleanText = text.toLowerCase().trim();
+        Logger.d("PhoneticCorrector", "Analyse du texte: '%s'", cleanText);
 
-        for (int i = 0; i <= a.length(); i++) {
-            dp[i][0] = i;
+        // 1. Mapping direct
+        Integer direct = DIRECT_NUMBERS.get(cleanText);
+        if (direct != null) {
+            Logger.d("PhoneticCorrector", "Correspondance directe: %s -> %d", cleanText, direct);
+            return new Extraction(direct, MatchKind.DIRECT, 0);
         }
-        for (int j = 0; j <= b.length(); j++) {
-            dp[0][j] = j;
+
+        // 2. Corrections phonétiques
+        Integer phonetic = PHONETIC_CORRECTIONS.get(cleanText);
+        if (phonetic != null) {
+            Logger.d("PhoneticCorrector", "Correction phonétique: %s -> %d", cleanText, phonetic);
+            return new Extraction(phonetic, MatchKind.PHONETIC, 0);
+        }
+
+        // 3. Grammaire des nombres composés ("soixante-dix-sept", "deux cent trois", "2 cents"...)
+        int parsed = FrenchNumberParser.parse(cleanText);
+        if (parsed != FrenchNumberParser.NO_NUMBER) {
+            Logger.d("PhoneticCorrector", "Nombre composé: %s -> %d", cleanText, parsed);
+            return new Extraction(parsed, MatchKind.GRAMMAR, 0);
         }
 
-        for (int i = 1; i <= a.length(); i++) {
-            for (int j = 1; j <= b.length(); j++) {
-                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(
-                                dp[i - 1][j] + 1,        // deletion
-                                dp[i][j - 1] + 1),       // insertion
-                        dp[i - 1][j - 1] + cost  // substitution
-                );
+        // 4. Recherche dans les sous-chaînes (une seule passe, directes avant phonétiques,
+        //    puis la plus longue, puis la plus à droite)
+        NumberWordAutomaton.Match match = NUMBER_WORDS.findBest(cleanText);
+        if (match != null) {
+            if (match.getTier() == NumberWordAutomaton.TIER_DIRECT) {
+                Logger.d("PhoneticCorrector", "Trouvé dans sous-chaîne: %s -> %d", match.getKeyword(), match.getValue());
+                return new Extraction(match.getValue(), MatchKind.SUBSTRING_DIRECT, 0);
             }
+            Logger.d("PhoneticCorrector", "Correction phonétique dans sous-chaîne: %s -> %d", match.getKeyword(), match.getValue());
+            return new Extraction(match.getValue(), MatchKind.SUBSTRING_PHONETIC, 0);
+        }
+
+        // 5. Recherche floue
+        return findClosestNumberMatch(cleanText);
+    }
+
+    /**
+     * Recherche floue bornée (distance <= 2) via le BK-tree, sans allocation
+     */
+    private static Extraction findClosestNumberMatch(String input) {
+        BkTree.Searcher searcher = FUZZY_SEARCHER.get();
+        int index = searcher.search(input, MAX_FUZZY_DISTANCE);
+
+        if (index >= 0) {
+            Logger.d("PhoneticCorrector", "Correspondance floue: %s -> %s (distance: %d)",
+                    input, FUZZY_INDEX.wordAt(index), searcher.getBestDistance());
+            return new Extraction(FUZZY_INDEX.valueAt(index), MatchKind.FUZZY, searcher.getBestDistance());
         }
 
-        return dp[a.length()][b.length()];
+        return Extraction.NOT_FOUND;
     }
 }
@@ -0,0 +1,22 @@
+package com.bfr.helloworld.utils;
+
+/**
+ * Hypothèse de reconnaissance vocale (une entrée de la liste N-best)
+ */
+public class SpeechHypothesis {
+    private final String utterance;
+    private final float confidence;
+
+    public SpeechHypothesis(String utterance, float confidence) {
+        this.utterance = utterance;
+        this.confidence = confidence;
+    }
+
+    public String getUtterance() { return utterance; }
+    public float getConfidence() { return confidence; }
+
+    @Override
+    public String toString() {
+        return "'" + utterance + "' (" + confidence + ")";
+    }
+}
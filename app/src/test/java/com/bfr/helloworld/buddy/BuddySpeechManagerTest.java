@@ -0,0 +1,223 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.BuddySpeechManager.Priority;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.FacePort;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.buddy.sdk.SpeechPort;
+import com.bfr.helloworld.buddy.sdk.VisionPort;
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BuddySpeechManagerTest {
+
+    private FakeSpeech speech;
+    private BuddySpeechManager manager;
+    private final List<String> signals = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        speech = new FakeSpeech();
+        VirtualScheduler scheduler = new VirtualScheduler();
+        manager = new BuddySpeechManager(new BuddyPlatform() {
+            @Override public SpeechPort speech() { return speech; }
+            @Override public MotorPort motors() { return null; }
+            @Override public FacePort face() { return null; }
+            @Override public VisionPort vision() { return null; }
+            @Override public Scheduler scheduler() { return scheduler; }
+        });
+    }
+
+    private BuddySpeechManager.SpeechCallback record(String name) {
+        return new BuddySpeechManager.SpeechCallback() {
+            @Override
+            public void onSpeechFinished() {
+                signals.add(name + ":fin");
+            }
+
+            @Override
+            public void onSpeechError(String error) {
+                signals.add(name + ":erreur");
+            }
+
+            @Override
+            public void onSpeechCancelled(String reason) {
+                signals.add(name + ":annulé");
+            }
+        };
+    }
+
+    @Test
+    public void queuedMessagesFollowPriorityThenArrival() {
+        manager.speak("question 1", Priority.QUESTION, record("q1"));
+        manager.speak("erreur", Priority.ERROR, record("erreur"));
+        manager.speak("retour", Priority.FEEDBACK, record("retour"));
+        manager.speak("question 2", Priority.QUESTION, record("q2"));
+        manager.speak("retour 2", Priority.FEEDBACK, record("retour2"));
+        assertEquals(4, manager.getQueueDepth());
+
+        for (int i = 0; i < 5; i++) {
+            speech.finishCurrent();
+        }
+        assertEquals("[question 1, question 2, retour, retour 2, erreur]", speech.spoken.toString());
+        assertEquals("[q1:fin, q2:fin, retour:fin, retour2:fin, erreur:fin]", signals.toString());
+        assertFalse(manager.isSpeaking());
+    }
+
+    @Test
+    public void higherPriorityInterruptsCurrentMessage() {
+        manager.speak("retour", Priority.FEEDBACK, record("retour"));
+        SpeechPort.SpeakListener interrupted = speech.current;
+        manager.speak("urgence", Priority.EMERGENCY, record("urgence"));
+
+        assertEquals(1, speech.stopCount);
+        assertEquals("[retour:annulé]", signals.toString());
+
+        // Fin tardive du message interrompu : déjà signalé, ignorée
+        interrupted.onSpeakDone();
+        assertEquals("[retour:annulé]", signals.toString());
+        assertTrue(manager.isSpeaking());
+
+        speech.finishCurrent();
+        assertEquals("[retour:annulé, urgence:fin]", signals.toString());
+    }
+
+    @Test
+    public void queuedFillersAreCoalesced() {
+        manager.speak("question", Priority.QUESTION, record("question"));
+        manager.speak("Je t'écoute...", Priority.FILLER, record("relance1"));
+        manager.speak("Je t'écoute...", Priority.FILLER, record("relance2"));
+        assertEquals(1, manager.getQueueDepth());
+
+        speech.finishCurrent();
+        speech.finishCurrent();
+        assertEquals("[question, Je t'écoute...]", speech.spoken.toString());
+        assertEquals("[question:fin, relance1:fin, relance2:fin]", signals.toString());
+    }
+
+    @Test
+    public void usefulMessageDropsQueuedFiller() {
+        manager.speak("question", Priority.QUESTION, record("question"));
+        manager.speak("Je t'écoute...", Priority.FILLER, record("relance"));
+        manager.speak("erreur", Priority.ERROR, record("erreur"));
+
+        assertEquals("[relance:annulé]", signals.toString());
+        assertEquals(1, manager.getQueueDepth());
+    }
+
+    @Test
+    public void stopSpeakingSignalsEveryMessageOnce() {
+        manager.speak("un", Priority.FEEDBACK, record("un"));
+        manager.speak("deux", Priority.FEEDBACK, record("deux"));
+        manager.speak("trois", Priority.ERROR, record("trois"));
+
+        manager.stopSpeaking();
+        assertEquals("[un:annulé, deux:annulé, trois:annulé]", signals.toString());
+        assertEquals(0, manager.getQueueDepth());
+        assertFalse(manager.isSpeaking());
+
+        speech.current.onSpeakDone();
+        assertEquals(3, signals.size());
+    }
+
+    @Test
+    public void ttsErrorMovesToNextMessage() {
+        manager.speak("un", Priority.FEEDBACK, record("un"));
+        manager.speak("deux", Priority.FEEDBACK, record("deux"));
+
+        speech.current.onSpeakError("occupé");
+        assertEquals("[un:erreur]", signals.toString());
+        assertEquals("[un, deux]", speech.spoken.toString());
+    }
+
+    @Test
+    public void emptyMessageIsRejected() {
+        manager.speak("  ", Priority.FEEDBACK, record("vide"));
+        assertEquals("[vide:erreur]", signals.toString());
+        assertTrue(speech.spoken.isEmpty());
+    }
+
+    @Test
+    public void stopListeningIgnoresLateResult() {
+        List<String> results = new ArrayList<>();
+        manager.startListening(new BuddySpeechManager.ListeningCallback() {
+            @Override
+            public void onSpeechRecognized(String utterance, float confidence) {
+                results.add(utterance);
+            }
+
+            @Override
+            public void onListeningError(String error) {
+                results.add("erreur");
+            }
+        });
+        assertTrue(manager.isListening());
+
+        // Deuxième démarrage ignoré
+        manager.startListening(error -> results.add("doublon"));
+        assertEquals(1, speech.tasks.size());
+
+        manager.stopListening();
+        assertFalse(manager.isListening());
+        assertTrue(speech.tasks.get(0).stopped);
+
+        speech.tasks.get(0).listener.onResults(Collections.singletonList(new SpeechHypothesis("douze", 0.9f)));
+        assertTrue(results.isEmpty());
+    }
+
+    /**
+     * TTS piloté par le test : chaque parole reste en cours jusqu'à finishCurrent()
+     */
+    private static final class FakeSpeech implements SpeechPort {
+        final List<String> spoken = new ArrayList<>();
+        final List<FakeTask> tasks = new ArrayList<>();
+        SpeakListener current;
+        int stopCount;
+
+        @Override
+        public void startSpeaking(String text, SpeakListener listener) {
+            spoken.add(text);
+            current = listener;
+        }
+
+        @Override
+        public void stopSpeaking() {
+            stopCount++;
+        }
+
+        @Override
+        public ListenTask createFreeSpeechTask(Locale locale) {
+            FakeTask task = new FakeTask();
+            tasks.add(task);
+            return task;
+        }
+
+        void finishCurrent() {
+            current.onSpeakDone();
+        }
+    }
+
+    private static final class FakeTask implements SpeechPort.ListenTask {
+        SpeechPort.ListenListener listener;
+        boolean stopped;
+
+        @Override
+        public void start(SpeechPort.ListenListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.Choreography.Axis;
+import com.bfr.helloworld.buddy.Choreography.Keyframe;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ChoreographyTest {
+
+    private static void assertRejected(String text, String expectedInMessage) {
+        try {
+            Choreography.parse(text);
+            fail("Geste accepté: " + text);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedInMessage));
+        }
+    }
+
+    @Test
+    public void parsesSectionsInOrder() {
+        Map<String, Choreography> gestures = Choreography.parse(
+                "# gestes\n"
+                        + "[hochement]\n"
+                        + "yes  50  20  200   # descente\n"
+                        + "YES  60 -20\n"
+                        + "\n"
+                        + "[ danse ]\n"
+                        + "wheels -90 180\n"
+                        + "no 0 0 300\n"
+                        + "no\t45\t30\n");
+
+        assertEquals(Arrays.asList("hochement", "danse"), Arrays.asList(gestures.keySet().toArray()));
+
+        Choreography nod = gestures.get("hochement");
+        assertEquals(2, nod.getKeyframes().size());
+        Keyframe first = nod.getKeyframes().get(0);
+        assertEquals(Axis.YES, first.axis);
+        assertEquals(50, first.speed, 0);
+        assertEquals(20, first.angle, 0);
+        assertEquals(200, first.holdMs);
+        assertEquals(0, nod.getKeyframes().get(1).holdMs);
+
+        Choreography dance = gestures.get("danse");
+        assertTrue(dance.getKeyframes().get(1).isPause());
+        assertTrue(dance.uses(Axis.WHEELS));
+        assertTrue(dance.uses(Axis.NO));
+        assertFalse(dance.uses(Axis.YES));
+    }
+
+    @Test
+    public void pauseOnlyAxisIsNotUsed() {
+        Choreography choreography = new Choreography("attente", Arrays.asList(
+                new Keyframe(Axis.YES, 0, 0, 500),
+                new Keyframe(Axis.NO, 30, 10, 0)));
+        assertFalse(choreography.uses(Axis.YES));
+        assertTrue(choreography.uses(Axis.NO));
+    }
+
+    @Test
+    public void keyframesAreImmutable() {
+        Choreography choreography = new Choreography("geste", Collections.singletonList(
+                new Keyframe(Axis.NO, 30, 10, 0)));
+        try {
+            choreography.getKeyframes().clear();
+            fail("Liste modifiable");
+        } catch (UnsupportedOperationException expected) {
+            assertEquals(1, choreography.getKeyframes().size());
+        }
+    }
+
+    @Test
+    public void cumulativeAngleMustStayInRange() {
+        // 20 + 20 = 40° > 30° de débattement vertical
+        assertRejected("[trop]\nyes 50 20\nyes 50 20\n", "pas 2");
+        // Les allers-retours restent dans le débattement
+        assertEquals(1, Choreography.parse("[ok]\nyes 50 25\nyes 50 -50\nyes 50 25\n").size());
+        assertRejected("[tourne]\nno 60 60\nno 60 40\n", "hors débattement");
+    }
+
+    @Test
+    public void speedLimitsAreEnforced() {
+        assertRejected("[rapide]\nyes 61 10\n", "vitesse");
+        assertRejected("[négatif]\nno -30 10\n", "vitesse");
+        assertRejected("[roues]\nwheels 0 90\n", "vitesse");
+        assertRejected("[roues]\nwheels 121 90\n", "vitesse");
+        // Roues : le signe de la vitesse donne le sens
+        assertEquals(1, Choreography.parse("[roues]\nwheels -120 720\n").size());
+        assertRejected("[roues]\nwheels 60 721\n", "hors débattement");
+    }
+
+    @Test
+    public void nonFiniteValuesAreRejected() {
+        assertRejected("[nan]\nyes NaN 10\n", "non fini");
+        assertRejected("[nan]\nno 30 NaN\n", "non fini");
+        assertRejected("[infini]\nwheels 60 Infinity\n", "non fini");
+        assertRejected("[infini]\nyes -Infinity 10\n", "non fini");
+        assertRejected("[pause]\nyes 0 0 NaN\n", "nombre invalide");
+        try {
+            new Choreography("nan", Collections.singletonList(new Keyframe(Axis.NO, Float.NaN, 0, 0)));
+            fail("NaN accepté");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("pas 1"));
+        }
+    }
+
+    @Test
+    public void holdLimitsAreEnforced() {
+        assertRejected("[pause]\nyes 0 0 10001\n", "pause");
+        assertRejected("[pause]\nno 30 10 -1\n", "pause");
+    }
+
+    @Test
+    public void syntaxErrorsReportTheLine() {
+        assertRejected("yes 50 20\n", "Ligne 1");
+        assertRejected("[g]\nyes 50\n", "Ligne 2");
+        assertRejected("[g]\n\nbras 50 20\n", "Ligne 3: axe inconnu 'bras'");
+        assertRejected("[g]\nyes cinquante 20\n", "Ligne 2: nombre invalide");
+        assertRejected("[g]\nyes 50 20 100 5\n", "Ligne 2");
+    }
+
+    @Test
+    public void invalidGestureReportsItsEnd() {
+        assertRejected("[vide]\n[suivant]\nno 30 10\n", "Avant la ligne 2: Geste 'vide' vide");
+        assertRejected("[g]\nyes 50 40\n", "Avant la ligne 3");
+    }
+
+    @Test
+    public void emptyTextHasNoGesture() {
+        assertTrue(Choreography.parse("").isEmpty());
+        assertTrue(Choreography.parse("# rien\n\n").isEmpty());
+    }
+}
@@ -0,0 +1,159 @@
+package com.bfr.helloworld.buddy;
+
+import com.bfr.helloworld.buddy.HeadMotorBus.HeadAxis;
+import com.bfr.helloworld.buddy.HeadMotorBus.Priority;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HeadMotorBusTest {
+
+    private VirtualScheduler scheduler;
+    private RecordingMotors motors;
+    private HeadMotorBus bus;
+
+    @Before
+    public void setUp() {
+        scheduler = new VirtualScheduler();
+        // Hors de l'intervalle minimal d'une commande envoyée « à l'instant 0 »
+        scheduler.advanceBy(1000);
+        motors = new RecordingMotors();
+        bus = new HeadMotorBus(motors, scheduler);
+    }
+
+    @Test
+    public void closeTrackingCommandsKeepOnlyTheLatest() {
+        Result first = new Result();
+        Result second = new Result();
+        Result third = new Result();
+
+        assertTrue(bus.moveNo(Priority.TRACKING, 30, 5, first));
+        scheduler.advanceBy(10);
+        assertTrue(bus.moveNo(Priority.TRACKING, 30, 6, second));
+        assertTrue(bus.moveNo(Priority.TRACKING, 30, 7, third));
+        assertEquals("[NO 5.0]", motors.sent.toString());
+        assertEquals(HeadMotorBus.MERGED, second.failure);
+
+        scheduler.advanceBy(HeadMotorBus.MIN_COMMAND_INTERVAL_MS);
+        assertEquals("[NO 5.0, NO 7.0]", motors.sent.toString());
+        assertEquals(1000 + HeadMotorBus.MIN_COMMAND_INTERVAL_MS, motors.sentAt.get(1).longValue());
+        assertNull(third.failure);
+        assertEquals(2, bus.getIssuedCount());
+        assertEquals(1, bus.getMergedCount());
+    }
+
+    @Test
+    public void axesAreIndependent() {
+        bus.moveNo(Priority.TRACKING, 30, 5, new Result());
+        bus.moveYes(Priority.TRACKING, 30, 3, new Result());
+        assertEquals("[NO 5.0, YES 3.0]", motors.sent.toString());
+    }
+
+    @Test
+    public void claimedAxisRefusesTracking() {
+        Result pending = new Result();
+        bus.moveYes(Priority.TRACKING, 30, 2, new Result());
+        bus.moveYes(Priority.TRACKING, 30, 4, pending);
+
+        bus.claim(HeadAxis.YES);
+        assertTrue(bus.isClaimed(HeadAxis.YES));
+        assertEquals(HeadMotorBus.PREEMPTED, pending.failure);
+        assertFalse(bus.moveYes(Priority.TRACKING, 30, 6, new Result()));
+        // L'autre axe reste au suivi
+        assertTrue(bus.moveNo(Priority.TRACKING, 30, 6, new Result()));
+
+        scheduler.advanceBy(1000);
+        assertEquals("[YES 2.0, NO 6.0]", motors.sent.toString());
+        assertEquals(2, bus.getPreemptedCount());
+        assertEquals(1, bus.getGestureCount());
+
+        bus.release(HeadAxis.YES);
+        assertTrue(bus.moveYes(Priority.TRACKING, 30, 8, new Result()));
+        assertEquals("[YES 2.0, NO 6.0, YES 8.0]", motors.sent.toString());
+    }
+
+    @Test
+    public void gesturePassesImmediatelyOverRunningTracking() {
+        bus.moveNo(Priority.TRACKING, 30, 10, new Result());
+        scheduler.advanceBy(5);
+        bus.claim(HeadAxis.NO);
+        assertTrue(bus.moveNo(Priority.GESTURE, 60, -20, new Result()));
+
+        assertEquals("[NO 10.0, NO -20.0]", motors.sent.toString());
+        assertEquals(1005, motors.sentAt.get(1).longValue());
+        // Le mouvement de suivi en cours est remplacé
+        assertEquals(1, bus.getPreemptedCount());
+    }
+
+    @Test
+    public void pendingGestureIsNotReplacedByTracking() {
+        bus.claim(HeadAxis.NO);
+        bus.moveNo(Priority.GESTURE, 60, 20, new Result());
+        Result pendingGesture = new Result();
+        bus.moveNo(Priority.GESTURE, 60, -20, pendingGesture);
+        bus.release(HeadAxis.NO);
+
+        assertFalse(bus.moveNo(Priority.TRACKING, 30, 5, new Result()));
+        scheduler.advanceBy(HeadMotorBus.MIN_COMMAND_INTERVAL_MS);
+        assertEquals("[NO 20.0, NO -20.0]", motors.sent.toString());
+        assertNull(pendingGesture.failure);
+    }
+
+    @Test
+    public void sendExceptionFailsTheCommand() {
+        motors.failNext = true;
+        Result result = new Result();
+        assertTrue(bus.moveYes(Priority.TRACKING, 30, 5, result));
+        assertNotNull(result.failure);
+    }
+
+    private static final class Result implements MotorPort.CommandListener {
+        String failure;
+
+        @Override
+        public void onSuccess(String status) {
+        }
+
+        @Override
+        public void onFailed(String error) {
+            failure = error;
+        }
+    }
+
+    private final class RecordingMotors implements MotorPort {
+        final List<String> sent = new ArrayList<>();
+        final List<Long> sentAt = new ArrayList<>();
+        boolean failNext;
+
+        private void record(String axis, float angle) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("USB indisponible");
+            }
+            sent.add(axis + " " + angle);
+            sentAt.add(scheduler.now());
+        }
+
+        @Override
+        public void buddySayYes(float speed, float angle, CommandListener listener) {
+            record("YES", angle);
+        }
+
+        @Override
+        public void buddySayNo(float speed, float angle, CommandListener listener) {
+            record("NO", angle);
+        }
+
+        @Override public void enableWheels(boolean left, boolean right, CommandListener listener) { }
+        @Override public void enableYesMove(boolean enabled, CommandListener listener) { }
+        @Override public void enableNoMove(boolean enabled, CommandListener listener) { }
+        @Override public void rotateBuddy(float speed, float angle, CommandListener listener) { }
+        @Override public void buddyStopYesMove(CommandListener listener) { }
+        @Override public void buddyStopNoMove(CommandListener listener) { }
+    }
+}
@@ -0,0 +1,236 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.helloworld.scheduling.Scheduler;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BuddyFuturesTest {
+
+    private VirtualScheduler scheduler;
+    private FakeSpeech speech;
+    private FakeMotors motors;
+    private BuddyFutures futures;
+
+    @Before
+    public void setUp() {
+        scheduler = new VirtualScheduler();
+        speech = new FakeSpeech();
+        motors = new FakeMotors();
+        futures = new BuddyFutures(new BuddyPlatform() {
+            @Override public SpeechPort speech() { return speech; }
+            @Override public MotorPort motors() { return motors; }
+            @Override public FacePort face() { return null; }
+            @Override public VisionPort vision() { return null; }
+            @Override public Scheduler scheduler() { return scheduler; }
+        });
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> future) throws InterruptedException {
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("échec attendu");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    public void completesOnTheSchedulerByDefault() throws Exception {
+        CompletableFuture<Void> future = futures.speak("bonjour", 5000);
+        speech.listener.onSpeakDone();
+
+        // Réponse reçue sur le thread Binder : complétée au prochain passage du planificateur
+        assertFalse(future.isDone());
+        scheduler.advanceBy(1);
+        assertTrue(future.isDone());
+        assertNull(future.get());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void completesOnTheChosenExecutor() {
+        List<Runnable> executed = new ArrayList<>();
+        futures = new BuddyFutures(new BuddyPlatform() {
+            @Override public SpeechPort speech() { return speech; }
+            @Override public MotorPort motors() { return motors; }
+            @Override public FacePort face() { return null; }
+            @Override public VisionPort vision() { return null; }
+            @Override public Scheduler scheduler() { return scheduler; }
+        }, executed::add);
+
+        CompletableFuture<Void> future = futures.speak("bonjour", 0);
+        speech.listener.onSpeakDone();
+        scheduler.advanceBy(100);
+        assertFalse(future.isDone());
+
+        assertEquals(1, executed.size());
+        executed.get(0).run();
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    public void timeoutStopsTheActionAndFails() throws Exception {
+        CompletableFuture<Void> future = futures.speak("bonjour", 1000);
+
+        scheduler.advanceBy(999);
+        assertFalse(future.isDone());
+        scheduler.advanceBy(2);
+        assertEquals(1, speech.stops);
+        assertTrue(failureOf(future) instanceof TimeoutException);
+
+        // Réponse tardive : sans effet
+        speech.listener.onSpeakDone();
+        scheduler.advanceBy(1);
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void cancelStopsTheAction() {
+        CompletableFuture<List<SpeechHypothesis>> future = futures.listen(Locale.FRENCH, 8000);
+        assertEquals(0, speech.task.stops);
+
+        assertTrue(future.cancel(true));
+        assertEquals(1, speech.task.stops);
+        // Le délai maximal est annulé avec le future
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void speakErrorFailsWithCommandFailed() throws Exception {
+        CompletableFuture<Void> future = futures.speak("bonjour", 5000);
+        speech.listener.onSpeakError("TTS occupé");
+        scheduler.advanceBy(1);
+
+        Throwable failure = failureOf(future);
+        assertTrue(failure instanceof BuddyFutures.CommandFailedException);
+        assertEquals("TTS occupé", ((BuddyFutures.CommandFailedException) failure).getError());
+        assertEquals(0, speech.stops);
+    }
+
+    @Test
+    public void listenResultsAndErrors() throws Exception {
+        CompletableFuture<List<SpeechHypothesis>> heard = futures.listen(Locale.FRENCH, 8000);
+        List<SpeechHypothesis> hypotheses = Collections.singletonList(new SpeechHypothesis("douze", 0.9f));
+        speech.task.listener.onResults(hypotheses);
+        scheduler.advanceBy(1);
+        assertSame(hypotheses, heard.get());
+
+        CompletableFuture<List<SpeechHypothesis>> silent = futures.listen(Locale.FRENCH, 8000);
+        speech.task.listener.onListenError(SpeechPort.NO_SPEECH);
+        scheduler.advanceBy(1);
+        assertEquals(SpeechPort.NO_SPEECH, ((BuddyFutures.CommandFailedException) failureOf(silent)).getError());
+    }
+
+    @Test
+    public void motorFailureFailsWithCommandFailed() throws Exception {
+        CompletableFuture<Void> future = futures.enableYesMove(true, 2000);
+        motors.listener.onFailed("MOTOR_DISABLED");
+        scheduler.advanceBy(1);
+
+        assertEquals("MOTOR_DISABLED", ((BuddyFutures.CommandFailedException) failureOf(future)).getError());
+    }
+
+    @Test
+    public void rotationWaitsForFinishedStatus() throws Exception {
+        CompletableFuture<Void> future = futures.rotate(60, 90, 5000);
+        motors.listener.onSuccess("OK");
+        scheduler.advanceBy(1);
+        assertFalse(future.isDone());
+
+        motors.listener.onSuccess(MotorPort.WHEEL_MOVE_FINISHED);
+        scheduler.advanceBy(1);
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void enableEndsOnFirstReply() {
+        CompletableFuture<Void> future = futures.enableWheels(true, true, 2000);
+        motors.listener.onSuccess("OK");
+        scheduler.advanceBy(1);
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void sendExceptionFailsTheFuture() throws Exception {
+        motors.failNext = true;
+        CompletableFuture<Void> future = futures.enableNoMove(true, 2000);
+        scheduler.advanceBy(1);
+
+        assertTrue(failureOf(future) instanceof IllegalStateException);
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    private static final class FakeSpeech implements SpeechPort {
+        SpeakListener listener;
+        FakeTask task;
+        int stops;
+
+        @Override
+        public void startSpeaking(String text, SpeakListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void stopSpeaking() {
+            stops++;
+        }
+
+        @Override
+        public ListenTask createFreeSpeechTask(Locale locale) {
+            task = new FakeTask();
+            return task;
+        }
+    }
+
+    private static final class FakeTask implements SpeechPort.ListenTask {
+        SpeechPort.ListenListener listener;
+        int stops;
+
+        @Override
+        public void start(SpeechPort.ListenListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void stop() {
+            stops++;
+        }
+    }
+
+    private static final class FakeMotors implements MotorPort {
+        CommandListener listener;
+        boolean failNext;
+
+        private void record(CommandListener listener) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("USB indisponible");
+            }
+            this.listener = listener;
+        }
+
+        @Override public void enableWheels(boolean left, boolean right, CommandListener listener) { record(listener); }
+        @Override public void enableYesMove(boolean enabled, CommandListener listener) { record(listener); }
+        @Override public void enableNoMove(boolean enabled, CommandListener listener) { record(listener); }
+        @Override public void buddySayYes(float speed, float angle, CommandListener listener) { record(listener); }
+        @Override public void buddySayNo(float speed, float angle, CommandListener listener) { record(listener); }
+        @Override public void rotateBuddy(float speed, float angle, CommandListener listener) { record(listener); }
+        @Override public void buddyStopYesMove(CommandListener listener) { record(listener); }
+        @Override public void buddyStopNoMove(CommandListener listener) { record(listener); }
+    }
+}
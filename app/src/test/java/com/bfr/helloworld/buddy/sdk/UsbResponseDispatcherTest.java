@@ -0,0 +1,170 @@
+package com.bfr.helloworld.buddy.sdk;
+
+import com.bfr.buddy.usb.shared.IUsbCommadRsp;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class UsbResponseDispatcherTest {
+
+    /**
+     * Réponses reçues, sous la forme "nom:statut" ou "nom!erreur"
+     */
+    private final List<String> events = new ArrayList<>();
+    private IUsbCommadRsp rsp;
+    private final UsbResponseDispatcher.Command capture = (first, second, r) -> rsp = r;
+
+    private MotorPort.CommandListener listener(String name) {
+        return new MotorPort.CommandListener() {
+            @Override
+            public void onSuccess(String status) {
+                events.add(name + ":" + status);
+            }
+
+            @Override
+            public void onFailed(String error) {
+                events.add(name + "!" + error);
+            }
+        };
+    }
+
+    @Test
+    public void stubsReusedOnceCommandsEnd() throws Exception {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("yes", MotorPort.YES_MOVE_FINISHED, 2);
+        Set<IUsbCommadRsp> stubs = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            dispatcher.send(listener("m" + i), 10, 5, capture);
+            stubs.add(rsp);
+            rsp.onSuccess(MotorPort.YES_MOVE_FINISHED);
+        }
+
+        assertEquals(2, stubs.size());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void pendingCommandsHaveTheirOwnStub() throws Exception {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("yes", MotorPort.YES_MOVE_FINISHED);
+        dispatcher.send(listener("a"), 10, 5, capture);
+        IUsbCommadRsp a = rsp;
+        dispatcher.send(listener("b"), 10, 5, capture);
+        IUsbCommadRsp b = rsp;
+
+        assertNotSame(a, b);
+        a.onSuccess("OK");
+        b.onSuccess("OK");
+        a.onSuccess(MotorPort.YES_MOVE_FINISHED);
+        b.onFailed("BLOCKED");
+
+        assertEquals("[a:OK, b:OK, a:YES_MOVE_FINISHED, b!BLOCKED]", events.toString());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void outOfOrderRepliesReachTheirCommand() throws Exception {
+        // Mouvement long remplacé par un court : le court finit avant
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("no", MotorPort.NO_MOVE_FINISHED);
+        dispatcher.send(listener("long"), 10, 60, capture);
+        IUsbCommadRsp longMove = rsp;
+        dispatcher.send(listener("court"), 60, 5, capture);
+        IUsbCommadRsp shortMove = rsp;
+
+        shortMove.onSuccess(MotorPort.NO_MOVE_FINISHED);
+        assertEquals("[court:NO_MOVE_FINISHED]", events.toString());
+        assertEquals(1, dispatcher.getPendingCount());
+
+        // Le récepteur libéré sert à la commande suivante, sans recevoir la fin de l'ancienne
+        dispatcher.send(listener("geste"), 60, 20, capture);
+        longMove.onSuccess(MotorPort.NO_MOVE_FINISHED);
+        assertEquals("[court:NO_MOVE_FINISHED, long:NO_MOVE_FINISHED]", events.toString());
+        rsp.onSuccess(MotorPort.NO_MOVE_FINISHED);
+        assertEquals("geste:" + MotorPort.NO_MOVE_FINISHED, events.get(2));
+    }
+
+    @Test
+    public void firstResponseEndsCommandWithoutFinishedStatus() throws Exception {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("enable", null);
+        dispatcher.send(listener("a"), 1, 0, capture);
+        IUsbCommadRsp a = rsp;
+        dispatcher.send(listener("b"), 1, 0, capture);
+
+        rsp.onSuccess("OK");
+        a.onSuccess("OK");
+
+        assertEquals("[b:OK, a:OK]", events.toString());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void responseWithoutPendingCommandIsDropped() throws Exception {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("yes", MotorPort.YES_MOVE_FINISHED);
+        dispatcher.send(listener("a"), 10, 5, capture);
+        rsp.onSuccess(MotorPort.YES_MOVE_FINISHED);
+
+        rsp.onSuccess(MotorPort.YES_MOVE_FINISHED);
+        rsp.onFailed("LATE");
+
+        assertEquals("[a:YES_MOVE_FINISHED]", events.toString());
+    }
+
+    @Test
+    public void fullDispatcherSupersedesOldestCommand() throws Exception {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("no", MotorPort.NO_MOVE_FINISHED, 2);
+        dispatcher.send(listener("a"), 10, 5, capture);
+        IUsbCommadRsp a = rsp;
+        dispatcher.send(listener("b"), 10, 5, capture);
+        IUsbCommadRsp b = rsp;
+        dispatcher.send(listener("c"), 10, 5, capture);
+
+        assertEquals("[a!" + MotorPort.SUPERSEDED + "]", events.toString());
+        assertEquals(1, dispatcher.getSupersededCount());
+        assertNotSame(a, rsp);
+
+        // Réponse tardive de la commande abandonnée : ignorée
+        a.onSuccess(MotorPort.NO_MOVE_FINISHED);
+        b.onSuccess(MotorPort.NO_MOVE_FINISHED);
+        rsp.onSuccess(MotorPort.NO_MOVE_FINISHED);
+        assertEquals("[a!" + MotorPort.SUPERSEDED + ", b:" + MotorPort.NO_MOVE_FINISHED
+                + ", c:" + MotorPort.NO_MOVE_FINISHED + "]", events.toString());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void failedSendReleasesItsStub() throws Exception {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("yes", MotorPort.YES_MOVE_FINISHED);
+        dispatcher.send(listener("a"), 10, 5, capture);
+        IUsbCommadRsp a = rsp;
+        try {
+            dispatcher.send(listener("b"), 10, 5, (first, second, r) -> {
+                throw new IllegalStateException("USB déconnecté");
+            });
+            fail("exception attendue");
+        } catch (IllegalStateException expected) {
+            // propagée à l'appelant
+        }
+
+        assertEquals(1, dispatcher.getPendingCount());
+        a.onSuccess(MotorPort.YES_MOVE_FINISHED);
+        assertEquals("[a:YES_MOVE_FINISHED]", events.toString());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void passesParametersToCommand() {
+        UsbResponseDispatcher dispatcher = new UsbResponseDispatcher("rotate", MotorPort.WHEEL_MOVE_FINISHED);
+        float[] sent = new float[2];
+
+        dispatcher.send(listener("a"), 80f, -120f, (first, second, r) -> {
+            sent[0] = first;
+            sent[1] = second;
+        });
+
+        assertEquals(80f, sent[0], 0f);
+        assertEquals(-120f, sent[1], 0f);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bfr.helloworld.quiz;
+
+import com.bfr.helloworld.quiz.AnswerProcessor.AnswerResult;
+import com.bfr.helloworld.quiz.AnswerProcessor.ProcessedAnswer;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.Arrays;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnswerProcessorTest {
+
+    @Test
+    public void correctAndIncorrectAnswers() {
+        assertEquals(AnswerResult.CORRECT, AnswerProcessor.processAnswer("douze", 12).getResult());
+
+        ProcessedAnswer wrong = AnswerProcessor.processAnswer("quinze", 12);
+        assertEquals(AnswerResult.INCORRECT, wrong.getResult());
+        assertEquals(15, wrong.getExtractedNumber());
+    }
+
+    @Test
+    public void noNumberIsAParsingError() {
+        assertEquals(AnswerResult.PARSING_ERROR, AnswerProcessor.processAnswer("je ne sais pas", 12).getResult());
+        assertEquals(AnswerResult.INVALID_INPUT, AnswerProcessor.processAnswer("  ", 12).getResult());
+    }
+
+    @Test
+    public void signedNumberIsRejected() {
+        ProcessedAnswer minusFive = AnswerProcessor.processAnswer("-5", 5);
+        assertEquals(AnswerResult.INVALID_INPUT, minusFive.getResult());
+        assertFalse(minusFive.isValid());
+
+        // -1 n'est pas confondu avec « aucun nombre »
+        assertEquals(AnswerResult.INVALID_INPUT, AnswerProcessor.processAnswer("-1", 1).getResult());
+    }
+
+    @Test
+    public void rerankingSkipsSignedHypotheses() {
+        ProcessedAnswer answer = AnswerProcessor.processHypotheses(Arrays.asList(
+                new SpeechHypothesis("-5", 0.9f),
+                new SpeechHypothesis("cinq", 0.4f)), 5, 20);
+
+        assertEquals(AnswerResult.CORRECT, answer.getResult());
+        assertEquals(1, answer.getHypothesisRank());
+    }
+
+    @Test
+    public void onlySignedHypothesesAreRejected() {
+        ProcessedAnswer answer = AnswerProcessor.processHypotheses(Arrays.asList(
+                new SpeechHypothesis("-5", 0.9f),
+                new SpeechHypothesis("-1", 0.4f)), 5, 20);
+
+        assertEquals(AnswerResult.INVALID_INPUT, answer.getResult());
+    }
+
+    @Test
+    public void implausibleHypothesisLosesToPlausibleOne() {
+        ProcessedAnswer answer = AnswerProcessor.processHypotheses(Arrays.asList(
+                new SpeechHypothesis("cent", 0.9f),
+                new SpeechHypothesis("sang", 0.8f),
+                new SpeechHypothesis("seize", 0.7f)), 16, 20);
+
+        assertEquals(16, answer.getExtractedNumber());
+        assertEquals(2, answer.getHypothesisRank());
+    }
+}
@@ -0,0 +1,88 @@
+package com.bfr.helloworld.quiz;
+
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import com.bfr.helloworld.ui.UICallback;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QuizManagerTest {
+
+    private VirtualScheduler scheduler;
+    private QuizManager quizManager;
+    private final List<Long> questionsAskedAt = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler = new VirtualScheduler();
+        quizManager = new QuizManager(new SilentUi(), new QuizManager.QuizCallback() {
+            @Override
+            public void onQuizStarted() {
+            }
+
+            @Override
+            public void onQuestionReady(String question, int questionNumber, int totalQuestions) {
+                questionsAskedAt.add(scheduler.now());
+            }
+
+            @Override
+            public void onAnswerProcessed(AnswerProcessor.ProcessedAnswer processedAnswer, int correctAnswer) {
+            }
+
+            @Override
+            public void onQuizFinished(ScoreManager scoreManager) {
+            }
+
+            @Override
+            public void onQuizError(String error) {
+            }
+        }, scheduler);
+    }
+
+    @Test
+    public void questionFollowsFeedbackAfterMinimumGap() {
+        quizManager.startQuiz();
+        scheduler.advanceBy(3000);
+        quizManager.onFeedbackFinished();
+        scheduler.advanceBy(1000);
+
+        assertEquals(1, questionsAskedAt.size());
+        assertEquals(3400, (long) questionsAskedAt.get(0));
+    }
+
+    @Test
+    public void defaultTimeoutWaitsForLongestSpeechStep() {
+        // Une parole de retour peut durer 12 s (MainActivity) : pas de question avant
+        quizManager.startQuiz();
+        scheduler.advanceBy(12_500);
+        assertTrue(questionsAskedAt.isEmpty());
+
+        scheduler.advanceBy(5000);
+        assertEquals(1, questionsAskedAt.size());
+    }
+
+    @Test
+    public void lateFeedbackSignalIsIgnoredAfterTimeout() {
+        quizManager.setFeedbackTimeoutMs(2000);
+        quizManager.startQuiz();
+        scheduler.advanceBy(3000);
+        assertEquals(1, questionsAskedAt.size());
+
+        quizManager.onFeedbackFinished();
+        scheduler.advanceBy(1000);
+        assertEquals(1, questionsAskedAt.size());
+    }
+
+    private static final class SilentUi implements UICallback {
+        @Override public void updateStatus(String message) { }
+        @Override public void updateQuestion(String question, int questionNumber, int totalQuestions) { }
+        @Override public void updateScore(int correctAnswers, int currentQuestion) { }
+        @Override public void setStartQuizEnabled(boolean enabled) { }
+        @Override public void setListenAnswerEnabled(boolean enabled) { }
+        @Override public void showError(String error) { }
+        @Override public void showSuccess(String message) { }
+    }
+}
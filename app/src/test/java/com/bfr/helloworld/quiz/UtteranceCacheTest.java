@@ -0,0 +1,91 @@
+package com.bfr.helloworld.quiz;
+
+import com.bfr.helloworld.utils.PhoneticCorrector;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UtteranceCacheTest {
+
+    @Test
+    public void normalizeCollapsesCaseAndSpaces() {
+        assertEquals("dix sept", UtteranceCache.normalize("  Dix   Sept "));
+        assertEquals("dix sept", UtteranceCache.normalize("dix\tsept"));
+        assertEquals("douze", UtteranceCache.normalize("douze"));
+        assertEquals("", UtteranceCache.normalize(null));
+    }
+
+    @Test
+    public void sameUtteranceIsAnalyzedOnce() {
+        UtteranceCache cache = new UtteranceCache(4);
+        PhoneticCorrector.Extraction first = cache.analyze("Douze");
+        PhoneticCorrector.Extraction second = cache.analyze("  douze ");
+
+        assertSame(first, second);
+        assertEquals(12, second.getValue());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void cachedResultMatchesDirectAnalysis() {
+        UtteranceCache cache = new UtteranceCache();
+        String[] utterances = {"sept", "c'est", "soixante-dix-sept", "j'ai dit douze", "quatorse", "bonjour"};
+        for (String utterance : utterances) {
+            PhoneticCorrector.Extraction expected = PhoneticCorrector.analyze(utterance);
+            for (int i = 0; i < 2; i++) {
+                PhoneticCorrector.Extraction actual = cache.analyze(utterance);
+                assertEquals(utterance, expected.getValue(), actual.getValue());
+                assertEquals(utterance, expected.getKind(), actual.getKind());
+            }
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        UtteranceCache cache = new UtteranceCache(2);
+        cache.analyze("un");
+        cache.analyze("deux");
+        cache.analyze("un");
+        cache.analyze("trois");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        cache.resetStats();
+        cache.analyze("un");
+        cache.analyze("deux");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shrinkingCapacityEvictsOldest() {
+        UtteranceCache cache = new UtteranceCache(4);
+        cache.analyze("un");
+        cache.analyze("deux");
+        cache.analyze("trois");
+        cache.setCapacity(1);
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictions());
+        cache.resetStats();
+        cache.analyze("trois");
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void emptyUtteranceIsNotCached() {
+        UtteranceCache cache = new UtteranceCache();
+        assertFalse(cache.analyze("   ").isFound());
+        assertFalse(cache.analyze(null).isFound());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityIsRejected() {
+        new UtteranceCache(0);
+    }
+}
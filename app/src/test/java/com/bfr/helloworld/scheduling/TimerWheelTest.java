@@ -0,0 +1,192 @@
+package com.bfr.helloworld.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimerWheelTest {
+
+    private static final Runnable NOOP = () -> { };
+
+    @Test
+    public void neverExpiresEarly() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        wheel.add(null, 25, NOOP);
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+
+        wheel.advance(29, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advance(30, expired);
+        assertEquals(1, expired.size());
+        assertEquals(25, expired.get(0).getDeadline());
+        assertEquals(30, expired.get(0).getExpiry());
+        assertTrue(expired.get(0).isDone());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    public void immediateTaskWaitsForNextTick() {
+        TimerWheel wheel = new TimerWheel(10, 8, 100);
+        TimerWheel.Timeout timeout = wheel.add(null, 100, NOOP);
+        assertEquals(110, timeout.getExpiry());
+        assertEquals(110, wheel.nextExpiry());
+    }
+
+    @Test
+    public void expiredSortedByDeadlineThenInsertion() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        TimerWheel.Timeout late = wheel.add(null, 19, NOOP);
+        TimerWheel.Timeout first = wheel.add(null, 12, NOOP);
+        TimerWheel.Timeout second = wheel.add(null, 12, NOOP);
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+
+        wheel.advance(20, expired);
+        assertEquals(3, expired.size());
+        assertSame(first, expired.get(0));
+        assertSame(second, expired.get(1));
+        assertSame(late, expired.get(2));
+    }
+
+    @Test
+    public void jumpOverSeveralTurnsKeepsLaterTasks() {
+        // 8 seaux de 10 ms : 35 ms et 835 ms tombent dans le même seau
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        TimerWheel.Timeout soon = wheel.add(null, 35, NOOP);
+        TimerWheel.Timeout later = wheel.add(null, 835, NOOP);
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+
+        wheel.advance(500, expired);
+        assertEquals(1, expired.size());
+        assertSame(soon, expired.get(0));
+        assertFalse(later.isDone());
+        assertEquals(840, wheel.nextExpiry());
+
+        expired.clear();
+        wheel.advance(10_000, expired);
+        assertEquals(1, expired.size());
+        assertSame(later, expired.get(0));
+        assertEquals(Long.MAX_VALUE, wheel.nextExpiry());
+    }
+
+    @Test
+    public void cancelRemovesTask() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        TimerWheel.Timeout timeout = wheel.add(null, 20, NOOP);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.pendingCount());
+
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+        wheel.advance(100, expired);
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    public void cancelAllOnlyTouchesOwner() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        Object owner = new Object();
+        Object other = new Object();
+        TimerWheel.Timeout a = wheel.add(owner, 20, NOOP);
+        wheel.add(owner, 30, NOOP);
+        wheel.add(owner, 40, NOOP);
+        TimerWheel.Timeout kept = wheel.add(other, 20, NOOP);
+
+        // Annulation isolée au milieu de la chaîne du propriétaire
+        assertTrue(a.cancel());
+        assertEquals(2, wheel.pendingCount(owner));
+
+        assertEquals(2, wheel.cancelAll(owner));
+        assertEquals(0, wheel.pendingCount(owner));
+        assertEquals(0, wheel.cancelAll(owner));
+        assertEquals(1, wheel.pendingCount(other));
+        assertFalse(kept.isDone());
+    }
+
+    @Test
+    public void expiredTaskCannotBeCancelled() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        Object owner = new Object();
+        TimerWheel.Timeout timeout = wheel.add(owner, 10, NOOP);
+        wheel.advance(10, new ArrayList<>());
+
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+        assertEquals(0, wheel.cancelAll(owner));
+    }
+
+    @Test
+    public void wheelSizeRoundedToPowerOfTwo() {
+        // 5 seaux demandés -> 8 : une tâche à 7 tics ne doit pas revenir au tic 2
+        TimerWheel wheel = new TimerWheel(1, 5, 0);
+        TimerWheel.Timeout timeout = wheel.add(null, 7, NOOP);
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+        wheel.advance(6, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advance(7, expired);
+        assertSame(timeout, expired.get(0));
+    }
+
+    @Test
+    public void rearmReusesTheSameEntry() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        Object owner = new Object();
+        TimerWheel.Timeout timeout = wheel.newTimeout(owner, NOOP);
+        assertTrue(timeout.isDone());
+        assertEquals(0, wheel.pendingCount());
+
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+        for (long now = 0; now < 300; now += 100) {
+            assertEquals(now + 50, wheel.rearm(timeout, now + 50));
+            assertEquals(1, wheel.pendingCount(owner));
+            wheel.advance(now + 50, expired);
+        }
+        assertEquals(3, expired.size());
+        for (TimerWheel.Timeout entry : expired) {
+            assertSame(timeout, entry);
+        }
+    }
+
+    @Test
+    public void rearmPendingEntryMovesIt() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        Object owner = new Object();
+        TimerWheel.Timeout other = wheel.add(owner, 30, NOOP);
+        TimerWheel.Timeout timeout = wheel.newTimeout(owner, NOOP);
+        wheel.rearm(timeout, 20);
+        wheel.rearm(timeout, 60);
+        assertEquals(2, wheel.pendingCount());
+        assertEquals(2, wheel.pendingCount(owner));
+
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+        wheel.advance(50, expired);
+        assertEquals(1, expired.size());
+        assertSame(other, expired.get(0));
+        wheel.advance(60, expired);
+        assertSame(timeout, expired.get(1));
+    }
+
+    @Test
+    public void cancelledEntryCanBeRearmed() {
+        TimerWheel wheel = new TimerWheel(10, 8, 0);
+        Object owner = new Object();
+        TimerWheel.Timeout timeout = wheel.newTimeout(owner, NOOP);
+        wheel.rearm(timeout, 20);
+        assertEquals(1, wheel.cancelAll(owner));
+        assertTrue(timeout.isCancelled());
+
+        wheel.rearm(timeout, 40);
+        assertFalse(timeout.isDone());
+        List<TimerWheel.Timeout> expired = new ArrayList<>();
+        wheel.advance(40, expired);
+        assertSame(timeout, expired.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullTaskIsRejected() {
+        new TimerWheel(10, 8, 0).add(null, 10, null);
+    }
+}
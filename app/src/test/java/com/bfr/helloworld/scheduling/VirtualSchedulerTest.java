@@ -0,0 +1,137 @@
+package com.bfr.helloworld.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VirtualSchedulerTest {
+
+    @Test
+    public void tasksRunInDeadlineOrderAtTheirDeadline() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule(null, 300, () -> runs.add("c@" + scheduler.now()));
+        scheduler.schedule(null, 100, () -> runs.add("a@" + scheduler.now()));
+        scheduler.schedule(null, 100, () -> runs.add("b@" + scheduler.now()));
+
+        scheduler.advanceBy(299);
+        assertEquals(2, runs.size());
+        assertEquals(299, scheduler.now());
+
+        scheduler.advanceBy(1);
+        assertEquals("[a@100, b@100, c@300]", runs.toString());
+    }
+
+    @Test
+    public void postRunsOneMillisecondLater() {
+        VirtualScheduler scheduler = new VirtualScheduler(1000);
+        long[] ranAt = {-1};
+        scheduler.post(null, () -> ranAt[0] = scheduler.now());
+
+        scheduler.advanceBy(0);
+        assertEquals(-1, ranAt[0]);
+        scheduler.advanceBy(1);
+        assertEquals(1001, ranAt[0]);
+    }
+
+    @Test
+    public void tasksScheduledWhileRunningAreHonoured() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        List<Long> runs = new ArrayList<>();
+        Runnable[] step = new Runnable[1];
+        step[0] = () -> {
+            runs.add(scheduler.now());
+            if (runs.size() < 3) {
+                scheduler.schedule(null, 50, step[0]);
+            }
+        };
+        scheduler.schedule(null, 50, step[0]);
+
+        scheduler.advanceBy(1000);
+        assertEquals("[50, 100, 150]", runs.toString());
+        assertEquals(1000, scheduler.now());
+    }
+
+    @Test
+    public void cancelAllStopsSequence() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Object sequence = new Object();
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule(sequence, 10, () -> runs.add("a"));
+        scheduler.schedule(sequence, 20, () -> runs.add("b"));
+        scheduler.schedule(null, 20, () -> runs.add("autre"));
+
+        scheduler.advanceBy(10);
+        assertEquals(1, scheduler.cancelAll(sequence));
+        scheduler.advanceBy(100);
+        assertEquals("[a, autre]", runs.toString());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void failingTaskDoesNotStopOthers() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule(null, 10, () -> {
+            throw new IllegalStateException("échec");
+        });
+        scheduler.schedule(null, 10, () -> runs.add("suite"));
+
+        scheduler.advanceBy(10);
+        assertEquals("[suite]", runs.toString());
+    }
+
+    @Test
+    public void rearmableTaskRunsOncePerSchedule() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Object owner = new Object();
+        List<Long> runs = new ArrayList<>();
+        RearmableTask task = scheduler.newRearmableTask(owner, () -> runs.add(scheduler.now()));
+
+        scheduler.advanceBy(100);
+        assertTrue(runs.isEmpty());
+
+        task.schedule(10);
+        scheduler.advanceBy(50);
+        task.schedule(30);
+        // Reprogrammée en attente : déplacée, pas dupliquée
+        task.schedule(40);
+        scheduler.advanceBy(100);
+        assertEquals("[110, 190]", runs.toString());
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    public void cancelAllCancelsRearmableTask() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Object owner = new Object();
+        List<Long> runs = new ArrayList<>();
+        RearmableTask task = scheduler.newRearmableTask(owner, () -> runs.add(scheduler.now()));
+
+        task.schedule(10);
+        assertEquals(1, scheduler.cancelAll(owner));
+        assertTrue(task.isCancelled());
+        scheduler.advanceBy(100);
+        assertTrue(runs.isEmpty());
+
+        task.schedule(10);
+        scheduler.advanceBy(10);
+        assertEquals("[110]", runs.toString());
+    }
+
+    @Test
+    public void runUntilIdleStopsAtLimit() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        scheduler.schedule(null, 500, () -> { });
+        assertTrue(scheduler.runUntilIdle(1000));
+        assertEquals(500, scheduler.now());
+
+        Runnable[] forever = new Runnable[1];
+        forever[0] = () -> scheduler.schedule(null, 100, forever[0]);
+        scheduler.post(null, forever[0]);
+        assertFalse(scheduler.runUntilIdle(1000));
+        assertEquals(1500, scheduler.now());
+    }
+}
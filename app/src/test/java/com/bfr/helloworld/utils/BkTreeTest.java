@@ -0,0 +1,75 @@
+package com.bfr.helloworld.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BkTreeTest {
+
+    private static final String[] WORDS = {"un", "deux", "trois", "quatre", "cinq", "six", "sept", "huit", "neuf", "dix"};
+    private static final int[] VALUES = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    @Test
+    public void findsExactAndNearWords() {
+        BkTree tree = BkTree.build(WORDS, VALUES);
+        BkTree.Searcher searcher = tree.newSearcher();
+
+        int index = searcher.search("trois", 1);
+        assertEquals(3, tree.valueAt(index));
+        assertEquals(0, searcher.getBestDistance());
+
+        index = searcher.search("katre", 2);
+        assertEquals("quatre", tree.wordAt(index));
+        assertEquals(2, searcher.getBestDistance());
+    }
+
+    @Test
+    public void returnsMinusOneBeyondDistance() {
+        BkTree tree = BkTree.build(WORDS, VALUES);
+
+        assertEquals(-1, tree.newSearcher().search("soixante", 1));
+        assertEquals(-1, tree.newSearcher().search(null, 1));
+        assertEquals(-1, BkTree.build(new String[0], new int[0]).newSearcher().search("un", 2));
+    }
+
+    @Test
+    public void tieGoesToEarliestInsertedWord() {
+        // "sic" est à distance 1 de "six" et de "sit" : "six" est inséré avant
+        BkTree tree = BkTree.build(new String[]{"six", "sit"}, new int[]{6, 0});
+
+        assertEquals(6, tree.valueAt(tree.newSearcher().search("sic", 1)));
+    }
+
+    @Test
+    public void matchesLinearScan() {
+        Random random = new Random(11);
+        String[] words = new String[300];
+        int[] values = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = BoundedLevenshteinTest.randomWord(random, 8);
+            values[i] = i;
+        }
+        BkTree tree = BkTree.build(words, values);
+        BkTree.Searcher searcher = tree.newSearcher();
+
+        for (int n = 0; n < 500; n++) {
+            String query = BoundedLevenshteinTest.randomWord(random, 8);
+            int maxDistance = random.nextInt(3);
+            int expectedDistance = Integer.MAX_VALUE;
+            for (String word : words) {
+                expectedDistance = Math.min(expectedDistance, BoundedLevenshteinTest.reference(query, word));
+            }
+
+            int index = searcher.search(query, maxDistance);
+
+            if (expectedDistance > maxDistance) {
+                assertEquals(query, -1, index);
+            } else {
+                assertEquals(query, expectedDistance, searcher.getBestDistance());
+                assertEquals(query, expectedDistance, BoundedLevenshteinTest.reference(query, tree.wordAt(index)));
+            }
+        }
+    }
+}
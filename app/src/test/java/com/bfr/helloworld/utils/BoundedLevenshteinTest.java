@@ -0,0 +1,72 @@
+package com.bfr.helloworld.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BoundedLevenshteinTest {
+
+    static int reference(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    static String randomWord(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    @Test
+    public void knownDistances() {
+        BoundedLevenshtein levenshtein = new BoundedLevenshtein();
+
+        assertEquals(0, levenshtein.distance("douze", "douze", 2));
+        assertEquals(1, levenshtein.distance("douze", "doze", 2));
+        assertEquals(2, levenshtein.distance("treize", "trèze", 2));
+        assertEquals(3, levenshtein.distance("", "dix", 3));
+    }
+
+    @Test
+    public void exceedsBeyondLimit() {
+        BoundedLevenshtein levenshtein = new BoundedLevenshtein();
+
+        assertEquals(BoundedLevenshtein.EXCEEDED, levenshtein.distance("quatre", "cent", 2));
+        assertEquals(BoundedLevenshtein.EXCEEDED, levenshtein.distance("a", "abcd", 2));
+        assertEquals(BoundedLevenshtein.EXCEEDED, levenshtein.distance(null, "a", 2));
+        assertEquals(BoundedLevenshtein.EXCEEDED, levenshtein.distance("a", "b", -1));
+    }
+
+    @Test
+    public void matchesReferenceWithinLimit() {
+        BoundedLevenshtein levenshtein = new BoundedLevenshtein(2);
+        Random random = new Random(7);
+        for (int n = 0; n < 5000; n++) {
+            String a = randomWord(random, 12);
+            String b = randomWord(random, 12);
+            int limit = random.nextInt(5);
+            int expected = reference(a, b);
+
+            int actual = levenshtein.distance(a, b, limit);
+
+            if (expected <= limit) {
+                assertEquals(a + " / " + b, expected, actual);
+            } else {
+                assertEquals(a + " / " + b, BoundedLevenshtein.EXCEEDED, actual);
+            }
+        }
+    }
+}
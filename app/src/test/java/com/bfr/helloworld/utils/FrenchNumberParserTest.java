@@ -0,0 +1,101 @@
+package com.bfr.helloworld.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrenchNumberParserTest {
+
+    private static void assertParses(int expected, String text) {
+        assertEquals(text, expected, FrenchNumberParser.parse(text));
+    }
+
+    @Test
+    public void simpleWordsAndDigits() {
+        assertParses(0, "zéro");
+        assertParses(7, "sept");
+        assertParses(16, "seize");
+        assertParses(42, "42");
+    }
+
+    @Test
+    public void compoundNumbers() {
+        assertParses(17, "dix-sept");
+        assertParses(21, "vingt et un");
+        assertParses(71, "soixante et onze");
+        assertParses(77, "soixante-dix-sept");
+        assertParses(80, "quatre-vingts");
+        assertParses(92, "quatre-vingt-douze");
+        assertParses(203, "deux cent trois");
+        assertParses(1999, "mille neuf cent quatre-vingt-dix-neuf");
+        assertParses(999_999, "neuf cent quatre-vingt-dix-neuf mille neuf cent quatre-vingt-dix-neuf");
+    }
+
+    @Test
+    public void regionalTens() {
+        assertParses(73, "septante-trois");
+        assertParses(80, "huitante");
+        assertParses(80, "octante");
+        assertParses(95, "nonante-cinq");
+    }
+
+    @Test
+    public void digitByDigitAndMixedForms() {
+        assertParses(12, "un deux");
+        assertParses(200, "2 cents");
+        assertParses(3000, "3 mille");
+    }
+
+    @Test
+    public void digitsJoinOnlyAcrossSpaces() {
+        assertParses(12, "1  2");
+        assertParses(2, "un/deux");
+        assertParses(2, "1'2");
+    }
+
+    @Test
+    public void decimalsAndDigitRangesEndTheNumber() {
+        assertParses(5, "3.5");
+        assertParses(5, "12,5");
+        assertParses(5, "trois, cinq");
+        assertParses(2, "7-2");
+        assertParses(2, "7 - 2");
+    }
+
+    @Test
+    public void lastNumberWins() {
+        assertParses(9, "huit non neuf");
+        assertParses(15, "c'est 14 euh 15");
+    }
+
+    @Test
+    public void noNumber() {
+        assertParses(FrenchNumberParser.NO_NUMBER, "je ne sais pas");
+        assertParses(FrenchNumberParser.NO_NUMBER, "");
+        assertEquals(FrenchNumberParser.NO_NUMBER, FrenchNumberParser.parse(null));
+    }
+
+    @Test
+    public void outOfRangeDigitsAreIgnored() {
+        assertParses(FrenchNumberParser.NO_NUMBER, "1000000");
+    }
+
+    @Test
+    public void minusSignGivesNegativeNumber() {
+        assertParses(-5, "-5");
+        assertParses(-1, "moins -1");
+        assertParses(-12, "je dis -12");
+    }
+
+    @Test
+    public void hyphenBetweenWordsIsNotASign() {
+        assertTrue(FrenchNumberParser.parse("vingt-2") >= 0);
+    }
+
+    @Test
+    public void stateIsResetBetweenCalls() {
+        assertParses(300, "trois cent");
+        assertParses(4, "quatre");
+        assertParses(FrenchNumberParser.NO_NUMBER, "rien");
+    }
+}
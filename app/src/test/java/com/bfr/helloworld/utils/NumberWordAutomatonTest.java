@@ -0,0 +1,88 @@
+package com.bfr.helloworld.utils;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class NumberWordAutomatonTest {
+
+    private static Map<String, Integer> table(Object... entries) {
+        Map<String, Integer> table = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            table.put((String) entries[i], (Integer) entries[i + 1]);
+        }
+        return table;
+    }
+
+    @Test
+    public void findsKeywordInsideSentence() {
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(table("douze", 12, "trois", 3));
+
+        NumberWordAutomaton.Match match = automaton.findBest("je pense douze");
+
+        assertNotNull(match);
+        assertEquals("douze", match.getKeyword());
+        assertEquals(12, match.getValue());
+        assertEquals(9, match.getStart());
+        assertEquals(14, match.getEnd());
+        assertEquals(NumberWordAutomaton.TIER_DIRECT, match.getTier());
+    }
+
+    @Test
+    public void returnsNullWithoutMatch() {
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(table("douze", 12));
+
+        assertNull(automaton.findBest("aucune idée"));
+        assertNull(automaton.findBest(null));
+        assertNull(automaton.findBest(""));
+    }
+
+    @Test
+    public void lowerTierWinsOverLongerPhoneticMatch() {
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(
+                table("six", 6), table("dix-sept", 17));
+
+        NumberWordAutomaton.Match match = automaton.findBest("dix-sept ou six");
+
+        assertEquals(6, match.getValue());
+        assertEquals(NumberWordAutomaton.TIER_DIRECT, match.getTier());
+    }
+
+    @Test
+    public void longestMatchWinsWithinTier() {
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(table("dix", 10, "dix-huit", 18));
+
+        assertEquals(18, automaton.findBest("dix-huit").getValue());
+    }
+
+    @Test
+    public void rightmostMatchWinsOnTie() {
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(table("cinq", 5, "sept", 7));
+
+        NumberWordAutomaton.Match match = automaton.findBest("cinq non sept");
+
+        assertEquals(7, match.getValue());
+        assertEquals(9, match.getStart());
+    }
+
+    @Test
+    public void findsKeywordReachedThroughFailureLinks() {
+        // "deux" est un suffixe d'un préfixe de "dedeux" : exige les liens d'échec
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(table("deux", 2, "dedeuxx", 99));
+
+        assertEquals(2, automaton.findBest("dedeux").getValue());
+    }
+
+    @Test
+    public void duplicateKeywordKeepsLowestTier() {
+        NumberWordAutomaton automaton = NumberWordAutomaton.build(table("cent", 100), table("cent", 7));
+
+        NumberWordAutomaton.Match match = automaton.findBest("cent");
+
+        assertEquals(100, match.getValue());
+        assertEquals(NumberWordAutomaton.TIER_DIRECT, match.getTier());
+    }
+}
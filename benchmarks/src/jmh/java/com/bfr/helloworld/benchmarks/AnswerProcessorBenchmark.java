@@ -0,0 +1,58 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.quiz.AnswerProcessor;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Traitement complet d'une réponse (analyse, cache, message de retour)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnswerProcessorBenchmark {
+
+    @Param({"direct", "phonetic", "fuzzy", "garbage", "mixed"})
+    public String mix;
+
+    // 1 = cache quasi inutile (évictions permanentes), 256 = valeur par défaut
+    @Param({"1", "256"})
+    public int cacheCapacity;
+
+    private String[] utterances;
+    private List<SpeechHypothesis> nBest;
+    private int index;
+
+    @Setup
+    public void setup() {
+        utterances = Utterances.byName(mix);
+        AnswerProcessor.setCacheCapacity(cacheCapacity);
+        AnswerProcessor.getCache().clear();
+        nBest = Arrays.asList(
+                new SpeechHypothesis("bof", 0.62f),
+                new SpeechHypothesis("c'est sept", 0.58f),
+                new SpeechHypothesis("cet", 0.41f));
+    }
+
+    @Benchmark
+    public AnswerProcessor.ProcessedAnswer processAnswer() {
+        String utterance = utterances[index];
+        index = (index + 1) % utterances.length;
+        return AnswerProcessor.processAnswer(utterance, 7);
+    }
+
+    @Benchmark
+    public AnswerProcessor.ProcessedAnswer processNBest() {
+        return AnswerProcessor.processHypotheses(nBest, 7, 20);
+    }
+}
@@ -0,0 +1,277 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.buddy.FaceEstimator;
+import com.bfr.helloworld.buddy.HeadController;
+import com.bfr.helloworld.buddy.HeadPidController;
+import com.bfr.helloworld.buddy.HeadStepController;
+import com.bfr.helloworld.buddy.TrackingPollRate;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.buddy.sdk.SimulatedBuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.TrackingFrame;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Suivi de tête sur le robot simulé, en temps virtuel, avec la boucle de BuddyHeadTracker.
+ *
+ * Scénario : la personne saute entre plusieurs positions (azimut et élévation à la fois),
+ * se balance lentement, s'absente une minute puis revient. Pour chaque saut, le temps de
+ * stabilisation est la durée jusqu'à ce que la tête reste à moins de SETTLED_DEG sur les
+ * deux axes. Un saut jamais stabilisé compte pour toute la durée du palier. Les erreurs
+ * sont relevées toutes les SAMPLE_MS, quelle que soit la cadence de lecture.
+ *
+ * controller = step : ancienne loi (pas fixe de 10°, 300 ms de repos, un axe à la fois) ;
+ * pid : loi continue. Les commandes moteur envoyées sont comptées.
+ * estimator = raw : écart brut de chaque image (vue avec le retard de la vision, fausses
+ * détections comprises) ; filtered : écart filtré et anticipé par FaceEstimator.
+ * pollRate = fixed : une lecture toutes les 100 ms ; adaptive : TrackingPollRate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class HeadTrackingBenchmark {
+
+    private static final long SAMPLE_MS = 10;
+    private static final long STEP_HOLD_MS = 4000;
+    private static final long SWAY_MS = 16000;
+    private static final long SWAY_PERIOD_MS = 8000;
+    private static final float SWAY_AMPLITUDE_DEG = 25.0f;
+    private static final long ABSENT_MS = 60_000;
+    private static final long RETURN_HOLD_MS = 4000;
+    private static final float SETTLED_DEG = 3.0f;
+    private static final float FACE_MOVING_SPEED = 8.0f;
+
+    // Positions successives (azimut, élévation) en degrés
+    private static final float[][] TARGETS = {
+            {20, 0}, {0, 10}, {20, -8}, {-5, 5}, {10, 0}, {0, 0}
+    };
+
+    private static final MotorPort.CommandListener IGNORE = new MotorPort.CommandListener() {
+        @Override
+        public void onSuccess(String status) {
+        }
+
+        @Override
+        public void onFailed(String error) {
+        }
+    };
+
+    @Param({"step", "pid"})
+    public String controller;
+
+    @Param({"raw", "filtered"})
+    public String estimator;
+
+    @Param({"fixed", "adaptive"})
+    public String pollRate;
+
+    private VirtualScheduler scheduler;
+    private SimulatedBuddyPlatform robot;
+    private HeadController headController;
+    private FaceEstimator faceEstimator;
+    private TrackingPollRate adaptiveRate;
+    private final TrackingFrame frame = new TrackingFrame();
+
+    // Prochaine lecture de la vision, et si la dernière a trouvé le visage
+    private long nextPoll;
+    private boolean lastDetected;
+    private boolean headCommanded;
+
+    private int commands;
+    private int stepCommands;
+    private long settleMs;
+    private int steps;
+    private int unsettled;
+    private double swayErrorSum;
+    private int swaySamples;
+    private long polls;
+    private long absentPolls;
+    private long reacquireMs;
+    private long savedPerHour;
+    private int runs;
+    private long rejectedFrames;
+
+    private final HeadController.Axes axes = new HeadController.Axes() {
+        @Override
+        public void moveNo(float speed, float angle) {
+            commands++;
+            headCommanded = true;
+            faceEstimator.onNoMove(speed, angle, scheduler.now());
+            robot.motors().buddySayNo(speed, angle, IGNORE);
+        }
+
+        @Override
+        public void moveYes(float speed, float angle) {
+            commands++;
+            headCommanded = true;
+            faceEstimator.onYesMove(speed, angle, scheduler.now());
+            robot.motors().buddySayYes(speed, angle, IGNORE);
+        }
+    };
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (runs > 0) {
+            System.out.println(String.format(Locale.ROOT,
+                    "Suivi %s/%s/%s: stabilisation moyenne %d ms (%d/%d sauts non stabilisés), "
+                            + "erreur moyenne en poursuite %.1f°, commandes moteur par essai : "
+                            + "%.0f pendant les sauts, %.0f en poursuite (%d images écartées)",
+                    controller, estimator, pollRate, settleMs / steps, unsettled, steps,
+                    swayErrorSum / swaySamples, (double) stepCommands / runs,
+                    (double) (commands - stepCommands) / runs, rejectedFrames / runs));
+            System.out.println(String.format(Locale.ROOT,
+                    "  Lectures vision par essai : %d dont %d pendant l'absence d'une minute, "
+                            + "retour détecté en %d ms, %d appels économisés par heure",
+                    polls / runs, absentPolls / runs, reacquireMs / runs, savedPerHour / runs));
+        }
+        commands = 0;
+        stepCommands = 0;
+        settleMs = 0;
+        steps = 0;
+        unsettled = 0;
+        swayErrorSum = 0;
+        swaySamples = 0;
+        polls = 0;
+        absentPolls = 0;
+        reacquireMs = 0;
+        savedPerHour = 0;
+        runs = 0;
+        rejectedFrames = 0;
+    }
+
+    @Benchmark
+    public float trackingScenario() {
+        scheduler = new VirtualScheduler();
+        robot = new SimulatedBuddyPlatform(scheduler, 42L);
+        headController = "pid".equals(controller) ? new HeadPidController() : new HeadStepController();
+        faceEstimator = new FaceEstimator();
+        adaptiveRate = new TrackingPollRate();
+        robot.motors().enableYesMove(true, IGNORE);
+        robot.motors().enableNoMove(true, IGNORE);
+        robot.vision().startTracking();
+        scheduler.runUntilIdle(1000);
+        long runStart = scheduler.now();
+        nextPoll = runStart;
+        long startPolls = polls;
+        int startCommands = commands;
+
+        for (float[] target : TARGETS) {
+            robot.setPersonPosition(target[0], target[1]);
+            long start = scheduler.now();
+            long settledAt = start;
+            while (scheduler.now() - start < STEP_HOLD_MS) {
+                sample();
+                if (error(target[0], target[1]) > SETTLED_DEG) {
+                    settledAt = scheduler.now();
+                }
+            }
+            steps++;
+            if (error(target[0], target[1]) > SETTLED_DEG) {
+                unsettled++;
+                settleMs += STEP_HOLD_MS;
+            } else {
+                settleMs += settledAt - start;
+            }
+        }
+        stepCommands += commands - startCommands;
+
+        long swayStart = scheduler.now();
+        while (scheduler.now() - swayStart < SWAY_MS) {
+            float azimuth = (float) (SWAY_AMPLITUDE_DEG * Math.sin(2 * Math.PI * (scheduler.now() - swayStart)
+                    / SWAY_PERIOD_MS));
+            robot.setPersonPosition(azimuth, 0);
+            sample();
+            swayErrorSum += error(azimuth, 0);
+            swaySamples++;
+        }
+
+        robot.setPersonPresent(false);
+        long absentStart = scheduler.now();
+        long beforeAbsence = polls;
+        while (scheduler.now() - absentStart < ABSENT_MS) {
+            sample();
+        }
+        absentPolls += polls - beforeAbsence;
+
+        robot.setPersonPosition(10, 0);
+        robot.setPersonPresent(true);
+        long returnStart = scheduler.now();
+        long detectedAt = -1;
+        while (scheduler.now() - returnStart < RETURN_HOLD_MS) {
+            sample();
+            if (detectedAt < 0 && lastDetected) {
+                detectedAt = scheduler.now();
+            }
+        }
+        reacquireMs += detectedAt < 0 ? RETURN_HOLD_MS : detectedAt - returnStart;
+
+        long elapsed = scheduler.now() - runStart;
+        long runPolls = polls - startPolls;
+        savedPerHour += (elapsed / TrackingPollRate.NOMINAL_INTERVAL_MS - runPolls) * 3_600_000L / elapsed;
+        rejectedFrames += faceEstimator.getRejectedFrames();
+        runs++;
+        return robot.getHeadNoAngle();
+    }
+
+    /**
+     * Avance de SAMPLE_MS, avec une itération de la boucle de suivi si elle est due
+     */
+    private void sample() {
+        if (scheduler.now() >= nextPoll) {
+            nextPoll = scheduler.now() + poll();
+        }
+        scheduler.advanceBy(SAMPLE_MS);
+    }
+
+    /**
+     * Une itération de la boucle de suivi
+     *
+     * @return l'attente avant la suivante
+     */
+    private long poll() {
+        long now = scheduler.now();
+        polls++;
+        lastDetected = robot.vision().readTracking(frame);
+        if (!lastDetected) {
+            headController.reset();
+            faceEstimator.reset();
+            return interval(now, false, false);
+        }
+
+        headCommanded = false;
+        if (!"filtered".equals(estimator)) {
+            headController.onFrame(frame.centerX() - 0.5f, frame.centerY() - 0.5f, now, axes);
+        } else if (faceEstimator.update(frame, now)) {
+            headController.onFrame(faceEstimator.predictedDeltaX(now), faceEstimator.predictedDeltaY(now),
+                    now, axes);
+        } else {
+            return interval(now, true, true);
+        }
+        return interval(now, true, headCommanded || faceEstimator.getAngularSpeed() > FACE_MOVING_SPEED);
+    }
+
+    private long interval(long now, boolean detected, boolean moving) {
+        if ("adaptive".equals(pollRate)) {
+            return adaptiveRate.onPoll(now, detected, moving);
+        }
+        return TrackingPollRate.NOMINAL_INTERVAL_MS;
+    }
+
+    private float error(float azimuth, float elevation) {
+        return Math.max(Math.abs(azimuth - robot.getHeadNoAngle()), Math.abs(elevation - robot.getHeadYesAngle()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.utils.Logger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implémentation d'origine de PhoneticCorrector (parcours linéaires des tables
+ * et Levenshtein en matrice complète), conservée comme référence de mesure.
+ * Les appels au Logger sont conservés pour comparer à coût de journalisation égal.
+ */
+final class LegacyPhoneticCorrector {
+
+    private static final Map<String, Integer> DIRECT_NUMBERS = new HashMap<>();
+    private static final Map<String, Integer> PHONETIC_CORRECTIONS = new HashMap<>();
+
+    static {
+        String[] units = {"zéro", "un", "deux", "trois", "quatre", "cinq", "six", "sept", "huit", "neuf",
+                "dix", "onze", "douze", "treize", "quatorze", "quinze", "seize"};
+        for (int i = 0; i < units.length; i++) {
+            DIRECT_NUMBERS.put(units[i], i);
+        }
+        DIRECT_NUMBERS.put("zero", 0);
+        DIRECT_NUMBERS.put("dix-sept", 17);
+        DIRECT_NUMBERS.put("dix sept", 17);
+        DIRECT_NUMBERS.put("dix-huit", 18);
+        DIRECT_NUMBERS.put("dix huit", 18);
+        DIRECT_NUMBERS.put("dix-neuf", 19);
+        DIRECT_NUMBERS.put("dix neuf", 19);
+        DIRECT_NUMBERS.put("vingt", 20);
+
+        String[][] corrections = {
+                {"c'est", "7"}, {"sait", "7"}, {"set", "7"}, {"cette", "7"}, {"ses", "7"},
+                {"hein", "1"}, {"an", "1"}, {"en", "1"}, {"han", "1"},
+                {"de", "2"}, {"d'eux", "2"}, {"du", "2"},
+                {"toi", "3"}, {"toit", "3"}, {"troie", "3"}, {"troit", "3"},
+                {"cat", "4"}, {"cat'", "4"}, {"catre", "4"}, {"carte", "4"},
+                {"saint", "5"}, {"sain", "5"}, {"sein", "5"}, {"seing", "5"},
+                {"sis", "6"}, {"cis", "6"}, {"si", "6"},
+                {"wi", "8"}, {"oui", "8"}, {"wii", "8"}, {"ouïe", "8"},
+                {"nerf", "9"}, {"nerve", "9"}, {"neu", "9"},
+                {"dis", "10"}, {"dit", "10"}, {"die", "10"}
+        };
+        for (String[] correction : corrections) {
+            PHONETIC_CORRECTIONS.put(correction[0], Integer.parseInt(correction[1]));
+        }
+    }
+
+    private LegacyPhoneticCorrector() {
+    }
+
+    static int extractNumberWithPhoneticCorrection(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return -1;
+        }
+
+        String cleanText = text.toLowerCase().trim();
+        Logger.d("PhoneticCorrector", "Analyse du texte: '" + cleanText + "'");
+
+        if (DIRECT_NUMBERS.containsKey(cleanText)) {
+            Logger.d("PhoneticCorrector", "Correspondance directe: " + cleanText + " -> " + DIRECT_NUMBERS.get(cleanText));
+            return DIRECT_NUMBERS.get(cleanText);
+        }
+        if (PHONETIC_CORRECTIONS.containsKey(cleanText)) {
+            Logger.d("PhoneticCorrector", "Correction phonétique: " + cleanText + " -> " + PHONETIC_CORRECTIONS.get(cleanText));
+            return PHONETIC_CORRECTIONS.get(cleanText);
+        }
+        for (Map.Entry<String, Integer> entry : DIRECT_NUMBERS.entrySet()) {
+            if (cleanText.contains(entry.getKey())) {
+                Logger.d("PhoneticCorrector", "Trouvé dans sous-chaîne: " + entry.getKey() + " -> " + entry.getValue());
+                return entry.getValue();
+            }
+        }
+        for (Map.Entry<String, Integer> entry : PHONETIC_CORRECTIONS.entrySet()) {
+            if (cleanText.contains(entry.getKey())) {
+                Logger.d("PhoneticCorrector", "Correction phonétique dans sous-chaîne: " + entry.getKey() + " -> " + entry.getValue());
+                return entry.getValue();
+            }
+        }
+        try {
+            return Integer.parseInt(cleanText);
+        } catch (NumberFormatException e) {
+            // Continue
+        }
+        return findClosestNumberMatch(cleanText);
+    }
+
+    private static int findClosestNumberMatch(String input) {
+        String bestMatch = null;
+        int minDistance = Integer.MAX_VALUE;
+
+        for (String numberWord : DIRECT_NUMBERS.keySet()) {
+            int distance = levenshteinDistance(input, numberWord);
+            if (distance < minDistance && distance <= 2) {
+                minDistance = distance;
+                bestMatch = numberWord;
+            }
+        }
+        if (bestMatch != null) {
+            Logger.d("PhoneticCorrector", "Correspondance floue: " + input + " -> " + bestMatch + " (distance: " + minDistance + ")");
+            return DIRECT_NUMBERS.get(bestMatch);
+        }
+        return -1;
+    }
+
+    private static int levenshteinDistance(String a, String b) {
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+
+        for (int i = 0; i <= a.length(); i++) {
+            dp[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            dp[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return dp[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,77 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.utils.BkTree;
+import com.bfr.helloworld.utils.FrenchNumberParser;
+import com.bfr.helloworld.utils.PhoneticCorrector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Analyse d'un énoncé par niveau (direct, phonétique, composé, flou, sans nombre),
+ * comparée à l'implémentation d'origine
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhoneticCorrectorBenchmark {
+
+    @Param({"direct", "phonetic", "composed", "fuzzy", "garbage", "mixed"})
+    public String mix;
+
+    private String[] utterances;
+    private int index;
+
+    @Setup
+    public void setup() {
+        utterances = Utterances.byName(mix);
+    }
+
+    private String next() {
+        String utterance = utterances[index];
+        index = (index + 1) % utterances.length;
+        return utterance;
+    }
+
+    @Benchmark
+    public int analyze() {
+        return PhoneticCorrector.extractNumberWithPhoneticCorrection(next());
+    }
+
+    @Benchmark
+    public int legacy() {
+        return LegacyPhoneticCorrector.extractNumberWithPhoneticCorrection(next());
+    }
+
+    @Benchmark
+    public int grammarOnly() {
+        return FrenchNumberParser.parse(next());
+    }
+
+    /**
+     * Recherche floue seule, sur le même vocabulaire que PhoneticCorrector
+     */
+    @State(Scope.Thread)
+    public static class FuzzyState {
+        BkTree.Searcher searcher;
+
+        @Setup
+        public void setup() {
+            String[] words = {"cinq", "deux", "dix", "dix huit", "dix neuf", "dix sept", "dix-huit", "dix-neuf",
+                    "dix-sept", "douze", "huit", "neuf", "onze", "quatorze", "quatre", "quinze", "seize",
+                    "sept", "six", "treize", "trois", "un", "vingt", "zero", "zéro"};
+            searcher = BkTree.build(words, new int[words.length]).newSearcher();
+        }
+    }
+
+    @Benchmark
+    public int bkTreeSearch(FuzzyState state) {
+        return state.searcher.search(next(), 2);
+    }
+}
@@ -0,0 +1,141 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.buddy.BuddySpeechManager;
+import com.bfr.helloworld.buddy.sdk.SimulatedBuddyPlatform;
+import com.bfr.helloworld.quiz.AnswerProcessor;
+import com.bfr.helloworld.quiz.QuestionGenerator;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cycle complet d'une question sur le robot simulé :
+ * énoncé (TTS), écoute (STT N-best), analyse, message de retour (TTS).
+ *
+ * Le robot tourne sur une horloge virtuelle : le score mesure le coût CPU du cycle,
+ * la durée moyenne qu'il aurait prise sur le robot est affichée à chaque itération.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QuestionCycleBenchmark {
+
+    private static final long MAX_CYCLE_MS = 60_000;
+
+    private VirtualScheduler scheduler;
+    private BuddySpeechManager speechManager;
+    private QuestionGenerator generator;
+    private int questionIndex;
+    private boolean done;
+    private boolean correct;
+    private long simulatedMs;
+    private int cycles;
+
+    @Setup
+    public void setup() {
+        scheduler = new VirtualScheduler();
+        SimulatedBuddyPlatform platform = new SimulatedBuddyPlatform(scheduler, 42L);
+        speechManager = new BuddySpeechManager(platform);
+        generator = new QuestionGenerator(5);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRobotTime() {
+        if (cycles > 0) {
+            System.out.println("Durée simulée moyenne d'un cycle: " + simulatedMs / cycles + " ms");
+        }
+        simulatedMs = 0;
+        cycles = 0;
+    }
+
+    @Benchmark
+    public boolean questionCycle() {
+        int index = questionIndex;
+        questionIndex = (questionIndex + 1) % generator.getTotalQuestions();
+
+        long start = scheduler.now();
+        done = false;
+        correct = false;
+        askQuestion(index);
+        scheduler.runUntilIdle(MAX_CYCLE_MS);
+
+        if (!done) {
+            throw new IllegalStateException("Cycle de question bloqué");
+        }
+        simulatedMs += scheduler.now() - start;
+        cycles++;
+        return correct;
+    }
+
+    private void askQuestion(int index) {
+        int expected = generator.getAnswer(index);
+
+        speechManager.speakQuestion(generator.getQuestion(index), index + 1, new BuddySpeechManager.SpeechCallback() {
+            @Override
+            public void onSpeechFinished() {
+                speechManager.startListening(new BuddySpeechManager.ListeningCallback() {
+                    @Override
+                    public void onHypothesesRecognized(List<SpeechHypothesis> hypotheses) {
+                        AnswerProcessor.ProcessedAnswer answer = AnswerProcessor.processHypotheses(
+                                hypotheses, expected, generator.getMaxAnswer());
+                        correct = answer.isCorrect();
+
+                        BuddySpeechManager.SpeechCallback finish = new BuddySpeechManager.SpeechCallback() {
+                            @Override
+                            public void onSpeechFinished() {
+                                done = true;
+                            }
+
+                            @Override
+                            public void onSpeechError(String error) {
+                                done = true;
+                            }
+                        };
+
+                        if (!answer.isValid()) {
+                            speechManager.speakParsingError(finish);
+                        } else if (answer.isCorrect()) {
+                            speechManager.speakCorrectAnswer(expected, finish);
+                        } else {
+                            speechManager.speakIncorrectAnswer(answer.getExtractedNumber(), expected, finish);
+                        }
+                    }
+
+                    @Override
+                    public void onListeningError(String error) {
+                        speechManager.speakTechnicalError(new BuddySpeechManager.SpeechCallback() {
+                            @Override
+                            public void onSpeechFinished() {
+                                done = true;
+                            }
+
+                            @Override
+                            public void onSpeechError(String speechError) {
+                                done = true;
+                            }
+                        });
+                    }
+                });
+            }
+
+            @Override
+            public void onSpeechError(String error) {
+                done = true;
+            }
+        });
+    }
+}
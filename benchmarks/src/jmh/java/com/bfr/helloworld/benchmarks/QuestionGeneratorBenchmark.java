@@ -0,0 +1,42 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.quiz.QuestionGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Génération des questions d'un quiz
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionGeneratorBenchmark {
+
+    @Param({"5", "20"})
+    public int totalQuestions;
+
+    private QuestionGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new QuestionGenerator(totalQuestions);
+    }
+
+    @Benchmark
+    public QuestionGenerator create() {
+        return new QuestionGenerator(totalQuestions);
+    }
+
+    @Benchmark
+    public int regenerate() {
+        generator.regenerateQuestions();
+        return generator.getAnswer(0);
+    }
+}
@@ -0,0 +1,260 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.buddy.BuddyMovementManager;
+import com.bfr.helloworld.buddy.BuddySpeechManager;
+import com.bfr.helloworld.buddy.BuddyTimeline;
+import com.bfr.helloworld.buddy.BuddyTimeline.Track;
+import com.bfr.helloworld.buddy.sdk.BuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.FacePort;
+import com.bfr.helloworld.buddy.sdk.InstrumentedBuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.SimulatedBuddyPlatform;
+import com.bfr.helloworld.metrics.LatencyMetrics;
+import com.bfr.helloworld.quiz.AnswerProcessor;
+import com.bfr.helloworld.quiz.QuizManager;
+import com.bfr.helloworld.quiz.ScoreManager;
+import com.bfr.helloworld.quiz.TurnTimer;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import com.bfr.helloworld.ui.UICallback;
+import com.bfr.helloworld.utils.SpeechHypothesis;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Quiz complet sur le robot simulé, en reprenant l'enchaînement de MainActivity
+ * (introduction, question, "je t'écoute", écoute, retour parole + hochement + expression).
+ *
+ * fixedDelayMs = 0 : la question suivante part à la fin réelle du retour (+ pause minimale).
+ * fixedDelayMs > 0 : ancien rythme, la question suivante attend en plus un délai fixe
+ * depuis la réponse (sans chevauchement de parole, donc au mieux l'ancien rythme).
+ * preArmListening : tâche STT préparée pendant la question et écoute dès sa fin, ou ancien
+ * enchaînement (1 s de pause, "je t'écoute", création de la tâche).
+ * earlyEndpointing : l'écoute s'arrête sur une transcription partielle contenant un nombre sûr,
+ * ou attend le résultat final du moteur.
+ * Le rythme obtenu (questions par minute) et le délai fin de parole -> début STT
+ * sont affichés à chaque itération, avec les centiles de latence de chaque étape.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QuizSessionBenchmark implements QuizManager.QuizCallback, UICallback {
+
+    private static final long MAX_QUIZ_MS = 30 * 60_000;
+
+    @Param({"0", "5000"})
+    public long fixedDelayMs;
+
+    @Param({"400"})
+    public long minimumGapMs;
+
+    @Param({"true", "false"})
+    public boolean preArmListening;
+
+    @Param({"true", "false"})
+    public boolean earlyEndpointing;
+
+    private VirtualScheduler scheduler;
+    private BuddyPlatform platform;
+    private BuddySpeechManager speechManager;
+    private BuddyMovementManager movementManager;
+    private QuizManager quizManager;
+    private boolean finished;
+
+    private double questionsPerMinute;
+    private long turnMs;
+    private long answerMs;
+    private int quizzes;
+    private long maxSkewMs;
+
+    @Setup
+    public void setup() {
+        scheduler = new VirtualScheduler();
+        platform = new InstrumentedBuddyPlatform(new SimulatedBuddyPlatform(scheduler, 42L));
+        speechManager = new BuddySpeechManager(platform);
+        speechManager.setPreArmListening(preArmListening);
+        movementManager = new BuddyMovementManager(platform);
+        movementManager.enableHeadMotors();
+        scheduler.runUntilIdle(MAX_QUIZ_MS);
+
+        quizManager = new QuizManager(this, this, scheduler);
+        if (fixedDelayMs > 0) {
+            quizManager.setMinimumGapMs(0);
+        } else {
+            quizManager.setMinimumGapMs(minimumGapMs);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPace() {
+        if (quizzes > 0) {
+            System.out.println(String.format(Locale.ROOT,
+                    "Rythme: %.2f questions/min (tour moyen %d ms, réponse %d ms, décalage max des séquences %d ms)",
+                    questionsPerMinute / quizzes, turnMs / quizzes, answerMs / quizzes, maxSkewMs));
+            System.out.println("Écoute: " + speechManager.getListeningStats());
+            for (String line : LatencyMetrics.report()) {
+                System.out.println(line);
+            }
+        }
+        LatencyMetrics.reset();
+        maxSkewMs = 0;
+        questionsPerMinute = 0;
+        turnMs = 0;
+        answerMs = 0;
+        quizzes = 0;
+    }
+
+    @Benchmark
+    public int quizSession() {
+        finished = false;
+        quizManager.startQuiz();
+        scheduler.runUntilIdle(MAX_QUIZ_MS);
+
+        if (!finished) {
+            throw new IllegalStateException("Quiz bloqué à l'état " + quizManager.getCurrentState());
+        }
+        TurnTimer turns = quizManager.getTurnTimer();
+        questionsPerMinute += turns.getQuestionsPerMinute();
+        turnMs += turns.getAverageTurnMs();
+        answerMs += turns.getAverageAnswerMs();
+        quizzes++;
+        return quizManager.getScoreManager().getCorrectAnswers();
+    }
+
+    // ========== ENCHAÎNEMENT DE MainActivity ==========
+
+    @Override
+    public void onQuizStarted() {
+        speechManager.speakQuizStart(quizManager.getQuestionGenerator().getTotalQuestions(),
+                new BuddySpeechManager.SpeechCallback() {
+                    @Override
+                    public void onSpeechFinished() {
+                        if (fixedDelayMs > 0) {
+                            // Ancien rythme : première question 2 s après l'introduction
+                            scheduler.schedule(QuizSessionBenchmark.this, 2000, quizManager::onFeedbackFinished);
+                        } else {
+                            quizManager.onFeedbackFinished();
+                        }
+                    }
+                });
+    }
+
+    @Override
+    public void onQuestionReady(String question, int questionNumber, int totalQuestions) {
+        scheduler.schedule(this, 500, () -> speechManager.speakQuestion(question, questionNumber,
+                new BuddySpeechManager.SpeechCallback() {
+                    @Override
+                    public void onSpeechFinished() {
+                        if (preArmListening) {
+                            listen();
+                        } else {
+                            scheduler.schedule(QuizSessionBenchmark.this, 1000, () -> promptAndListen());
+                        }
+                    }
+                }));
+    }
+
+    private void promptAndListen() {
+        speechManager.speakListeningPrompt(this::listen);
+    }
+
+    private void listen() {
+        speechManager.startListening(new BuddySpeechManager.ListeningCallback() {
+            @Override
+            public void onHypothesesRecognized(List<SpeechHypothesis> hypotheses) {
+                quizManager.processVocalAnswer(hypotheses);
+            }
+
+            @Override
+            public void onListeningError(String error) {
+                speechManager.speak("Je n'ai pas bien entendu ta réponse. Peux-tu répéter plus clairement ?",
+                        new BuddySpeechManager.SpeechCallback() {
+                            @Override
+                            public void onSpeechFinished() {
+                                scheduler.schedule(QuizSessionBenchmark.this, 1000, () -> promptAndListen());
+                            }
+                        });
+            }
+        }, earlyEndpointing ? quizManager::parsePartialAnswer : null);
+    }
+
+    @Override
+    public void onAnswerProcessed(AnswerProcessor.ProcessedAnswer processedAnswer, int correctAnswer) {
+        if (!processedAnswer.isValid()) {
+            speechManager.speak("Je n'ai pas compris. Peux-tu répéter le nombre plus clairement ?",
+                    new BuddySpeechManager.SpeechCallback() {
+                        @Override
+                        public void onSpeechFinished() {
+                            scheduler.schedule(QuizSessionBenchmark.this, 500, () -> promptAndListen());
+                        }
+                    });
+            return;
+        }
+
+        final BuddyTimeline timeline;
+        if (processedAnswer.isCorrect()) {
+            timeline = new BuddyTimeline(scheduler, "bonne réponse")
+                    .step(Track.FACE, 0, "joie", done -> showExpression("LOVE", done))
+                    .step(Track.HEAD, 300, "hochement", movementManager::performSynchronizedYesNod)
+                    .step(Track.SPEECH, 0, "félicitations", done -> speechManager.speakCorrectAnswer(
+                            correctAnswer, BuddySpeechManager.SpeechCallback.whenDone(done)));
+        } else {
+            timeline = new BuddyTimeline(scheduler, "mauvaise réponse")
+                    .step(Track.FACE, 0, "réflexion", done -> showExpression("THINKING", done))
+                    .step(Track.SPEECH, 0, "correction", done -> speechManager.speakIncorrectAnswer(
+                            processedAnswer.getExtractedNumber(), correctAnswer,
+                            BuddySpeechManager.SpeechCallback.whenDone(done)));
+        }
+        if (fixedDelayMs > 0) {
+            // Ancien rythme : jamais avant le délai fixe, ni avant la fin du retour
+            // (sinon la question suivante interromprait la parole du retour)
+            timeline.instant(Track.WHEELS, fixedDelayMs, "délai fixe", () -> { });
+        }
+        timeline.start(() -> {
+            maxSkewMs = Math.max(maxSkewMs, timeline.getMaxSkew());
+            quizManager.onFeedbackFinished();
+        });
+    }
+
+    private void showExpression(String expression, Runnable onShown) {
+        platform.face().setFacialExpression(expression, 1.0, new FacePort.AnimationListener() {
+            @Override
+            public void onAnimationEnd(String type, String value) {
+                onShown.run();
+            }
+        });
+    }
+
+    @Override
+    public void onQuizFinished(ScoreManager scoreManager) {
+        finished = true;
+    }
+
+    @Override
+    public void onQuizError(String error) {
+        throw new IllegalStateException(error);
+    }
+
+    // ========== INTERFACE (sans affichage) ==========
+
+    @Override public void updateStatus(String message) { }
+    @Override public void updateQuestion(String question, int questionNumber, int totalQuestions) { }
+    @Override public void updateScore(int correctAnswers, int currentQuestion) { }
+    @Override public void setStartQuizEnabled(boolean enabled) { }
+    @Override public void setListenAnswerEnabled(boolean enabled) { }
+    @Override public void showError(String error) { }
+    @Override public void showSuccess(String message) { }
+}
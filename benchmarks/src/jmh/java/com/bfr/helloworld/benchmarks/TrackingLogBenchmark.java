@@ -0,0 +1,91 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.utils.Logger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Coût du log de position d'une image de la boucle de suivi (10 Hz dans BuddyHeadTracker),
+ * à lire avec le profileur gc (gc.alloc.rate.norm = octets alloués par image) :
+ * eager = ancien site d'appel (String.format à chaque image), parameterized = formatage
+ * reporté au thread d'écriture, guarded = site actuel (test du niveau avant tout argument).
+ *
+ * level = release : debug coupé ; debug : messages déposés dans la file circulaire
+ * (les pertes quand la file déborde sont affichées en fin d'essai).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrackingLogBenchmark {
+
+    private static final String TAG = "BuddyHeadTracker";
+    private static final String FORMAT = "Position: X=%.2f, Y=%.2f, ΔX=%.2f, ΔY=%.2f";
+
+    @Param({"release", "debug"})
+    public String level;
+
+    private final float[] centersX = new float[64];
+    private final float[] centersY = new float[64];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Logger.setReleaseMode("release".equals(level));
+        Random random = new Random(42);
+        for (int i = 0; i < centersX.length; i++) {
+            centersX[i] = random.nextFloat();
+            centersY[i] = random.nextFloat();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.flush(1000);
+        System.out.println("Messages perdus (file pleine): " + Logger.getDroppedCount());
+        Logger.setReleaseMode(false);
+    }
+
+    @Benchmark
+    public float eager() {
+        int i = index++ & 63;
+        float centerX = centersX[i];
+        float centerY = centersY[i];
+        float deltaX = centerX - 0.5f;
+        float deltaY = centerY - 0.5f;
+        Logger.d(TAG, String.format(FORMAT, centerX, centerY, deltaX, deltaY));
+        return deltaX + deltaY;
+    }
+
+    @Benchmark
+    public float parameterized() {
+        int i = index++ & 63;
+        float centerX = centersX[i];
+        float centerY = centersY[i];
+        float deltaX = centerX - 0.5f;
+        float deltaY = centerY - 0.5f;
+        Logger.d(TAG, FORMAT, centerX, centerY, deltaX, deltaY);
+        return deltaX + deltaY;
+    }
+
+    @Benchmark
+    public float guarded() {
+        int i = index++ & 63;
+        float centerX = centersX[i];
+        float centerY = centersY[i];
+        float deltaX = centerX - 0.5f;
+        float deltaY = centerY - 0.5f;
+        if (Logger.isDebugEnabled(TAG)) {
+            Logger.d(TAG, FORMAT, centerX, centerY, deltaX, deltaY);
+        }
+        return deltaX + deltaY;
+    }
+}
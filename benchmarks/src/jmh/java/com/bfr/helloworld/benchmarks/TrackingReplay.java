@@ -0,0 +1,372 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.buddy.FaceEstimator;
+import com.bfr.helloworld.buddy.HeadController;
+import com.bfr.helloworld.buddy.HeadPidController;
+import com.bfr.helloworld.buddy.HeadStepController;
+import com.bfr.helloworld.buddy.TrackingTrace;
+import com.bfr.helloworld.buddy.sdk.MotorPort;
+import com.bfr.helloworld.buddy.sdk.SimulatedBuddyPlatform;
+import com.bfr.helloworld.buddy.sdk.TrackingFrame;
+import com.bfr.helloworld.scheduling.VirtualScheduler;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Rejoue une trace de suivi (TrackingTrace, enregistrée sur le robot ou simulée) avec une
+ * autre loi de commande, sur le modèle de moteurs de tête du robot simulé, en temps virtuel.
+ *
+ * Les commandes enregistrées reconstituent la tête d'origine ; chaque image donne alors la
+ * direction absolue du visage à sa capture. Pour la tête rejouée, la boîte est décalée de
+ * l'écart entre les deux têtes à cet instant (hors champ : visage perdu), puis passe par la
+ * même chaîne que BuddyHeadTracker. Les images sont lues aux instants enregistrés.
+ *
+ * Mesures, sur l'écart entre le visage et l'axe de la tête à chaque image :
+ * - convergence : dès que l'écart dépasse EVENT_DEG (saut, retour de la personne), durée
+ *   jusqu'à ce qu'il reste sous SETTLED_DEG pendant HOLD_MS (MAX_EVENT_MS si jamais) ;
+ * - dépassement : pendant cette convergence, écart maximal du côté opposé à l'écart initial ;
+ * - gigue : inversions du sens de la tête par minute une fois convergée (une poursuite
+ *   régulière n'en fait pas, une tête qui oscille autour du visage si) ;
+ * - commandes moteur par minute de trace.
+ *
+ * Lancement hors JMH : java -cp benchmarks-jmh.jar com.bfr.helloworld.benchmarks.TrackingReplay suivi.trace
+ */
+public final class TrackingReplay {
+
+    public static final String RECORDED = "recorded";
+    public static final String[] VARIANTS = {RECORDED, "step/raw", "pid/raw", "pid/filtered"};
+
+    private static final float EVENT_DEG = 8.0f;
+    private static final float SETTLED_DEG = 3.0f;
+    private static final long HOLD_MS = 500;
+    private static final long MAX_EVENT_MS = 4000;
+    // En dessous, un déplacement de la tête entre deux images n'est pas un changement de sens
+    private static final float REVERSAL_DEG = 0.2f;
+    // Âge d'une image à sa lecture (capture, détection)
+    private static final long CAPTURE_LATENCY_MS = SimulatedBuddyPlatform.VISION_LATENCY_MS;
+
+    private static final MotorPort.CommandListener IGNORE = new MotorPort.CommandListener() {
+        @Override
+        public void onSuccess(String status) {
+        }
+
+        @Override
+        public void onFailed(String error) {
+        }
+    };
+
+    /**
+     * Mesures d'un rejeu
+     */
+    public static final class Result {
+        public int events;
+        public int unsettled;
+        public long convergenceMs;
+        public double overshootDeg;
+        public double reversalsPerMinute;
+        public double commandsPerMinute;
+        public long frames;
+        public long lostFrames;
+
+        public double meanConvergenceMs() {
+            return events == 0 ? 0 : (double) convergenceMs / events;
+        }
+
+        public double meanOvershootDeg() {
+            return events == 0 ? 0 : overshootDeg / events;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "convergence %.0f ms (%d écarts, %d non convergés), "
+                            + "dépassement %.1f°, gigue %.1f inversions/min, %.0f commandes/min "
+                            + "(%d images, %d perdues)",
+                    meanConvergenceMs(), events, unsettled, meanOvershootDeg(), reversalsPerMinute,
+                    commandsPerMinute, frames, lostFrames);
+        }
+    }
+
+    private final TrackingTrace trace;
+    private final String variant;
+
+    private VirtualScheduler scheduler;
+    // Tête d'origine (commandes enregistrées) et tête rejouée
+    private SimulatedBuddyPlatform recorded;
+    private SimulatedBuddyPlatform replayed;
+    private HeadController controller;
+    private FaceEstimator estimator;
+    private boolean filtered;
+    private long commands;
+    private final TrackingFrame frame = new TrackingFrame();
+
+    private final HeadController.Axes axes = new HeadController.Axes() {
+        @Override
+        public void moveNo(float speed, float angle) {
+            commands++;
+            estimator.onNoMove(speed, angle, scheduler.now());
+            replayed.motors().buddySayNo(speed, angle, IGNORE);
+        }
+
+        @Override
+        public void moveYes(float speed, float angle) {
+            commands++;
+            estimator.onYesMove(speed, angle, scheduler.now());
+            replayed.motors().buddySayYes(speed, angle, IGNORE);
+        }
+    };
+
+    public TrackingReplay(TrackingTrace trace, String variant) {
+        this.trace = trace;
+        this.variant = variant;
+    }
+
+    public Result run() {
+        scheduler = new VirtualScheduler();
+        recorded = newHead();
+        replayed = RECORDED.equals(variant) ? recorded : newHead();
+        controller = variant.startsWith("pid") ? new HeadPidController() : new HeadStepController();
+        estimator = new FaceEstimator();
+        filtered = variant.endsWith("/filtered");
+        commands = 0;
+
+        Result result = new Result();
+        long origin = trace.size() == 0 ? 0 : trace.time(0);
+        long start = scheduler.now();
+        // Convergence en cours : début, écarts initiaux, dépassement, début de l'écart faible
+        long eventStart = -1;
+        float initialNo = 0;
+        float initialYes = 0;
+        float overshoot = 0;
+        long settledSince = -1;
+        // Gigue : changements de sens de la tête hors convergence
+        long reversals = 0;
+        long settledTime = 0;
+        long lastFrameTime = -1;
+        float lastNo = 0;
+        float lastYes = 0;
+        float directionNo = 0;
+        float directionYes = 0;
+
+        for (int i = 0; i < trace.size(); i++) {
+            scheduler.advanceTo(start + trace.time(i) - origin);
+            long now = scheduler.now();
+            byte type = trace.type(i);
+            if (type == TrackingTrace.MOVE_NO || type == TrackingTrace.MOVE_YES) {
+                replayRecordedMove(type, trace.speed(i), trace.angle(i));
+                continue;
+            }
+
+            trace.frame(i, frame);
+            result.frames++;
+            boolean detected = reproject(frame, now);
+            if (!detected) {
+                result.lostFrames++;
+                eventStart = -1;
+                lastFrameTime = -1;
+                if (replayed != recorded) {
+                    controller.reset();
+                    estimator.reset();
+                }
+                continue;
+            }
+
+            // Écart entre le visage (direction à la capture) et la tête maintenant
+            long capture = now - CAPTURE_LATENCY_MS;
+            float errorNo = faceNo(frame, capture) - replayed.getHeadNoAngle();
+            float errorYes = faceYes(frame, capture) - replayed.getHeadYesAngle();
+            float error = Math.max(Math.abs(errorNo), Math.abs(errorYes));
+
+            if (eventStart < 0 && error > EVENT_DEG) {
+                eventStart = now;
+                initialNo = errorNo;
+                initialYes = errorYes;
+                overshoot = 0;
+                settledSince = -1;
+            }
+            if (eventStart >= 0) {
+                overshoot = Math.max(overshoot, Math.max(-Math.signum(initialNo) * errorNo,
+                        -Math.signum(initialYes) * errorYes));
+                if (error < SETTLED_DEG) {
+                    if (settledSince < 0) {
+                        settledSince = now;
+                    }
+                } else {
+                    settledSince = -1;
+                }
+                boolean settled = settledSince >= 0 && now - settledSince >= HOLD_MS;
+                if (settled || now - eventStart >= MAX_EVENT_MS) {
+                    result.events++;
+                    result.overshootDeg += Math.max(0, overshoot);
+                    if (settled) {
+                        result.convergenceMs += settledSince - eventStart;
+                    } else {
+                        result.unsettled++;
+                        result.convergenceMs += MAX_EVENT_MS;
+                    }
+                    eventStart = -1;
+                }
+            } else if (lastFrameTime >= 0 && error < SETTLED_DEG) {
+                settledTime += now - lastFrameTime;
+                float moveNo = replayed.getHeadNoAngle() - lastNo;
+                float moveYes = replayed.getHeadYesAngle() - lastYes;
+                if (Math.abs(moveNo) > REVERSAL_DEG) {
+                    if (moveNo * directionNo < 0) {
+                        reversals++;
+                    }
+                    directionNo = Math.signum(moveNo);
+                }
+                if (Math.abs(moveYes) > REVERSAL_DEG) {
+                    if (moveYes * directionYes < 0) {
+                        reversals++;
+                    }
+                    directionYes = Math.signum(moveYes);
+                }
+            }
+            lastFrameTime = now;
+            lastNo = replayed.getHeadNoAngle();
+            lastYes = replayed.getHeadYesAngle();
+
+            if (replayed != recorded) {
+                command(frame, now);
+            }
+        }
+
+        long duration = Math.max(1, scheduler.now() - start);
+        result.reversalsPerMinute = settledTime == 0 ? 0 : reversals * 60_000.0 / settledTime;
+        result.commandsPerMinute = commands * 60_000.0 / duration;
+        return result;
+    }
+
+    private SimulatedBuddyPlatform newHead() {
+        SimulatedBuddyPlatform head = new SimulatedBuddyPlatform(scheduler, 0L);
+        head.motors().enableYesMove(true, IGNORE);
+        head.motors().enableNoMove(true, IGNORE);
+        return head;
+    }
+
+    private void replayRecordedMove(byte type, float speed, float angle) {
+        if (type == TrackingTrace.MOVE_NO) {
+            recorded.motors().buddySayNo(speed, angle, IGNORE);
+        } else {
+            recorded.motors().buddySayYes(speed, angle, IGNORE);
+        }
+        if (replayed == recorded) {
+            commands++;
+        }
+    }
+
+    /**
+     * Décale la boîte enregistrée dans l'image de la tête rejouée
+     *
+     * @return false si le visage était perdu, ou sort du champ de la tête rejouée
+     */
+    private boolean reproject(TrackingFrame frame, long now) {
+        if (!frame.success || replayed == recorded) {
+            return frame.success;
+        }
+        long capture = now - CAPTURE_LATENCY_MS;
+        float shiftX = (headNo(recorded, capture) - headNo(replayed, capture)) / HeadController.CAMERA_FOV_H_DEG;
+        float shiftY = -(headYes(recorded, capture) - headYes(replayed, capture)) / HeadController.CAMERA_FOV_V_DEG;
+        float left = frame.left + shiftX;
+        float right = frame.right + shiftX;
+        float top = frame.top + shiftY;
+        float bottom = frame.bottom + shiftY;
+        float centerX = (left + right) / 2;
+        float centerY = (top + bottom) / 2;
+        if (centerX < 0 || centerX > 1 || centerY < 0 || centerY > 1) {
+            frame.set(frame.timestampMs, false, 0, 0, 0, 0);
+            return false;
+        }
+        frame.set(frame.timestampMs, true, left, right, top, bottom);
+        return true;
+    }
+
+    /**
+     * Même chaîne que BuddyHeadTracker : écart brut ou estimation filtrée, puis loi de commande
+     */
+    private void command(TrackingFrame frame, long now) {
+        if (!filtered) {
+            controller.onFrame(frame.centerX() - 0.5f, frame.centerY() - 0.5f, now, axes);
+        } else if (estimator.update(frame, now)) {
+            controller.onFrame(estimator.predictedDeltaX(now), estimator.predictedDeltaY(now), now, axes);
+        }
+    }
+
+    private float faceNo(TrackingFrame frame, long capture) {
+        return headNo(replayed, capture) + (frame.centerX() - 0.5f) * HeadController.CAMERA_FOV_H_DEG;
+    }
+
+    private float faceYes(TrackingFrame frame, long capture) {
+        return headYes(replayed, capture) - (frame.centerY() - 0.5f) * HeadController.CAMERA_FOV_V_DEG;
+    }
+
+    private static float headNo(SimulatedBuddyPlatform head, long time) {
+        return head.getHeadNoAngle(time);
+    }
+
+    private static float headYes(SimulatedBuddyPlatform head, long time) {
+        return head.getHeadYesAngle(time);
+    }
+
+    /**
+     * Trace de référence : l'ancienne boucle (pas fixe, lecture toutes les 100 ms) face à
+     * la personne simulée qui saute d'une position à l'autre, se balance, puis s'absente
+     */
+    public static TrackingTrace simulatedTrace(long seed) {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        SimulatedBuddyPlatform robot = new SimulatedBuddyPlatform(scheduler, seed);
+        TrackingTrace trace = new TrackingTrace(TrackingTrace.DEFAULT_CAPACITY);
+        HeadController controller = new HeadStepController();
+        TrackingFrame frame = new TrackingFrame();
+        HeadController.Axes axes = new HeadController.Axes() {
+            @Override
+            public void moveNo(float speed, float angle) {
+                trace.recordMove(TrackingTrace.MOVE_NO, scheduler.now(), speed, angle);
+                robot.motors().buddySayNo(speed, angle, IGNORE);
+            }
+
+            @Override
+            public void moveYes(float speed, float angle) {
+                trace.recordMove(TrackingTrace.MOVE_YES, scheduler.now(), speed, angle);
+                robot.motors().buddySayYes(speed, angle, IGNORE);
+            }
+        };
+        robot.motors().enableYesMove(true, IGNORE);
+        robot.motors().enableNoMove(true, IGNORE);
+        robot.vision().startTracking();
+        scheduler.runUntilIdle(1000);
+
+        float[][] targets = {{20, 0}, {0, 10}, {20, -8}, {-5, 5}, {10, 0}, {0, 0}};
+        long start = scheduler.now();
+        while (scheduler.now() - start < 60_000) {
+            long elapsed = scheduler.now() - start;
+            if (elapsed < 24_000) {
+                float[] target = targets[(int) (elapsed / 4000)];
+                robot.setPersonPosition(target[0], target[1]);
+            } else if (elapsed < 44_000) {
+                robot.setPersonPosition((float) (25 * Math.sin(2 * Math.PI * (elapsed - 24_000) / 8000.0)), 0);
+            } else {
+                robot.setPersonPresent(elapsed >= 50_000);
+                robot.setPersonPosition(10, 0);
+            }
+            boolean detected = robot.vision().readTracking(frame);
+            trace.recordFrame(scheduler.now(), frame);
+            if (detected) {
+                controller.onFrame(frame.centerX() - 0.5f, frame.centerY() - 0.5f, scheduler.now(), axes);
+            } else {
+                controller.reset();
+            }
+            scheduler.advanceBy(100);
+        }
+        return trace;
+    }
+
+    public static void main(String[] args) throws IOException {
+        TrackingTrace trace = args.length > 0 ? TrackingTrace.load(new File(args[0])) : simulatedTrace(42L);
+        System.out.println("Trace : " + trace.size() + " enregistrements");
+        for (String variant : VARIANTS) {
+            System.out.println(variant + " : " + new TrackingReplay(trace, variant).run());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bfr.helloworld.benchmarks;
+
+import com.bfr.helloworld.buddy.TrackingTrace;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lois de commande rejouées sur une trace de suivi (voir TrackingReplay).
+ *
+ * trace = simulated : trace de référence générée par TrackingReplay.simulatedTrace ;
+ * sinon chemin d'un fichier écrit par l'application en debug (suivi.trace, dans le
+ * répertoire de l'application), par exemple -p trace=/tmp/suivi.trace.
+ * variant = recorded : mesures de la session telle qu'enregistrée ; loi/estimation sinon.
+ * Les mesures de qualité sont affichées à la fin de chaque itération.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class TrackingReplayBenchmark {
+
+    @Param({"simulated"})
+    public String trace;
+
+    @Param({TrackingReplay.RECORDED, "step/raw", "pid/raw", "pid/filtered"})
+    public String variant;
+
+    private TrackingTrace loaded;
+    private TrackingReplay.Result last;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        loaded = "simulated".equals(trace) ? TrackingReplay.simulatedTrace(42L) : TrackingTrace.load(new File(trace));
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (last != null) {
+            System.out.println("Rejeu " + variant + " : " + last);
+        }
+    }
+
+    @Benchmark
+    public double replay() {
+        last = new TrackingReplay(loaded, variant).run();
+        return last.meanConvergenceMs();
+    }
+}
@@ -0,0 +1,54 @@
+package com.bfr.helloworld.benchmarks;
+
+/**
+ * Jeux d'énoncés réalistes par niveau de difficulté pour l'analyse des nombres
+ */
+final class Utterances {
+
+    /** Correspondances directes dans la table */
+    static final String[] DIRECT = {
+            "sept", "dix", "trois", "douze", "dix-huit", "cinq", "vingt", "quinze"
+    };
+
+    /** Corrections phonétiques exactes ou mots parasites autour d'un nombre */
+    static final String[] PHONETIC = {
+            "c'est", "sait", "toit", "carte", "saint", "nerf", "euh dix", "c'est sept"
+    };
+
+    /** Nombres composés résolus par la grammaire */
+    static final String[] COMPOSED = {
+            "soixante-dix-sept", "quatre-vingt-douze", "deux cent trois", "septante trois",
+            "un deux", "2 cents", "vingt et un", "mille deux cent trente quatre"
+    };
+
+    /** Seule la recherche floue trouve un nombre */
+    static final String[] FUZZY_ONLY = {
+            "cinqe", "katre", "troi", "doze", "seise", "quinz", "vint", "uit"
+    };
+
+    /** Aucun nombre */
+    static final String[] GARBAGE = {
+            "bof", "je sais pas", "hmmm", "bonjour buddy", "qu'est-ce que tu racontes",
+            "attends", "lalala", "peut-être"
+    };
+
+    /** Mélange observé en classe : surtout des réponses directes, quelques ratés */
+    static final String[] MIXED = {
+            "sept", "dix", "c'est sept", "euh dix", "douze", "quatorze", "cinqe", "bof",
+            "trois", "dix-huit", "sait", "neuf", "vingt", "deux", "katre", "six"
+    };
+
+    private Utterances() {
+    }
+
+    static String[] byName(String name) {
+        switch (name) {
+            case "direct": return DIRECT;
+            case "phonetic": return PHONETIC;
+            case "composed": return COMPOSED;
+            case "fuzzy": return FUZZY_ONLY;
+            case "garbage": return GARBAGE;
+            default: return MIXED;
+        }
+    }
+}
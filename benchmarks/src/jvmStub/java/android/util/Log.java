@@ -0,0 +1,26 @@
+package android.util;
+
+/**
+ * Remplaçant JVM de android.util.Log pour le module de benchmarks.
+ * Les messages sont ignorés : seul le coût de construction aux sites d'appel est mesuré.
+ */
+public final class Log {
+    public static final int VERBOSE = 2;
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+
+    private Log() {
+    }
+
+    public static int v(String tag, String msg) { return 0; }
+    public static int d(String tag, String msg) { return 0; }
+    public static int i(String tag, String msg) { return 0; }
+    public static int w(String tag, String msg) { return 0; }
+    public static int w(String tag, String msg, Throwable tr) { return 0; }
+    public static int e(String tag, String msg) { return 0; }
+    public static int e(String tag, String msg, Throwable tr) { return 0; }
+
+    public static boolean isLoggable(String tag, int level) { return false; }
+}